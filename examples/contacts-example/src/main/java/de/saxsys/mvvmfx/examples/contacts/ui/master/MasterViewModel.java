@@ -17,6 +17,7 @@ import de.saxsys.mvvmfx.examples.contacts.events.ContactsUpdatedEvent;
 import de.saxsys.mvvmfx.examples.contacts.model.Contact;
 import de.saxsys.mvvmfx.examples.contacts.model.Repository;
 import de.saxsys.mvvmfx.examples.contacts.ui.scopes.MasterDetailScope;
+import de.saxsys.mvvmfx.utils.itemlist.ObservableIndex;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -31,6 +32,9 @@ public class MasterViewModel implements ViewModel {
 
 	private final ObservableList<MasterTableViewModel> contacts = FXCollections.observableArrayList();
 
+	private final ObservableIndex<String, MasterTableViewModel> contactsById = new ObservableIndex<>(contacts,
+			MasterTableViewModel::getId);
+
 	private final ReadOnlyObjectWrapper<Contact> selectedContact = new ReadOnlyObjectWrapper<>();
 
 	private final ObjectProperty<MasterTableViewModel> selectedTableRow = new SimpleObjectProperty<>();
@@ -73,11 +77,9 @@ public class MasterViewModel implements ViewModel {
 		allContacts.forEach(contact -> contacts.add(new MasterTableViewModel(contact)));
 
 		if (selectedContactId != null) {
-			Optional<MasterTableViewModel> selectedRow = contacts.stream()
-					.filter(row -> row.getId().equals(selectedContactId))
-					.findFirst();
+			final MasterTableViewModel selectedRow = contactsById.get(selectedContactId);
 
-			Optional.of(onSelect).ifPresent(consumer -> consumer.accept(selectedRow.orElse(null)));
+			Optional.of(onSelect).ifPresent(consumer -> consumer.accept(selectedRow));
 		}
 	}
 
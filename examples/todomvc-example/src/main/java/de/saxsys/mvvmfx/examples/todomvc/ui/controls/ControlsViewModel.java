@@ -1,10 +1,12 @@
 package de.saxsys.mvvmfx.examples.todomvc.ui.controls;
 
 import de.saxsys.mvvmfx.MvvmFX;
+import de.saxsys.mvvmfx.utils.itemlist.ListAggregates;
 import de.saxsys.mvvmfx.utils.notifications.NotificationCenter;
+import javafx.beans.Observable;
 import javafx.beans.binding.Bindings;
-import javafx.beans.binding.IntegerBinding;
 import javafx.beans.binding.StringBinding;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.ObservableList;
@@ -12,7 +14,6 @@ import javafx.collections.ObservableList;
 import de.saxsys.mvvmfx.ViewModel;
 import de.saxsys.mvvmfx.examples.todomvc.model.TodoItem;
 import de.saxsys.mvvmfx.examples.todomvc.model.TodoItemStore;
-import de.saxsys.mvvmfx.examples.todomvc.ui.FilterHelper;
 
 /**
  * @author manuel.mauky
@@ -26,9 +27,8 @@ public class ControlsViewModel implements ViewModel {
 	public ControlsViewModel() {
 		final ObservableList<TodoItem> items = TodoItemStore.getInstance().getItems();
 
-		ObservableList<TodoItem> completedItems = FilterHelper.filterInverted(items, TodoItem::completedProperty);
-
-		final IntegerBinding size = Bindings.size(completedItems);
+		final ReadOnlyIntegerProperty size = ListAggregates.countIf(items, item -> !item.isCompleted(),
+				item -> new Observable[] { item.completedProperty() });
 
 		final StringBinding itemsLabel = Bindings.when(size.isEqualTo(1)).then("item").otherwise("items");
 		itemsLeftLabelText.bind(Bindings.concat(size, " ", itemsLabel, " left"));
@@ -0,0 +1,128 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single notification on the wire.
+ * <p>
+ * The binary layout of a frame is:
+ *
+ * <pre>
+ * int     length of the rest of the frame
+ * short   length of the message name
+ * byte[]  message name (UTF-8)
+ * byte[]  payload as created by the {@link PayloadCodec}
+ * </pre>
+ *
+ * Several frames are written back-to-back into the same buffer so that small notifications can be batched.
+ * <p>
+ * The header of a received frame isn't trusted: a frame that is bigger than {@link #MAX_FRAME_SIZE} or whose lengths
+ * don't fit together is rejected with a {@link ProtocolException}.
+ */
+final class Frame {
+
+	private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+	/**
+	 * The maximum size of a single frame including its headers.
+	 */
+	static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
+
+	private final String messageName;
+	private final byte[] messageNameBytes;
+	private final byte[] payload;
+
+	/**
+	 * The connection this frame was received from or <code>null</code> if it was published in this JVM.
+	 */
+	private final PeerConnection origin;
+
+	Frame(String messageName, byte[] payload, PeerConnection origin) {
+		this(messageName, messageName.getBytes(StandardCharsets.UTF_8), payload, origin);
+	}
+
+	private Frame(String messageName, byte[] messageNameBytes, byte[] payload, PeerConnection origin) {
+		if (messageNameBytes.length > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("The message name [" + messageName + "] is too long.");
+		}
+		if (HEADER_SIZE + messageNameBytes.length + payload.length > MAX_FRAME_SIZE) {
+			throw new IllegalArgumentException("The payload of the notification [" + messageName + "] is too big.");
+		}
+		this.messageName = messageName;
+		this.messageNameBytes = messageNameBytes;
+		this.payload = payload;
+		this.origin = origin;
+	}
+
+	String getMessageName() {
+		return messageName;
+	}
+
+	byte[] getPayload() {
+		return payload;
+	}
+
+	PeerConnection getOrigin() {
+		return origin;
+	}
+
+	int encodedSize() {
+		return HEADER_SIZE + messageNameBytes.length + payload.length;
+	}
+
+	void writeTo(ByteBuffer buffer) {
+		buffer.putInt(Short.BYTES + messageNameBytes.length + payload.length);
+		buffer.putShort((short) messageNameBytes.length);
+		buffer.put(messageNameBytes);
+		buffer.put(payload);
+	}
+
+	/**
+	 * @return the size a buffer needs to read the next frame from the given buffer or <code>-1</code> if the length
+	 *         header isn't complete yet.
+	 * @throws ProtocolException
+	 *             if the length header is invalid.
+	 */
+	static int requiredSize(ByteBuffer buffer) throws ProtocolException {
+		if (buffer.remaining() < Integer.BYTES) {
+			return -1;
+		}
+		final int length = buffer.getInt(buffer.position());
+		if (length < Short.BYTES || length > MAX_FRAME_SIZE - Integer.BYTES) {
+			throw new ProtocolException("Invalid frame length " + length + ".");
+		}
+		return Integer.BYTES + length;
+	}
+
+	/**
+	 * Reads the next frame from the buffer.
+	 *
+	 * @return the frame or <code>null</code> if the buffer doesn't contain a complete frame yet. In this case the
+	 *         position of the buffer isn't changed.
+	 * @throws ProtocolException
+	 *             if the headers of the frame are invalid.
+	 */
+	static Frame readFrom(ByteBuffer buffer, PeerConnection origin) throws ProtocolException {
+		final int size = requiredSize(buffer);
+		if (size < 0 || buffer.remaining() < size) {
+			return null;
+		}
+
+		final int length = buffer.getInt(buffer.position());
+		final short nameLength = buffer.getShort(buffer.position() + Integer.BYTES);
+		if (nameLength < 0 || nameLength > length - Short.BYTES) {
+			throw new ProtocolException("Invalid message name length " + nameLength + " in a frame of length " + length
+					+ ".");
+		}
+
+		buffer.position(buffer.position() + HEADER_SIZE);
+		final byte[] nameBytes = new byte[nameLength];
+		buffer.get(nameBytes);
+		final byte[] payload = new byte[length - Short.BYTES - nameLength];
+		buffer.get(payload);
+
+		return new Frame(new String(nameBytes, StandardCharsets.UTF_8), nameBytes, payload, origin);
+	}
+}
@@ -0,0 +1,336 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import de.saxsys.mvvmfx.utils.notifications.NotificationCenter;
+import de.saxsys.mvvmfx.utils.notifications.NotificationObserver;
+import eu.lestard.doc.Beta;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Mirrors notifications between {@link NotificationCenter} instances of several JVMs that are running on the same
+ * machine, for example multiple instances of the same application on a multi-monitor workstation.
+ * <p>
+ * Only the message names that are passed to the constructor are mirrored. When such a message is published in one JVM
+ * it is published with the same payload in all connected JVMs. The payload is transferred with a {@link PayloadCodec}
+ * (by default the {@link SerializablePayloadCodec}).
+ * <p>
+ * The bridges are connected via TCP on the loopback interface. One instance has to {@link #listen(int)} on a port, all
+ * other instances {@link #connect(int)} to this port. The listening instance relays the notifications between all
+ * connected instances.
+ * <p>
+ * Every process of the local machine can connect to the port, so received notifications are not trusted: their frames
+ * are validated and the default {@link SerializablePayloadCodec} only decodes an allow-list of payload types. Pass a
+ * codec with the payload types of your application to
+ * {@link #NotificationBridge(NotificationCenter, PayloadCodec, Collection)}.
+ *
+ * <pre>
+ * // first instance
+ * NotificationBridge bridge = new NotificationBridge(notificationCenter, "selection", "refresh");
+ * bridge.listen(4711);
+ *
+ * // all other instances
+ * NotificationBridge bridge = new NotificationBridge(notificationCenter, "selection", "refresh");
+ * bridge.connect(4711);
+ * </pre>
+ *
+ * Notifications from other JVMs are published on the JavaFX application thread (if the JavaFX toolkit is running). This
+ * can be changed with {@link #setDeliveryExecutor(Executor)}.
+ * <p>
+ * Small notifications are batched: all notifications that are published while the writer thread is busy are sent with
+ * a single write operation.
+ * <p>
+ * Notifications that are published on a specific channel (see {@link NotificationCenter#publish(Object, String,
+ * Object[])}) are not mirrored.
+ */
+@Beta
+public class NotificationBridge implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NotificationBridge.class);
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int MAX_BATCH_SIZE = 256;
+
+	private final NotificationCenter notificationCenter;
+	private final PayloadCodec codec;
+	private final Set<String> mirroredMessages;
+
+	private final NotificationObserver localObserver = this::localNotificationPublished;
+
+	/**
+	 * Is <code>true</code> while a notification from another JVM is published in this JVM. This way we prevent that
+	 * the notification is sent back to where it came from.
+	 */
+	private final ThreadLocal<Boolean> deliveringRemoteNotification = ThreadLocal.withInitial(() -> false);
+
+	private final List<PeerConnection> connections = new CopyOnWriteArrayList<>();
+	private final BlockingQueue<Frame> outgoing = new LinkedBlockingQueue<>();
+	private final Thread writerThread;
+
+	private volatile Executor deliveryExecutor = NotificationBridge::runOnFxThread;
+	private volatile boolean closed = false;
+
+	private ServerSocketChannel serverChannel;
+
+	/**
+	 * Creates a bridge that uses the {@link SerializablePayloadCodec}. Only payloads of the types that are always
+	 * allowed by the codec (like strings and numbers) are transferred.
+	 *
+	 * @param notificationCenter
+	 *            the notification center of this JVM.
+	 * @param mirroredMessages
+	 *            the names of the messages that are mirrored.
+	 */
+	public NotificationBridge(NotificationCenter notificationCenter, String... mirroredMessages) {
+		this(notificationCenter, new SerializablePayloadCodec(), Arrays.asList(mirroredMessages));
+	}
+
+	/**
+	 * @param notificationCenter
+	 *            the notification center of this JVM.
+	 * @param codec
+	 *            the codec that is used to transfer the payload of notifications.
+	 * @param mirroredMessages
+	 *            the names of the messages that are mirrored.
+	 */
+	public NotificationBridge(NotificationCenter notificationCenter, PayloadCodec codec,
+			Collection<String> mirroredMessages) {
+		this.notificationCenter = notificationCenter;
+		this.codec = codec;
+		this.mirroredMessages = Collections.unmodifiableSet(new LinkedHashSet<>(mirroredMessages));
+
+		this.mirroredMessages.forEach(messageName -> notificationCenter.subscribe(messageName, localObserver));
+
+		writerThread = new Thread(this::writeLoop, "mvvmfx-notification-bridge-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * Defines how notifications from other JVMs are published in this JVM. By default they are published on the
+	 * JavaFX application thread.
+	 *
+	 * @param deliveryExecutor
+	 *            the executor that is used to publish notifications from other JVMs.
+	 */
+	public void setDeliveryExecutor(Executor deliveryExecutor) {
+		this.deliveryExecutor = deliveryExecutor;
+	}
+
+	/**
+	 * Waits for other instances to connect to this bridge on the given port of the loopback interface.
+	 *
+	 * @param port
+	 *            the port. Use <code>0</code> to let the operating system choose a free port.
+	 * @return the port this bridge is listening on.
+	 * @throws IOException
+	 *             if the port can't be bound.
+	 */
+	public synchronized int listen(int port) throws IOException {
+		if (serverChannel != null) {
+			throw new IllegalStateException("The bridge is already listening.");
+		}
+
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+
+		final Thread acceptThread = new Thread(this::acceptLoop, "mvvmfx-notification-bridge-acceptor");
+		acceptThread.setDaemon(true);
+		acceptThread.start();
+
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * Connects this bridge to another instance that is listening on the given port of the loopback interface.
+	 *
+	 * @param port
+	 *            the port the other instance is listening on (see {@link #listen(int)}).
+	 * @throws IOException
+	 *             if the connection can't be established.
+	 */
+	public void connect(int port) throws IOException {
+		addConnection(SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port)));
+	}
+
+	/**
+	 * @return the names of the messages that are mirrored by this bridge.
+	 */
+	public Set<String> getMirroredMessages() {
+		return mirroredMessages;
+	}
+
+	/**
+	 * @return the number of bridges in other JVMs that are currently connected to this bridge.
+	 */
+	public int getConnectionCount() {
+		return connections.size();
+	}
+
+	/**
+	 * Disconnects this bridge from all other instances and stops mirroring notifications.
+	 */
+	@Override
+	public synchronized void close() {
+		closed = true;
+
+		mirroredMessages.forEach(messageName -> notificationCenter.unsubscribe(messageName, localObserver));
+
+		if (serverChannel != null) {
+			try {
+				serverChannel.close();
+			} catch (IOException e) {
+				LOG.warn("Error while closing the notification bridge", e);
+			}
+		}
+
+		connections.forEach(PeerConnection::close);
+		connections.clear();
+
+		writerThread.interrupt();
+	}
+
+	private void addConnection(SocketChannel channel) throws IOException {
+		final PeerConnection connection = new PeerConnection(channel, BUFFER_SIZE, this::remoteFrameReceived,
+				connections::remove);
+		connections.add(connection);
+		connection.start();
+	}
+
+	private void acceptLoop() {
+		while (!closed) {
+			try {
+				addConnection(serverChannel.accept());
+			} catch (ClosedChannelException e) {
+				return;
+			} catch (IOException e) {
+				LOG.warn("Error while accepting a connection of another notification bridge", e);
+			}
+		}
+	}
+
+	private void localNotificationPublished(String messageName, Object... payload) {
+		if (deliveringRemoteNotification.get()) {
+			return;
+		}
+
+		try {
+			outgoing.add(new Frame(messageName, codec.encode(payload), null));
+		} catch (IOException | IllegalArgumentException e) {
+			LOG.warn("The payload of the notification [" + messageName + "] can't be encoded and isn't mirrored.", e);
+		}
+	}
+
+	private void remoteFrameReceived(Frame frame) {
+		// relay to all other connected bridges
+		if (connections.size() > 1) {
+			outgoing.add(frame);
+		}
+
+		if (!mirroredMessages.contains(frame.getMessageName())) {
+			return;
+		}
+
+		final Object[] payload;
+		try {
+			payload = codec.decode(frame.getPayload());
+		} catch (IOException e) {
+			LOG.warn("The payload of the notification [" + frame.getMessageName() + "] can't be decoded.", e);
+			return;
+		}
+
+		deliveryExecutor.execute(() -> {
+			deliveringRemoteNotification.set(true);
+			try {
+				notificationCenter.publish(frame.getMessageName(), payload);
+			} finally {
+				deliveringRemoteNotification.set(false);
+			}
+		});
+	}
+
+	private void writeLoop() {
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		final List<Frame> batch = new ArrayList<>();
+
+		while (!closed) {
+			try {
+				batch.add(outgoing.take());
+			} catch (InterruptedException e) {
+				return;
+			}
+			outgoing.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+			for (PeerConnection connection : connections) {
+				try {
+					writeBatch(connection, batch, buffer);
+				} catch (IOException e) {
+					LOG.warn("Error while sending notifications to another notification bridge", e);
+					connection.close();
+				}
+			}
+
+			batch.clear();
+		}
+	}
+
+	private static void writeBatch(PeerConnection connection, List<Frame> batch, ByteBuffer buffer) throws IOException {
+		buffer.clear();
+
+		for (Frame frame : batch) {
+			if (frame.getOrigin() == connection) {
+				continue;
+			}
+
+			if (frame.encodedSize() > buffer.remaining()) {
+				buffer.flip();
+				connection.write(buffer);
+				buffer.clear();
+			}
+
+			if (frame.encodedSize() > buffer.capacity()) {
+				final ByteBuffer single = ByteBuffer.allocate(frame.encodedSize());
+				frame.writeTo(single);
+				single.flip();
+				connection.write(single);
+			} else {
+				frame.writeTo(buffer);
+			}
+		}
+
+		buffer.flip();
+		connection.write(buffer);
+	}
+
+	/**
+	 * If the JavaFX toolkit isn't running (typically in unit tests or headless applications) the notification is
+	 * published directly in the current thread.
+	 */
+	private static void runOnFxThread(Runnable runnable) {
+		try {
+			Platform.runLater(runnable);
+		} catch (IllegalStateException e) {
+			runnable.run();
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import java.io.IOException;
+
+/**
+ * Converts the payload of a notification into bytes and back so that it can be transferred to another JVM by the
+ * {@link NotificationBridge}.
+ * <p>
+ * The default implementation is {@link SerializablePayloadCodec}. If your payloads aren't {@link java.io.Serializable}
+ * or you need a more compact representation you can provide your own implementation.
+ */
+public interface PayloadCodec {
+
+	/**
+	 * @param payload
+	 *            the payload of a published notification. May be empty but never <code>null</code>.
+	 * @return the encoded payload.
+	 * @throws IOException
+	 *             if the payload can't be encoded.
+	 */
+	byte[] encode(Object[] payload) throws IOException;
+
+	/**
+	 * @param bytes
+	 *            the bytes that were created by {@link #encode(Object[])} in another JVM.
+	 * @return the decoded payload.
+	 * @throws IOException
+	 *             if the bytes can't be decoded.
+	 */
+	Object[] decode(byte[] bytes) throws IOException;
+}
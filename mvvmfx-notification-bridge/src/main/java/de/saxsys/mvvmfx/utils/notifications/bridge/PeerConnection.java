@@ -0,0 +1,92 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * A socket connection to another {@link NotificationBridge}. Each connection has its own reader thread that decodes
+ * incoming frames. Writing is done by the writer thread of the bridge.
+ * <p>
+ * A connection that receives an invalid frame is closed because the following frames can't be found reliably.
+ */
+class PeerConnection {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PeerConnection.class);
+
+	private final SocketChannel channel;
+	private final Consumer<Frame> frameHandler;
+	private final Consumer<PeerConnection> closeHandler;
+
+	private final Thread readerThread;
+
+	PeerConnection(SocketChannel channel, int bufferSize, Consumer<Frame> frameHandler,
+			Consumer<PeerConnection> closeHandler) throws IOException {
+		this.channel = channel;
+		this.frameHandler = frameHandler;
+		this.closeHandler = closeHandler;
+
+		channel.configureBlocking(true);
+		channel.socket().setTcpNoDelay(true);
+
+		readerThread = new Thread(() -> readLoop(bufferSize), "mvvmfx-notification-bridge-reader");
+		readerThread.setDaemon(true);
+	}
+
+	void start() {
+		readerThread.start();
+	}
+
+	private void readLoop(int bufferSize) {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+		try {
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+
+				Frame frame;
+				while ((frame = Frame.readFrom(buffer, this)) != null) {
+					frameHandler.accept(frame);
+				}
+
+				// a single frame that is bigger than the buffer: grow the buffer for it
+				final int required = Frame.requiredSize(buffer);
+				if (required > buffer.capacity()) {
+					final ByteBuffer bigger = ByteBuffer.allocateDirect(required);
+					bigger.put(buffer);
+					buffer = bigger;
+				} else {
+					buffer.compact();
+				}
+			}
+		} catch (ProtocolException e) {
+			LOG.warn("Closing the connection to another notification bridge after receiving an invalid frame", e);
+		} catch (IOException e) {
+			// the connection was closed by the other side or by ourselves.
+		} finally {
+			close();
+			closeHandler.accept(this);
+		}
+	}
+
+	/**
+	 * Writes the complete content of the given buffer. This method is only invoked by the writer thread of the bridge.
+	 */
+	void write(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// nothing we can do about it.
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import de.saxsys.mvvmfx.internal.AllowListObjectInputStream;
+
+/**
+ * A {@link PayloadCodec} that uses the standard java serialization. All payload objects have to be
+ * {@link java.io.Serializable}.
+ * <p>
+ * The bridge accepts connections from every process of the local machine, so the received bytes are not trusted.
+ * Deserializing arbitrary classes would allow such a process to run code in this JVM (with so-called gadget chains of
+ * classes on the classpath). Therefore only the types of an allow-list are decoded: {@link String}, the boxed primitives,
+ * {@link java.math.BigInteger}, {@link java.math.BigDecimal}, arrays of them and the payload types that are passed to
+ * the constructor. A payload containing any other class is rejected with an {@link IOException}. Payload types should
+ * be simple value classes whose fields only contain allowed types as well.
+ * <p>
+ * Empty payloads are encoded as an empty byte array so that notifications without payload (which are the most common
+ * ones like "refresh") don't have any overhead.
+ */
+public class SerializablePayloadCodec implements PayloadCodec {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final Set<Class<?>> payloadTypes;
+
+	/**
+	 * @param payloadTypes
+	 *            the classes that are allowed in payloads in addition to the always allowed ones (see the class
+	 *            documentation). Subclasses have to be listed explicitly.
+	 */
+	public SerializablePayloadCodec(Class<?>... payloadTypes) {
+		this.payloadTypes = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(payloadTypes)));
+	}
+
+	/**
+	 * @return the classes that are allowed in payloads in addition to the always allowed ones.
+	 */
+	public Set<Class<?>> getPayloadTypes() {
+		return payloadTypes;
+	}
+
+	@Override
+	public byte[] encode(Object[] payload) throws IOException {
+		if (payload.length == 0) {
+			return EMPTY;
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(payload);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object[] decode(byte[] bytes) throws IOException {
+		if (bytes.length == 0) {
+			return new Object[0];
+		}
+
+		try (ObjectInputStream in = new AllowListObjectInputStream(new ByteArrayInputStream(bytes), payloadTypes)) {
+			final Object payload = in.readObject();
+			if (!(payload instanceof Object[])) {
+				throw new IOException("The payload isn't an array of objects.");
+			}
+			return (Object[]) payload;
+		} catch (ClassNotFoundException e) {
+			throw new IOException("The payload contains a class that isn't available in this JVM.", e);
+		}
+	}
+}
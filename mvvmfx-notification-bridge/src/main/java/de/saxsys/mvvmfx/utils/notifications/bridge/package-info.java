@@ -0,0 +1,5 @@
+/**
+ * Mirror notifications of the {@link de.saxsys.mvvmfx.utils.notifications.NotificationCenter} between several JVMs that
+ * are running on the same machine.
+ */
+package de.saxsys.mvvmfx.utils.notifications.bridge;
@@ -0,0 +1,79 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class FrameTest {
+
+	@Test
+	public void framesAreReadBackToBack() throws Exception {
+		final Frame first = new Frame("first", new byte[] { 1, 2, 3 }, null);
+		final Frame second = new Frame("second", new byte[0], null);
+
+		final ByteBuffer buffer = ByteBuffer.allocate(first.encodedSize() + second.encodedSize());
+		first.writeTo(buffer);
+		second.writeTo(buffer);
+		buffer.flip();
+
+		final Frame read = Frame.readFrom(buffer, null);
+		assertThat(read.getMessageName()).isEqualTo("first");
+		assertThat(read.getPayload()).containsExactly(new byte[] { 1, 2, 3 });
+		assertThat(Frame.readFrom(buffer, null).getMessageName()).isEqualTo("second");
+		assertThat(Frame.readFrom(buffer, null)).isNull();
+	}
+
+	@Test
+	public void incompleteFrameIsNotRead() throws Exception {
+		final Frame frame = new Frame("message", new byte[] { 1, 2, 3 }, null);
+		final ByteBuffer buffer = ByteBuffer.allocate(frame.encodedSize());
+		frame.writeTo(buffer);
+		buffer.flip();
+		buffer.limit(buffer.limit() - 1);
+
+		assertThat(Frame.readFrom(buffer, null)).isNull();
+		assertThat(buffer.position()).isEqualTo(0);
+	}
+
+	@Test
+	public void invalidLengthsAreRejected() {
+		assertRejected(header(-1, 0));
+		assertRejected(header(1, 0));
+		assertRejected(header(Frame.MAX_FRAME_SIZE, 0));
+		// the message name is longer than the frame
+		assertRejected(header(Short.BYTES + 1, 2));
+		assertRejected(header(Short.BYTES + 1, -1));
+	}
+
+	@Test
+	public void tooBigFramesAreNotCreated() {
+		try {
+			new Frame("message", new byte[Frame.MAX_FRAME_SIZE], null);
+			fail("The frame is bigger than the maximum size");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	private static ByteBuffer header(int length, int nameLength) {
+		final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + 2);
+		buffer.putInt(length);
+		buffer.putShort((short) nameLength);
+		buffer.put(new byte[2]);
+		buffer.flip();
+		return buffer;
+	}
+
+	private static void assertRejected(ByteBuffer buffer) {
+		try {
+			Frame.readFrom(buffer, null);
+			fail("The frame header is invalid");
+		} catch (ProtocolException e) {
+			// expected
+		}
+	}
+}
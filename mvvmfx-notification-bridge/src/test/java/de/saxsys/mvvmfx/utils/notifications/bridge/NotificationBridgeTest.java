@@ -0,0 +1,181 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import de.saxsys.mvvmfx.utils.notifications.DefaultNotificationCenter;
+import de.saxsys.mvvmfx.utils.notifications.NotificationCenter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NotificationBridgeTest {
+
+	private static final String SELECTION = "selection";
+	private static final String REFRESH = "refresh";
+	private static final String LOCAL_ONLY = "localOnly";
+
+	private NotificationCenter centerA;
+	private NotificationCenter centerB;
+
+	private NotificationBridge bridgeA;
+	private NotificationBridge bridgeB;
+
+	private int port;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		centerA = new DefaultNotificationCenter();
+		centerB = new DefaultNotificationCenter();
+
+		bridgeA = new NotificationBridge(centerA, SELECTION, REFRESH);
+		bridgeA.setDeliveryExecutor(Runnable::run);
+		bridgeB = new NotificationBridge(centerB, SELECTION, REFRESH);
+		bridgeB.setDeliveryExecutor(Runnable::run);
+
+		port = bridgeA.listen(0);
+		bridgeB.connect(port);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		bridgeA.close();
+		bridgeB.close();
+	}
+
+	@Test
+	public void mirroredMessagesAreDeliveredInBothDirections() throws Exception {
+		final BlockingQueue<Object[]> receivedByA = subscribe(centerA, SELECTION);
+		final BlockingQueue<Object[]> receivedByB = subscribe(centerB, SELECTION);
+
+		centerB.publish(SELECTION, "item", 42);
+
+		assertThat(receivedByA.poll(5, TimeUnit.SECONDS)).containsExactly("item", 42);
+		receivedByA.clear();
+		receivedByB.clear();
+
+		centerA.publish(SELECTION, "other");
+
+		assertThat(receivedByB.poll(5, TimeUnit.SECONDS)).containsExactly("other");
+	}
+
+	@Test
+	public void notificationsAreNotSentBackToTheSender() throws Exception {
+		final BlockingQueue<Object[]> receivedByA = subscribe(centerA, REFRESH);
+		final BlockingQueue<Object[]> receivedByB = subscribe(centerB, REFRESH);
+
+		centerB.publish(REFRESH);
+
+		assertThat(receivedByA.poll(5, TimeUnit.SECONDS)).isEmpty();
+		assertThat(receivedByB.poll()).isEmpty(); // the local publish
+
+		assertThat(receivedByB.poll(200, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	public void onlyMirroredMessagesAreTransferred() throws Exception {
+		final BlockingQueue<Object[]> localOnly = subscribe(centerA, LOCAL_ONLY);
+		final BlockingQueue<Object[]> refresh = subscribe(centerA, REFRESH);
+
+		centerB.publish(LOCAL_ONLY);
+		centerB.publish(REFRESH);
+
+		// frames are delivered in order, so when the refresh arrived the other message would have been there too.
+		assertThat(refresh.poll(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(localOnly).isEmpty();
+	}
+
+	@Test
+	public void manySmallMessagesArriveInOrder() throws Exception {
+		final BlockingQueue<Object[]> receivedByA = subscribe(centerA, SELECTION);
+
+		for (int i = 0; i < 1000; i++) {
+			centerB.publish(SELECTION, i);
+		}
+
+		final List<Object> values = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			final Object[] payload = receivedByA.poll(5, TimeUnit.SECONDS);
+			assertThat(payload).isNotNull();
+			values.add(payload[0]);
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			assertThat(values.get(i)).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void payloadsBiggerThanTheBufferAreTransferred() throws Exception {
+		final BlockingQueue<Object[]> receivedByA = subscribe(centerA, SELECTION);
+
+		final String big = String.join("", Collections.nCopies(200_000, "x"));
+		centerB.publish(SELECTION, big);
+
+		assertThat(receivedByA.poll(5, TimeUnit.SECONDS)).containsExactly(big);
+	}
+
+	@Test
+	public void theListeningBridgeRelaysBetweenConnectedBridges() throws Exception {
+		final NotificationCenter centerC = new DefaultNotificationCenter();
+		final NotificationBridge bridgeC = new NotificationBridge(centerC, SELECTION);
+		bridgeC.setDeliveryExecutor(Runnable::run);
+
+		try {
+			bridgeC.connect(port);
+
+			final BlockingQueue<Object[]> receivedByC = subscribe(centerC, SELECTION);
+
+			waitForConnections(bridgeA, 2);
+
+			centerB.publish(SELECTION, "fromB");
+
+			assertThat(receivedByC.poll(5, TimeUnit.SECONDS)).containsExactly("fromB");
+		} finally {
+			bridgeC.close();
+		}
+	}
+
+	@Test
+	public void connectionsSendingInvalidFramesAreClosed() throws Exception {
+		try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))) {
+			waitForConnections(bridgeA, 2);
+
+			final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+			buffer.putInt(-1);
+			buffer.flip();
+			channel.write(buffer);
+
+			waitForConnections(bridgeA, 1);
+		}
+
+		// the other connections still work
+		final BlockingQueue<Object[]> receivedByA = subscribe(centerA, SELECTION);
+		centerB.publish(SELECTION, "item");
+		assertThat(receivedByA.poll(5, TimeUnit.SECONDS)).containsExactly("item");
+	}
+
+	private static void waitForConnections(NotificationBridge bridge, int count) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (bridge.getConnectionCount() != count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(bridge.getConnectionCount()).isEqualTo(count);
+	}
+
+	private static BlockingQueue<Object[]> subscribe(NotificationCenter center, String messageName) {
+		final BlockingQueue<Object[]> received = new LinkedBlockingQueue<>();
+		center.subscribe(messageName, (key, payload) -> received.add(payload));
+		return received;
+	}
+}
@@ -0,0 +1,78 @@
+package de.saxsys.mvvmfx.utils.notifications.bridge;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class SerializablePayloadCodecTest {
+
+	public static class Selection implements Serializable {
+		private final String id;
+
+		Selection(String id) {
+			this.id = id;
+		}
+	}
+
+	public static class Gadget implements Serializable {
+		static volatile boolean deserialized = false;
+
+		private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+			in.defaultReadObject();
+			deserialized = true;
+		}
+	}
+
+	@Test
+	public void defaultTypesAreDecoded() throws Exception {
+		final SerializablePayloadCodec codec = new SerializablePayloadCodec();
+
+		final Object[] payload = { "item", 42, 1.5, new BigDecimal("2.50"), new int[] { 1, 2 }, null };
+		final Object[] decoded = codec.decode(codec.encode(payload));
+
+		assertThat(decoded).hasSize(6);
+		assertThat(decoded[0]).isEqualTo("item");
+		assertThat(decoded[1]).isEqualTo(42);
+		assertThat(decoded[3]).isEqualTo(new BigDecimal("2.50"));
+		assertThat((int[]) decoded[4]).containsExactly(1, 2);
+		assertThat(codec.decode(codec.encode(new Object[0]))).isEmpty();
+	}
+
+	@Test
+	public void configuredPayloadTypesAreDecoded() throws Exception {
+		final SerializablePayloadCodec codec = new SerializablePayloadCodec(Selection.class);
+
+		final Object[] decoded = codec.decode(codec.encode(new Object[] { new Selection("a") }));
+
+		assertThat(((Selection) decoded[0]).id).isEqualTo("a");
+	}
+
+	@Test
+	public void otherTypesAreRejected() throws Exception {
+		final SerializablePayloadCodec codec = new SerializablePayloadCodec(Selection.class);
+
+		try {
+			codec.decode(codec.encode(new Object[] { new Gadget() }));
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			// expected
+		}
+		assertThat(Gadget.deserialized).isFalse();
+
+		// nested objects are checked as well
+		try {
+			codec.decode(codec.encode(new Object[] { new ArrayList<>(Collections.singletonList("a")) }));
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+}
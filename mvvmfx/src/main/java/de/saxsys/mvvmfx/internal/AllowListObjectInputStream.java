@@ -0,0 +1,74 @@
+package de.saxsys.mvvmfx.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An {@link ObjectInputStream} that only deserializes instances of an allow-list of classes. The class of every object
+ * in the stream (including its serializable super classes and the component types of arrays) is checked before the
+ * object is created, so that bytes from an untrusted source can't instantiate arbitrary classes of the classpath.
+ * <p>
+ * Primitive types, {@link String}, the boxed primitives, {@link BigInteger}, {@link BigDecimal} and arrays of them
+ * are always allowed. Enums are only allowed if the enum class itself is allowed. Proxy classes are never allowed.
+ * <p>
+ * This is an internal class and is not intended to be used outside of mvvmFX.
+ */
+public class AllowListObjectInputStream extends ObjectInputStream {
+
+	/**
+	 * The classes that are allowed by every instance.
+	 */
+	public static final Set<Class<?>> DEFAULT_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			Object.class, String.class, Boolean.class, Character.class, Number.class, Byte.class, Short.class,
+			Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class, Enum.class)));
+
+	private final Set<Class<?>> allowedTypes;
+
+	/**
+	 * @param in
+	 *            the stream to read from.
+	 * @param allowedTypes
+	 *            the classes that are allowed in addition to the {@link #DEFAULT_TYPES}. Subclasses of these classes
+	 *            are not allowed implicitly.
+	 * @throws IOException
+	 *             if the stream header can't be read.
+	 */
+	public AllowListObjectInputStream(InputStream in, Collection<Class<?>> allowedTypes) throws IOException {
+		super(in);
+		this.allowedTypes = new HashSet<>(DEFAULT_TYPES);
+		this.allowedTypes.addAll(allowedTypes);
+	}
+
+	@Override
+	protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+		// the class isn't initialized by resolving it, so no code of a rejected class is run
+		final Class<?> type = super.resolveClass(desc);
+		if (!isAllowed(type)) {
+			throw new InvalidClassException(desc.getName(), "The class isn't allowed to be deserialized.");
+		}
+		return type;
+	}
+
+	@Override
+	protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+		throw new InvalidClassException(Arrays.toString(interfaces), "Proxy classes aren't allowed to be deserialized.");
+	}
+
+	private boolean isAllowed(Class<?> type) {
+		Class<?> componentType = type;
+		while (componentType.isArray()) {
+			componentType = componentType.getComponentType();
+		}
+		return componentType.isPrimitive() || allowedTypes.contains(componentType);
+	}
+}
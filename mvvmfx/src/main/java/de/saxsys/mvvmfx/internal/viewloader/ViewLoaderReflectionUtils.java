@@ -198,6 +198,28 @@ public class ViewLoaderReflectionUtils {
         }
     }
 
+    /**
+     * Injects the given viewModel instance into the given view like
+     * {@link #injectViewModel(View, ViewModel)} but replaces an already
+     * existing viewModel instance. This is used when a view is reused for
+     * another viewModel. When the given viewModel is <code>null</code> the
+     * existing viewModel instance is removed from the view.
+     *
+     * @param view
+     * @param viewModel
+     */
+    public static void reinjectViewModel(final View view, ViewModel viewModel) {
+        final Class<?> viewModelType = viewModel == null
+                ? TypeResolver.resolveRawArgument(View.class, view.getClass())
+                : viewModel.getClass();
+        final Optional<Field> fieldOptional = getViewModelField(view.getClass(), viewModelType);
+        if (fieldOptional.isPresent()) {
+            Field field = fieldOptional.get();
+            ReflectionUtils.accessMember(field, () -> field.set(view, viewModel),
+                    "Can't inject ViewModel of type <" + viewModelType + "> into the view <" + view + ">");
+        }
+    }
+
     /**
      * This method is used to create and inject the ViewModel for a given View
      * instance.
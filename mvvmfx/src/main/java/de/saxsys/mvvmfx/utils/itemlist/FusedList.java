@@ -0,0 +1,371 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * The result of the element-wise stages (map, filter and flatMap) of a {@link ListPipeline}. All consecutive
+ * element-wise stages are fused into a single list, so there are no intermediate lists with their own index arrays.
+ * <p>
+ * For every element of the source list an {@link Entry} stores a tree of the intermediate values of the stages (a map
+ * stage has one child, a filter stage one or no child and a flatMap stage one child for every result). The leafs are
+ * the elements of this list. Changes of the source list only rebuild the entries of the changed elements. When a
+ * dependency of a filter (see {@link ListPipeline#filter(Predicate, Function)}) is invalidated, only the predicate of
+ * this single intermediate value is evaluated again and only the part of the tree below it is rebuilt.
+ *
+ * @param <S>
+ *            the type of the source elements.
+ * @param <T>
+ *            the type of the elements of this list.
+ */
+final class FusedList<S, T> extends ObservableListBase<T> {
+
+	/**
+	 * A single element-wise stage.
+	 */
+	static final class Stage {
+		private final Function<Object, Object> mapper;
+		private final Predicate<Object> predicate;
+		private final Function<Object, Observable[]> dependencies;
+		private final Function<Object, ? extends List<?>> flatMapper;
+
+		private Stage(Function<Object, Object> mapper, Predicate<Object> predicate,
+				Function<Object, Observable[]> dependencies, Function<Object, ? extends List<?>> flatMapper) {
+			this.mapper = mapper;
+			this.predicate = predicate;
+			this.dependencies = dependencies;
+			this.flatMapper = flatMapper;
+		}
+
+		@SuppressWarnings("unchecked")
+		static Stage map(Function<?, ?> mapper) {
+			return new Stage((Function<Object, Object>) mapper, null, null, null);
+		}
+
+		@SuppressWarnings("unchecked")
+		static Stage filter(Predicate<?> predicate, Function<?, Observable[]> dependencies) {
+			return new Stage(null, (Predicate<Object>) predicate, (Function<Object, Observable[]>) dependencies, null);
+		}
+
+		@SuppressWarnings("unchecked")
+		static Stage flatMap(Function<?, ? extends List<?>> flatMapper) {
+			return new Stage(null, null, null, (Function<Object, ? extends List<?>>) flatMapper);
+		}
+	}
+
+	/**
+	 * The intermediate value of a single stage for a single source element.
+	 */
+	private final class Node {
+		private final Entry entry;
+		private final Object value;
+		private final int stage;
+		private List<Node> children = Collections.emptyList();
+
+		// only used by filter stages with dependencies
+		private Observable[] observables;
+		private InvalidationListener listener;
+		private InvalidationListener weakListener;
+		private boolean accepted;
+
+		Node(Entry entry, Object value, int stage) {
+			this.entry = entry;
+			this.value = value;
+			this.stage = stage;
+		}
+	}
+
+	/**
+	 * All intermediate values and results of a single source element.
+	 */
+	private final class Entry {
+		private Node root;
+		private List<T> results;
+
+		/**
+		 * The position of the source element in the source list and the position of the first result in this list.
+		 * Both are updated after every structural change.
+		 */
+		private int index;
+		private int offset;
+	}
+
+	/**
+	 * The source is referenced strongly (like by a {@link javafx.collections.transformation.TransformationList}), so
+	 * that intermediate lists of a pipeline are kept alive by the resulting list. The source only references this list
+	 * weakly.
+	 */
+	private final ObservableList<S> source;
+	private final List<Stage> stages;
+
+	private final List<Entry> entries = new ArrayList<>();
+	private final List<T> elements = new ArrayList<>();
+
+	private final ListChangeListener<S> sourceListener = this::sourceChanged;
+
+	FusedList(ObservableList<S> source, List<Stage> stages) {
+		this.source = source;
+		this.stages = new ArrayList<>(stages);
+
+		final List<Entry> newEntries = new ArrayList<>(source.size());
+		for (S item : source) {
+			final Entry entry = createEntry(item);
+			newEntries.add(entry);
+			elements.addAll(entry.results);
+		}
+		entries.addAll(newEntries);
+		updatePositions(0);
+
+		source.addListener(new WeakListChangeListener<>(sourceListener));
+	}
+
+	@Override
+	public T get(int index) {
+		return elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	private void sourceChanged(ListChangeListener.Change<? extends S> change) {
+		beginChange();
+		try {
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					permute(change);
+				} else if (change.wasUpdated()) {
+					for (int i = change.getFrom(); i < change.getTo(); i++) {
+						final Entry entry = entries.get(i);
+						dispose(entry.root);
+						entry.root = build(entry, change.getList().get(i), 0);
+						updateResults(entry);
+					}
+				} else {
+					if (change.wasRemoved()) {
+						removeEntries(change.getFrom(), change.getRemovedSize());
+					}
+					if (change.wasAdded()) {
+						addEntries(change.getFrom(), change.getAddedSubList());
+					}
+				}
+			}
+		} finally {
+			endChange();
+		}
+	}
+
+	private void addEntries(int from, List<? extends S> items) {
+		final int offset = offsetOf(from);
+
+		final List<Entry> newEntries = new ArrayList<>(items.size());
+		final List<T> newElements = new ArrayList<>();
+		for (S item : items) {
+			final Entry entry = createEntry(item);
+			newEntries.add(entry);
+			newElements.addAll(entry.results);
+		}
+
+		entries.addAll(from, newEntries);
+		elements.addAll(offset, newElements);
+		updatePositions(from);
+
+		if (!newElements.isEmpty()) {
+			nextAdd(offset, offset + newElements.size());
+		}
+	}
+
+	private void removeEntries(int from, int count) {
+		final int offset = offsetOf(from);
+
+		final List<Entry> range = entries.subList(from, from + count);
+		int size = 0;
+		for (Entry entry : range) {
+			dispose(entry.root);
+			size += entry.results.size();
+		}
+		range.clear();
+
+		final List<T> removedRange = elements.subList(offset, offset + size);
+		final List<T> removed = new ArrayList<>(removedRange);
+		removedRange.clear();
+		updatePositions(from);
+
+		if (!removed.isEmpty()) {
+			nextRemove(offset, removed);
+		}
+	}
+
+	private void permute(ListChangeListener.Change<? extends S> change) {
+		final int from = change.getFrom();
+		final int to = change.getTo();
+
+		final int targetFrom = offsetOf(from);
+		final int targetTo = offsetOf(to);
+
+		final List<Entry> oldEntries = new ArrayList<>(entries.subList(from, to));
+		final int[] oldOffsets = new int[oldEntries.size()];
+		for (int i = 0; i < oldEntries.size(); i++) {
+			oldOffsets[i] = oldEntries.get(i).offset;
+			entries.set(change.getPermutation(from + i), oldEntries.get(i));
+		}
+		updatePositions(from);
+
+		if (targetFrom == targetTo) {
+			return;
+		}
+
+		final int[] permutation = new int[targetTo - targetFrom];
+		for (int i = 0; i < oldEntries.size(); i++) {
+			final Entry entry = oldEntries.get(i);
+			for (int k = 0; k < entry.results.size(); k++) {
+				permutation[oldOffsets[i] + k - targetFrom] = entry.offset + k;
+				elements.set(entry.offset + k, entry.results.get(k));
+			}
+		}
+		nextPermutation(targetFrom, targetTo, permutation);
+	}
+
+	/**
+	 * Replaces the results of the given entry in this list after its tree was changed.
+	 */
+	private void updateResults(Entry entry) {
+		final List<T> oldResults = entry.results;
+		final List<T> newResults = new ArrayList<>();
+		collect(entry.root, newResults);
+		entry.results = newResults;
+
+		if (oldResults.isEmpty() && newResults.isEmpty()) {
+			return;
+		}
+
+		final List<T> range = elements.subList(entry.offset, entry.offset + oldResults.size());
+		range.clear();
+		range.addAll(newResults);
+
+		if (!oldResults.isEmpty()) {
+			nextRemove(entry.offset, oldResults);
+		}
+		if (!newResults.isEmpty()) {
+			nextAdd(entry.offset, entry.offset + newResults.size());
+		}
+
+		if (oldResults.size() != newResults.size()) {
+			updatePositions(entry.index);
+		}
+	}
+
+	private Entry createEntry(S item) {
+		final Entry entry = new Entry();
+		entry.root = build(entry, item, 0);
+		entry.results = new ArrayList<>();
+		collect(entry.root, entry.results);
+		return entry;
+	}
+
+	private Node build(Entry entry, Object value, int stageIndex) {
+		final Node node = new Node(entry, value, stageIndex);
+		if (stageIndex == stages.size()) {
+			return node;
+		}
+
+		final Stage stage = stages.get(stageIndex);
+		if (stage.mapper != null) {
+			node.children = Collections.singletonList(build(entry, stage.mapper.apply(value), stageIndex + 1));
+		} else if (stage.predicate != null) {
+			if (stage.dependencies != null) {
+				node.observables = stage.dependencies.apply(value);
+				// the entry is only weakly referenced by the elements, so that it can't keep this list alive
+				node.listener = observable -> filterDependencyChanged(node);
+				node.weakListener = new WeakInvalidationListener(node.listener);
+				for (Observable observable : node.observables) {
+					observable.addListener(node.weakListener);
+				}
+			}
+			node.accepted = stage.predicate.test(value);
+			if (node.accepted) {
+				node.children = Collections.singletonList(build(entry, value, stageIndex + 1));
+			}
+		} else {
+			final List<Node> children = new ArrayList<>();
+			for (Object result : stage.flatMapper.apply(value)) {
+				children.add(build(entry, result, stageIndex + 1));
+			}
+			node.children = children;
+		}
+		return node;
+	}
+
+	private void filterDependencyChanged(Node node) {
+		final boolean accepted = stages.get(node.stage).predicate.test(node.value);
+		if (accepted == node.accepted) {
+			return;
+		}
+
+		node.accepted = accepted;
+		node.children.forEach(this::dispose);
+		node.children = accepted ? Collections.singletonList(build(node.entry, node.value, node.stage + 1))
+				: Collections.emptyList();
+
+		beginChange();
+		try {
+			updateResults(node.entry);
+		} finally {
+			endChange();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void collect(Node node, List<T> results) {
+		if (node.stage == stages.size()) {
+			results.add((T) node.value);
+		} else {
+			for (Node child : node.children) {
+				collect(child, results);
+			}
+		}
+	}
+
+	private void dispose(Node node) {
+		if (node.weakListener != null) {
+			for (Observable observable : node.observables) {
+				observable.removeListener(node.weakListener);
+			}
+			node.listener = null;
+			node.weakListener = null;
+		}
+		node.children.forEach(this::dispose);
+	}
+
+	/**
+	 * @return the position in this list of the first result of the source element at the given position.
+	 */
+	private int offsetOf(int index) {
+		return index < entries.size() ? entries.get(index).offset : elements.size();
+	}
+
+	/**
+	 * Updates the positions of all entries starting with the given one.
+	 */
+	private void updatePositions(int from) {
+		int offset = from == 0 ? 0 : entries.get(from - 1).offset + entries.get(from - 1).results.size();
+		for (int i = from; i < entries.size(); i++) {
+			final Entry entry = entries.get(i);
+			entry.index = i;
+			entry.offset = offset;
+			offset += entry.results.size();
+		}
+	}
+}
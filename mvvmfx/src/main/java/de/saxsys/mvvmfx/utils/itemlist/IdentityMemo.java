@@ -0,0 +1,272 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import eu.lestard.doc.Beta;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Remembers the transformed element for each source element of a {@link ListTransformation} (see
+ * {@link ListTransformation#setIdentityMemo(IdentityMemo)}). When a source element is removed and added again (for
+ * example when it is moved by drag and drop or the source list is replaced by a list with mostly the same elements),
+ * the previously transformed element is reused instead of applying the transformation function again. This way the
+ * state of the target element (for example a ViewModel) is kept.
+ * <p>
+ * Source elements are compared by identity and not by <code>equals</code>. They are only weakly referenced, so the
+ * memo doesn't prevent them from being garbage collected. The transformed elements are strongly referenced. If they
+ * reference their source element (which is typical for ViewModels), the source element is only released when the
+ * entry is evicted. Therefore the number of entries is limited: when the maximum size is exceeded, the least recently
+ * used entry is evicted.
+ * <p>
+ * The memo is thread-safe, so it can be used together with the parallel transformation of
+ * {@link ListTransformation#setParallelThreshold(int)}.
+ *
+ * @param <S>
+ *            the type of the source elements.
+ * @param <T>
+ *            the type of the transformed elements.
+ */
+@Beta
+public class IdentityMemo<S, T> {
+
+	/**
+	 * The default maximum number of entries.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 10_000;
+
+	private final int maxSize;
+
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+	private final Map<Key, T> entries = new LinkedHashMap<Key, T>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, T> eldest) {
+			if (size() > maxSize) {
+				evictionCount++;
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private long hitCount = 0;
+	private long missCount = 0;
+	private long evictionCount = 0;
+
+	/**
+	 * Creates a memo with a maximum of {@link #DEFAULT_MAX_SIZE} entries.
+	 */
+	public IdentityMemo() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * @param maxSize
+	 *            the maximum number of entries. When it is exceeded the least recently used entry is evicted.
+	 */
+	public IdentityMemo(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size has to be at least 1 but was " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the remembered transformed element for the given source element. If there is none, the given function is
+	 * applied and the result is remembered. <code>null</code> results are not remembered.
+	 *
+	 * @param source
+	 *            the source element.
+	 * @param function
+	 *            the transformation function.
+	 * @return the transformed element.
+	 */
+	public T computeIfAbsent(S source, Function<? super S, ? extends T> function) {
+		if (source == null) {
+			return function.apply(null);
+		}
+
+		synchronized (this) {
+			expungeStaleEntries();
+
+			final T value = entries.get(new LookupKey(source));
+			if (value != null) {
+				hitCount++;
+				return value;
+			}
+			missCount++;
+		}
+
+		// the function is applied without the lock so that parallel transformations don't block each other
+		final T value = function.apply(source);
+		if (value != null) {
+			synchronized (this) {
+				final T existing = entries.putIfAbsent(new WeakKey(source, queue), value);
+				if (existing != null) {
+					return existing;
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Remembers the given transformed element for the given source element. An existing entry is replaced.
+	 *
+	 * @param source
+	 *            the source element.
+	 * @param value
+	 *            the transformed element.
+	 */
+	public synchronized void put(S source, T value) {
+		if (source == null || value == null) {
+			return;
+		}
+		expungeStaleEntries();
+		entries.put(new WeakKey(source, queue), value);
+	}
+
+	/**
+	 * Removes the entry of the given source element.
+	 *
+	 * @param source
+	 *            the source element.
+	 */
+	public synchronized void remove(S source) {
+		if (source != null) {
+			entries.remove(new LookupKey(source));
+		}
+	}
+
+	/**
+	 * Removes all entries. The statistics are not reset.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * @return the number of entries, including entries whose source element was garbage collected but that were not
+	 *         removed yet.
+	 */
+	public synchronized int size() {
+		expungeStaleEntries();
+		return entries.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return how often a remembered element was returned by {@link #computeIfAbsent(Object, Function)}.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return how often the transformation function had to be applied by {@link #computeIfAbsent(Object, Function)}.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return the number of entries that were evicted because the maximum size was exceeded.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return the ratio of hits to all lookups or <code>0</code> if there was no lookup yet.
+	 */
+	public synchronized double getHitRate() {
+		final long lookups = hitCount + missCount;
+		return lookups == 0 ? 0 : (double) hitCount / lookups;
+	}
+
+	/**
+	 * Resets the hit, miss and eviction counters.
+	 */
+	public synchronized void resetStatistics() {
+		hitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+	}
+
+	private void expungeStaleEntries() {
+		Reference<?> reference;
+		while ((reference = queue.poll()) != null) {
+			entries.remove(reference);
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "IdentityMemo[size=" + entries.size() + ", maxSize=" + maxSize + ", hits=" + hitCount + ", misses="
+				+ missCount + ", evictions=" + evictionCount + "]";
+	}
+
+	/**
+	 * Compares source elements by identity. Both kinds of keys are equal when they refer to the same element, a
+	 * collected {@link WeakKey} is only equal to itself.
+	 */
+	private interface Key {
+		Object get();
+	}
+
+	private static final class WeakKey extends WeakReference<Object> implements Key {
+		private final int hash;
+
+		WeakKey(Object referent, ReferenceQueue<Object> queue) {
+			super(referent, queue);
+			this.hash = System.identityHashCode(referent);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Object referent = get();
+			return referent != null && referent == ((Key) obj).get();
+		}
+	}
+
+	private static final class LookupKey implements Key {
+		private final Object referent;
+
+		LookupKey(Object referent) {
+			this.referent = referent;
+		}
+
+		@Override
+		public Object get() {
+			return referent;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(referent);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).get() == referent;
+		}
+	}
+}
@@ -0,0 +1,320 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+import eu.lestard.doc.Beta;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ObservableList;
+
+/**
+ * Incremental aggregates of an {@link ObservableList}. Unlike a binding that is computed from the whole list (like
+ * <code>Bindings.size(filteredList)</code> or a binding that sums up all elements), the aggregates are updated with
+ * the changed elements only: a count or a sum is updated in constant time, a minimum or maximum in logarithmic time.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * ReadOnlyIntegerProperty itemsLeft = ListAggregates.countIf(items, item -&gt; !item.isCompleted(),
+ *         item -&gt; new Observable[] { item.completedProperty() });
+ * </pre>
+ *
+ * Every aggregate extracts a value from each element. If this value can change while the element is in the list, the
+ * observables it depends on (typically properties of the element) have to be returned by the
+ * <code>dependencies</code> function. When one of them is invalidated, only the value of this element is extracted
+ * again. If the list fires update changes (see
+ * {@link javafx.collections.FXCollections#observableArrayList(javafx.util.Callback)}), the values of the updated
+ * elements are extracted again as well.
+ * <p>
+ * The list and the dependencies are only weakly observed. An aggregate is kept alive by the returned property, so it
+ * should be referenced (for example by binding another property to it) as long as it is used.
+ */
+@Beta
+public final class ListAggregates {
+
+	private ListAggregates() {
+	}
+
+	/**
+	 * @param list
+	 *            the list.
+	 * @param predicate
+	 *            the predicate.
+	 * @param dependencies
+	 *            returns the observables the result of the predicate depends on or <code>null</code> if it can't change.
+	 * @param <E>
+	 *            the type of the elements.
+	 * @return the number of elements that match the given predicate.
+	 */
+	public static <E> ReadOnlyIntegerProperty countIf(ObservableList<E> list, Predicate<? super E> predicate,
+			Function<? super E, Observable[]> dependencies) {
+		return new CountIf<>(list, predicate::test, dependencies).count.getReadOnlyProperty();
+	}
+
+	/**
+	 * The sum is updated with compensated (Kahan) summation, so the rounding errors of adding and removing values
+	 * don't accumulate over time. The values should be finite.
+	 *
+	 * @param list
+	 *            the list.
+	 * @param value
+	 *            returns the value of an element.
+	 * @param dependencies
+	 *            returns the observables the value depends on or <code>null</code> if it can't change.
+	 * @param <E>
+	 *            the type of the elements.
+	 * @return the sum of the values of all elements.
+	 */
+	public static <E> ReadOnlyDoubleProperty sum(ObservableList<E> list, ToDoubleFunction<? super E> value,
+			Function<? super E, Observable[]> dependencies) {
+		return new Sum<>(list, value, dependencies, false).result.getReadOnlyProperty();
+	}
+
+	/**
+	 * @param list
+	 *            the list.
+	 * @param value
+	 *            returns the value of an element.
+	 * @param dependencies
+	 *            returns the observables the value depends on or <code>null</code> if it can't change.
+	 * @param <E>
+	 *            the type of the elements.
+	 * @return the average of the values of all elements or <code>0</code> if the list is empty.
+	 */
+	public static <E> ReadOnlyDoubleProperty average(ObservableList<E> list, ToDoubleFunction<? super E> value,
+			Function<? super E, Observable[]> dependencies) {
+		return new Sum<>(list, value, dependencies, true).result.getReadOnlyProperty();
+	}
+
+	/**
+	 * @param list
+	 *            the list.
+	 * @param value
+	 *            returns the value of an element. <code>null</code> values are ignored.
+	 * @param comparator
+	 *            compares the values.
+	 * @param dependencies
+	 *            returns the observables the value depends on or <code>null</code> if it can't change.
+	 * @param <E>
+	 *            the type of the elements.
+	 * @param <V>
+	 *            the type of the values.
+	 * @return the smallest value or <code>null</code> if the list is empty.
+	 */
+	public static <E, V> ReadOnlyObjectProperty<V> min(ObservableList<E> list, Function<? super E, ? extends V> value,
+			Comparator<? super V> comparator, Function<? super E, Observable[]> dependencies) {
+		return new Extremum<E, V>(list, value, comparator, dependencies, true).result.getReadOnlyProperty();
+	}
+
+	/**
+	 * @param list
+	 *            the list.
+	 * @param value
+	 *            returns the value of an element. <code>null</code> values are ignored.
+	 * @param comparator
+	 *            compares the values.
+	 * @param dependencies
+	 *            returns the observables the value depends on or <code>null</code> if it can't change.
+	 * @param <E>
+	 *            the type of the elements.
+	 * @param <V>
+	 *            the type of the values.
+	 * @return the largest value or <code>null</code> if the list is empty.
+	 */
+	public static <E, V> ReadOnlyObjectProperty<V> max(ObservableList<E> list, Function<? super E, ? extends V> value,
+			Comparator<? super V> comparator, Function<? super E, Observable[]> dependencies) {
+		return new Extremum<E, V>(list, value, comparator, dependencies, false).result.getReadOnlyProperty();
+	}
+
+	/**
+	 * @param list
+	 *            the list.
+	 * @param key
+	 *            returns the key of an element. The keys are compared with <code>equals</code>, <code>null</code> keys
+	 *            are ignored.
+	 * @param dependencies
+	 *            returns the observables the key depends on or <code>null</code> if it can't change.
+	 * @param <E>
+	 *            the type of the elements.
+	 * @param <K>
+	 *            the type of the keys.
+	 * @return the number of distinct keys of all elements.
+	 */
+	public static <E, K> ReadOnlyIntegerProperty distinctCount(ObservableList<E> list,
+			Function<? super E, ? extends K> key, Function<? super E, Observable[]> dependencies) {
+		return new DistinctCount<E, K>(list, key, dependencies).count.getReadOnlyProperty();
+	}
+
+	private static final class CountIf<E> extends ListAggregator<E, Boolean> {
+		// the aggregate is the bean of the result, so that the result keeps it alive
+		private final ReadOnlyIntegerWrapper count = new ReadOnlyIntegerWrapper(this, "count");
+		private int value = 0;
+
+		CountIf(ObservableList<E> list, Function<? super E, Boolean> predicate,
+				Function<? super E, Observable[]> dependencies) {
+			super(predicate, dependencies);
+			observe(list);
+		}
+
+		@Override
+		void add(Boolean matches) {
+			if (matches) {
+				value++;
+			}
+		}
+
+		@Override
+		void remove(Boolean matches) {
+			if (matches) {
+				value--;
+			}
+		}
+
+		@Override
+		void publish() {
+			count.set(value);
+		}
+	}
+
+	private static final class Sum<E> extends ListAggregator<E, Double> {
+		private final ReadOnlyDoubleWrapper result;
+		private final boolean average;
+
+		private double sum = 0;
+		private double compensation = 0;
+		private int size = 0;
+
+		Sum(ObservableList<E> list, ToDoubleFunction<? super E> value, Function<? super E, Observable[]> dependencies,
+				boolean average) {
+			super(value::applyAsDouble, dependencies);
+			this.average = average;
+			this.result = new ReadOnlyDoubleWrapper(this, average ? "average" : "sum");
+			observe(list);
+		}
+
+		@Override
+		void add(Double value) {
+			size++;
+			accumulate(value);
+		}
+
+		@Override
+		void remove(Double value) {
+			size--;
+			accumulate(-value);
+		}
+
+		/**
+		 * Neumaier's variant of the Kahan summation.
+		 */
+		private void accumulate(double value) {
+			final double newSum = sum + value;
+			if (Math.abs(sum) >= Math.abs(value)) {
+				compensation += (sum - newSum) + value;
+			} else {
+				compensation += (value - newSum) + sum;
+			}
+			sum = newSum;
+		}
+
+		@Override
+		void publish() {
+			if (size == 0) {
+				// start from scratch, so that no rounding error is kept
+				sum = 0;
+				compensation = 0;
+				result.set(0);
+			} else {
+				result.set(average ? (sum + compensation) / size : sum + compensation);
+			}
+		}
+	}
+
+	private static final class Extremum<E, V> extends ListAggregator<E, V> {
+		private final ReadOnlyObjectWrapper<V> result;
+		private final boolean min;
+
+		/**
+		 * The values with the number of their occurrences.
+		 */
+		private final TreeMap<V, Integer> values;
+
+		Extremum(ObservableList<E> list, Function<? super E, ? extends V> value, Comparator<? super V> comparator,
+				Function<? super E, Observable[]> dependencies, boolean min) {
+			super(Objects.requireNonNull(value), dependencies);
+			this.min = min;
+			this.values = new TreeMap<>(Objects.requireNonNull(comparator));
+			this.result = new ReadOnlyObjectWrapper<>(this, min ? "min" : "max");
+			observe(list);
+		}
+
+		@Override
+		void add(V value) {
+			if (value != null) {
+				values.merge(value, 1, Integer::sum);
+			}
+		}
+
+		@Override
+		void remove(V value) {
+			if (value != null) {
+				values.computeIfPresent(value, (key, count) -> count == 1 ? null : count - 1);
+			}
+		}
+
+		@Override
+		void publish() {
+			if (values.isEmpty()) {
+				result.set(null);
+			} else {
+				result.set(min ? values.firstKey() : values.lastKey());
+			}
+		}
+	}
+
+	private static final class DistinctCount<E, K> extends ListAggregator<E, K> {
+		private final ReadOnlyIntegerWrapper count = new ReadOnlyIntegerWrapper(this, "distinctCount");
+
+		/**
+		 * The keys with the number of their occurrences.
+		 */
+		private final Map<K, Integer> keys = new HashMap<>();
+
+		DistinctCount(ObservableList<E> list, Function<? super E, ? extends K> key,
+				Function<? super E, Observable[]> dependencies) {
+			super(Objects.requireNonNull(key), dependencies);
+			observe(list);
+		}
+
+		@Override
+		void add(K key) {
+			if (key != null) {
+				keys.merge(key, 1, Integer::sum);
+			}
+		}
+
+		@Override
+		void remove(K key) {
+			if (key != null) {
+				keys.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+			}
+		}
+
+		@Override
+		void publish() {
+			count.set(keys.size());
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * Base class of the aggregates of {@link ListAggregates}. It observes a list and the dependencies of its elements and
+ * tells the subclass which value to add to or remove from the aggregate. Every element contributes a single value that
+ * is extracted by a function. The contributed value is remembered, so that it can be removed again after the element
+ * was changed.
+ * <p>
+ * After all values of a single change were added and removed, {@link #publish()} is called once, so the result is
+ * only updated once per change of the list.
+ *
+ * @param <E>
+ *            the type of the elements of the list.
+ * @param <V>
+ *            the type of the contributed values.
+ */
+abstract class ListAggregator<E, V> {
+
+	/**
+	 * The contributed value of a single element of the list.
+	 */
+	private final class Slot {
+		private final E element;
+		private V value;
+
+		private Observable[] observables;
+		private InvalidationListener listener;
+		private InvalidationListener weakListener;
+
+		Slot(E element) {
+			this.element = element;
+		}
+	}
+
+	private final Function<? super E, ? extends V> extractor;
+	private final Function<? super E, Observable[]> dependencies;
+
+	private final List<Slot> slots = new ArrayList<>();
+
+	private final ListChangeListener<E> listener = this::listChanged;
+
+	ListAggregator(Function<? super E, ? extends V> extractor, Function<? super E, Observable[]> dependencies) {
+		this.extractor = extractor;
+		this.dependencies = dependencies;
+	}
+
+	/**
+	 * Adds all elements of the given list and starts observing it. Has to be called by the constructor of the
+	 * subclass after all of its fields are initialized.
+	 */
+	final void observe(ObservableList<E> list) {
+		for (E element : list) {
+			slots.add(createSlot(element));
+		}
+		publish();
+
+		// the list must not keep the aggregate alive, it's referenced by the result instead
+		list.addListener(new WeakListChangeListener<>(listener));
+	}
+
+	/**
+	 * Adds the value of a new element to the aggregate.
+	 */
+	abstract void add(V value);
+
+	/**
+	 * Removes the value of a removed element from the aggregate.
+	 */
+	abstract void remove(V value);
+
+	/**
+	 * Updates the observable result after a change.
+	 */
+	abstract void publish();
+
+	private void listChanged(ListChangeListener.Change<? extends E> change) {
+		while (change.next()) {
+			final int from = change.getFrom();
+			if (change.wasPermutated()) {
+				final List<Slot> oldSlots = new ArrayList<>(slots.subList(from, change.getTo()));
+				for (int i = 0; i < oldSlots.size(); i++) {
+					slots.set(change.getPermutation(from + i), oldSlots.get(i));
+				}
+			} else if (change.wasUpdated()) {
+				for (int i = from; i < change.getTo(); i++) {
+					update(slots.get(i));
+				}
+			} else {
+				if (change.wasRemoved()) {
+					final List<Slot> range = slots.subList(from, from + change.getRemovedSize());
+					range.forEach(this::dispose);
+					range.clear();
+				}
+				if (change.wasAdded()) {
+					final List<Slot> newSlots = new ArrayList<>(change.getAddedSize());
+					for (E element : change.getAddedSubList()) {
+						newSlots.add(createSlot(element));
+					}
+					slots.addAll(from, newSlots);
+				}
+			}
+		}
+		publish();
+	}
+
+	private Slot createSlot(E element) {
+		final Slot slot = new Slot(element);
+		if (dependencies != null) {
+			slot.observables = dependencies.apply(element);
+			// the slot is only weakly referenced by the dependencies, so that they can't keep the aggregate alive
+			slot.listener = observable -> {
+				update(slot);
+				publish();
+			};
+			slot.weakListener = new WeakInvalidationListener(slot.listener);
+			for (Observable observable : slot.observables) {
+				observable.addListener(slot.weakListener);
+			}
+		}
+		slot.value = extractor.apply(element);
+		add(slot.value);
+		return slot;
+	}
+
+	private void update(Slot slot) {
+		remove(slot.value);
+		slot.value = extractor.apply(slot.element);
+		add(slot.value);
+	}
+
+	private void dispose(Slot slot) {
+		remove(slot.value);
+		if (slot.weakListener != null) {
+			for (Observable observable : slot.observables) {
+				observable.removeListener(slot.weakListener);
+			}
+			slot.listener = null;
+			slot.weakListener = null;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import eu.lestard.doc.Beta;
+import javafx.beans.Observable;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+
+/**
+ * A fluent API to derive an {@link ObservableList} from another one with several stages. The resulting list is kept in
+ * sync with the source list incrementally, i.e. only the changed elements are processed again.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * ObservableList{@code<ItemViewModel>} items = ListPipeline.from(model.getItems())
+ *         .map(ItemViewModel::new)
+ *         .filter(ItemViewModel::isCompleted, item -&gt; new Observable[] { item.completedProperty() })
+ *         .sorted(Comparator.comparing(ItemViewModel::getText))
+ *         .toList();
+ * </pre>
+ *
+ * The element-wise stages ({@link #map(Function)}, {@link #filter(Predicate)} and {@link #flatMap(Function)}) that
+ * follow each other are fused into a single list without intermediate lists. A filter with dependencies only evaluates
+ * its predicate again for the element whose dependency was invalidated. {@link #sorted(Comparator)} is implemented
+ * with a {@link SortedList}.
+ * <p>
+ * Instances are immutable: every method returns a new pipeline. The lists are only created by {@link #toList()}.
+ *
+ * @param <T>
+ *            the type of the elements at the end of this pipeline.
+ */
+@Beta
+public final class ListPipeline<T> {
+
+	/**
+	 * Creates the input list of the element-wise stages: the source list or the {@link SortedList} of a previous
+	 * {@link #sorted(Comparator)}.
+	 */
+	private final Supplier<ObservableList<?>> input;
+	private final List<FusedList.Stage> stages;
+
+	private ListPipeline(Supplier<ObservableList<?>> input, List<FusedList.Stage> stages) {
+		this.input = input;
+		this.stages = stages;
+	}
+
+	/**
+	 * @param source
+	 *            the source list of the pipeline.
+	 * @param <T>
+	 *            the type of the elements of the source list.
+	 * @return a pipeline without any stages.
+	 */
+	public static <T> ListPipeline<T> from(ObservableList<T> source) {
+		Objects.requireNonNull(source);
+		return new ListPipeline<>(() -> source, Collections.emptyList());
+	}
+
+	/**
+	 * Transforms every element with the given function. The function is applied once for every element when it is
+	 * added to the source list.
+	 *
+	 * @param mapper
+	 *            the transformation function.
+	 * @param <R>
+	 *            the type of the transformed elements.
+	 * @return the new pipeline.
+	 */
+	public <R> ListPipeline<R> map(Function<? super T, ? extends R> mapper) {
+		return withStage(FusedList.Stage.map(mapper));
+	}
+
+	/**
+	 * Only keeps the elements that match the given predicate. The predicate is evaluated when an element is added to
+	 * the source list. Use {@link #filter(Predicate, Function)} if the result of the predicate can change afterwards.
+	 *
+	 * @param predicate
+	 *            the predicate.
+	 * @return the new pipeline.
+	 */
+	public ListPipeline<T> filter(Predicate<? super T> predicate) {
+		return withStage(FusedList.Stage.filter(predicate, null));
+	}
+
+	/**
+	 * Only keeps the elements that match the given predicate. When one of the observables that are returned by the
+	 * given function for an element is invalidated, the predicate is evaluated again for this element only.
+	 *
+	 * @param predicate
+	 *            the predicate.
+	 * @param dependencies
+	 *            returns the observables (typically properties of the element) the result of the predicate depends on.
+	 * @return the new pipeline.
+	 */
+	public ListPipeline<T> filter(Predicate<? super T> predicate, Function<? super T, Observable[]> dependencies) {
+		return withStage(FusedList.Stage.filter(predicate, Objects.requireNonNull(dependencies)));
+	}
+
+	/**
+	 * Replaces every element with the elements of the list that is returned by the given function. The returned lists
+	 * are not observed, the function is applied again when the element is updated in the source list.
+	 *
+	 * @param mapper
+	 *            the function that returns the new elements for an element.
+	 * @param <R>
+	 *            the type of the new elements.
+	 * @return the new pipeline.
+	 */
+	public <R> ListPipeline<R> flatMap(Function<? super T, ? extends List<? extends R>> mapper) {
+		return withStage(FusedList.Stage.flatMap(mapper));
+	}
+
+	/**
+	 * Sorts the elements with the given comparator.
+	 *
+	 * @param comparator
+	 *            the comparator.
+	 * @return the new pipeline.
+	 */
+	public ListPipeline<T> sorted(Comparator<? super T> comparator) {
+		Objects.requireNonNull(comparator);
+		return new ListPipeline<>(() -> new SortedList<>(toList(), comparator), Collections.emptyList());
+	}
+
+	/**
+	 * Creates the list of this pipeline. Every call creates new lists for all stages, so this method should only be
+	 * called once for a pipeline. Each list references the list of the previous stages, so the whole chain is kept
+	 * alive by the returned list.
+	 *
+	 * @return an unmodifiable list that is kept in sync with the source list.
+	 */
+	@SuppressWarnings("unchecked")
+	public ObservableList<T> toList() {
+		final ObservableList<?> source = input.get();
+		if (stages.isEmpty()) {
+			return FXCollections.unmodifiableObservableList((ObservableList<T>) source);
+		}
+		return new FusedList<>(source, stages);
+	}
+
+	private <R> ListPipeline<R> withStage(FusedList.Stage stage) {
+		final List<FusedList.Stage> newStages = new ArrayList<>(stages);
+		newStages.add(stage);
+		return new ListPipeline<>(input, newStages);
+	}
+}
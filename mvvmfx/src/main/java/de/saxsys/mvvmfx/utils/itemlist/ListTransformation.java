@@ -15,16 +15,29 @@
  ******************************************************************************/
 package de.saxsys.mvvmfx.utils.itemlist;
 
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import javafx.application.Platform;
 import javafx.beans.property.ListProperty;
 import javafx.beans.property.ReadOnlyListProperty;
 import javafx.beans.property.ReadOnlyListWrapper;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
+import javafx.collections.ModifiableObservableListBase;
 import javafx.collections.ObservableList;
 import javafx.collections.WeakListChangeListener;
 
@@ -32,6 +45,11 @@ import javafx.collections.WeakListChangeListener;
  * Binds an {@link javafx.collections.ObservableList} that contains elements of {@link TargetType} to another
  * {@link javafx.collections.ObservableList} that contains elements of {@link SourceType}. This is different to the
  * normal list binding offered by JavaFX where the lists have to contain elements of the same type.
+ * <p>
+ * By default every element is transformed as soon as it is added to the source list. For big lists that are shown in
+ * a {@link javafx.scene.control.ListView} or {@link javafx.scene.control.TableView}, where only the visible rows are
+ * accessed, a lazy {@link Mode} can be used instead. Then an element is only transformed when it is requested from the
+ * target list for the first time.
  *
  * @param <SourceType>
  *            the generic type of the source list.
@@ -40,18 +58,83 @@ import javafx.collections.WeakListChangeListener;
  */
 public class ListTransformation<SourceType, TargetType> {
 	
+	/**
+	 * Defines when the elements of the target list are created by the transformation function.
+	 */
+	public enum Mode {
+		/**
+		 * Elements are transformed when they are added to the source list.
+		 */
+		EAGER,
+		
+		/**
+		 * Elements are transformed when they are requested from the target list for the first time. Afterwards they
+		 * are kept as long as they are part of the list.
+		 */
+		LAZY,
+		
+		/**
+		 * Like {@link #LAZY} but transformed elements are only kept with a {@link SoftReference}. When the garbage
+		 * collector needs memory they are discarded and transformed again on the next access.
+		 */
+		LAZY_SOFT,
+		
+		/**
+		 * Like {@link #LAZY} but transformed elements are only kept with a {@link WeakReference}, i.e. as long as they
+		 * are used somewhere else (for example by a cell of a list view). Afterwards they are transformed again on the
+		 * next access.
+		 */
+		LAZY_WEAK
+	}
+	
+	/**
+	 * Placeholder in the target list for elements that weren't transformed yet.
+	 */
+	private static final Object UNMAPPED = new Object();
+	
+	/**
+	 * Placeholder in the target list for transformed elements that are <code>null</code> in the lazy modes.
+	 */
+	private static final Object NULL = new Object();
+	
 	// Converter
 	private final Function<SourceType, TargetType> function;
 	
+	private final Mode mode;
+	
 	// The two lists - List which was provided and the TargetType representation of
 	// the list
-	private ReadOnlyListWrapper<TargetType> viewModelList = new ReadOnlyListWrapper<>(
-			FXCollections.<TargetType> observableArrayList());
+	private final TargetList targetList = new TargetList();
+	private ReadOnlyListWrapper<TargetType> viewModelList = new ReadOnlyListWrapper<>(targetList);
 	private ListProperty<SourceType> sourceList = new SimpleListProperty<>();
 	
 	// Reference to the listener to use it by a wrapped listChangeListener
 	private ListChangeListener<SourceType> listChangeListener;
 	
+	/**
+	 * Additions of at least this number of elements are transformed in parallel. See
+	 * {@link #setParallelThreshold(int)}.
+	 */
+	private int parallelThreshold = Integer.MAX_VALUE;
+	
+	/**
+	 * Elements that were transformed by {@link #addAllAsync(Collection, Executor)} or
+	 * {@link #setAllAsync(Collection, Executor)} and are added to the source list right now. <code>null</code>
+	 * otherwise.
+	 */
+	private List<SourceType> pendingItems;
+	private List<TargetType> pendingTransformedItems;
+	
+	/**
+	 * <code>null</code> if transformed elements aren't remembered. See {@link #setIdentityMemo(IdentityMemo)}.
+	 */
+	private IdentityMemo<SourceType, TargetType> identityMemo;
+	
+	/**
+	 * Recognizes source elements that are not transformed. See {@link #setPlaceholderPredicate(Predicate)}.
+	 */
+	private Predicate<? super SourceType> placeholderPredicate = item -> false;
+	
 	/**
 	 * Creates a {@link ListTransformation} by a given list of items and a function.
 	 *
@@ -62,7 +145,28 @@ public class ListTransformation<SourceType, TargetType> {
 	 */
 	public ListTransformation(ObservableList<SourceType> modelList,
 			final Function<SourceType, TargetType> function) {
+		this(modelList, function, Mode.EAGER);
+	}
+	
+	/**
+	 * Creates a {@link ListTransformation} by a given list of items, a function and the mode that defines when the
+	 * function is applied.
+	 * <p>
+	 * In the lazy modes, iterating over the target list (or methods like <code>contains</code>) transforms all
+	 * elements. With {@link Mode#LAZY_SOFT} and {@link Mode#LAZY_WEAK} an element can be transformed more than once, so
+	 * the same index may return different (but equal) instances over time.
+	 *
+	 * @param modelList
+	 *            which should be transformed for the UI
+	 * @param function
+	 *            which is used for transformation
+	 * @param mode
+	 *            when the elements are transformed
+	 */
+	public ListTransformation(ObservableList<SourceType> modelList,
+			final Function<SourceType, TargetType> function, Mode mode) {
 		this.function = function;
+		this.mode = Objects.requireNonNull(mode);
 		initListEvents();
 		this.modelListProperty().set(modelList);
 	}
@@ -77,33 +181,26 @@ public class ListTransformation<SourceType, TargetType> {
 		this(FXCollections.observableArrayList(), function);
 	}
 	
+	/**
+	 * Creates a {@link ListTransformation} by with a given function and mode. See
+	 * {@link #ListTransformation(ObservableList, Function, Mode)}.
+	 *
+	 * @param function
+	 *            which is used for transformation
+	 * @param mode
+	 *            when the elements are transformed
+	 */
+	public ListTransformation(final Function<SourceType, TargetType> function, Mode mode) {
+		this(FXCollections.observableArrayList(), function, mode);
+	}
+	
 	// If the list changed we want the recreate the targetType representation
 	private void initListEvents() {
 		this.listChangeListener = new ListChangeListener<SourceType>() {
 			@Override
 			public void onChanged(
 					Change<? extends SourceType> listEvent) {
-				
-				// We have to stage delete events, because if we process them
-				// separately, there will be unwanted ChangeEvents on the
-				// targetList
-				List<TargetType> deleteStaging = new ArrayList<>();
-				
-				
-				while (listEvent.next()) {
-					if (listEvent.wasUpdated()) {
-						processUpdateEvent(listEvent);
-					} else if (listEvent.wasReplaced()) {
-						processReplaceEvent(listEvent, deleteStaging);
-					} else if (listEvent.wasAdded()) {
-						processAddEvent(listEvent);
-					} else if (listEvent.wasRemoved()) {
-						processRemoveEvent(listEvent, deleteStaging);
-					}
-				}
-				
-				// Process the staged elements
-				processStagingLists(deleteStaging);
+				targetList.sourceChanged(listEvent);
 			}
 		};
 		modelListProperty().addListener(
@@ -112,73 +209,506 @@ public class ListTransformation<SourceType, TargetType> {
 	}
 	
 	/**
-	 * Maps an add event of the model list to new elements of the {@link #viewModelList}.
+	 * Enables the parallel transformation of big additions to the source list. When at least the given number of
+	 * elements is added with a single change of the source list, the elements are transformed in parallel in the
+	 * common {@link java.util.concurrent.ForkJoinPool} and added to the target list with a single change.
+	 * <p>
+	 * This should only be used when the transformation function is free of side effects and thread-safe, i.e. it
+	 * doesn't create JavaFX nodes or access other non-thread-safe state. In the lazy modes (see {@link Mode}) elements
+	 * are not transformed when they are added, so the threshold has no effect.
 	 *
-	 * @param listEvent
-	 *            to analyze
+	 * @param threshold
+	 *            the minimal number of added elements that are transformed in parallel. {@link Integer#MAX_VALUE}
+	 *            (the default) disables the parallel transformation.
 	 */
-	private void processAddEvent(
-			ListChangeListener.Change<? extends SourceType> listEvent) {
-
-		final List<TargetType> toAdd = new ArrayList<>();
-		for (int index = listEvent.getFrom(); index < listEvent.getTo(); index++) {
-			final SourceType item = listEvent.getList().get(index);
-			toAdd.add(function.apply(item));
+	public void setParallelThreshold(int threshold) {
+		if (threshold < 1) {
+			throw new IllegalArgumentException("The threshold has to be at least 1 but was " + threshold);
 		}
-		viewModelList.addAll(listEvent.getFrom(), toAdd);
+		this.parallelThreshold = threshold;
+	}
+	
+	/**
+	 * @return the minimal number of added elements that are transformed in parallel. See
+	 *         {@link #setParallelThreshold(int)}.
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
 	}
 	
 	/**
-	 * Maps an remove event of the model list to new elements of the {@link #viewModelList}.
+	 * Sets a memo that remembers the transformed element of each source element. When a source element that was
+	 * already transformed is added again (for example when elements are moved by removing and adding them or when the
+	 * source list is replaced by a list with mostly the same elements), the remembered element is used instead of
+	 * applying the transformation function again. See {@link IdentityMemo}.
+	 * <p>
+	 * When a source element fires an update change (see {@link FXCollections#observableArrayList(javafx.util.Callback)}),
+	 * it is transformed again and the memo is updated.
 	 *
-	 * @param listEvent
-	 *            to process
-	 * @param deleteStaging
-	 *            for staging the delete events
+	 * @param identityMemo
+	 *            the memo or <code>null</code> to transform every added element again (the default).
 	 */
-	private void processRemoveEvent(
-			ListChangeListener.Change<? extends SourceType> listEvent,
-			List<TargetType> deleteStaging) {
-		for (int i = 0; i < listEvent.getRemovedSize(); i++) {
-			deleteStaging.add(viewModelList.get(listEvent.getFrom() + i));
-		}
+	public void setIdentityMemo(IdentityMemo<SourceType, TargetType> identityMemo) {
+		this.identityMemo = identityMemo;
+	}
+	
+	/**
+	 * @return the memo that remembers the transformed elements or <code>null</code>. See
+	 *         {@link #setIdentityMemo(IdentityMemo)}.
+	 */
+	public IdentityMemo<SourceType, TargetType> getIdentityMemo() {
+		return identityMemo;
 	}
 	
 	/**
-	 * Maps an update event of the model list to new elements of the {@link #viewModelList}.
+	 * Sets a predicate that recognizes placeholders in the source list, for example the elements of a
+	 * {@link PagedObservableList} whose page is still loaded. Placeholders are not transformed, the target list
+	 * contains <code>null</code> for them instead. In the lazy modes (see {@link Mode}) a placeholder is not
+	 * remembered, so the element is transformed on the next access after the placeholder was replaced.
 	 *
-	 * @param listEvent
-	 *            to process
+	 * @param placeholderPredicate
+	 *            returns <code>true</code> for placeholders. By default no element is a placeholder.
 	 */
-	private void processUpdateEvent(ListChangeListener.Change<? extends SourceType> listEvent) {
-		for (int i = listEvent.getFrom(); i < listEvent.getTo(); i++) {
-			SourceType item = listEvent.getList().get(i);
-			viewModelList.set(i, ListTransformation.this.function.apply(item));
-		}
+	public void setPlaceholderPredicate(Predicate<? super SourceType> placeholderPredicate) {
+		this.placeholderPredicate = Objects.requireNonNull(placeholderPredicate);
+	}
+	
+	/**
+	 * Transforms the given elements with the given executor and adds them to the source list afterwards on the JavaFX
+	 * application thread. The target list is updated with a single change and the transformation function isn't
+	 * applied again on the JavaFX application thread. Like {@link #setParallelThreshold(int)} this needs a thread-safe
+	 * transformation function. Big collections are transformed in parallel according to the parallel threshold.
+	 *
+	 * @param items
+	 *            the elements that are added to the end of the source list.
+	 * @param executor
+	 *            the executor that transforms the elements.
+	 * @return a future that is completed on the JavaFX application thread after the elements were added.
+	 */
+	public CompletableFuture<Void> addAllAsync(Collection<? extends SourceType> items, Executor executor) {
+		return publishAsync(items, executor, Platform::runLater, false);
 	}
 	
 	/**
-	 * Maps an replace event of the model list to new elements of the {@link #viewModelList}.
+	 * Like {@link #addAllAsync(Collection, Executor)} but replaces all elements of the source list with the given
+	 * elements, for example when the data is loaded again.
 	 *
-	 * @param listEvent
-	 *            to process
+	 * @param items
+	 *            the new elements of the source list.
+	 * @param executor
+	 *            the executor that transforms the elements.
+	 * @return a future that is completed on the JavaFX application thread after the elements were set.
 	 */
-	private void processReplaceEvent(
-			ListChangeListener.Change<? extends SourceType> listEvent, List<TargetType> deletedStaging) {
-		processRemoveEvent(listEvent, deletedStaging);
-		processStagingLists(deletedStaging);
-		processAddEvent(listEvent);
+	public CompletableFuture<Void> setAllAsync(Collection<? extends SourceType> items, Executor executor) {
+		return publishAsync(items, executor, Platform::runLater, true);
 	}
 	
 	/**
-	 * Process staging events.
+	 * See {@link #addAllAsync(Collection, Executor)}.
 	 *
-	 * @param deleteStaging
-	 *            to process
+	 * @param uiExecutor
+	 *            the executor that updates the source list. Used in tests instead of the JavaFX application thread.
 	 */
-	private void processStagingLists(List<TargetType> deleteStaging) {
-		viewModelList.removeAll(deleteStaging);
-		deleteStaging.clear();
+	CompletableFuture<Void> publishAsync(Collection<? extends SourceType> items, Executor executor,
+			Executor uiExecutor, boolean replace) {
+		final List<SourceType> itemsCopy = new ArrayList<>(items);
+		
+		return CompletableFuture.supplyAsync(() -> transform(itemsCopy), executor)
+				.thenAcceptAsync(transformedItems -> {
+					pendingItems = itemsCopy;
+					pendingTransformedItems = transformedItems;
+					try {
+						if (replace) {
+							getSourceList().setAll(itemsCopy);
+						} else {
+							getSourceList().addAll(itemsCopy);
+						}
+					} finally {
+						pendingItems = null;
+						pendingTransformedItems = null;
+					}
+				}, uiExecutor);
+	}
+	
+	/**
+	 * Transforms the given elements. Big lists are transformed in parallel, see {@link #setParallelThreshold(int)}.
+	 */
+	private List<TargetType> transform(List<? extends SourceType> items) {
+		if (items.size() >= parallelThreshold) {
+			return new ArrayList<>(items).parallelStream().map(this::transform).collect(Collectors.toList());
+		}
+		
+		final List<TargetType> result = new ArrayList<>(items.size());
+		for (SourceType item : items) {
+			result.add(transform(item));
+		}
+		return result;
+	}
+	
+	/**
+	 * Transforms a single element. Uses the identity memo if there is one. Placeholders are mapped to
+	 * <code>null</code>.
+	 */
+	private TargetType transform(SourceType item) {
+		if (placeholderPredicate.test(item)) {
+			return null;
+		}
+		final IdentityMemo<SourceType, TargetType> memo = identityMemo;
+		return memo == null ? function.apply(item) : memo.computeIfAbsent(item, function);
+	}
+	
+	/**
+	 * @return the elements that were transformed by {@link #publishAsync(Collection, Executor, Executor, boolean)}
+	 *         if the given added elements are the ones that were transformed, otherwise <code>null</code>.
+	 */
+	private List<TargetType> takePendingTransformedItems(List<? extends SourceType> addedItems) {
+		if (pendingItems == null || pendingItems.size() != addedItems.size()) {
+			return null;
+		}
+		for (int i = 0; i < addedItems.size(); i++) {
+			if (pendingItems.get(i) != addedItems.get(i)) {
+				return null;
+			}
+		}
+		
+		final List<TargetType> result = pendingTransformedItems;
+		pendingItems = null;
+		pendingTransformedItems = null;
+		return result;
+	}
+	
+	/**
+	 * The target list. The changes of the source list are applied by index, so that equal elements in the target list
+	 * are not mixed up, and all sub-changes of a single change of the source list are fired as a single change of the
+	 * target list.
+	 * <p>
+	 * In the lazy modes the list contains {@link #UNMAPPED} for elements that weren't transformed yet and, depending on
+	 * the mode, references to the transformed elements. Changes of the source list are translated without transforming
+	 * any element, see {@link LazyChange}.
+	 */
+	private class TargetList extends ModifiableObservableListBase<TargetType> {
+		
+		private final List<Object> elements = new ArrayList<>();
+		
+		/**
+		 * Applies all sub-changes of the given change of the source list. The indexes of each sub-change refer to the
+		 * list after the previous sub-changes were applied, so they can be used for the target list directly.
+		 *
+		 * @param listEvent
+		 *            to process
+		 */
+		void sourceChanged(ListChangeListener.Change<? extends SourceType> listEvent) {
+			if (mode != Mode.EAGER) {
+				lazySourceChanged(listEvent);
+				return;
+			}
+			
+			beginChange();
+			try {
+				while (listEvent.next()) {
+					if (listEvent.wasPermutated()) {
+						nextPermutation(listEvent.getFrom(), listEvent.getTo(), permute(listEvent));
+					} else if (listEvent.wasUpdated()) {
+						processUpdateEvent(listEvent);
+					} else {
+						if (listEvent.wasRemoved()) {
+							nextRemove(listEvent.getFrom(), castList(removeRange(listEvent)));
+						}
+						if (listEvent.wasAdded()) {
+							processAddEvent(listEvent);
+						}
+					}
+				}
+			} finally {
+				endChange();
+			}
+		}
+		
+		/**
+		 * The change builder of {@link javafx.collections.ObservableListBase} copies the removed elements, which would
+		 * transform all removed elements. Instead, the change of the source list is applied to the placeholders and
+		 * fired again as {@link LazyChange}.
+		 */
+		private void lazySourceChanged(ListChangeListener.Change<? extends SourceType> listEvent) {
+			final List<List<TargetType>> removedLists = new ArrayList<>();
+			final List<int[]> permutations = new ArrayList<>();
+			
+			while (listEvent.next()) {
+				List<TargetType> removed = Collections.emptyList();
+				int[] permutation = null;
+				
+				if (listEvent.wasPermutated()) {
+					permutation = permute(listEvent);
+				} else if (listEvent.wasUpdated()) {
+					// the elements are transformed again on the next access
+					for (int i = listEvent.getFrom(); i < listEvent.getTo(); i++) {
+						elements.set(i, UNMAPPED);
+						if (identityMemo != null) {
+							identityMemo.remove(listEvent.getList().get(i));
+						}
+					}
+				} else {
+					if (listEvent.wasRemoved()) {
+						removed = lazyList(removeRange(listEvent), new ArrayList<>(listEvent.getRemoved()));
+					}
+					if (listEvent.wasAdded()) {
+						final List<TargetType> transformedItems = takePendingTransformedItems(listEvent.getAddedSubList());
+						if (transformedItems == null) {
+							elements.addAll(listEvent.getFrom(),
+									Collections.nCopies(listEvent.getAddedSize(), UNMAPPED));
+						} else {
+							final List<Object> slots = new ArrayList<>(transformedItems.size());
+							transformedItems.forEach(item -> slots.add(wrap(item)));
+							elements.addAll(listEvent.getFrom(), slots);
+						}
+					}
+				}
+				
+				removedLists.add(removed);
+				permutations.add(permutation);
+			}
+			listEvent.reset();
+			
+			fireChange(new LazyChange(this, listEvent, removedLists, permutations));
+		}
+		
+		/**
+		 * Maps an add event of the model list to new elements of the {@link #viewModelList}.
+		 *
+		 * @param listEvent
+		 *            to analyze
+		 */
+		private void processAddEvent(ListChangeListener.Change<? extends SourceType> listEvent) {
+			final List<? extends SourceType> addedItems = listEvent.getAddedSubList();
+			
+			List<TargetType> toAdd = takePendingTransformedItems(addedItems);
+			if (toAdd == null) {
+				toAdd = transform(addedItems);
+			}
+			elements.addAll(listEvent.getFrom(), toAdd);
+			nextAdd(listEvent.getFrom(), listEvent.getTo());
+		}
+		
+		/**
+		 * Removes the elements of the {@link #viewModelList} at the positions of the removed elements of the model
+		 * list.
+		 *
+		 * @param listEvent
+		 *            to process
+		 * @return the removed elements (in the lazy modes the placeholders).
+		 */
+		private List<Object> removeRange(ListChangeListener.Change<? extends SourceType> listEvent) {
+			final List<Object> range = elements.subList(listEvent.getFrom(),
+					listEvent.getFrom() + listEvent.getRemovedSize());
+			final List<Object> removed = new ArrayList<>(range);
+			range.clear();
+			return removed;
+		}
+		
+		/**
+		 * Moves the already transformed elements of the {@link #viewModelList} to their new positions when the model
+		 * list was permutated (for example sorted). The transformation function is not applied again.
+		 *
+		 * @param listEvent
+		 *            to process
+		 * @return the permutation of the range <code>from</code> to <code>to</code> of the change.
+		 */
+		private int[] permute(ListChangeListener.Change<? extends SourceType> listEvent) {
+			final int from = listEvent.getFrom();
+			final int to = listEvent.getTo();
+			
+			final List<Object> oldElements = new ArrayList<>(elements.subList(from, to));
+			final int[] permutation = new int[to - from];
+			for (int i = from; i < to; i++) {
+				final int newIndex = listEvent.getPermutation(i);
+				elements.set(newIndex, oldElements.get(i - from));
+				permutation[i - from] = newIndex;
+			}
+			return permutation;
+		}
+		
+		/**
+		 * Maps an update event of the model list to new elements of the {@link #viewModelList}.
+		 *
+		 * @param listEvent
+		 *            to process
+		 */
+		private void processUpdateEvent(ListChangeListener.Change<? extends SourceType> listEvent) {
+			for (int i = listEvent.getFrom(); i < listEvent.getTo(); i++) {
+				SourceType item = listEvent.getList().get(i);
+				// the element itself was changed, so a remembered transformation is outdated
+				final TargetType transformed = function.apply(item);
+				if (identityMemo != null) {
+					identityMemo.put(item, transformed);
+				}
+				nextSet(i, castElement(elements.set(i, transformed)));
+			}
+		}
+		
+		/**
+		 * @return a list of the given slots that transforms the given source elements when a slot contains no
+		 *         transformed element.
+		 */
+		private List<TargetType> lazyList(List<Object> slots, List<? extends SourceType> items) {
+			return new AbstractList<TargetType>() {
+				@Override
+				public TargetType get(int index) {
+					final Object slot = slots.get(index);
+					final TargetType value = unwrap(slot);
+					return value != null || slot == NULL ? value : transform(items.get(index));
+				}
+				
+				@Override
+				public int size() {
+					return slots.size();
+				}
+			};
+		}
+		
+		@Override
+		public TargetType get(int index) {
+			final Object slot = elements.get(index);
+			if (mode == Mode.EAGER) {
+				return castElement(slot);
+			}
+			
+			final TargetType value = unwrap(slot);
+			if (value != null || slot == NULL) {
+				return value;
+			}
+			
+			final SourceType item = getSourceList().get(index);
+			if (placeholderPredicate.test(item)) {
+				return null;
+			}
+			final TargetType mapped = transform(item);
+			elements.set(index, wrap(mapped));
+			return mapped;
+		}
+		
+		@Override
+		public int size() {
+			return elements.size();
+		}
+		
+		@Override
+		protected void doAdd(int index, TargetType element) {
+			elements.add(index, wrap(element));
+		}
+		
+		@Override
+		protected TargetType doSet(int index, TargetType element) {
+			final TargetType oldValue = get(index);
+			elements.set(index, wrap(element));
+			return oldValue;
+		}
+		
+		@Override
+		protected TargetType doRemove(int index) {
+			final TargetType oldValue = get(index);
+			elements.remove(index);
+			return oldValue;
+		}
+		
+		private Object wrap(TargetType element) {
+			if (mode == Mode.EAGER) {
+				return element;
+			}
+			if (element == null) {
+				return NULL;
+			}
+			if (mode == Mode.LAZY_SOFT) {
+				return new SoftReference<>(element);
+			}
+			if (mode == Mode.LAZY_WEAK) {
+				return new WeakReference<>(element);
+			}
+			return element;
+		}
+		
+		/**
+		 * @return the transformed element of the given slot or <code>null</code> if it wasn't transformed yet, was
+		 *         collected by the garbage collector or is <code>null</code> ({@link #NULL}).
+		 */
+		private TargetType unwrap(Object slot) {
+			if (slot == UNMAPPED || slot == NULL) {
+				return null;
+			}
+			if (mode == Mode.LAZY_SOFT || mode == Mode.LAZY_WEAK) {
+				return castElement(((Reference<?>) slot).get());
+			}
+			return castElement(slot);
+		}
+	}
+	
+	/**
+	 * A change of the target list in the lazy modes. The sub-changes are the same as the ones of the change of the
+	 * source list, only the removed elements (which are transformed on access) and the permutations are recorded
+	 * when the source change is applied.
+	 */
+	private class LazyChange extends ListChangeListener.Change<TargetType> {
+		
+		private final ListChangeListener.Change<? extends SourceType> sourceChange;
+		private final List<List<TargetType>> removedLists;
+		private final List<int[]> permutations;
+		
+		private int cursor = -1;
+		
+		LazyChange(ObservableList<TargetType> list, ListChangeListener.Change<? extends SourceType> sourceChange,
+				List<List<TargetType>> removedLists, List<int[]> permutations) {
+			super(list);
+			this.sourceChange = sourceChange;
+			this.removedLists = removedLists;
+			this.permutations = permutations;
+		}
+		
+		@Override
+		public boolean next() {
+			cursor++;
+			return sourceChange.next();
+		}
+		
+		@Override
+		public void reset() {
+			cursor = -1;
+			sourceChange.reset();
+		}
+		
+		@Override
+		public int getFrom() {
+			return sourceChange.getFrom();
+		}
+		
+		@Override
+		public int getTo() {
+			return sourceChange.getTo();
+		}
+		
+		@Override
+		public List<TargetType> getRemoved() {
+			return removedLists.get(cursor);
+		}
+		
+		@Override
+		public boolean wasUpdated() {
+			return sourceChange.wasUpdated();
+		}
+		
+		@Override
+		protected int[] getPermutation() {
+			final int[] permutation = permutations.get(cursor);
+			return permutation == null ? new int[0] : permutation;
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T castElement(Object element) {
+		return (T) element;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> castList(List<Object> elements) {
+		return (List<T>) (List<?>) elements;
 	}
 	
 	/**
@@ -0,0 +1,313 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import eu.lestard.doc.Beta;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An index of the elements of an {@link ObservableList} by a key (typically an id). Instead of searching the list
+ * linearly, the element with a given key and its position in the list can be looked up in constant time.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * ObservableIndex{@code<String, ContactViewModel>} index = new ObservableIndex{@code<>}(contacts, ContactViewModel::getId);
+ *
+ * ContactViewModel contact = index.get("42");
+ * int position = index.indexOf("42");
+ * </pre>
+ *
+ * The index is updated incrementally from the change events of the list. Only the keys of added, removed and updated
+ * elements are processed. The positions of the elements behind a structural change (including permutations) are not
+ * updated immediately but the next time {@link #indexOf(Object)} needs one of them. This way a series of changes at
+ * the beginning of a large list doesn't renumber all elements after every single change.
+ * <p>
+ * The keys are expected to be unique. If several elements have the same key, the lookups return the element that was
+ * added first. The key of an element is only extracted again when the list fires an update change for it (see
+ * {@link javafx.collections.FXCollections#observableArrayList(javafx.util.Callback)}).
+ * <p>
+ * The list is only weakly observed, so it doesn't prevent the index from being garbage collected. Like the list
+ * itself, the index is not thread-safe and should only be used on the thread that changes the list.
+ *
+ * @param <K>
+ *            the type of the keys.
+ * @param <E>
+ *            the type of the elements of the list.
+ */
+@Beta
+public class ObservableIndex<K, E> {
+
+	/**
+	 * The key, element and position of a single element of the list.
+	 */
+	private static final class Entry<K, E> {
+		private final K key;
+		private final E element;
+
+		/**
+		 * The position in the list. It's only up to date if it's smaller than {@link ObservableIndex#validPositions}.
+		 */
+		private int index;
+
+		Entry(K key, E element, int index) {
+			this.key = key;
+			this.element = element;
+			this.index = index;
+		}
+	}
+
+	private final Function<? super E, ? extends K> keyExtractor;
+
+	private final Map<K, Entry<K, E>> entries = new HashMap<>();
+	private final List<Entry<K, E>> positions = new ArrayList<>();
+
+	/**
+	 * The entries before this position have the correct index. The indexes of the entries behind it are updated on
+	 * demand.
+	 */
+	private int validPositions = 0;
+
+	/**
+	 * The number of entries that are not in {@link #entries} because another entry has the same key.
+	 */
+	private int duplicates = 0;
+
+	private final Map<K, LookupReference<K, E>> lookups = new HashMap<>();
+	private final ReferenceQueue<ReadOnlyObjectWrapper<E>> lookupQueue = new ReferenceQueue<>();
+
+	private final ObservableList<E> list;
+	private final ListChangeListener<E> listener = this::listChanged;
+	private final WeakListChangeListener<E> weakListener = new WeakListChangeListener<>(listener);
+
+	/**
+	 * @param list
+	 *            the list whose elements are indexed.
+	 * @param keyExtractor
+	 *            returns the key of an element.
+	 */
+	public ObservableIndex(ObservableList<E> list, Function<? super E, ? extends K> keyExtractor) {
+		this.list = Objects.requireNonNull(list);
+		this.keyExtractor = Objects.requireNonNull(keyExtractor);
+
+		for (E element : list) {
+			final Entry<K, E> entry = new Entry<>(keyExtractor.apply(element), element, positions.size());
+			positions.add(entry);
+			map(entry);
+		}
+		validPositions = positions.size();
+
+		list.addListener(weakListener);
+	}
+
+	/**
+	 * @param key
+	 *            the key.
+	 * @return the element with the given key or <code>null</code> if there is none.
+	 */
+	public E get(K key) {
+		final Entry<K, E> entry = entries.get(key);
+		return entry == null ? null : entry.element;
+	}
+
+	/**
+	 * @param key
+	 *            the key.
+	 * @return the position of the element with the given key in the list or <code>-1</code> if there is none.
+	 */
+	public int indexOf(K key) {
+		final Entry<K, E> entry = entries.get(key);
+		if (entry == null) {
+			return -1;
+		}
+		if (entry.index >= validPositions) {
+			updatePositions();
+		}
+		return entry.index;
+	}
+
+	/**
+	 * @param key
+	 *            the key.
+	 * @return <code>true</code> if the list contains an element with the given key.
+	 */
+	public boolean containsKey(K key) {
+		return entries.containsKey(key);
+	}
+
+	/**
+	 * @return the number of distinct keys.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns an observable lookup of the element with the given key. The value of the returned property is the element
+	 * with this key or <code>null</code> if there is none. It's updated when an element with this key is added to or
+	 * removed from the list.
+	 * <p>
+	 * The index only references the returned property weakly. As long as the property is used, the same instance is
+	 * returned for the same key.
+	 *
+	 * @param key
+	 *            the key.
+	 * @return the read-only property with the element of the given key.
+	 */
+	public ReadOnlyObjectProperty<E> lookup(K key) {
+		expungeStaleLookups();
+
+		final LookupReference<K, E> reference = lookups.get(key);
+		ReadOnlyObjectWrapper<E> lookup = reference == null ? null : reference.get();
+		if (lookup == null) {
+			lookup = new ReadOnlyObjectWrapper<>(this, "lookup", get(key));
+			lookups.put(key, new LookupReference<>(key, lookup, lookupQueue));
+		}
+		return lookup.getReadOnlyProperty();
+	}
+
+	/**
+	 * Stops observing the list. The index keeps the state of the last change.
+	 */
+	public void dispose() {
+		list.removeListener(weakListener);
+	}
+
+	private void listChanged(ListChangeListener.Change<? extends E> change) {
+		expungeStaleLookups();
+		final Set<K> changedKeys = lookups.isEmpty() ? null : new HashSet<>();
+
+		while (change.next()) {
+			final int from = change.getFrom();
+
+			if (change.wasPermutated()) {
+				final List<Entry<K, E>> oldEntries = new ArrayList<>(positions.subList(from, change.getTo()));
+				for (int i = 0; i < oldEntries.size(); i++) {
+					positions.set(change.getPermutation(from + i), oldEntries.get(i));
+				}
+			} else if (change.wasUpdated()) {
+				for (int i = from; i < change.getTo(); i++) {
+					final Entry<K, E> oldEntry = positions.get(i);
+					final E element = change.getList().get(i);
+					final K key = keyExtractor.apply(element);
+					if (!Objects.equals(key, oldEntry.key)) {
+						final Entry<K, E> newEntry = new Entry<>(key, element, i);
+						positions.set(i, newEntry);
+						unmap(oldEntry, changedKeys);
+						map(newEntry, changedKeys);
+					}
+				}
+			} else {
+				if (change.wasRemoved()) {
+					final List<Entry<K, E>> range = positions.subList(from, from + change.getRemovedSize());
+					final List<Entry<K, E>> removed = new ArrayList<>(range);
+					// remove them first, so that a duplicate that replaces a removed entry is one that is still there
+					range.clear();
+					for (Entry<K, E> entry : removed) {
+						unmap(entry, changedKeys);
+					}
+				}
+				if (change.wasAdded()) {
+					final List<? extends E> added = change.getAddedSubList();
+					final List<Entry<K, E>> newEntries = new ArrayList<>(added.size());
+					for (E element : added) {
+						newEntries.add(new Entry<>(keyExtractor.apply(element), element, from + newEntries.size()));
+					}
+					positions.addAll(from, newEntries);
+					for (Entry<K, E> entry : newEntries) {
+						map(entry, changedKeys);
+					}
+				}
+			}
+
+			validPositions = Math.min(validPositions, from);
+		}
+
+		if (changedKeys != null) {
+			for (K key : changedKeys) {
+				final LookupReference<K, E> reference = lookups.get(key);
+				final ReadOnlyObjectWrapper<E> lookup = reference == null ? null : reference.get();
+				if (lookup != null) {
+					lookup.set(get(key));
+				}
+			}
+		}
+	}
+
+	private void map(Entry<K, E> entry) {
+		if (entries.putIfAbsent(entry.key, entry) != null) {
+			duplicates++;
+		}
+	}
+
+	private void map(Entry<K, E> entry, Set<K> changedKeys) {
+		map(entry);
+		if (changedKeys != null) {
+			changedKeys.add(entry.key);
+		}
+	}
+
+	private void unmap(Entry<K, E> entry, Set<K> changedKeys) {
+		if (entries.get(entry.key) != entry) {
+			duplicates--;
+			return;
+		}
+
+		entries.remove(entry.key);
+		if (changedKeys != null) {
+			changedKeys.add(entry.key);
+		}
+
+		if (duplicates > 0) {
+			// the keys are expected to be unique, so this linear search should be the exception
+			for (Entry<K, E> other : positions) {
+				if (Objects.equals(other.key, entry.key) && entries.putIfAbsent(other.key, other) == null) {
+					duplicates--;
+					break;
+				}
+			}
+		}
+	}
+
+	private void updatePositions() {
+		for (int i = validPositions; i < positions.size(); i++) {
+			positions.get(i).index = i;
+		}
+		validPositions = positions.size();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void expungeStaleLookups() {
+		Reference<? extends ReadOnlyObjectWrapper<E>> reference;
+		while ((reference = lookupQueue.poll()) != null) {
+			final K key = ((LookupReference<K, E>) reference).key;
+			// the key may already be used by a new lookup
+			if (lookups.get(key) == reference) {
+				lookups.remove(key);
+			}
+		}
+	}
+
+	private static final class LookupReference<K, E> extends WeakReference<ReadOnlyObjectWrapper<E>> {
+		private final K key;
+
+		LookupReference(K key, ReadOnlyObjectWrapper<E> lookup, ReferenceQueue<ReadOnlyObjectWrapper<E>> queue) {
+			super(lookup, queue);
+			this.key = key;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import eu.lestard.doc.Beta;
+
+/**
+ * Loads the pages of a {@link PagedObservableList}, typically from a backend.
+ * <p>
+ * A loader can work asynchronously by returning a future that is completed later (on any thread). A synchronous
+ * loader returns a completed future, see {@link #synchronous(SynchronousPageLoader)}.
+ *
+ * @param <E>
+ *            the type of the elements.
+ */
+@Beta
+@FunctionalInterface
+public interface PageLoader<E> {
+
+	/**
+	 * Starts loading a page. This method is called on the thread that accesses the list (typically the JavaFX
+	 * thread), so a long running loader should load the page in the background.
+	 *
+	 * @param offset
+	 *            the position of the first element of the page.
+	 * @param count
+	 *            the number of elements of the page.
+	 * @return a future with the elements of the page.
+	 */
+	CompletableFuture<? extends List<? extends E>> loadPage(int offset, int count);
+
+	/**
+	 * Loads a page synchronously.
+	 *
+	 * @param <E>
+	 *            the type of the elements.
+	 */
+	@FunctionalInterface
+	interface SynchronousPageLoader<E> {
+
+		/**
+		 * @param offset
+		 *            the position of the first element of the page.
+		 * @param count
+		 *            the number of elements of the page.
+		 * @return the elements of the page.
+		 */
+		List<? extends E> loadPage(int offset, int count);
+	}
+
+	/**
+	 * @param loader
+	 *            a loader that loads the pages synchronously.
+	 * @param <E>
+	 *            the type of the elements.
+	 * @return a page loader that returns completed futures.
+	 */
+	static <E> PageLoader<E> synchronous(SynchronousPageLoader<E> loader) {
+		return (offset, count) -> CompletableFuture.completedFuture(loader.loadPage(offset, count));
+	}
+}
@@ -0,0 +1,347 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+import eu.lestard.doc.Beta;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.ObservableListBase;
+
+/**
+ * A read-only list of a known size whose elements are loaded in pages when they are accessed. This way a
+ * <code>ListView</code> or <code>TableView</code> can show millions of rows of a backend, because only the pages of the
+ * visible rows (and their neighbours) are loaded and kept in memory.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * PagedObservableList{@code<Contact>} contacts = new PagedObservableList{@code<>}(repository.count(), 100,
+ *         (offset, count) -&gt; CompletableFuture.supplyAsync(() -&gt; repository.find(offset, count)));
+ *
+ * ListTransformation{@code<Contact, ContactViewModel>} viewModels = new ListTransformation{@code<>}(contacts,
+ *         ContactViewModel::new, ListTransformation.Mode.LAZY_SOFT);
+ * viewModels.setPlaceholderPredicate(Objects::isNull);
+ * </pre>
+ *
+ * When an element of a page that is not loaded is accessed, the page is loaded with the {@link PageLoader}. If the
+ * loader completes the page immediately, the element is returned directly. Otherwise a placeholder (see
+ * {@link #setPlaceholderFactory(IntFunction)}) is returned and a change replacing the placeholders with the loaded
+ * elements is fired on the JavaFX thread when the page arrives. The neighbouring pages of an accessed page are loaded
+ * in advance (see {@link #setPrefetchDistance(int)}).
+ * <p>
+ * At most {@link #getMaxResidentPages()} pages are kept, the least recently used page is evicted. Evicting a page
+ * doesn't fire a change: the list still contains the same rows, they are just loaded again on the next access.
+ * <p>
+ * Together with a lazy {@link ListTransformation} (see the example) the ViewModels are only created for the rows that
+ * are accessed by the cells, and with {@link ListTransformation.Mode#LAZY_SOFT} or
+ * {@link ListTransformation.Mode#LAZY_WEAK} they can be released again. The placeholders have to be recognized by
+ * {@link ListTransformation#setPlaceholderPredicate(java.util.function.Predicate)}, otherwise ViewModels are created
+ * for them. The list has to be used on the JavaFX thread.
+ *
+ * @param <E>
+ *            the type of the elements.
+ */
+@Beta
+public class PagedObservableList<E> extends ObservableListBase<E> {
+
+	/**
+	 * The default maximum number of pages that are kept in memory.
+	 */
+	public static final int DEFAULT_MAX_RESIDENT_PAGES = 10;
+
+	/**
+	 * The default number of pages before and after an accessed page that are loaded in advance.
+	 */
+	public static final int DEFAULT_PREFETCH_DISTANCE = 1;
+
+	private final int pageSize;
+	private final PageLoader<E> loader;
+	private final Executor uiExecutor;
+
+	private int totalSize;
+	private int maxResidentPages = DEFAULT_MAX_RESIDENT_PAGES;
+	private int prefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+	private IntFunction<? extends E> placeholderFactory = index -> null;
+
+	private final Map<Integer, List<E>> pages = new LinkedHashMap<Integer, List<E>>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+			return size() > maxResidentPages;
+		}
+	};
+
+	private final Map<Integer, CompletableFuture<?>> loadingPages = new HashMap<>();
+
+	private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(this, "loading");
+
+	/**
+	 * @param totalSize
+	 *            the number of elements.
+	 * @param pageSize
+	 *            the number of elements of a page.
+	 * @param loader
+	 *            loads the pages.
+	 */
+	public PagedObservableList(int totalSize, int pageSize, PageLoader<E> loader) {
+		this(totalSize, pageSize, loader, Platform::runLater);
+	}
+
+	/**
+	 * @param uiExecutor
+	 *            the executor the loaded pages are published with (only replaced by tests).
+	 */
+	PagedObservableList(int totalSize, int pageSize, PageLoader<E> loader, Executor uiExecutor) {
+		if (totalSize < 0) {
+			throw new IllegalArgumentException("The total size must not be negative but was " + totalSize);
+		}
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("The page size has to be at least 1 but was " + pageSize);
+		}
+		this.totalSize = totalSize;
+		this.pageSize = pageSize;
+		this.loader = Objects.requireNonNull(loader);
+		this.uiExecutor = uiExecutor;
+	}
+
+	@Override
+	public E get(int index) {
+		if (index < 0 || index >= totalSize) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + totalSize);
+		}
+
+		final int page = index / pageSize;
+		List<E> elements = pages.get(page);
+		if (elements == null) {
+			elements = load(page);
+		}
+
+		final int offset = index - page * pageSize;
+		final E element = elements != null && offset < elements.size() ? elements.get(offset)
+				: placeholderFactory.apply(index);
+
+		prefetch(page);
+		return element;
+	}
+
+	@Override
+	public int size() {
+		return totalSize;
+	}
+
+	/**
+	 * Changes the number of elements, for example when the number of rows of the backend has changed. Elements are
+	 * added or removed at the end of the list.
+	 *
+	 * @param totalSize
+	 *            the new number of elements.
+	 */
+	public void setTotalSize(int totalSize) {
+		if (totalSize < 0) {
+			throw new IllegalArgumentException("The total size must not be negative but was " + totalSize);
+		}
+		final int oldSize = this.totalSize;
+		if (totalSize == oldSize) {
+			return;
+		}
+
+		beginChange();
+		try {
+			if (totalSize > oldSize) {
+				this.totalSize = totalSize;
+				// the last page may be incomplete, it's loaded again
+				pages.remove((oldSize - 1) / pageSize);
+				nextAdd(oldSize, totalSize);
+			} else {
+				// the removed elements are only looked up when the change is built, before their pages are discarded
+				nextRemove(totalSize, new AbstractList<E>() {
+					@Override
+					public E get(int index) {
+						return residentOrPlaceholder(totalSize + index);
+					}
+
+					@Override
+					public int size() {
+						return oldSize - totalSize;
+					}
+				});
+				this.totalSize = totalSize;
+				pages.keySet().removeIf(page -> page * pageSize >= totalSize);
+			}
+		} finally {
+			endChange();
+		}
+	}
+
+	/**
+	 * Discards all loaded pages, for example when the rows of the backend have changed. A change replacing the
+	 * elements of the discarded pages is fired, so that they are loaded again when they are accessed. Pages that are
+	 * currently loaded are ignored when they arrive.
+	 */
+	public void refresh() {
+		final Map<Integer, List<E>> oldPages = new LinkedHashMap<>(pages);
+		pages.clear();
+		loadingPages.clear();
+		loading.set(false);
+
+		beginChange();
+		try {
+			oldPages.forEach((page, elements) -> {
+				final int offset = page * pageSize;
+				for (int i = 0; i < elements.size() && offset + i < totalSize; i++) {
+					nextSet(offset + i, elements.get(i));
+				}
+			});
+		} finally {
+			endChange();
+		}
+	}
+
+	/**
+	 * @param index
+	 *            the position of an element.
+	 * @return <code>true</code> if the page of the element is loaded.
+	 */
+	public boolean isResident(int index) {
+		return pages.containsKey(index / pageSize);
+	}
+
+	/**
+	 * @return <code>true</code> while at least one page is loaded asynchronously.
+	 */
+	public ReadOnlyBooleanProperty loadingProperty() {
+		return loading.getReadOnlyProperty();
+	}
+
+	public boolean isLoading() {
+		return loading.get();
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @param maxResidentPages
+	 *            the maximum number of pages that are kept in memory. It should be large enough for the visible
+	 *            rows and the prefetched pages.
+	 */
+	public void setMaxResidentPages(int maxResidentPages) {
+		if (maxResidentPages < 1) {
+			throw new IllegalArgumentException(
+					"The maximum number of pages has to be at least 1 but was " + maxResidentPages);
+		}
+		this.maxResidentPages = maxResidentPages;
+	}
+
+	public int getMaxResidentPages() {
+		return maxResidentPages;
+	}
+
+	/**
+	 * @param prefetchDistance
+	 *            the number of pages before and after an accessed page that are loaded in advance. <code>0</code>
+	 *            disables prefetching.
+	 */
+	public void setPrefetchDistance(int prefetchDistance) {
+		if (prefetchDistance < 0) {
+			throw new IllegalArgumentException("The prefetch distance must not be negative but was " + prefetchDistance);
+		}
+		this.prefetchDistance = prefetchDistance;
+	}
+
+	public int getPrefetchDistance() {
+		return prefetchDistance;
+	}
+
+	/**
+	 * @param placeholderFactory
+	 *            creates the element that is returned for a position while its page is loaded. By default it's
+	 *            <code>null</code>.
+	 */
+	public void setPlaceholderFactory(IntFunction<? extends E> placeholderFactory) {
+		this.placeholderFactory = Objects.requireNonNull(placeholderFactory);
+	}
+
+	/**
+	 * Starts loading the given page.
+	 *
+	 * @return the elements if the page was loaded synchronously, otherwise <code>null</code>.
+	 */
+	private List<E> load(int page) {
+		if (loadingPages.containsKey(page)) {
+			return null;
+		}
+
+		final int offset = page * pageSize;
+		final CompletableFuture<? extends List<? extends E>> future = loader.loadPage(offset,
+				Math.min(pageSize, totalSize - offset));
+
+		if (future.isDone() && !future.isCompletedExceptionally()) {
+			final List<E> elements = new ArrayList<>(future.join());
+			pages.put(page, elements);
+			return elements;
+		}
+
+		loadingPages.put(page, future);
+		loading.set(true);
+		future.whenComplete((elements, error) -> uiExecutor.execute(() -> pageArrived(page, future, elements)));
+		return null;
+	}
+
+	private void pageArrived(int page, CompletableFuture<?> future, List<? extends E> loadedElements) {
+		// the page was discarded by a refresh in the meantime
+		if (loadingPages.get(page) != future) {
+			return;
+		}
+		loadingPages.remove(page);
+		loading.set(!loadingPages.isEmpty());
+
+		final int offset = page * pageSize;
+		// a failed page is loaded again on the next access
+		if (loadedElements == null || offset >= totalSize) {
+			return;
+		}
+
+		final List<E> elements = new ArrayList<>(loadedElements);
+		pages.put(page, elements);
+
+		beginChange();
+		try {
+			for (int i = 0; i < elements.size() && offset + i < totalSize; i++) {
+				nextSet(offset + i, placeholderFactory.apply(offset + i));
+			}
+		} finally {
+			endChange();
+		}
+	}
+
+	private void prefetch(int page) {
+		final int lastPage = (totalSize - 1) / pageSize;
+		for (int distance = 1; distance <= prefetchDistance; distance++) {
+			prefetchPage(page + distance, lastPage);
+			prefetchPage(page - distance, lastPage);
+		}
+	}
+
+	private void prefetchPage(int page, int lastPage) {
+		if (page >= 0 && page <= lastPage && !pages.containsKey(page)) {
+			load(page);
+		}
+	}
+
+	private E residentOrPlaceholder(int index) {
+		final List<E> elements = pages.get(index / pageSize);
+		final int offset = index % pageSize;
+		return elements != null && offset < elements.size() ? elements.get(offset) : placeholderFactory.apply(index);
+	}
+}
@@ -0,0 +1,423 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import eu.lestard.doc.Beta;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * A full text index of a list of strings, for example of the {@link ItemList#stringListProperty()} that is shown in a
+ * combo box. It finds all strings that contain a query (ignoring the case) without testing every string of the list.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * TextSearchIndex index = new TextSearchIndex(itemList.stringListProperty());
+ *
+ * ObservableList{@code<String>} matches = index.filteredView(searchTextProperty);
+ * </pre>
+ *
+ * The index is a trigram index: for every sequence of three characters it contains the strings with this sequence.
+ * For a query with at least three characters only the strings of its rarest trigram are tested. Shorter queries test
+ * all strings. When the query is extended (which is what happens while the user is typing), only the strings that
+ * matched the previous query are tested again if they are fewer.
+ * <p>
+ * The index is updated incrementally from the change events of the list. Removed strings are only marked as removed
+ * and the index is rebuilt when most of its entries are removed ones. Like the list itself, the index is not
+ * thread-safe. The list is only weakly observed.
+ */
+@Beta
+public class TextSearchIndex {
+
+	private static final int GRAM_LENGTH = 3;
+
+	/**
+	 * A single string of the list.
+	 */
+	private static final class Entry {
+		private final String text;
+		private final String normalizedText;
+		private boolean removed = false;
+
+		/**
+		 * The position in the list. It's only up to date if it's smaller than {@link TextSearchIndex#validPositions}.
+		 */
+		private int index;
+
+		Entry(String text, int index) {
+			this.text = text;
+			this.normalizedText = normalize(text);
+			this.index = index;
+		}
+	}
+
+	private final List<Entry> entries = new ArrayList<>();
+
+	/**
+	 * The entries for every trigram. Removed entries are only removed from these lists when the index is rebuilt.
+	 */
+	private final Map<Long, List<Entry>> postings = new HashMap<>();
+	private int removedPostings = 0;
+	private int postingCount = 0;
+
+	private int validPositions = 0;
+
+	private final List<WeakReference<View>> views = new ArrayList<>();
+
+	private final ObservableList<String> list;
+	private final ListChangeListener<String> listener = this::listChanged;
+	private final WeakListChangeListener<String> weakListener = new WeakListChangeListener<>(listener);
+
+	/**
+	 * @param list
+	 *            the list whose strings are indexed.
+	 */
+	public TextSearchIndex(ObservableList<String> list) {
+		this.list = Objects.requireNonNull(list);
+		for (String text : list) {
+			final Entry entry = new Entry(text, entries.size());
+			entries.add(entry);
+			addPostings(entry);
+		}
+		validPositions = entries.size();
+
+		list.addListener(weakListener);
+	}
+
+	/**
+	 * Returns the positions of all strings of the list that contain the given query, ignoring the case.
+	 *
+	 * @param query
+	 *            the query. An empty or <code>null</code> query matches all strings.
+	 * @return the positions of the matching strings in ascending order.
+	 */
+	public int[] search(String query) {
+		final List<Entry> matches = find(normalize(query), null);
+		updatePositions();
+		final int[] positions = new int[matches.size()];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = matches.get(i).index;
+		}
+		return positions;
+	}
+
+	/**
+	 * Creates a read-only list with all strings that contain the current value of the given query, ignoring the case.
+	 * The list is updated when the query or the indexed list changes. The strings have the same order as in the
+	 * indexed list.
+	 *
+	 * @param query
+	 *            the query. An empty or <code>null</code> query matches all strings.
+	 * @return the filtered list.
+	 */
+	public ObservableList<String> filteredView(ObservableValue<String> query) {
+		views.removeIf(reference -> reference.get() == null);
+		final View view = new View(query);
+		views.add(new WeakReference<>(view));
+		return view;
+	}
+
+	/**
+	 * Stops observing the list. The index and its filtered views keep the state of the last change.
+	 */
+	public void dispose() {
+		list.removeListener(weakListener);
+	}
+
+	private void listChanged(ListChangeListener.Change<? extends String> change) {
+		while (change.next()) {
+			final int from = change.getFrom();
+			if (change.wasPermutated()) {
+				final List<Entry> oldEntries = new ArrayList<>(entries.subList(from, change.getTo()));
+				for (int i = 0; i < oldEntries.size(); i++) {
+					entries.set(change.getPermutation(from + i), oldEntries.get(i));
+				}
+			} else if (change.wasUpdated()) {
+				for (int i = from; i < change.getTo(); i++) {
+					final Entry entry = new Entry(change.getList().get(i), i);
+					remove(entries.set(i, entry));
+					addPostings(entry);
+				}
+			} else {
+				if (change.wasRemoved()) {
+					final List<Entry> range = entries.subList(from, from + change.getRemovedSize());
+					range.forEach(this::remove);
+					range.clear();
+				}
+				if (change.wasAdded()) {
+					final List<Entry> newEntries = new ArrayList<>(change.getAddedSize());
+					for (String text : change.getAddedSubList()) {
+						final Entry entry = new Entry(text, from + newEntries.size());
+						newEntries.add(entry);
+						addPostings(entry);
+					}
+					entries.addAll(from, newEntries);
+				}
+			}
+			validPositions = Math.min(validPositions, from);
+		}
+
+		if (removedPostings > postingCount / 2) {
+			rebuild();
+		}
+
+		final Iterator<WeakReference<View>> iterator = views.iterator();
+		while (iterator.hasNext()) {
+			final View view = iterator.next().get();
+			if (view == null) {
+				iterator.remove();
+			} else {
+				view.refresh(false);
+			}
+		}
+	}
+
+	/**
+	 * @param query
+	 *            the normalized query.
+	 * @param previous
+	 *            the matches of a previous query that is contained in this query or <code>null</code>.
+	 * @return the matching entries in the order of the list.
+	 */
+	private List<Entry> find(String query, List<Entry> previous) {
+		if (query.isEmpty()) {
+			return new ArrayList<>(entries);
+		}
+
+		Candidates candidates = new Candidates(previous == null ? entries : previous, true);
+		for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+			final List<Entry> posting = postings.get(gram(query, i));
+			if (posting == null) {
+				return new ArrayList<>();
+			}
+			if (posting.size() < candidates.entries.size()) {
+				candidates = new Candidates(posting, false);
+			}
+		}
+
+		final List<Entry> matches = new ArrayList<>();
+		for (Entry entry : candidates.entries) {
+			if (!entry.removed && entry.normalizedText.contains(query)) {
+				matches.add(entry);
+			}
+		}
+
+		if (!candidates.ordered) {
+			updatePositions();
+			matches.sort(Comparator.comparingInt(entry -> entry.index));
+		}
+		return matches;
+	}
+
+	/**
+	 * A collection of candidates for a query.
+	 */
+	private static final class Candidates {
+		private final List<Entry> entries;
+
+		/**
+		 * <code>true</code> if the entries have the order of the list.
+		 */
+		private final boolean ordered;
+
+		Candidates(List<Entry> entries, boolean ordered) {
+			this.entries = entries;
+			this.ordered = ordered;
+		}
+	}
+
+	private void addPostings(Entry entry) {
+		final String text = entry.normalizedText;
+		final Set<Long> grams = new HashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			if (grams.add(gram(text, i))) {
+				postings.computeIfAbsent(gram(text, i), key -> new ArrayList<>()).add(entry);
+				postingCount++;
+			}
+		}
+	}
+
+	private void remove(Entry entry) {
+		entry.removed = true;
+		final int length = entry.normalizedText.length();
+		if (length >= GRAM_LENGTH) {
+			// an upper bound of the number of postings of the entry is good enough to decide when to rebuild
+			removedPostings += length - GRAM_LENGTH + 1;
+		}
+	}
+
+	private void rebuild() {
+		postings.clear();
+		postingCount = 0;
+		removedPostings = 0;
+		for (Entry entry : entries) {
+			addPostings(entry);
+		}
+	}
+
+	private void updatePositions() {
+		for (int i = validPositions; i < entries.size(); i++) {
+			entries.get(i).index = i;
+		}
+		validPositions = entries.size();
+	}
+
+	private static long gram(String text, int index) {
+		return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+	}
+
+	private static String normalize(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * The list that is returned by {@link #filteredView(ObservableValue)}.
+	 */
+	private final class View extends ObservableListBase<String> {
+		private final ObservableValue<String> query;
+		private final InvalidationListener queryListener = observable -> refresh(true);
+
+		private List<Entry> matches = Collections.emptyList();
+		private String matchedQuery;
+
+		View(ObservableValue<String> query) {
+			this.query = query;
+			query.addListener(new WeakInvalidationListener(queryListener));
+			refresh(true);
+		}
+
+		/**
+		 * @param queryChanged
+		 *            <code>false</code> if the list was changed, so the previous matches can't be reused.
+		 */
+		private void refresh(boolean queryChanged) {
+			final String newQuery = normalize(query.getValue());
+			if (queryChanged && newQuery.equals(matchedQuery)) {
+				return;
+			}
+
+			final boolean extended = queryChanged && matchedQuery != null && newQuery.contains(matchedQuery);
+			final List<Entry> newMatches = find(newQuery, extended ? matches : null);
+			updatePositions();
+
+			final List<Entry> oldMatches = matches;
+			matches = newMatches;
+			matchedQuery = newQuery;
+
+			if (oldMatches.isEmpty() && newMatches.isEmpty()) {
+				return;
+			}
+			beginChange();
+			if (isOrdered(oldMatches)) {
+				merge(oldMatches, newMatches);
+			} else if (!permutate(oldMatches, newMatches)) {
+				nextRemove(0, texts(oldMatches));
+				nextAdd(0, newMatches.size());
+			}
+			endChange();
+		}
+
+		/**
+		 * Both lists of matches are ordered by position, so the changes are found by walking through them in
+		 * parallel. Only the strings that don't match anymore are removed and only the new matches are added.
+		 */
+		private void merge(List<Entry> oldMatches, List<Entry> newMatches) {
+			int oldIndex = 0;
+			int newIndex = 0;
+			while (oldIndex < oldMatches.size() || newIndex < newMatches.size()) {
+				final Entry oldEntry = oldIndex < oldMatches.size() ? oldMatches.get(oldIndex) : null;
+				final Entry newEntry = newIndex < newMatches.size() ? newMatches.get(newIndex) : null;
+
+				if (oldEntry == newEntry) {
+					oldIndex++;
+					newIndex++;
+				} else if (newEntry == null || oldEntry != null
+						&& (oldEntry.removed || oldEntry.index < newEntry.index)) {
+					nextRemove(newIndex, oldEntry.text);
+					oldIndex++;
+				} else {
+					nextAdd(newIndex, newIndex + 1);
+					newIndex++;
+				}
+			}
+		}
+
+		/**
+		 * Fires a permutation if the list was permutated and the view still contains the same strings.
+		 *
+		 * @return <code>false</code> if the matches aren't a permutation of the old matches.
+		 */
+		private boolean permutate(List<Entry> oldMatches, List<Entry> newMatches) {
+			if (oldMatches.size() != newMatches.size()) {
+				return false;
+			}
+			final Map<Entry, Integer> newIndexes = new IdentityHashMap<>(newMatches.size());
+			for (int i = 0; i < newMatches.size(); i++) {
+				newIndexes.put(newMatches.get(i), i);
+			}
+			final int[] permutation = new int[oldMatches.size()];
+			for (int i = 0; i < permutation.length; i++) {
+				final Integer newIndex = newIndexes.get(oldMatches.get(i));
+				if (newIndex == null) {
+					return false;
+				}
+				permutation[i] = newIndex;
+			}
+			nextPermutation(0, permutation.length, permutation);
+			return true;
+		}
+
+		/**
+		 * @return <code>true</code> if the old matches that are still in the list have the order of the list, i.e. the
+		 *         list wasn't permutated.
+		 */
+		private boolean isOrdered(List<Entry> oldMatches) {
+			int previous = -1;
+			for (Entry entry : oldMatches) {
+				if (!entry.removed) {
+					if (entry.index < previous) {
+						return false;
+					}
+					previous = entry.index;
+				}
+			}
+			return true;
+		}
+
+		private List<String> texts(List<Entry> entries) {
+			final List<String> texts = new ArrayList<>(entries.size());
+			for (Entry entry : entries) {
+				texts.add(entry.text);
+			}
+			return texts;
+		}
+
+		@Override
+		public String get(int index) {
+			return matches.get(index).text;
+		}
+
+		@Override
+		public int size() {
+			return matches.size();
+		}
+	}
+}
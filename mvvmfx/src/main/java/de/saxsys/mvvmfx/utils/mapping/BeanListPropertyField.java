@@ -1,6 +1,5 @@
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListSetter;
 import javafx.beans.property.ListProperty;
@@ -8,11 +7,13 @@ import javafx.beans.property.Property;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -33,33 +34,59 @@ class BeanListPropertyField<M, E, T extends ObservableList<E>, R extends Propert
 	private List<E> defaultValue;
 	private final ListProperty<E> targetProperty;
 
-	public BeanListPropertyField(SideEffect updateFunction, ListGetter<M, E> getter, ListSetter<M, E> setter, Supplier<ListProperty<E>> propertySupplier) {
+	/**
+	 * Incremented on every change of the target property. Together with the list of the model that was synchronized
+	 * last this allows {@link #isDifferent(Object)} to skip the comparison of the lists if nothing was changed.
+	 * <p>
+	 * Changes of the list of the model can only be seen if it is an {@link ObservableList}. Any change of it
+	 * invalidates the synchronization. Other lists are never remembered, so they are always compared.
+	 */
+	private int modificationCount = 0;
+	private int synchronizedModificationCount = -1;
+	private ObservableList<E> synchronizedList;
+
+	private final ListChangeListener<E> synchronizedListListener = change -> synchronizedModificationCount = -1;
+	private final WeakListChangeListener<E> weakSynchronizedListListener = new WeakListChangeListener<>(
+			synchronizedListListener);
+
+	public BeanListPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, ListGetter<M, E> getter, ListSetter<M, E> setter, Supplier<ListProperty<E>> propertySupplier) {
 		this(updateFunction, getter, setter, propertySupplier, Collections.emptyList());
 	}
 
-	public BeanListPropertyField(SideEffect updateFunction, ListGetter<M, E> getter, ListSetter<M, E> setter, Supplier<ListProperty<E>> propertySupplier, List<E> defaultValue) {
+	public BeanListPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, ListGetter<M, E> getter, ListSetter<M, E> setter, Supplier<ListProperty<E>> propertySupplier, List<E> defaultValue) {
 		this.defaultValue = defaultValue;
 		this.getter = getter;
 		this.setter = setter;
 		this.targetProperty = propertySupplier.get();
 		this.targetProperty.setValue(FXCollections.observableArrayList());
 
-		this.targetProperty.addListener((ListChangeListener<E>) change -> updateFunction.call());
+		this.targetProperty.addListener((ListChangeListener<E>) change -> {
+			modificationCount++;
+			updateFunction.accept(this);
+		});
 	}
 
 	@Override
 	public void commit(M wrappedObject) {
 		setter.accept(wrappedObject, targetProperty.getValue());
+		synchronizedWith(wrappedObject);
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final List<E> value = new ArrayList<>(targetProperty);
+		return wrappedObject -> setter.accept(wrappedObject, value);
 	}
 
 	@Override
 	public void reload(M wrappedObject) {
-		targetProperty.setAll(getter.apply(wrappedObject));
+		ListDiff.apply(targetProperty, getter.apply(wrappedObject));
+		synchronizedWith(wrappedObject);
 	}
 
 	@Override
 	public void resetToDefault() {
-		targetProperty.setAll(defaultValue);
+		ListDiff.apply(targetProperty, defaultValue);
 	}
 
 	@Override
@@ -72,9 +99,33 @@ class BeanListPropertyField<M, E, T extends ObservableList<E>, R extends Propert
 		return (R) targetProperty;
 	}
 
+	private void synchronizedWith(M wrappedObject) {
+		final List<E> modelValue = getter.apply(wrappedObject);
+		if (modelValue != synchronizedList) {
+			if (synchronizedList != null) {
+				synchronizedList.removeListener(weakSynchronizedListListener);
+				synchronizedList = null;
+			}
+			if (modelValue instanceof ObservableList) {
+				synchronizedList = (ObservableList<E>) modelValue;
+				synchronizedList.addListener(weakSynchronizedListListener);
+			}
+		}
+		synchronizedModificationCount = modificationCount;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final List<E> modelValue = getter.apply(wrappedObject);
+		if (synchronizedList != null && modelValue == synchronizedList
+				&& modificationCount == synchronizedModificationCount) {
+			return false;
+		}
 		final List<E> wrapperValue = targetProperty;
 
 		return !Objects.equals(modelValue, wrapperValue);
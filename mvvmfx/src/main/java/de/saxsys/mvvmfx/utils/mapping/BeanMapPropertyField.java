@@ -15,7 +15,6 @@
  ******************************************************************************/
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.MapGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.MapSetter;
 import javafx.beans.property.MapProperty;
@@ -28,6 +27,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -49,12 +49,12 @@ class BeanMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Pro
 
     private final MapProperty<K, V> targetProperty;
 
-    BeanMapPropertyField(SideEffect updateFunction, MapGetter<M, K, V> getter, MapSetter<M, K, V> setter,
+    BeanMapPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, MapGetter<M, K, V> getter, MapSetter<M, K, V> setter,
             Supplier<MapProperty<K, V>> propertySupplier) {
         this(updateFunction, getter, setter, propertySupplier, Collections.emptyMap());
     }
 
-    BeanMapPropertyField(SideEffect updateFunction, MapGetter<M, K, V> getter, MapSetter<M, K, V> setter,
+    BeanMapPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, MapGetter<M, K, V> getter, MapSetter<M, K, V> setter,
             Supplier<MapProperty<K, V>> propertySupplier,
             Map<K, V> defaultValue) {
         this.defaultValue = defaultValue;
@@ -62,7 +62,7 @@ class BeanMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Pro
         this.setter = setter;
         this.targetProperty = propertySupplier.get();
         this.targetProperty.setValue(FXCollections.observableMap(new HashMap<>()));
-        this.targetProperty.addListener((MapChangeListener<K, V>) change -> updateFunction.call());
+        this.targetProperty.addListener((MapChangeListener<K, V>) change -> updateFunction.accept(this));
     }
 
     static <K, V> void setAll(Map<K, V> target, Map<K, V> newValues) {
@@ -75,6 +75,12 @@ class BeanMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Pro
         setter.accept(wrappedObject, targetProperty.getValue());
     }
 
+    @Override
+    public Consumer<M> prepareCommit() {
+        final Map<K, V> value = new HashMap<>(targetProperty);
+        return wrappedObject -> setter.accept(wrappedObject, value);
+    }
+
     @Override
     public void reload(M wrappedObject) {
         setAll(targetProperty, getter.apply(wrappedObject));
@@ -97,6 +103,11 @@ class BeanMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Pro
         return (R) targetProperty;
     }
 
+    @Override
+    public Object getModelValue(M wrappedObject) {
+        return getter.apply(wrappedObject);
+    }
+
     @Override
     public boolean isDifferent(M wrappedObject) {
         final Map<K, V> modelValue = getter.apply(wrappedObject);
@@ -15,11 +15,11 @@
  ******************************************************************************/
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import javafx.beans.property.Property;
 
 import java.util.Objects;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -37,19 +37,19 @@ class BeanPropertyField<T, M, R extends Property<T>> implements PropertyField<T,
 	private final Function<M, T> getter;
 	private final BiConsumer<M, T> setter;
 
-	public BeanPropertyField(SideEffect updateFunction, Function<M, T> getter,
+	public BeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, Function<M, T> getter,
 			BiConsumer<M, T> setter, Supplier<R> propertySupplier) {
 		this(updateFunction, getter, setter, null, propertySupplier);
 	}
 
-	public BeanPropertyField(SideEffect updateFunction, Function<M, T> getter,
+	public BeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, Function<M, T> getter,
 			BiConsumer<M, T> setter, T defaultValue, Supplier<R> propertySupplier) {
 		this.defaultValue = defaultValue;
 		this.getter = getter;
 		this.setter = setter;
 		this.targetProperty = propertySupplier.get();
 
-		this.targetProperty.addListener((observable, oldValue, newValue) -> updateFunction.call());
+		this.targetProperty.addListener((observable, oldValue, newValue) -> updateFunction.accept(this));
 	}
 
 	@Override
@@ -57,6 +57,12 @@ class BeanPropertyField<T, M, R extends Property<T>> implements PropertyField<T,
 		setter.accept(wrappedObject, targetProperty.getValue());
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		final T value = targetProperty.getValue();
+		return wrappedObject -> setter.accept(wrappedObject, value);
+	}
+
 	@Override
 	public void reload(M wrappedObject) {
 		targetProperty.setValue(getter.apply(wrappedObject));
@@ -77,6 +83,11 @@ class BeanPropertyField<T, M, R extends Property<T>> implements PropertyField<T,
 		return targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final T modelValue = getter.apply(wrappedObject);
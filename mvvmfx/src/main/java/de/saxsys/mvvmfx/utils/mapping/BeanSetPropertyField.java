@@ -19,9 +19,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.SetGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.SetSetter;
 import javafx.beans.property.Property;
@@ -47,19 +47,19 @@ public class BeanSetPropertyField<M, E, T extends ObservableSet<E>, R extends Pr
 
 	private final SetProperty<E> targetProperty;
 
-	public BeanSetPropertyField(SideEffect updateFunction, SetGetter<M, E> getter, SetSetter<M, E> setter,
+	public BeanSetPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, SetGetter<M, E> getter, SetSetter<M, E> setter,
 			Supplier<SetProperty<E>> propertySupplier) {
 		this(updateFunction, getter, setter, propertySupplier, Collections.emptySet());
 	}
 
-	public BeanSetPropertyField(SideEffect updateFunction, SetGetter<M, E> getter, SetSetter<M, E> setter, Supplier<SetProperty<E>> propertySupplier,
+	public BeanSetPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, SetGetter<M, E> getter, SetSetter<M, E> setter, Supplier<SetProperty<E>> propertySupplier,
 			Set<E> defaultValue) {
 		this.defaultValue = defaultValue;
 		this.getter = getter;
 		this.setter = setter;
 		this.targetProperty = propertySupplier.get();
 		this.targetProperty.setValue(FXCollections.observableSet(new HashSet<>()));
-		this.targetProperty.addListener((SetChangeListener<E>) change -> updateFunction.call());
+		this.targetProperty.addListener((SetChangeListener<E>) change -> updateFunction.accept(this));
 	}
 
 	static <E> void setAll(Set<E> target, Set<E> newValues) {
@@ -72,6 +72,12 @@ public class BeanSetPropertyField<M, E, T extends ObservableSet<E>, R extends Pr
 		setter.accept(wrappedObject, targetProperty.getValue());
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		final Set<E> value = new HashSet<>(targetProperty);
+		return wrappedObject -> setter.accept(wrappedObject, value);
+	}
+
 	@Override
 	public void reload(M wrappedObject) {
 		setAll(targetProperty, getter.apply(wrappedObject));
@@ -92,6 +98,11 @@ public class BeanSetPropertyField<M, E, T extends ObservableSet<E>, R extends Pr
 		return (R) targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final Set<E> modelValue = getter.apply(wrappedObject);
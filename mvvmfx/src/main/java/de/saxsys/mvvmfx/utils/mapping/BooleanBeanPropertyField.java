@@ -0,0 +1,96 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanPrimitiveSetter;
+import javafx.beans.property.BooleanProperty;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link PropertyField} for fields of type <code>boolean</code> that are following the
+ * Java-Beans standard.
+ * <p>
+ * In contrast to the generic {@link BeanPropertyField} the value is never boxed: The model is accessed via
+ * {@link BooleanPrimitiveGetter} and {@link BooleanPrimitiveSetter}, the property via {@link BooleanProperty#get()}
+ * and {@link BooleanProperty#set(boolean)}, and the default value is stored as primitive. The changes of the
+ * property are observed with an invalidation listener because a change listener would box the old and new value on
+ * every change. The last seen value is kept so that an invalidation that doesn't change the value (e.g. of a bound
+ * property) isn't reported.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+class BooleanBeanPropertyField<M> implements PropertyField<Boolean, M, BooleanProperty> {
+
+	private final BooleanPrimitiveGetter<M> getter;
+	private final BooleanPrimitiveSetter<M> setter;
+
+	private boolean defaultValue;
+	private boolean lastValue;
+	private final BooleanProperty targetProperty;
+
+	BooleanBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, BooleanPrimitiveGetter<M> getter,
+			BooleanPrimitiveSetter<M> setter, Supplier<BooleanProperty> propertySupplier) {
+		this(updateFunction, getter, setter, false, propertySupplier);
+	}
+
+	BooleanBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, BooleanPrimitiveGetter<M> getter,
+			BooleanPrimitiveSetter<M> setter, boolean defaultValue, Supplier<BooleanProperty> propertySupplier) {
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValue;
+		this.targetProperty = propertySupplier.get();
+		this.lastValue = targetProperty.get();
+
+		this.targetProperty.addListener(observable -> {
+			// getting the value validates the property again. Otherwise the next change wouldn't be reported.
+			final boolean newValue = targetProperty.get();
+			if (newValue != lastValue) {
+				lastValue = newValue;
+				updateFunction.accept(this);
+			}
+		});
+	}
+
+	@Override
+	public void commit(M wrappedObject) {
+		setter.accept(wrappedObject, targetProperty.get());
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final boolean value = targetProperty.get();
+		return wrappedObject -> setter.accept(wrappedObject, value);
+	}
+
+	@Override
+	public void reload(M wrappedObject) {
+		targetProperty.set(getter.applyAsBoolean(wrappedObject));
+	}
+
+	@Override
+	public void resetToDefault() {
+		targetProperty.set(defaultValue);
+	}
+
+	@Override
+	public void updateDefault(M wrappedObject) {
+		defaultValue = getter.applyAsBoolean(wrappedObject);
+	}
+
+	@Override
+	public BooleanProperty getProperty() {
+		return targetProperty;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.applyAsBoolean(wrappedObject);
+	}
+
+	@Override
+	public boolean isDifferent(M wrappedObject) {
+		return getter.applyAsBoolean(wrappedObject) != targetProperty.get();
+	}
+}
@@ -0,0 +1,280 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoubleGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ObjectGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringGetter;
+import eu.lestard.doc.Beta;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.FloatProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleFloatProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Defines fields of a {@link ModelWrapper} for immutable model classes that provide a builder. Instances are created
+ * with {@link ModelWrapper#withBuilder(Function, Function)}.
+ * <p>
+ * With {@link ModelWrapper#immutableField(StringGetter, de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringImmutableSetter)}
+ * every field creates a new copy of the model instance on commit. With a builder, all fields write their values into a
+ * single builder and exactly one new model instance is created:
+ *
+ * <pre>
+ * ModelWrapper{@code<Person>} personWrapper = new ModelWrapper{@code<>}();
+ * BuilderMapping{@code<Person, Person.Builder>} builder = personWrapper.withBuilder(Person::toBuilder, Person.Builder::build);
+ *
+ * StringProperty name = builder.immutableField(Person::getName, Person.Builder::name);
+ * IntegerProperty age = builder.immutableField(Person::getAge, Person.Builder::age);
+ * </pre>
+ *
+ * The builder setters may return the builder (fluent style) or nothing.
+ *
+ * @param <M>
+ *            the type of the model class.
+ * @param <B>
+ *            the type of the builder.
+ */
+@Beta
+public class BuilderMapping<M, B> {
+
+	private final ModelWrapper<M> wrapper;
+	private final Function<M, B> toBuilder;
+	private final Function<B, M> build;
+
+	private final List<BuilderPropertyField<?, M, B, ?>> fields = new ArrayList<>();
+
+	BuilderMapping(ModelWrapper<M> wrapper, Function<M, B> toBuilder, Function<B, M> build) {
+		this.wrapper = wrapper;
+		this.toBuilder = toBuilder;
+		this.build = build;
+	}
+
+	boolean hasFields() {
+		return !fields.isEmpty();
+	}
+
+	/**
+	 * Creates a new model instance from the given one with the current values of all builder fields.
+	 */
+	M build(M wrappedObject) {
+		final B builder = toBuilder.apply(wrappedObject);
+		fields.forEach(field -> field.applyTo(builder));
+		return build.apply(builder);
+	}
+
+	/**
+	 * Takes the current values of all builder fields and returns a function that creates a new model instance from a
+	 * given one with these values. See {@link PropertyField#prepareCommit()}.
+	 */
+	UnaryOperator<M> prepareBuild() {
+		final List<Consumer<B>> actions = new ArrayList<>();
+		fields.forEach(field -> actions.add(field.prepareApply()));
+
+		return wrappedObject -> {
+			final B builder = toBuilder.apply(wrappedObject);
+			actions.forEach(action -> action.accept(builder));
+			return build.apply(builder);
+		};
+	}
+
+	private <T, R extends Property<T>> R add(String identifier, Function<M, T> getter,
+			BiConsumer<B, T> builderSetter, T defaultValue, Supplier<R> propertySupplier) {
+		final BuilderPropertyField<T, M, B, R> field = wrapper.createBuilderField(getter, builderSetter,
+				defaultValue, propertySupplier);
+		final R property = wrapper.addBuilderField(identifier, field);
+
+		// with an identifier that was already used the existing property is returned and the new field is discarded
+		if (property == field.getProperty()) {
+			fields.add(field);
+		}
+		return property;
+	}
+
+
+	/* Field type String */
+
+	/**
+	 * Add a new immutable field of type String that is committed via the builder. See
+	 * {@link ModelWrapper#immutableField(StringGetter, de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringImmutableSetter)}.
+	 *
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param builderSetter
+	 *            a function that sets the given value to the given builder. Typically you will use a method reference
+	 *            to the setter method of the builder.
+	 * @return The wrapped property instance.
+	 */
+	public StringProperty immutableField(StringGetter<M> getter, BiConsumer<B, String> builderSetter) {
+		return immutableField(getter, builderSetter, null);
+	}
+
+	public StringProperty immutableField(StringGetter<M> getter, BiConsumer<B, String> builderSetter,
+			String defaultValue) {
+		return add(null, getter, builderSetter, defaultValue, SimpleStringProperty::new);
+	}
+
+	public StringProperty immutableField(String identifier, StringGetter<M> getter,
+			BiConsumer<B, String> builderSetter) {
+		return immutableField(identifier, getter, builderSetter, null);
+	}
+
+	public StringProperty immutableField(String identifier, StringGetter<M> getter,
+			BiConsumer<B, String> builderSetter, String defaultValue) {
+		return add(identifier, getter, builderSetter, defaultValue, () -> new SimpleStringProperty(null, identifier));
+	}
+
+	/* Field type Boolean */
+
+	public BooleanProperty immutableField(BooleanGetter<M> getter, BiConsumer<B, Boolean> builderSetter) {
+		return immutableField(getter, builderSetter, false);
+	}
+
+	public BooleanProperty immutableField(BooleanGetter<M> getter, BiConsumer<B, Boolean> builderSetter,
+			boolean defaultValue) {
+		return add(null, getter, builderSetter, defaultValue, SimpleBooleanProperty::new);
+	}
+
+	public BooleanProperty immutableField(String identifier, BooleanGetter<M> getter,
+			BiConsumer<B, Boolean> builderSetter) {
+		return immutableField(identifier, getter, builderSetter, false);
+	}
+
+	public BooleanProperty immutableField(String identifier, BooleanGetter<M> getter,
+			BiConsumer<B, Boolean> builderSetter, boolean defaultValue) {
+		return add(identifier, getter, builderSetter, defaultValue, () -> new SimpleBooleanProperty(null, identifier));
+	}
+
+	/* Field type Double */
+
+	public DoubleProperty immutableField(DoubleGetter<M> getter, BiConsumer<B, Double> builderSetter) {
+		return immutableField(getter, builderSetter, 0.0);
+	}
+
+	public DoubleProperty immutableField(DoubleGetter<M> getter, BiConsumer<B, Double> builderSetter,
+			double defaultValue) {
+		return add(null, getter::apply, (b, number) -> builderSetter.accept(b, number.doubleValue()), defaultValue,
+				SimpleDoubleProperty::new);
+	}
+
+	public DoubleProperty immutableField(String identifier, DoubleGetter<M> getter,
+			BiConsumer<B, Double> builderSetter) {
+		return immutableField(identifier, getter, builderSetter, 0.0);
+	}
+
+	public DoubleProperty immutableField(String identifier, DoubleGetter<M> getter,
+			BiConsumer<B, Double> builderSetter, double defaultValue) {
+		return add(identifier, getter::apply, (b, number) -> builderSetter.accept(b, number.doubleValue()),
+				defaultValue, () -> new SimpleDoubleProperty(null, identifier));
+	}
+
+	/* Field type Float */
+
+	public FloatProperty immutableField(FloatGetter<M> getter, BiConsumer<B, Float> builderSetter) {
+		return immutableField(getter, builderSetter, 0f);
+	}
+
+	public FloatProperty immutableField(FloatGetter<M> getter, BiConsumer<B, Float> builderSetter,
+			float defaultValue) {
+		return add(null, getter::apply, (b, number) -> builderSetter.accept(b, number.floatValue()), defaultValue,
+				SimpleFloatProperty::new);
+	}
+
+	public FloatProperty immutableField(String identifier, FloatGetter<M> getter,
+			BiConsumer<B, Float> builderSetter) {
+		return immutableField(identifier, getter, builderSetter, 0f);
+	}
+
+	public FloatProperty immutableField(String identifier, FloatGetter<M> getter,
+			BiConsumer<B, Float> builderSetter, float defaultValue) {
+		return add(identifier, getter::apply, (b, number) -> builderSetter.accept(b, number.floatValue()),
+				defaultValue, () -> new SimpleFloatProperty(null, identifier));
+	}
+
+	/* Field type Integer */
+
+	public IntegerProperty immutableField(IntGetter<M> getter, BiConsumer<B, Integer> builderSetter) {
+		return immutableField(getter, builderSetter, 0);
+	}
+
+	public IntegerProperty immutableField(IntGetter<M> getter, BiConsumer<B, Integer> builderSetter,
+			int defaultValue) {
+		return add(null, getter::apply, (b, number) -> builderSetter.accept(b, number.intValue()), defaultValue,
+				SimpleIntegerProperty::new);
+	}
+
+	public IntegerProperty immutableField(String identifier, IntGetter<M> getter,
+			BiConsumer<B, Integer> builderSetter) {
+		return immutableField(identifier, getter, builderSetter, 0);
+	}
+
+	public IntegerProperty immutableField(String identifier, IntGetter<M> getter,
+			BiConsumer<B, Integer> builderSetter, int defaultValue) {
+		return add(identifier, getter::apply, (b, number) -> builderSetter.accept(b, number.intValue()),
+				defaultValue, () -> new SimpleIntegerProperty(null, identifier));
+	}
+
+	/* Field type Long */
+
+	public LongProperty immutableField(LongGetter<M> getter, BiConsumer<B, Long> builderSetter) {
+		return immutableField(getter, builderSetter, 0L);
+	}
+
+	public LongProperty immutableField(LongGetter<M> getter, BiConsumer<B, Long> builderSetter,
+			long defaultValue) {
+		return add(null, getter::apply, (b, number) -> builderSetter.accept(b, number.longValue()), defaultValue,
+				SimpleLongProperty::new);
+	}
+
+	public LongProperty immutableField(String identifier, LongGetter<M> getter,
+			BiConsumer<B, Long> builderSetter) {
+		return immutableField(identifier, getter, builderSetter, 0L);
+	}
+
+	public LongProperty immutableField(String identifier, LongGetter<M> getter,
+			BiConsumer<B, Long> builderSetter, long defaultValue) {
+		return add(identifier, getter::apply, (b, number) -> builderSetter.accept(b, number.longValue()),
+				defaultValue, () -> new SimpleLongProperty(null, identifier));
+	}
+
+	/* Field type Object */
+
+	public <T> ObjectProperty<T> immutableField(ObjectGetter<M, T> getter, BiConsumer<B, T> builderSetter) {
+		return immutableField(getter, builderSetter, null);
+	}
+
+	public <T> ObjectProperty<T> immutableField(ObjectGetter<M, T> getter, BiConsumer<B, T> builderSetter,
+			T defaultValue) {
+		return add(null, getter, builderSetter, defaultValue, SimpleObjectProperty::new);
+	}
+
+	public <T> ObjectProperty<T> immutableField(String identifier, ObjectGetter<M, T> getter,
+			BiConsumer<B, T> builderSetter) {
+		return immutableField(identifier, getter, builderSetter, null);
+	}
+
+	public <T> ObjectProperty<T> immutableField(String identifier, ObjectGetter<M, T> getter,
+			BiConsumer<B, T> builderSetter, T defaultValue) {
+		return add(identifier, getter, builderSetter, defaultValue, () -> new SimpleObjectProperty<>(null, identifier));
+	}
+}
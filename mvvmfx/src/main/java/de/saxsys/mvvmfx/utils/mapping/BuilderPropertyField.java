@@ -0,0 +1,98 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import javafx.beans.property.Property;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link PropertyField} for immutable model classes that provide a builder (see
+ * {@link ModelWrapper#withBuilder(Function, Function)}). In contrast to {@link ImmutableBeanPropertyField} the field
+ * doesn't create a new model instance on its own. Instead, on commit the value is passed to a builder that is shared
+ * by all builder fields of the wrapper and the model instance is built only once.
+ *
+ * @param <B>
+ *            the type of the builder.
+ */
+class BuilderPropertyField<T, M, B, R extends Property<T>> implements PropertyField<T, M, R> {
+
+	private T defaultValue;
+	private final R targetProperty;
+
+	private final Function<M, T> getter;
+	private final BiConsumer<B, T> builderSetter;
+
+	BuilderPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, Function<M, T> getter,
+			BiConsumer<B, T> builderSetter, T defaultValue, Supplier<R> propertySupplier) {
+		this.getter = getter;
+		this.builderSetter = builderSetter;
+		this.defaultValue = defaultValue;
+
+		this.targetProperty = propertySupplier.get();
+		this.targetProperty.addListener((observable, oldValue, newValue) -> updateFunction.accept(this));
+	}
+
+	/**
+	 * Passes the current value of this field to the given builder.
+	 */
+	void applyTo(B builder) {
+		builderSetter.accept(builder, targetProperty.getValue());
+	}
+
+	@Override
+	public void commit(M wrappedObject) {
+		// commit is not supported because the model instance is immutable. See applyTo.
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		return wrappedObject -> {
+			// commit is not supported because the model instance is immutable. See prepareApply.
+		};
+	}
+
+	/**
+	 * Takes the current value of this field and returns an action that passes it to a builder. See
+	 * {@link PropertyField#prepareCommit()}.
+	 */
+	Consumer<B> prepareApply() {
+		final T value = targetProperty.getValue();
+		return builder -> builderSetter.accept(builder, value);
+	}
+
+	@Override
+	public void reload(M wrappedObject) {
+		targetProperty.setValue(getter.apply(wrappedObject));
+	}
+
+	@Override
+	public void resetToDefault() {
+		targetProperty.setValue(defaultValue);
+	}
+
+	@Override
+	public void updateDefault(M wrappedObject) {
+		this.defaultValue = getter.apply(wrappedObject);
+	}
+
+	@Override
+	public R getProperty() {
+		return targetProperty;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
+	@Override
+	public boolean isDifferent(M wrappedObject) {
+		final T modelValue = getter.apply(wrappedObject);
+		final T wrapperValue = targetProperty.getValue();
+
+		return !Objects.equals(modelValue, wrapperValue);
+	}
+}
@@ -0,0 +1,115 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import eu.lestard.doc.Beta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An immutable set of changes of the identified fields of a {@link ModelWrapper} (see
+ * {@link ModelWrapper#getChanges()}). It only contains the fields whose values in the wrapper differ from the values
+ * in the wrapped model instance. This can be used to send only the changed fields to a backend (PATCH-style) or to
+ * write compact audit logs.
+ * <p>
+ * A change set can be applied to another wrapper with {@link ModelWrapper#applyChanges(ChangeSet)}.
+ */
+@Beta
+public final class ChangeSet implements Iterable<FieldChange> {
+
+	private static final ChangeSet EMPTY = new ChangeSet(Collections.emptyList());
+
+	private final Map<String, FieldChange> changes = new TreeMap<>();
+
+	/**
+	 * @param changes
+	 *            the changes in any order. They are sorted by their identifiers. If there are multiple changes for the
+	 *            same identifier, the last one is used.
+	 */
+	public ChangeSet(Collection<FieldChange> changes) {
+		changes.forEach(change -> this.changes.put(change.getIdentifier(), change));
+	}
+
+	/**
+	 * @return a change set without changes.
+	 */
+	public static ChangeSet empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @return all changes in the order of their identifiers.
+	 */
+	public List<FieldChange> getChanges() {
+		return Collections.unmodifiableList(new ArrayList<>(changes.values()));
+	}
+
+	/**
+	 * @return the identifiers of all changed fields in ascending order.
+	 */
+	public Set<String> getIdentifiers() {
+		return Collections.unmodifiableSet(changes.keySet());
+	}
+
+	/**
+	 * @param identifier
+	 *            the identifier of a field.
+	 * @return the change of the field with the given identifier if it was changed.
+	 */
+	public Optional<FieldChange> get(String identifier) {
+		return Optional.ofNullable(changes.get(identifier));
+	}
+
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	public int size() {
+		return changes.size();
+	}
+
+	@Override
+	public Iterator<FieldChange> iterator() {
+		return getChanges().iterator();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o || (o instanceof ChangeSet && changes.equals(((ChangeSet) o).changes));
+	}
+
+	@Override
+	public int hashCode() {
+		return changes.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "ChangeSet" + changes.values();
+	}
+
+	/**
+	 * Creates unmodifiable copies of collections so that later changes of the wrapper or the model don't affect the
+	 * change set.
+	 */
+	static Object copyOf(Object value) {
+		if (value instanceof List) {
+			return Collections.unmodifiableList(new ArrayList<>((List<?>) value));
+		}
+		if (value instanceof Set) {
+			return Collections.unmodifiableSet(new LinkedHashSet<>((Set<?>) value));
+		}
+		if (value instanceof Map) {
+			return Collections.unmodifiableMap(new LinkedHashMap<>((Map<?, ?>) value));
+		}
+		return value;
+	}
+}
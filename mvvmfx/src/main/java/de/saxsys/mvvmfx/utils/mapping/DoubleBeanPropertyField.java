@@ -0,0 +1,96 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoublePrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoublePrimitiveSetter;
+import javafx.beans.property.DoubleProperty;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link PropertyField} for fields of type <code>double</code> that are following the
+ * Java-Beans standard.
+ * <p>
+ * In contrast to the generic {@link BeanPropertyField} the value is never boxed: The model is accessed via
+ * {@link DoublePrimitiveGetter} and {@link DoublePrimitiveSetter}, the property via {@link DoubleProperty#get()} and
+ * {@link DoubleProperty#set(double)}, and the default value is stored as primitive. The changes of the property are
+ * observed with an invalidation listener because a change listener would box the old and new value on every change.
+ * The last seen value is kept so that an invalidation that doesn't change the value (e.g. of a bound property) isn't
+ * reported.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+class DoubleBeanPropertyField<M> implements PropertyField<Number, M, DoubleProperty> {
+
+	private final DoublePrimitiveGetter<M> getter;
+	private final DoublePrimitiveSetter<M> setter;
+
+	private double defaultValue;
+	private double lastValue;
+	private final DoubleProperty targetProperty;
+
+	DoubleBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, DoublePrimitiveGetter<M> getter,
+			DoublePrimitiveSetter<M> setter, Supplier<DoubleProperty> propertySupplier) {
+		this(updateFunction, getter, setter, 0.0, propertySupplier);
+	}
+
+	DoubleBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, DoublePrimitiveGetter<M> getter,
+			DoublePrimitiveSetter<M> setter, double defaultValue, Supplier<DoubleProperty> propertySupplier) {
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValue;
+		this.targetProperty = propertySupplier.get();
+		this.lastValue = targetProperty.get();
+
+		this.targetProperty.addListener(observable -> {
+			// getting the value validates the property again. Otherwise the next change wouldn't be reported.
+			final double newValue = targetProperty.get();
+			if (Double.compare(newValue, lastValue) != 0) {
+				lastValue = newValue;
+				updateFunction.accept(this);
+			}
+		});
+	}
+
+	@Override
+	public void commit(M wrappedObject) {
+		setter.accept(wrappedObject, targetProperty.get());
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final double value = targetProperty.get();
+		return wrappedObject -> setter.accept(wrappedObject, value);
+	}
+
+	@Override
+	public void reload(M wrappedObject) {
+		targetProperty.set(getter.applyAsDouble(wrappedObject));
+	}
+
+	@Override
+	public void resetToDefault() {
+		targetProperty.set(defaultValue);
+	}
+
+	@Override
+	public void updateDefault(M wrappedObject) {
+		defaultValue = getter.applyAsDouble(wrappedObject);
+	}
+
+	@Override
+	public DoubleProperty getProperty() {
+		return targetProperty;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.applyAsDouble(wrappedObject);
+	}
+
+	@Override
+	public boolean isDifferent(M wrappedObject) {
+		return Double.compare(getter.applyAsDouble(wrappedObject), targetProperty.get()) != 0;
+	}
+}
@@ -0,0 +1,74 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import java.util.Objects;
+
+/**
+ * The change of a single identified field of a {@link ModelWrapper}. Part of a {@link ChangeSet}.
+ * <p>
+ * Instances are immutable. Values of type {@link java.util.List}, {@link java.util.Set} and {@link java.util.Map} are
+ * unmodifiable copies.
+ */
+public final class FieldChange {
+
+	private final String identifier;
+	private final Object oldValue;
+	private final Object newValue;
+
+	/**
+	 * @param identifier
+	 *            the identifier of the field.
+	 * @param oldValue
+	 *            the value of the field in the model instance.
+	 * @param newValue
+	 *            the value of the field in the wrapper.
+	 */
+	public FieldChange(String identifier, Object oldValue, Object newValue) {
+		this.identifier = Objects.requireNonNull(identifier);
+		this.oldValue = ChangeSet.copyOf(oldValue);
+		this.newValue = ChangeSet.copyOf(newValue);
+	}
+
+	/**
+	 * @return the identifier of the field as it was used in the "field" methods of the {@link ModelWrapper}.
+	 */
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	/**
+	 * @return the value of the field in the model instance.
+	 */
+	public Object getOldValue() {
+		return oldValue;
+	}
+
+	/**
+	 * @return the value of the field in the wrapper.
+	 */
+	public Object getNewValue() {
+		return newValue;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		final FieldChange that = (FieldChange) o;
+		return identifier.equals(that.identifier) && Objects.equals(oldValue, that.oldValue)
+				&& Objects.equals(newValue, that.newValue);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(identifier, oldValue, newValue);
+	}
+
+	@Override
+	public String toString() {
+		return identifier + ": " + oldValue + " -> " + newValue;
+	}
+}
@@ -0,0 +1,55 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+/**
+ * The dirty and different state of a single field of a {@link ModelWrapper}.
+ * <p>
+ * The observable flags are only created when they are requested, so fields that nobody observes only cost two
+ * booleans.
+ */
+class FieldState {
+
+	private boolean different;
+	private boolean dirty;
+
+	private ReadOnlyBooleanWrapper differentFlag;
+	private ReadOnlyBooleanWrapper dirtyFlag;
+
+	boolean isDifferent() {
+		return different;
+	}
+
+	void setDifferent(boolean different) {
+		this.different = different;
+		if (differentFlag != null) {
+			differentFlag.set(different);
+		}
+	}
+
+	boolean isDirty() {
+		return dirty;
+	}
+
+	void setDirty(boolean dirty) {
+		this.dirty = dirty;
+		if (dirtyFlag != null) {
+			dirtyFlag.set(dirty);
+		}
+	}
+
+	ReadOnlyBooleanProperty differentProperty() {
+		if (differentFlag == null) {
+			differentFlag = new ReadOnlyBooleanWrapper(different);
+		}
+		return differentFlag.getReadOnlyProperty();
+	}
+
+	ReadOnlyBooleanProperty dirtyProperty() {
+		if (dirtyFlag == null) {
+			dirtyFlag = new ReadOnlyBooleanWrapper(dirty);
+		}
+		return dirtyFlag.getReadOnlyProperty();
+	}
+}
@@ -0,0 +1,96 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatPrimitiveSetter;
+import javafx.beans.property.FloatProperty;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link PropertyField} for fields of type <code>float</code> that are following the
+ * Java-Beans standard.
+ * <p>
+ * In contrast to the generic {@link BeanPropertyField} the value is never boxed: The model is accessed via
+ * {@link FloatPrimitiveGetter} and {@link FloatPrimitiveSetter}, the property via {@link FloatProperty#get()} and
+ * {@link FloatProperty#set(float)}, and the default value is stored as primitive. The changes of the property are
+ * observed with an invalidation listener because a change listener would box the old and new value on every change.
+ * The last seen value is kept so that an invalidation that doesn't change the value (e.g. of a bound property) isn't
+ * reported.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+class FloatBeanPropertyField<M> implements PropertyField<Number, M, FloatProperty> {
+
+	private final FloatPrimitiveGetter<M> getter;
+	private final FloatPrimitiveSetter<M> setter;
+
+	private float defaultValue;
+	private float lastValue;
+	private final FloatProperty targetProperty;
+
+	FloatBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, FloatPrimitiveGetter<M> getter,
+			FloatPrimitiveSetter<M> setter, Supplier<FloatProperty> propertySupplier) {
+		this(updateFunction, getter, setter, 0f, propertySupplier);
+	}
+
+	FloatBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, FloatPrimitiveGetter<M> getter,
+			FloatPrimitiveSetter<M> setter, float defaultValue, Supplier<FloatProperty> propertySupplier) {
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValue;
+		this.targetProperty = propertySupplier.get();
+		this.lastValue = targetProperty.get();
+
+		this.targetProperty.addListener(observable -> {
+			// getting the value validates the property again. Otherwise the next change wouldn't be reported.
+			final float newValue = targetProperty.get();
+			if (Float.compare(newValue, lastValue) != 0) {
+				lastValue = newValue;
+				updateFunction.accept(this);
+			}
+		});
+	}
+
+	@Override
+	public void commit(M wrappedObject) {
+		setter.accept(wrappedObject, targetProperty.get());
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final float value = targetProperty.get();
+		return wrappedObject -> setter.accept(wrappedObject, value);
+	}
+
+	@Override
+	public void reload(M wrappedObject) {
+		targetProperty.set(getter.applyAsFloat(wrappedObject));
+	}
+
+	@Override
+	public void resetToDefault() {
+		targetProperty.set(defaultValue);
+	}
+
+	@Override
+	public void updateDefault(M wrappedObject) {
+		defaultValue = getter.applyAsFloat(wrappedObject);
+	}
+
+	@Override
+	public FloatProperty getProperty() {
+		return targetProperty;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.applyAsFloat(wrappedObject);
+	}
+
+	@Override
+	public boolean isDifferent(M wrappedObject) {
+		return Float.compare(getter.applyAsFloat(wrappedObject), targetProperty.get()) != 0;
+	}
+}
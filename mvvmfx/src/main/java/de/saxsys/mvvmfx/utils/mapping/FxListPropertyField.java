@@ -1,17 +1,18 @@
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListPropertyAccessor;
 import javafx.beans.property.ListProperty;
 import javafx.beans.property.Property;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -29,33 +30,59 @@ class FxListPropertyField<M, E, T extends ObservableList<E>, R extends Property<
 	private final ListPropertyAccessor<M, E> accessor;
 	private final ListProperty<E> targetProperty;
 
-	public FxListPropertyField(SideEffect updateFunction, ListPropertyAccessor<M, E> accessor, Supplier<ListProperty<E>> propertySupplier) {
+	/**
+	 * Incremented on every change of the target property. Together with the list of the model that was synchronized
+	 * last this allows {@link #isDifferent(Object)} to skip the comparison of the lists if nothing was changed.
+	 * <p>
+	 * Changes of the list of the model can only be seen if it is an {@link ObservableList}. Any change of it
+	 * invalidates the synchronization. Other lists are never remembered, so they are always compared.
+	 */
+	private int modificationCount = 0;
+	private int synchronizedModificationCount = -1;
+	private ObservableList<E> synchronizedList;
+
+	private final ListChangeListener<E> synchronizedListListener = change -> synchronizedModificationCount = -1;
+	private final WeakListChangeListener<E> weakSynchronizedListListener = new WeakListChangeListener<>(
+			synchronizedListListener);
+
+	public FxListPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, ListPropertyAccessor<M, E> accessor, Supplier<ListProperty<E>> propertySupplier) {
 		this(updateFunction, accessor, propertySupplier, Collections.emptyList());
 	}
 
-	public FxListPropertyField(SideEffect updateFunction, ListPropertyAccessor<M, E> accessor, Supplier<ListProperty<E>> propertySupplier, List<E> defaultValue) {
+	public FxListPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, ListPropertyAccessor<M, E> accessor, Supplier<ListProperty<E>> propertySupplier, List<E> defaultValue) {
 		this.accessor = accessor;
 		this.defaultValue = defaultValue;
 
 		this.targetProperty = propertySupplier.get();
 		this.targetProperty.setValue(FXCollections.observableArrayList());
 
-		this.targetProperty.addListener((ListChangeListener<E>) change -> updateFunction.call());
+		this.targetProperty.addListener((ListChangeListener<E>) change -> {
+			modificationCount++;
+			updateFunction.accept(this);
+		});
 	}
 
 	@Override
 	public void commit(M wrappedObject) {
-		accessor.apply(wrappedObject).setAll(targetProperty.getValue());
+		ListDiff.apply(accessor.apply(wrappedObject), targetProperty.getValue());
+		synchronizedWith(wrappedObject);
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final List<E> value = new ArrayList<>(targetProperty);
+		return wrappedObject -> ListDiff.apply(accessor.apply(wrappedObject), value);
 	}
 
 	@Override
 	public void reload(M wrappedObject) {
-		targetProperty.setAll(accessor.apply(wrappedObject).getValue());
+		ListDiff.apply(targetProperty, accessor.apply(wrappedObject).getValue());
+		synchronizedWith(wrappedObject);
 	}
 
 	@Override
 	public void resetToDefault() {
-		targetProperty.setAll(defaultValue);
+		ListDiff.apply(targetProperty, defaultValue);
 	}
 
 	@Override
@@ -68,9 +95,33 @@ class FxListPropertyField<M, E, T extends ObservableList<E>, R extends Property<
 		return (R) targetProperty;
 	}
 
+	private void synchronizedWith(M wrappedObject) {
+		final List<E> modelValue = accessor.apply(wrappedObject).getValue();
+		if (modelValue != synchronizedList) {
+			if (synchronizedList != null) {
+				synchronizedList.removeListener(weakSynchronizedListListener);
+				synchronizedList = null;
+			}
+			if (modelValue instanceof ObservableList) {
+				synchronizedList = (ObservableList<E>) modelValue;
+				synchronizedList.addListener(weakSynchronizedListListener);
+			}
+		}
+		synchronizedModificationCount = modificationCount;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return accessor.apply(wrappedObject).getValue();
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final List<E> modelValue = accessor.apply(wrappedObject).getValue();
+		if (synchronizedList != null && modelValue == synchronizedList
+				&& modificationCount == synchronizedModificationCount) {
+			return false;
+		}
 		final List<E> wrapperValue = targetProperty;
 
 		return !Objects.equals(modelValue, wrapperValue);
@@ -1,6 +1,5 @@
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.MapPropertyAccessor;
 import javafx.beans.property.MapProperty;
 import javafx.beans.property.Property;
@@ -12,6 +11,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static de.saxsys.mvvmfx.utils.mapping.BeanMapPropertyField.setAll;
@@ -33,12 +33,12 @@ class FxMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Prope
 	private final MapProperty<K, V> targetProperty;
 
 	FxMapPropertyField(
-			SideEffect updateFunction, MapPropertyAccessor<M, K, V> accessor,
+			Consumer<PropertyField<?, M, ?>> updateFunction, MapPropertyAccessor<M, K, V> accessor,
 			Supplier<MapProperty<K, V>> propertySupplier) {
 		this(updateFunction, accessor, propertySupplier, Collections.emptyMap());
 	}
 
-	FxMapPropertyField(SideEffect updateFunction, MapPropertyAccessor<M, K, V> accessor,
+	FxMapPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, MapPropertyAccessor<M, K, V> accessor,
 			Supplier<MapProperty<K, V>> propertySupplier,
 			Map<K, V> defaultValue) {
 		this.accessor = accessor;
@@ -46,7 +46,7 @@ class FxMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Prope
 		this.targetProperty = propertySupplier.get();
 
 		this.targetProperty.setValue(FXCollections.observableMap(new HashMap<>()));
-		this.targetProperty.addListener((MapChangeListener<K, V>) change -> updateFunction.call());
+		this.targetProperty.addListener((MapChangeListener<K, V>) change -> updateFunction.accept(this));
 	}
 
 	@Override
@@ -54,6 +54,12 @@ class FxMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Prope
 		setAll(accessor.apply(wrappedObject), targetProperty.getValue());
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		final Map<K, V> value = new HashMap<>(targetProperty);
+		return wrappedObject -> setAll(accessor.apply(wrappedObject), value);
+	}
+
 	@Override
 	public void reload(M wrappedObject) {
 		setAll(targetProperty, accessor.apply(wrappedObject).getValue());
@@ -79,6 +85,11 @@ class FxMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extends Prope
 		return (R) targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return accessor.apply(wrappedObject).getValue();
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final Map<K, V> modelValue = accessor.apply(wrappedObject).getValue();
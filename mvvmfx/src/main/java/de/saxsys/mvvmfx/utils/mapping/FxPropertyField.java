@@ -1,9 +1,9 @@
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import javafx.beans.property.Property;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -19,18 +19,18 @@ class FxPropertyField<T, M, R extends Property<T>> implements PropertyField<T, M
 	private final Function<M, Property<T>> accessor;
 	private final R targetProperty;
 
-	public FxPropertyField(SideEffect updateFunction, Function<M, Property<T>> accessor, Supplier<Property<T>> propertySupplier) {
+	public FxPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, Function<M, Property<T>> accessor, Supplier<Property<T>> propertySupplier) {
 		this(updateFunction, accessor, null, propertySupplier);
 	}
 
 	@SuppressWarnings("unchecked")
-	public FxPropertyField(SideEffect updateFunction, Function<M, Property<T>> accessor, T defaultValue,
+	public FxPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, Function<M, Property<T>> accessor, T defaultValue,
 			Supplier<Property<T>> propertySupplier) {
 		this.accessor = accessor;
 		this.defaultValue = defaultValue;
 		this.targetProperty = (R) propertySupplier.get();
 
-		this.targetProperty.addListener((observable, oldValue, newValue) -> updateFunction.call());
+		this.targetProperty.addListener((observable, oldValue, newValue) -> updateFunction.accept(this));
 	}
 
 	@Override
@@ -38,6 +38,12 @@ class FxPropertyField<T, M, R extends Property<T>> implements PropertyField<T, M
 		accessor.apply(wrappedObject).setValue(targetProperty.getValue());
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		final T value = targetProperty.getValue();
+		return wrappedObject -> accessor.apply(wrappedObject).setValue(value);
+	}
+
 	@Override
 	public void reload(M wrappedObject) {
 		targetProperty.setValue(accessor.apply(wrappedObject).getValue());
@@ -58,6 +64,11 @@ class FxPropertyField<T, M, R extends Property<T>> implements PropertyField<T, M
 		return targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return accessor.apply(wrappedObject).getValue();
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final T modelValue = accessor.apply(wrappedObject).getValue();
@@ -21,9 +21,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.SetPropertyAccessor;
 import javafx.beans.property.Property;
 import javafx.beans.property.SetProperty;
@@ -46,18 +46,18 @@ class FxSetPropertyField<M, E, T extends ObservableSet<E>, R extends Property<T>
 
 	private final SetProperty<E> targetProperty;
 
-	public FxSetPropertyField(SideEffect updateFunction, SetPropertyAccessor<M, E> accessor, Supplier<SetProperty<E>> propertySupplier) {
+	public FxSetPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, SetPropertyAccessor<M, E> accessor, Supplier<SetProperty<E>> propertySupplier) {
 		this(updateFunction, accessor, propertySupplier, Collections.emptySet());
 	}
 
-	public FxSetPropertyField(SideEffect updateFunction, SetPropertyAccessor<M, E> accessor, Supplier<SetProperty<E>> propertySupplier,
+	public FxSetPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, SetPropertyAccessor<M, E> accessor, Supplier<SetProperty<E>> propertySupplier,
 			Set<E> defaultValue) {
 		this.accessor = accessor;
 		this.defaultValue = defaultValue;
 		this.targetProperty = propertySupplier.get();
 
 		this.targetProperty.setValue(FXCollections.observableSet(new HashSet<>()));
-		this.targetProperty.addListener((SetChangeListener<E>) change -> updateFunction.call());
+		this.targetProperty.addListener((SetChangeListener<E>) change -> updateFunction.accept(this));
 	}
 
 	@Override
@@ -65,6 +65,12 @@ class FxSetPropertyField<M, E, T extends ObservableSet<E>, R extends Property<T>
 		setAll(accessor.apply(wrappedObject), targetProperty.getValue());
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		final Set<E> value = new HashSet<>(targetProperty);
+		return wrappedObject -> setAll(accessor.apply(wrappedObject), value);
+	}
+
 	@Override
 	public void reload(M wrappedObject) {
 		setAll(targetProperty, accessor.apply(wrappedObject).getValue());
@@ -85,6 +91,11 @@ class FxSetPropertyField<M, E, T extends ObservableSet<E>, R extends Property<T>
 		return (R) targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return accessor.apply(wrappedObject).getValue();
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final Set<E> modelValue = accessor.apply(wrappedObject).getValue();
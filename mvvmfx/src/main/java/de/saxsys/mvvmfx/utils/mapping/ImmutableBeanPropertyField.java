@@ -1,12 +1,13 @@
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import javafx.beans.property.Property;
 
 import java.util.Objects;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 public class ImmutableBeanPropertyField<T, M, R extends Property<T>> implements ImmutablePropertyField<T, M, R> {
 
@@ -17,19 +18,19 @@ public class ImmutableBeanPropertyField<T, M, R extends Property<T>> implements
 	private final BiFunction<M, T, M> immutableSetter;
 
 
-	public ImmutableBeanPropertyField(SideEffect updateFunction, Function<M, T> getter,
+	public ImmutableBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, Function<M, T> getter,
 			BiFunction<M, T, M> immutableSetter, Supplier<R> propertySupplier) {
 		this(updateFunction, getter, immutableSetter, null, propertySupplier);
 	}
 
-	public ImmutableBeanPropertyField(SideEffect updateFunction, Function<M, T> getter,
+	public ImmutableBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, Function<M, T> getter,
 			BiFunction<M, T, M> immutableSetter, T defaultValue, Supplier<R> propertySupplier){
 		this.getter = getter;
 		this.immutableSetter = immutableSetter;
 		this.defaultValue = defaultValue;
 
 		this.targetProperty = propertySupplier.get();
-		this.targetProperty.addListener(((observable, oldValue, newValue) -> updateFunction.call()));
+		this.targetProperty.addListener(((observable, oldValue, newValue) -> updateFunction.accept(this)));
 	}
 
 
@@ -39,6 +40,19 @@ public class ImmutableBeanPropertyField<T, M, R extends Property<T>> implements
 		// commit is not supported because the model instance is immutable.
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		return wrappedObject -> {
+			// commit is not supported because the model instance is immutable.
+		};
+	}
+
+	@Override
+	public UnaryOperator<M> prepareCommitImmutable() {
+		final T value = targetProperty.getValue();
+		return wrappedObject -> immutableSetter.apply(wrappedObject, value);
+	}
+
 	@Override
 	public M commitImmutable(M wrappedObject) {
 		return immutableSetter.apply(wrappedObject, targetProperty.getValue());
@@ -66,6 +80,11 @@ public class ImmutableBeanPropertyField<T, M, R extends Property<T>> implements
 		return targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final T modelValue = getter.apply(wrappedObject);
@@ -1,6 +1,5 @@
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListImmutableSetter;
 import javafx.beans.property.ListProperty;
@@ -13,7 +12,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 public class ImmutableListPropertyField<M, E, T extends ObservableList<E>, R extends Property<T>>
 		implements ImmutablePropertyField<T, M, R> {
@@ -25,20 +26,20 @@ public class ImmutableListPropertyField<M, E, T extends ObservableList<E>, R ext
 	private final ListProperty<E> targetProperty;
 
 	public ImmutableListPropertyField(
-			SideEffect updateFunction,
+			Consumer<PropertyField<?, M, ?>> updateFunction,
 			ListGetter<M, E> getter, ListImmutableSetter<M, E> immutableSetter,
 			Supplier<ListProperty<E>> propertySupplier) {
 		this(updateFunction, getter, immutableSetter, propertySupplier, Collections.emptyList());
 	}
 
-	public ImmutableListPropertyField(SideEffect updateFunction, ListGetter<M, E> getter, ListImmutableSetter<M, E> immutableSetter, Supplier<ListProperty<E>> propertySupplier, List<E> defaultValue) {
+	public ImmutableListPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, ListGetter<M, E> getter, ListImmutableSetter<M, E> immutableSetter, Supplier<ListProperty<E>> propertySupplier, List<E> defaultValue) {
 		this.defaultValue = defaultValue;
 		this.getter = getter;
 		this.immutableSetter = immutableSetter;
 		this.targetProperty = propertySupplier.get();
 		this.targetProperty.setValue(FXCollections.observableArrayList());
 
-		this.targetProperty.addListener((ListChangeListener<E>) change -> updateFunction.call());
+		this.targetProperty.addListener((ListChangeListener<E>) change -> updateFunction.accept(this));
 	}
 
 	@Override
@@ -46,6 +47,19 @@ public class ImmutableListPropertyField<M, E, T extends ObservableList<E>, R ext
 		// commit is not supported because the model instance is immutable.
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		return wrappedObject -> {
+			// commit is not supported because the model instance is immutable.
+		};
+	}
+
+	@Override
+	public UnaryOperator<M> prepareCommitImmutable() {
+		final List<E> value = new ArrayList<>(targetProperty);
+		return wrappedObject -> immutableSetter.apply(wrappedObject, value);
+	}
+
 	@Override
 	public M commitImmutable(M wrappedObject) {
 		return immutableSetter.apply(wrappedObject, targetProperty.getValue());
@@ -71,6 +85,11 @@ public class ImmutableListPropertyField<M, E, T extends ObservableList<E>, R ext
 		return (R) targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final List<E> modelValue = getter.apply(wrappedObject);
@@ -15,7 +15,6 @@
  ******************************************************************************/
 package de.saxsys.mvvmfx.utils.mapping;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.MapGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.MapImmutableSetter;
 import javafx.beans.property.MapProperty;
@@ -28,7 +27,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import static de.saxsys.mvvmfx.utils.mapping.BeanMapPropertyField.setAll;
 
@@ -44,13 +45,13 @@ class ImmutableMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extend
 	private final MapProperty<K, V> targetProperty;
 
 	ImmutableMapPropertyField(
-			SideEffect updateFunction,
+			Consumer<PropertyField<?, M, ?>> updateFunction,
 			MapGetter<M, K, V> getter, MapImmutableSetter<M, K, V> immutableSetter,
 			Supplier<MapProperty<K, V>> propertySupplier) {
 		this(updateFunction, getter, immutableSetter, propertySupplier, Collections.emptyMap());
 	}
 
-	ImmutableMapPropertyField(SideEffect updateFunction,
+	ImmutableMapPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction,
 			MapGetter<M, K, V> getter, MapImmutableSetter<M, K, V> immutableSetter,
 			Supplier<MapProperty<K, V>> propertySupplier, Map<K, V> defaultValue) {
 		this.defaultValue = defaultValue;
@@ -58,7 +59,7 @@ class ImmutableMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extend
 		this.immutableSetter = immutableSetter;
 		this.targetProperty = propertySupplier.get();
 		this.targetProperty.setValue(FXCollections.observableMap(new HashMap<>()));
-		this.targetProperty.addListener((MapChangeListener<K, V>) change -> updateFunction.call());
+		this.targetProperty.addListener((MapChangeListener<K, V>) change -> updateFunction.accept(this));
 	}
 
 	@Override
@@ -66,6 +67,19 @@ class ImmutableMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extend
 		// commit is not supported because the model instance is immutable.
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		return wrappedObject -> {
+			// commit is not supported because the model instance is immutable.
+		};
+	}
+
+	@Override
+	public UnaryOperator<M> prepareCommitImmutable() {
+		final Map<K, V> value = new HashMap<>(targetProperty);
+		return wrappedObject -> immutableSetter.apply(wrappedObject, value);
+	}
+
 	@Override
 	public M commitImmutable(M wrappedObject) {
 		return immutableSetter.apply(wrappedObject, targetProperty.getValue());
@@ -91,6 +105,11 @@ class ImmutableMapPropertyField<M, K, V, T extends ObservableMap<K, V>, R extend
 		return (R) targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final Map<K, V> modelValue = getter.apply(wrappedObject);
@@ -2,8 +2,18 @@ package de.saxsys.mvvmfx.utils.mapping;
 
 import javafx.beans.property.Property;
 
+import java.util.function.UnaryOperator;
+
 public interface ImmutablePropertyField<T, M, R extends Property<T>> extends PropertyField<T, M, R> {
 
 	M commitImmutable(M wrappedObject);
 
+	/**
+	 * Like {@link #prepareCommit()}: takes the current value of this field and returns a function that creates the
+	 * new model instance like {@link #commitImmutable(Object)}.
+	 *
+	 * @return the commit function.
+	 */
+	UnaryOperator<M> prepareCommitImmutable();
+
 }
@@ -21,9 +21,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
-import de.saxsys.mvvmfx.internal.SideEffect;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.SetGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.SetImmutableSetter;
 import javafx.beans.property.Property;
@@ -43,13 +44,13 @@ class ImmutableSetPropertyField<M, E, T extends ObservableSet<E>, R extends Prop
 	private final SetProperty<E> targetProperty;
 
 	public ImmutableSetPropertyField(
-			SideEffect updateFunction,
+			Consumer<PropertyField<?, M, ?>> updateFunction,
 			SetGetter<M, E> getter, SetImmutableSetter<M, E> immutableSetter,
 			Supplier<SetProperty<E>> propertySupplier) {
 		this(updateFunction, getter, immutableSetter, propertySupplier, Collections.emptySet());
 	}
 
-	public ImmutableSetPropertyField(SideEffect updateFunction,
+	public ImmutableSetPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction,
 			SetGetter<M, E> getter, SetImmutableSetter<M, E> immutableSetter,
 			Supplier<SetProperty<E>> propertySupplier, Set<E> defaultValue) {
 		this.defaultValue = defaultValue;
@@ -57,7 +58,7 @@ class ImmutableSetPropertyField<M, E, T extends ObservableSet<E>, R extends Prop
 		this.immutableSetter = immutableSetter;
 		this.targetProperty = propertySupplier.get();
 		this.targetProperty.setValue(FXCollections.observableSet(new HashSet<>()));
-		this.targetProperty.addListener((SetChangeListener<E>) change -> updateFunction.call());
+		this.targetProperty.addListener((SetChangeListener<E>) change -> updateFunction.accept(this));
 	}
 
 	@Override
@@ -65,6 +66,19 @@ class ImmutableSetPropertyField<M, E, T extends ObservableSet<E>, R extends Prop
 		// commit is not supported because the model instance is immutable.
 	}
 
+	@Override
+	public Consumer<M> prepareCommit() {
+		return wrappedObject -> {
+			// commit is not supported because the model instance is immutable.
+		};
+	}
+
+	@Override
+	public UnaryOperator<M> prepareCommitImmutable() {
+		final Set<E> value = new HashSet<>(targetProperty);
+		return wrappedObject -> immutableSetter.apply(wrappedObject, value);
+	}
+
 	@Override
 	public M commitImmutable(M wrappedObject) {
 		return immutableSetter.apply(wrappedObject, targetProperty.getValue());
@@ -90,6 +104,11 @@ class ImmutableSetPropertyField<M, E, T extends ObservableSet<E>, R extends Prop
 		return (R) targetProperty;
 	}
 
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
 	@Override
 	public boolean isDifferent(M wrappedObject) {
 		final Set<E> modelValue = getter.apply(wrappedObject);
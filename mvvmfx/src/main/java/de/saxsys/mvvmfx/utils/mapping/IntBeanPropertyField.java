@@ -0,0 +1,96 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntPrimitiveSetter;
+import javafx.beans.property.IntegerProperty;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link PropertyField} for fields of type <code>int</code> that are following the
+ * Java-Beans standard.
+ * <p>
+ * In contrast to the generic {@link BeanPropertyField} the value is never boxed: The model is accessed via
+ * {@link IntPrimitiveGetter} and {@link IntPrimitiveSetter}, the property via {@link IntegerProperty#get()} and
+ * {@link IntegerProperty#set(int)}, and the default value is stored as primitive. The changes of the property are
+ * observed with an invalidation listener because a change listener would box the old and new value on every change.
+ * The last seen value is kept so that an invalidation that doesn't change the value (e.g. of a bound property) isn't
+ * reported.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+class IntBeanPropertyField<M> implements PropertyField<Number, M, IntegerProperty> {
+
+	private final IntPrimitiveGetter<M> getter;
+	private final IntPrimitiveSetter<M> setter;
+
+	private int defaultValue;
+	private int lastValue;
+	private final IntegerProperty targetProperty;
+
+	IntBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, IntPrimitiveGetter<M> getter,
+			IntPrimitiveSetter<M> setter, Supplier<IntegerProperty> propertySupplier) {
+		this(updateFunction, getter, setter, 0, propertySupplier);
+	}
+
+	IntBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, IntPrimitiveGetter<M> getter,
+			IntPrimitiveSetter<M> setter, int defaultValue, Supplier<IntegerProperty> propertySupplier) {
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValue;
+		this.targetProperty = propertySupplier.get();
+		this.lastValue = targetProperty.get();
+
+		this.targetProperty.addListener(observable -> {
+			// getting the value validates the property again. Otherwise the next change wouldn't be reported.
+			final int newValue = targetProperty.get();
+			if (newValue != lastValue) {
+				lastValue = newValue;
+				updateFunction.accept(this);
+			}
+		});
+	}
+
+	@Override
+	public void commit(M wrappedObject) {
+		setter.accept(wrappedObject, targetProperty.get());
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final int value = targetProperty.get();
+		return wrappedObject -> setter.accept(wrappedObject, value);
+	}
+
+	@Override
+	public void reload(M wrappedObject) {
+		targetProperty.set(getter.applyAsInt(wrappedObject));
+	}
+
+	@Override
+	public void resetToDefault() {
+		targetProperty.set(defaultValue);
+	}
+
+	@Override
+	public void updateDefault(M wrappedObject) {
+		defaultValue = getter.applyAsInt(wrappedObject);
+	}
+
+	@Override
+	public IntegerProperty getProperty() {
+		return targetProperty;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.applyAsInt(wrappedObject);
+	}
+
+	@Override
+	public boolean isDifferent(M wrappedObject) {
+		return getter.applyAsInt(wrappedObject) != targetProperty.get();
+	}
+}
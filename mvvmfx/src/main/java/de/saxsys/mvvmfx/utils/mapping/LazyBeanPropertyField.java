@@ -0,0 +1,171 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import javafx.beans.property.Property;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link PropertyField} for fields that are following the Java-Beans standard whose JavaFX
+ * property is only created when it is requested for the first time (see {@link ModelWrapper#lazyField(String,
+ * de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringGetter,
+ * de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringSetter)}).
+ * <p>
+ * Until then the field only consists of the accessor functions and the default value. As nobody can change the value
+ * of the field without the property, the value of the field is either the value of the wrapped model instance or the
+ * default value (after a {@link #resetToDefault()}).
+ */
+class LazyBeanPropertyField<T, M, R extends Property<T>> implements PropertyField<T, M, R> {
+
+	private final Consumer<PropertyField<?, M, ?>> updateFunction;
+	private final Consumer<PropertyField<?, M, ?>> materializationListener;
+	private final Supplier<M> modelSupplier;
+
+	private final Function<M, T> getter;
+	private final BiConsumer<M, T> setter;
+	private T defaultValue;
+	private final Supplier<R> propertySupplier;
+
+	/**
+	 * <code>null</code> until the property is requested for the first time.
+	 */
+	private R targetProperty;
+
+	/**
+	 * Only used as long as there is no property: <code>true</code> if the field was reset to the default value since
+	 * the last reload.
+	 */
+	private boolean atDefault = false;
+
+	/**
+	 * @param updateFunction
+	 *            is called when the value of the field is changed.
+	 * @param materializationListener
+	 *            is called when the property of the field was created.
+	 * @param modelSupplier
+	 *            provides the currently wrapped model instance.
+	 */
+	LazyBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction,
+			Consumer<PropertyField<?, M, ?>> materializationListener, Supplier<M> modelSupplier,
+			Function<M, T> getter, BiConsumer<M, T> setter, T defaultValue, Supplier<R> propertySupplier) {
+		this.updateFunction = updateFunction;
+		this.materializationListener = materializationListener;
+		this.modelSupplier = modelSupplier;
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValue;
+		this.propertySupplier = propertySupplier;
+	}
+
+	/**
+	 * @return <code>true</code> if the property of this field was already created.
+	 */
+	boolean isMaterialized() {
+		return targetProperty != null;
+	}
+
+	@Override
+	public void commit(M wrappedObject) {
+		if (isMaterialized()) {
+			setter.accept(wrappedObject, targetProperty.getValue());
+		} else if (atDefault || wrappedObject != modelSupplier.get()) {
+			// without a reset the value is the value of the wrapped model, so there is nothing to commit.
+			setter.accept(wrappedObject, getCurrentValue());
+		}
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final boolean unchanged = !isMaterialized() && !atDefault;
+		final M snapshotModel = modelSupplier.get();
+		final T value = isMaterialized() ? targetProperty.getValue() : getCurrentValue();
+
+		return wrappedObject -> {
+			if (!unchanged || wrappedObject != snapshotModel) {
+				setter.accept(wrappedObject, value);
+			}
+		};
+	}
+
+	@Override
+	public void reload(M wrappedObject) {
+		if (isMaterialized()) {
+			targetProperty.setValue(getter.apply(wrappedObject));
+		} else {
+			atDefault = false;
+		}
+	}
+
+	@Override
+	public void resetToDefault() {
+		if (isMaterialized()) {
+			targetProperty.setValue(defaultValue);
+		} else if (!atDefault) {
+			final boolean changed = !Objects.equals(getCurrentValue(), defaultValue);
+			atDefault = true;
+
+			if (changed) {
+				updateFunction.accept(this);
+			}
+		}
+	}
+
+	@Override
+	public void updateDefault(M wrappedObject) {
+		defaultValue = getter.apply(wrappedObject);
+	}
+
+	@Override
+	public R getProperty() {
+		if (!isMaterialized()) {
+			final R property = propertySupplier.get();
+
+			final T value = getCurrentValue();
+			if (value != null) {
+				property.setValue(value);
+			}
+			property.addListener((observable, oldValue, newValue) -> updateFunction.accept(this));
+
+			targetProperty = property;
+			materializationListener.accept(this);
+		}
+		return targetProperty;
+	}
+
+	@Override
+	public Object getValue() {
+		// don't create the property only to read the value
+		return isMaterialized() ? targetProperty.getValue() : getCurrentValue();
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.apply(wrappedObject);
+	}
+
+	@Override
+	public boolean isDifferent(M wrappedObject) {
+		if (isMaterialized()) {
+			return !Objects.equals(getter.apply(wrappedObject), targetProperty.getValue());
+		} else if (atDefault) {
+			return !Objects.equals(getter.apply(wrappedObject), defaultValue);
+		} else {
+			return wrappedObject != modelSupplier.get() && !Objects.equals(getter.apply(wrappedObject),
+					getCurrentValue());
+		}
+	}
+
+	/**
+	 * @return the value of the wrapped model or the default value if the field was reset or there is no wrapped model.
+	 */
+	private T getCurrentValue() {
+		if (atDefault) {
+			return defaultValue;
+		}
+		final M wrappedModelInstance = modelSupplier.get();
+		return wrappedModelInstance == null ? defaultValue : getter.apply(wrappedModelInstance);
+	}
+}
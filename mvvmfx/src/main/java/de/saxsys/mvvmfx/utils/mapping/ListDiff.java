@@ -0,0 +1,198 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Transforms a list into another list with a minimal number of add and remove operations. This is used by the list
+ * fields of the {@link ModelWrapper} instead of <code>setAll</code>, so that a commit or reload only fires change
+ * events for the elements that were actually changed and a bound {@link javafx.scene.control.ListView} doesn't have
+ * to rebuild all of its cells.
+ * <p>
+ * The edit script is calculated with the algorithm of Eugene W. Myers ("An O(ND) Difference Algorithm and Its
+ * Variations") after the common prefix and suffix of both lists were skipped. Consecutive removes and adds are applied
+ * as ranges so that each of them results in a single change event.
+ */
+final class ListDiff {
+
+	/**
+	 * When the lists differ in more than this number of elements the differing part is replaced as a whole. The memory
+	 * needed for the edit script grows quadratically with the number of differences.
+	 */
+	static final int MAX_EDIT_DISTANCE = 1000;
+
+	private static final int NONE = 0;
+	private static final int REMOVE = 1;
+	private static final int ADD = 2;
+
+	private ListDiff() {
+	}
+
+	/**
+	 * Modifies the target list so that it is equal to the source list afterwards.
+	 *
+	 * @param target
+	 *            the list that is modified.
+	 * @param source
+	 *            the list with the new elements. It is not modified.
+	 */
+	static <E> void apply(List<E> target, List<? extends E> source) {
+		if (target == source) {
+			return;
+		}
+
+		final int targetSize = target.size();
+		final int sourceSize = source.size();
+
+		int start = 0;
+		while (start < targetSize && start < sourceSize && Objects.equals(target.get(start), source.get(start))) {
+			start++;
+		}
+
+		int targetEnd = targetSize;
+		int sourceEnd = sourceSize;
+		while (targetEnd > start && sourceEnd > start
+				&& Objects.equals(target.get(targetEnd - 1), source.get(sourceEnd - 1))) {
+			targetEnd--;
+			sourceEnd--;
+		}
+
+		if (start == targetEnd && start == sourceEnd) {
+			return;
+		}
+
+		final List<E> oldElements = new ArrayList<>(target.subList(start, targetEnd));
+		final List<? extends E> newElements = source.subList(start, sourceEnd);
+
+		if (oldElements.isEmpty()) {
+			target.addAll(start, newElements);
+		} else if (newElements.isEmpty()) {
+			target.subList(start, targetEnd).clear();
+		} else {
+			final List<int[]> trace = calculateTrace(oldElements, newElements);
+			if (trace == null) {
+				target.subList(start, targetEnd).clear();
+				target.addAll(start, newElements);
+			} else {
+				applyEditScript(target, start, oldElements.size(), newElements, trace);
+			}
+		}
+	}
+
+	/**
+	 * Runs the forward pass of the Myers algorithm. For every edit distance d the furthest reaching x values of the
+	 * diagonals -d..d are stored.
+	 *
+	 * @return the trace or <code>null</code> if the edit distance is bigger than {@link #MAX_EDIT_DISTANCE}.
+	 */
+	private static <E> List<int[]> calculateTrace(List<E> a, List<? extends E> b) {
+		final int n = a.size();
+		final int m = b.size();
+		final int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+		final int offset = max + 1;
+
+		final int[] v = new int[2 * max + 3];
+		final List<int[]> trace = new ArrayList<>();
+
+		for (int d = 0; d <= max; d++) {
+			for (int k = -d; k <= d; k += 2) {
+				int x;
+				if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+					x = v[offset + k + 1];
+				} else {
+					x = v[offset + k - 1] + 1;
+				}
+				int y = x - k;
+
+				while (x < n && y < m && Objects.equals(a.get(x), b.get(y))) {
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+
+				if (x >= n && y >= m) {
+					trace.add(snapshot(v, offset, d));
+					return trace;
+				}
+			}
+			trace.add(snapshot(v, offset, d));
+		}
+		return null;
+	}
+
+	private static int[] snapshot(int[] v, int offset, int d) {
+		final int[] result = new int[2 * d + 1];
+		System.arraycopy(v, offset - d, result, 0, result.length);
+		return result;
+	}
+
+	private static int get(int[] snapshot, int d, int k) {
+		return snapshot[k + d];
+	}
+
+	/**
+	 * Walks the trace backwards and applies the edits from the end of the list to the beginning, so that the indexes
+	 * of the elements in front of the current position stay valid.
+	 */
+	private static <E> void applyEditScript(List<E> target, int start, int n, List<? extends E> b, List<int[]> trace) {
+		int x = n;
+		int y = b.size();
+
+		int pendingType = NONE;
+		int pendingFrom = 0;
+		int pendingTo = 0;
+		int pendingPosition = 0;
+
+		for (int d = trace.size() - 1; d > 0; d--) {
+			final int[] previous = trace.get(d - 1);
+			final int k = x - y;
+
+			final boolean added = k == -d
+					|| (k != d && get(previous, d - 1, k - 1) < get(previous, d - 1, k + 1));
+			final int previousK = added ? k + 1 : k - 1;
+			final int previousX = get(previous, d - 1, previousK);
+			final int previousY = previousX - previousK;
+
+			// equal elements between this edit and the pending one separate the two ranges
+			final int editEndX = added ? previousX : previousX + 1;
+			if (x > editEndX) {
+				flush(target, start, b, pendingType, pendingFrom, pendingTo, pendingPosition);
+				pendingType = NONE;
+			}
+
+			if (added) {
+				// the element of the new list at previousY was added in front of the old element at previousX
+				if (pendingType != ADD || pendingPosition != previousX || pendingFrom != previousY + 1) {
+					flush(target, start, b, pendingType, pendingFrom, pendingTo, pendingPosition);
+					pendingType = ADD;
+					pendingPosition = previousX;
+					pendingTo = previousY + 1;
+				}
+				pendingFrom = previousY;
+			} else {
+				// the element of the old list at previousX was removed
+				if (pendingType != REMOVE || pendingFrom != previousX + 1) {
+					flush(target, start, b, pendingType, pendingFrom, pendingTo, pendingPosition);
+					pendingType = REMOVE;
+					pendingTo = previousX + 1;
+				}
+				pendingFrom = previousX;
+			}
+
+			x = previousX;
+			y = previousY;
+		}
+
+		flush(target, start, b, pendingType, pendingFrom, pendingTo, pendingPosition);
+	}
+
+	private static <E> void flush(List<E> target, int start, List<? extends E> b, int type, int from, int to,
+			int position) {
+		if (type == REMOVE) {
+			target.subList(start + from, start + to).clear();
+		} else if (type == ADD) {
+			target.addAll(start + position, b.subList(from, to));
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongPrimitiveSetter;
+import javafx.beans.property.LongProperty;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of {@link PropertyField} for fields of type <code>long</code> that are following the
+ * Java-Beans standard.
+ * <p>
+ * In contrast to the generic {@link BeanPropertyField} the value is never boxed: The model is accessed via
+ * {@link LongPrimitiveGetter} and {@link LongPrimitiveSetter}, the property via {@link LongProperty#get()} and
+ * {@link LongProperty#set(long)}, and the default value is stored as primitive. The changes of the property are
+ * observed with an invalidation listener because a change listener would box the old and new value on every change.
+ * The last seen value is kept so that an invalidation that doesn't change the value (e.g. of a bound property) isn't
+ * reported.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+class LongBeanPropertyField<M> implements PropertyField<Number, M, LongProperty> {
+
+	private final LongPrimitiveGetter<M> getter;
+	private final LongPrimitiveSetter<M> setter;
+
+	private long defaultValue;
+	private long lastValue;
+	private final LongProperty targetProperty;
+
+	LongBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, LongPrimitiveGetter<M> getter,
+			LongPrimitiveSetter<M> setter, Supplier<LongProperty> propertySupplier) {
+		this(updateFunction, getter, setter, 0L, propertySupplier);
+	}
+
+	LongBeanPropertyField(Consumer<PropertyField<?, M, ?>> updateFunction, LongPrimitiveGetter<M> getter,
+			LongPrimitiveSetter<M> setter, long defaultValue, Supplier<LongProperty> propertySupplier) {
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValue;
+		this.targetProperty = propertySupplier.get();
+		this.lastValue = targetProperty.get();
+
+		this.targetProperty.addListener(observable -> {
+			// getting the value validates the property again. Otherwise the next change wouldn't be reported.
+			final long newValue = targetProperty.get();
+			if (newValue != lastValue) {
+				lastValue = newValue;
+				updateFunction.accept(this);
+			}
+		});
+	}
+
+	@Override
+	public void commit(M wrappedObject) {
+		setter.accept(wrappedObject, targetProperty.get());
+	}
+
+	@Override
+	public Consumer<M> prepareCommit() {
+		final long value = targetProperty.get();
+		return wrappedObject -> setter.accept(wrappedObject, value);
+	}
+
+	@Override
+	public void reload(M wrappedObject) {
+		targetProperty.set(getter.applyAsLong(wrappedObject));
+	}
+
+	@Override
+	public void resetToDefault() {
+		targetProperty.set(defaultValue);
+	}
+
+	@Override
+	public void updateDefault(M wrappedObject) {
+		defaultValue = getter.applyAsLong(wrappedObject);
+	}
+
+	@Override
+	public LongProperty getProperty() {
+		return targetProperty;
+	}
+
+	@Override
+	public Object getModelValue(M wrappedObject) {
+		return getter.applyAsLong(wrappedObject);
+	}
+
+	@Override
+	public boolean isDifferent(M wrappedObject) {
+		return getter.applyAsLong(wrappedObject) != targetProperty.get();
+	}
+}
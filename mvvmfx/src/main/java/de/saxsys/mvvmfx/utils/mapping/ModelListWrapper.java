@@ -0,0 +1,592 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import eu.lestard.doc.Beta;
+import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableSet;
+import javafx.collections.WeakListChangeListener;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A wrapper for a whole list of model instances, for example the items of an editable
+ * {@link javafx.scene.control.TableView}.
+ * <p>
+ * Wrapping each row in its own {@link ModelWrapper} means that every row holds a property and several flags for every
+ * field, even if the user only edits a handful of cells. This class stores the state column-wise instead: for every
+ * field there is a sparse map that only contains the cells that were actually edited. All other cells are read
+ * directly from the model instances.
+ * <p>
+ * The fields are declared with the same "field" methods as for a {@link ModelWrapper}, using a
+ * {@link ModelWrapperSchema}:
+ *
+ * <pre>
+ * ModelWrapperSchema{@code<Person>} schema = new ModelWrapperSchema{@code<>}();
+ * SchemaField{@code<Person, String, StringProperty>} name = schema.field("name", Person::getName, Person::setName);
+ *
+ * ModelListWrapper{@code<Person>} listWrapper = new ModelListWrapper{@code<>}(schema, persons);
+ *
+ * StringProperty nameOfRow = listWrapper.property(row, name);
+ * </pre>
+ *
+ * The properties for single cells are only created when they are requested. The wrapper only holds them weakly: a
+ * property that isn't used anymore (e.g. because the table cell now shows another row) is garbage collected. Edited
+ * values are kept independently of the properties, so only the edited cells stay in memory.
+ * <p>
+ * The rows are identified by their index. If the list of model instances is an {@link ObservableList}, the edited
+ * values and dirty flags move with their rows when elements are added, removed or permutated. Other lists must not be
+ * structurally modified while they are wrapped. In this case a {@link ConcurrentModificationException} is thrown when
+ * the wrapper is used after a modification until {@link #setModels(List)} is called again.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+@Beta
+public class ModelListWrapper<M> {
+
+	private final ModelWrapperSchema<M> schema;
+
+	private List<M> models;
+
+	/**
+	 * The size of the models at the last structural change the wrapper knows about.
+	 */
+	private int expectedSize;
+
+	private final ListChangeListener<M> modelsListener = this::modelsChanged;
+	private final WeakListChangeListener<M> weakModelsListener = new WeakListChangeListener<>(modelsListener);
+
+	private final List<Column<?>> columns = new ArrayList<>();
+
+	/**
+	 * Contains the indexes of all rows that have at least one dirty cell.
+	 */
+	private final BitSet dirtyRows = new BitSet();
+
+	/**
+	 * The same rows as {@link #dirtyRows} as observable set so that the UI can react on it.
+	 */
+	private final ObservableSet<Integer> observableDirtyRows = FXCollections.observableSet(new TreeSet<>());
+
+	private final ReadOnlyBooleanWrapper dirtyFlag = new ReadOnlyBooleanWrapper();
+
+	/**
+	 * <code>true</code> while properties are updated by commit, reload or reset.
+	 */
+	private boolean updating = false;
+
+	/**
+	 * A weak reference to the property of a single cell. The row is updated when the row is moved by a change of the
+	 * model list. It is <code>-1</code> when the row was removed.
+	 */
+	private static class CellReference<T> extends WeakReference<Property<T>> {
+		private int row;
+
+		CellReference(Property<T> property, int row, ReferenceQueue<? super Property<T>> queue) {
+			super(property, queue);
+			this.row = row;
+		}
+	}
+
+	/**
+	 * The state of a single field for all rows.
+	 */
+	private class Column<T> {
+		private final SchemaField<M, T, ?> field;
+
+		/**
+		 * The values of the cells that were changed since the last commit or reload by row index.
+		 */
+		private Map<Integer, T> editedValues = new HashMap<>();
+
+		/**
+		 * The properties of the cells that were requested by row index.
+		 */
+		private Map<Integer, CellReference<T>> properties = new HashMap<>();
+
+		private final ReferenceQueue<Property<T>> collectedProperties = new ReferenceQueue<>();
+
+		private BitSet dirtyCells = new BitSet();
+
+		/**
+		 * <code>true</code> if the whole column was reset to the default value. In this case cells without an edited
+		 * value have the default value instead of the value of the model instance.
+		 */
+		private boolean atDefault = false;
+
+		Column(SchemaField<M, T, ?> field) {
+			this.field = field;
+		}
+
+		T getValue(int row) {
+			if (editedValues.containsKey(row)) {
+				return editedValues.get(row);
+			}
+			if (atDefault) {
+				return field.getDefaultValue();
+			}
+			return field.getValue(models.get(row));
+		}
+
+		boolean isDifferent(int row) {
+			if (!atDefault && !editedValues.containsKey(row)) {
+				return false;
+			}
+			return !Objects.equals(field.getValue(models.get(row)), getValue(row));
+		}
+
+		@SuppressWarnings("unchecked")
+		Property<T> getProperty(int row) {
+			expungeCollectedProperties();
+
+			final CellReference<T> existing = properties.get(row);
+			Property<T> property = existing == null ? null : existing.get();
+			if (property == null) {
+				property = (Property<T>) field.createProperty(ModelListWrapper.this);
+
+				final T value = getValue(row);
+				if (value != null) {
+					property.setValue(value);
+				}
+
+				final Property<T> finalProperty = property;
+				final CellReference<T> reference = new CellReference<>(property, row, collectedProperties);
+				property.addListener((observable, oldValue, newValue) -> {
+					if (!updating && reference.row >= 0) {
+						cellWasChanged(reference.row, finalProperty.getValue());
+					}
+				});
+				properties.put(row, reference);
+			}
+			return property;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void expungeCollectedProperties() {
+			CellReference<T> reference;
+			while ((reference = (CellReference<T>) collectedProperties.poll()) != null) {
+				if (properties.get(reference.row) == reference) {
+					properties.remove(reference.row);
+				}
+			}
+		}
+
+		void cellWasChanged(int row, T value) {
+			editedValues.put(row, value);
+			dirtyCells.set(row);
+			markRowDirty(row);
+			dirtyFlag.set(true);
+		}
+
+		void commit() {
+			if (atDefault) {
+				for (int row = 0; row < models.size(); row++) {
+					field.setValue(models.get(row), getValue(row));
+				}
+			} else {
+				editedValues.forEach((row, value) -> field.setValue(models.get(row), value));
+			}
+			clearState();
+		}
+
+		void reload() {
+			clearState();
+			forEachProperty((row, property) -> property.setValue(field.getValue(models.get(row))));
+		}
+
+		void reset() {
+			final T defaultValue = field.getDefaultValue();
+			for (int row = 0; row < models.size(); row++) {
+				if (!Objects.equals(getValue(row), defaultValue)) {
+					dirtyCells.set(row);
+					markRowDirty(row);
+				}
+			}
+
+			editedValues.clear();
+			atDefault = true;
+			forEachProperty((row, property) -> property.setValue(defaultValue));
+		}
+
+		void clearState() {
+			editedValues.clear();
+			dirtyCells.clear();
+			atDefault = false;
+		}
+
+		void clearProperties() {
+			properties.values().forEach(reference -> reference.row = -1);
+			properties.clear();
+		}
+
+		/**
+		 * Moves the state of all cells to new rows.
+		 *
+		 * @param mapping
+		 *            returns the new index for the old index of a row or <code>-1</code> if the row was removed.
+		 */
+		void moveRows(IntUnaryOperator mapping) {
+			final Map<Integer, T> movedValues = new HashMap<>();
+			editedValues.forEach((row, value) -> {
+				final int newRow = mapping.applyAsInt(row);
+				if (newRow >= 0) {
+					movedValues.put(newRow, value);
+				}
+			});
+			editedValues = movedValues;
+
+			final Map<Integer, CellReference<T>> movedProperties = new HashMap<>();
+			properties.values().forEach(reference -> {
+				reference.row = mapping.applyAsInt(reference.row);
+				if (reference.row >= 0) {
+					movedProperties.put(reference.row, reference);
+				}
+			});
+			properties = movedProperties;
+
+			dirtyCells = moveBits(dirtyCells, mapping);
+		}
+
+		/**
+		 * The model instances of the given rows have changed their values. The properties of cells without an edited
+		 * value show the new values.
+		 */
+		void rowsUpdated(int from, int to) {
+			if (atDefault) {
+				return;
+			}
+			forEachProperty((row, property) -> {
+				if (row >= from && row < to && !editedValues.containsKey(row)) {
+					property.setValue(field.getValue(models.get(row)));
+				}
+			});
+		}
+
+		/**
+		 * New rows were added while the column is reset to the default value. They are dirty if the model value differs.
+		 */
+		void rowsAdded(int from, int to) {
+			if (atDefault) {
+				for (int row = from; row < to; row++) {
+					if (!Objects.equals(field.getValue(models.get(row)), field.getDefaultValue())) {
+						dirtyCells.set(row);
+						markRowDirty(row);
+					}
+				}
+			}
+		}
+
+		private void forEachProperty(BiConsumer<Integer, Property<T>> action) {
+			properties.forEach((row, reference) -> {
+				final Property<T> property = reference.get();
+				if (property != null) {
+					action.accept(row, property);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @param schema
+	 *            the schema that defines the fields of the wrapper.
+	 * @param models
+	 *            the model instances that are wrapped.
+	 */
+	public ModelListWrapper(ModelWrapperSchema<M> schema, List<M> models) {
+		this.schema = Objects.requireNonNull(schema);
+
+		schema.seal();
+		for (SchemaField<M, ?, ?> field : schema.getFields()) {
+			columns.add(new Column<>(field));
+		}
+
+		setModels(models);
+	}
+
+	/**
+	 * @param schema
+	 *            the schema that defines the fields of the wrapper.
+	 */
+	public ModelListWrapper(ModelWrapperSchema<M> schema) {
+		this(schema, Collections.emptyList());
+	}
+
+	/**
+	 * Define the list of model instances that are wrapped. All edited values are discarded and the properties that were
+	 * handed out before aren't connected to the wrapper anymore.
+	 *
+	 * @param models
+	 *            the model instances.
+	 */
+	public void setModels(List<M> models) {
+		Objects.requireNonNull(models);
+		if (this.models instanceof ObservableList) {
+			((ObservableList<M>) this.models).removeListener(weakModelsListener);
+		}
+
+		this.models = models;
+		expectedSize = models.size();
+		if (models instanceof ObservableList) {
+			((ObservableList<M>) models).addListener(weakModelsListener);
+		}
+
+		columns.forEach(column -> {
+			column.clearState();
+			column.clearProperties();
+		});
+		clearDirtyRows();
+	}
+
+	/**
+	 * @return the wrapped list of model instances.
+	 */
+	public List<M> getModels() {
+		return models;
+	}
+
+	/**
+	 * @return the number of rows.
+	 */
+	public int size() {
+		return models.size();
+	}
+
+	/**
+	 * Returns the property for a single cell. The property is created when it is requested for the first time and is
+	 * reused as long as it is referenced outside of the wrapper.
+	 *
+	 * @param row
+	 *            the index of the row.
+	 * @param field
+	 *            the field of the column.
+	 * @return the property of the cell.
+	 * @throws IllegalArgumentException
+	 *             if the field doesn't belong to the schema of this wrapper.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T, R extends Property<T>> R property(int row, SchemaField<M, T, R> field) {
+		checkRow(row);
+		return (R) getColumn(field).getProperty(row);
+	}
+
+	/**
+	 * @param row
+	 *            the index of the row.
+	 * @param field
+	 *            the field of the column.
+	 * @return the current value of the cell. This is either the edited value or the value of the model instance.
+	 */
+	public <T> T getValue(int row, SchemaField<M, T, ?> field) {
+		checkRow(row);
+		return getColumn(field).getValue(row);
+	}
+
+	/**
+	 * Take the edited values of all cells and write them back to the model instances.
+	 */
+	public void commit() {
+		checkModels();
+		updating = true;
+		try {
+			columns.forEach(Column::commit);
+		} finally {
+			updating = false;
+		}
+		clearDirtyRows();
+	}
+
+	/**
+	 * Discard all edited values and take the values from the model instances.
+	 */
+	public void reload() {
+		checkModels();
+		updating = true;
+		try {
+			columns.forEach(Column::reload);
+		} finally {
+			updating = false;
+		}
+		clearDirtyRows();
+	}
+
+	/**
+	 * Reset all cells to the default values of their fields.
+	 */
+	public void reset() {
+		checkModels();
+		updating = true;
+		try {
+			columns.forEach(Column::reset);
+		} finally {
+			updating = false;
+		}
+		dirtyFlag.set(!dirtyRows.isEmpty());
+	}
+
+	/**
+	 * @return a boolean property that indicates whether any cell was changed since the last commit or reload.
+	 */
+	public ReadOnlyBooleanProperty dirtyProperty() {
+		return dirtyFlag.getReadOnlyProperty();
+	}
+
+	public boolean isDirty() {
+		return dirtyFlag.get();
+	}
+
+	/**
+	 * @param row
+	 *            the index of the row.
+	 * @return <code>true</code> if any cell of the given row was changed since the last commit or reload.
+	 */
+	public boolean isDirty(int row) {
+		checkRow(row);
+		return dirtyRows.get(row);
+	}
+
+	/**
+	 * @param row
+	 *            the index of the row.
+	 * @param field
+	 *            the field of the column.
+	 * @return <code>true</code> if the given cell was changed since the last commit or reload.
+	 */
+	public boolean isDirty(int row, SchemaField<M, ?, ?> field) {
+		checkRow(row);
+		return getColumn(field).dirtyCells.get(row);
+	}
+
+	/**
+	 * The indexes of all rows that were changed since the last commit or reload in ascending order. The set is updated
+	 * when cells are changed and when rows are moved, so it can be used to highlight dirty rows in the UI.
+	 *
+	 * @return an unmodifiable observable set of row indexes.
+	 */
+	public ObservableSet<Integer> getDirtyRows() {
+		return FXCollections.unmodifiableObservableSet(observableDirtyRows);
+	}
+
+	/**
+	 * @param row
+	 *            the index of the row.
+	 * @return <code>true</code> if any cell of the given row has a value that is different from the value of the model
+	 *         instance.
+	 */
+	public boolean isDifferent(int row) {
+		checkRow(row);
+		for (Column<?> column : columns) {
+			if (column.isDifferent(row)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return <code>true</code> if any cell has a value that is different from the value of its model instance. Only
+	 *         dirty rows are checked.
+	 */
+	public boolean isDifferent() {
+		return dirtyRows.stream().anyMatch(this::isDifferent);
+	}
+
+	private void modelsChanged(ListChangeListener.Change<? extends M> change) {
+		while (change.next()) {
+			final int from = change.getFrom();
+			final int to = change.getTo();
+
+			if (change.wasPermutated()) {
+				final ListChangeListener.Change<? extends M> permutation = change;
+				moveRows(row -> row >= from && row < to ? permutation.getPermutation(row) : row);
+			} else if (change.wasUpdated()) {
+				updating = true;
+				try {
+					columns.forEach(column -> column.rowsUpdated(from, to));
+				} finally {
+					updating = false;
+				}
+			} else {
+				final int removedEnd = from + change.getRemovedSize();
+				final int shift = change.getAddedSize() - change.getRemovedSize();
+				moveRows(row -> row < from ? row : row < removedEnd ? -1 : row + shift);
+				columns.forEach(column -> column.rowsAdded(from, to));
+			}
+		}
+		expectedSize = models.size();
+		dirtyFlag.set(!dirtyRows.isEmpty());
+	}
+
+	private void moveRows(IntUnaryOperator mapping) {
+		columns.forEach(column -> column.moveRows(mapping));
+
+		final BitSet movedRows = moveBits(dirtyRows, mapping);
+		dirtyRows.clear();
+		dirtyRows.or(movedRows);
+
+		observableDirtyRows.removeIf(row -> !movedRows.get(row));
+		movedRows.stream().forEach(observableDirtyRows::add);
+	}
+
+	private static BitSet moveBits(BitSet bits, IntUnaryOperator mapping) {
+		final BitSet moved = new BitSet();
+		bits.stream().map(mapping).filter(row -> row >= 0).forEach(moved::set);
+		return moved;
+	}
+
+	private void markRowDirty(int row) {
+		if (!dirtyRows.get(row)) {
+			dirtyRows.set(row);
+			observableDirtyRows.add(row);
+		}
+	}
+
+	private void clearDirtyRows() {
+		dirtyRows.clear();
+		observableDirtyRows.clear();
+		dirtyFlag.set(false);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Column<T> getColumn(SchemaField<M, T, ?> field) {
+		final int index = field.getIndex();
+		if (index >= columns.size() || columns.get(index).field != field) {
+			throw new IllegalArgumentException("The field [" + field.getIdentifier()
+					+ "] is not a field of the schema of this wrapper.");
+		}
+		return (Column<T>) columns.get(index);
+	}
+
+	private void checkRow(int row) {
+		checkModels();
+		if (row < 0 || row >= models.size()) {
+			throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + models.size());
+		}
+	}
+
+	/**
+	 * A list that isn't observable can't tell the wrapper which rows were moved. Instead of showing the edited values
+	 * in the wrong rows the modification is rejected.
+	 */
+	private void checkModels() {
+		if (models.size() != expectedSize) {
+			throw new ConcurrentModificationException("The list of models was structurally modified. Use an "
+					+ "ObservableList or call setModels after the modification.");
+		}
+	}
+}
@@ -17,18 +17,26 @@ package de.saxsys.mvvmfx.utils.mapping;
 
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanImmutableSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanPrimitiveSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanPropertyAccessor;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoubleGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoubleImmutableSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoublePrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoublePrimitiveSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoublePropertyAccessor;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoubleSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatImmutableSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatPrimitiveSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatPropertyAccessor;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntImmutableSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntPrimitiveSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntPropertyAccessor;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListGetter;
@@ -37,6 +45,8 @@ import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListPropertyAccessor;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ListSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongImmutableSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongPrimitiveGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongPrimitiveSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongPropertyAccessor;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.MapGetter;
@@ -56,16 +66,29 @@ import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringImmutableSetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringPropertyAccessor;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringSetter;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import eu.lestard.doc.Beta;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.FloatProperty;
@@ -275,6 +298,19 @@ public class ModelWrapper<M> {
 
 	private final Set<ImmutablePropertyField<?, M, ?>> immutableFields = new LinkedHashSet<>();
 
+	/**
+	 * <code>null</code> as long as {@link #withBuilder(Function, Function)} wasn't called.
+	 */
+	private BuilderMapping<M, ?> builderMapping;
+
+	/**
+	 * The dirty/different state of each field. Together with the number of different fields this allows us to update
+	 * the {@link #differentProperty()} by only checking the field that was changed instead of all fields.
+	 */
+	private final Map<PropertyField<?, M, ?>, FieldState> fieldStates = new IdentityHashMap<>();
+	private final Map<Property<?>, PropertyField<?, M, ?>> fieldsByProperty = new IdentityHashMap<>();
+	private int differentFieldCount = 0;
+
 	private final ObjectProperty<M> model;
 
 	/**
@@ -288,6 +324,29 @@ public class ModelWrapper<M> {
 	 */
 	private boolean inCommitPhase = false;
 
+	/**
+	 * The nesting depth of {@link #beginUpdate()} calls. While this is greater than zero, the dirty and different flags
+	 * are not updated. Instead the changes are collected and applied once when the outermost update is finished.
+	 */
+	private int updateDepth = 0;
+	private final Set<PropertyField<?, M, ?>> fieldsChangedDuringUpdate = new LinkedHashSet<>();
+	private boolean dirtyFlagsClearedDuringUpdate = false;
+	private boolean fullRecalculationNeeded = false;
+
+	/**
+	 * Incremented whenever an outermost batch update is started. Used by {@link ModelWrapperHistory} to group the
+	 * changes of a batch update.
+	 */
+	private int updateGeneration = 0;
+
+	private final List<Consumer<PropertyField<?, M, ?>>> fieldChangeListeners = new ArrayList<>();
+
+	/**
+	 * The background part of the last {@link #commitAsync(Executor)}. The next asynchronous commit waits for it so that
+	 * the values are written to the model in the order in which the commits were started.
+	 */
+	private CompletableFuture<AsyncCommitResult<M>> lastAsyncCommit = CompletableFuture.completedFuture(null);
+
 	/**
 	 * Create a new instance of {@link ModelWrapper} that wraps the instance of the Model class wrapped by the property.
 	 * Updates all data when the model instance changes.
@@ -369,10 +428,15 @@ public class ModelWrapper<M> {
 	 * defined property fields.
 	 */
 	public void reset() {
-		fields.forEach(PropertyField::resetToDefault);
-		immutableFields.forEach(PropertyField::resetToDefault);
-
-		calculateDifferenceFlag();
+		beginUpdate();
+		try {
+			fields.forEach(PropertyField::resetToDefault);
+			immutableFields.forEach(PropertyField::resetToDefault);
+
+			fullRecalculationNeeded = true;
+		} finally {
+			endUpdate();
+		}
 	}
 
 	/**
@@ -440,30 +504,186 @@ public class ModelWrapper<M> {
 	 */
 	public void commit() {
 		if (model.get() != null) {
+			beginUpdate();
+			// the model may be changed partially even if the commit fails
+			fullRecalculationNeeded = true;
+			try {
+				inCommitPhase = true;
+
+				fields.forEach(field -> field.commit(model.get()));
+
+				final boolean hasBuilderFields = builderMapping != null && builderMapping.hasFields();
+
+				if(! immutableFields.isEmpty() || hasBuilderFields) {
 
-			inCommitPhase = true;
+					M tmp = model.get();
 
-			fields.forEach(field -> field.commit(model.get()));
+					for (ImmutablePropertyField<?, M, ?> immutableField : immutableFields) {
+						tmp = immutableField.commitImmutable(tmp);
+					}
 
-			if(! immutableFields.isEmpty()) {
+					if (hasBuilderFields) {
+						tmp = builderMapping.build(tmp);
+					}
 
-				M tmp = model.get();
+					model.set(tmp);
 
-				for (ImmutablePropertyField<?, M, ?> immutableField : immutableFields) {
-					tmp = immutableField.commitImmutable(tmp);
 				}
 
-				model.set(tmp);
+				// only a successful commit writes all values into the model
+				clearDirtyFlags();
+			} finally {
+				inCommitPhase = false;
+				endUpdate();
+			}
+		}
+	}
 
+	/**
+	 * Like {@link #commit()} but the values are written into the wrapped model element on a background thread. This is
+	 * useful when the setters of the model have expensive side effects that would otherwise block the JavaFX
+	 * application thread.
+	 * <p>
+	 * The values of all fields are taken when this method is called. They are written into the model element by the
+	 * given executor and afterwards the {@link #dirtyProperty()} and {@link #differentProperty()} are updated on the
+	 * JavaFX application thread. Therefore this method has to be called on the JavaFX application thread.
+	 * <p>
+	 * The fields can still be changed while the commit is in progress:
+	 * <ul>
+	 * <li>Changes after this method was called are not part of this commit. The changed fields stay dirty when the
+	 * commit is finished, all other fields are not dirty anymore.</li>
+	 * <li>If this method is called again before the previous commit has finished, the values of both commits are
+	 * written into the model element in the order of the calls.</li>
+	 * <li>If the wrapped model element is replaced (see {@link #set(Object)}) before the commit has finished, the
+	 * values are still written into the old model element but the flags of the wrapper are not changed.</li>
+	 * </ul>
+	 * For immutable fields the new model instance is created on the background thread and is set as wrapped model
+	 * element when the commit is finished.
+	 * <p>
+	 * A synchronous {@link #commit()} should not be mixed with pending asynchronous commits because the values of the
+	 * asynchronous commits would be written afterwards.
+	 *
+	 * @param executor
+	 *            the executor that writes the values into the model element.
+	 * @return a future that is completed on the JavaFX application thread with the committed model element after the
+	 *         flags were updated. If no model element is defined, the future is already completed with
+	 *         <code>null</code>. If a setter of the model throws an exception, the future is completed exceptionally
+	 *         and the flags are not changed.
+	 */
+	public CompletableFuture<M> commitAsync(Executor executor) {
+		return commitAsync(executor, Platform::runLater);
+	}
+
+	/**
+	 * See {@link #commitAsync(Executor)}.
+	 *
+	 * @param uiExecutor
+	 *            the executor that updates the flags of the wrapper. Used in tests instead of the JavaFX application
+	 *            thread.
+	 */
+	CompletableFuture<M> commitAsync(Executor executor, Executor uiExecutor) {
+		final M snapshotModel = model.get();
+		if (snapshotModel == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		final List<Consumer<M>> commitActions = new ArrayList<>();
+		fields.forEach(field -> commitActions.add(field.prepareCommit()));
+
+		final List<UnaryOperator<M>> immutableCommits = new ArrayList<>();
+		immutableFields.forEach(field -> immutableCommits.add(field.prepareCommitImmutable()));
+		if (builderMapping != null && builderMapping.hasFields()) {
+			immutableCommits.add(builderMapping.prepareBuild());
+		}
+
+		final Set<PropertyField<?, M, ?>> changedFields = Collections.newSetFromMap(new IdentityHashMap<>());
+		final Consumer<PropertyField<?, M, ?>> changeListener = changedFields::add;
+		addFieldChangeListener(changeListener);
+
+		final CompletableFuture<AsyncCommitResult<M>> backgroundCommit = lastAsyncCommit
+				.handle((previous, error) -> error == null ? previous : null)
+				.thenApplyAsync(previous -> {
+					// a previous commit of the same model element with immutable fields has already created a new
+					// instance that is the base of this commit.
+					final M base = previous != null && previous.snapshotModel == snapshotModel ? previous.result
+							: snapshotModel;
+
+					commitActions.forEach(action -> action.accept(base));
+
+					M result = base;
+					for (UnaryOperator<M> immutableCommit : immutableCommits) {
+						result = immutableCommit.apply(result);
+					}
+					return new AsyncCommitResult<>(snapshotModel, base, result);
+				}, executor);
+
+		lastAsyncCommit = backgroundCommit;
+
+		final CompletableFuture<M> future = new CompletableFuture<>();
+		backgroundCommit.whenCompleteAsync((commitResult, error) -> {
+			removeFieldChangeListener(changeListener);
+
+			if (error != null) {
+				future.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+			} else {
+				asyncCommitFinished(commitResult, changedFields);
+				future.complete(commitResult.result);
 			}
+		}, uiExecutor);
 
-			inCommitPhase = false;
+		return future;
+	}
 
+	private void asyncCommitFinished(AsyncCommitResult<M> commitResult, Set<PropertyField<?, M, ?>> changedFields) {
+		if (model.get() != commitResult.base) {
+			// the model element was replaced in the meantime, the flags refer to the new one.
+			return;
+		}
 
+		beginUpdate();
+		try {
+			if (commitResult.result != commitResult.base) {
+				inCommitPhase = true;
+				try {
+					model.set(commitResult.result);
+				} finally {
+					inCommitPhase = false;
+				}
+			}
 
-			dirtyFlag.set(false);
+			fieldStates.forEach((field, state) -> {
+				if (!changedFields.contains(field)) {
+					state.setDirty(false);
+				}
+			});
+			fullRecalculationNeeded = true;
+		} finally {
+			endUpdate();
+		}
 
-			calculateDifferenceFlag();
+		dirtyFlag.set(fieldStates.values().stream().anyMatch(FieldState::isDirty));
+	}
+
+	private static final class AsyncCommitResult<M> {
+		/**
+		 * The model element that was wrapped when the commit was started.
+		 */
+		private final M snapshotModel;
+
+		/**
+		 * The model element the values were written to.
+		 */
+		private final M base;
+
+		/**
+		 * Differs from {@link #base} if there are immutable fields.
+		 */
+		private final M result;
+
+		private AsyncCommitResult(M snapshotModel, M base, M result) {
+			this.snapshotModel = snapshotModel;
+			this.base = base;
+			this.result = result;
 		}
 	}
 
@@ -478,12 +698,17 @@ public class ModelWrapper<M> {
 	public void reload() {
 		M wrappedModelInstance = model.get();
 		if (wrappedModelInstance != null) {
-			fields.forEach(field -> field.reload(wrappedModelInstance));
+			beginUpdate();
+			try {
+				fields.forEach(field -> field.reload(wrappedModelInstance));
 
-			immutableFields.forEach(field -> field.reload(wrappedModelInstance));
+				immutableFields.forEach(field -> field.reload(wrappedModelInstance));
 
-			dirtyFlag.set(false);
-			calculateDifferenceFlag();
+				clearDirtyFlags();
+				fullRecalculationNeeded = true;
+			} finally {
+				endUpdate();
+			}
 		}
 	}
 
@@ -494,18 +719,228 @@ public class ModelWrapper<M> {
 	 * Existing values in the provided model instance will be overwritten.
 	 * <p>
 	 * This method doesn't change the state of this modelWrapper or the wrapped model instance.
+	 * <p>
+	 * Fields that are defined with a builder (see {@link #withBuilder(Function, Function)}) can't be copied because
+	 * they describe an immutable model class. For such a wrapper this method throws an exception instead of silently
+	 * skipping these fields.
 	 *
 	 * @param model a non-null instance of a model.
+	 * @throws IllegalStateException
+	 *             if fields were defined with a builder.
 	 */
 	public void copyValuesTo(M model) {
 		Objects.requireNonNull(model);
+		if (builderMapping != null && builderMapping.hasFields()) {
+			throw new IllegalStateException("The values of fields that are defined with a builder can't be copied to "
+					+ "an existing model instance.");
+		}
 		fields.forEach(field -> field.commit(model));
 	}
 
+	/**
+	 * Returns the changes of all identified fields (see {@link #field(String, StringGetter, StringSetter)}) whose
+	 * values are different from the values of the wrapped model instance. Each change contains the value of the model
+	 * instance as old value and the value of the wrapper as new value. Fields without an identifier are not part of the
+	 * change set.
+	 * <p>
+	 * The change set is calculated from the different-state of the fields (see {@link #isDifferent(Property)}), so
+	 * only the fields that are actually different are read.
+	 *
+	 * @return an immutable change set. Empty if no model instance is wrapped.
+	 */
+	public ChangeSet getChanges() {
+		final M wrappedModelInstance = model.get();
+		if (wrappedModelInstance == null) {
+			return ChangeSet.empty();
+		}
+
+		final Map<String, FieldChange> changes = new TreeMap<>();
+		identifiedFields.forEach((identifier, field) -> {
+			final FieldState state = fieldStates.get(field);
+			// during a batch update the states are not up to date
+			final boolean different = updateDepth > 0 ? field.isDifferent(wrappedModelInstance)
+					: state != null && state.isDifferent();
+
+			if (different) {
+				changes.put(identifier, new FieldChange(identifier, field.getModelValue(wrappedModelInstance),
+						field.getValue()));
+			}
+		});
+
+		return new ChangeSet(changes.values());
+	}
+
+	/**
+	 * Applies the new values of the given change set to the identified fields of this wrapper. Like every other change
+	 * of the fields, this only changes the wrapper and not the wrapped model instance until {@link #commit()} is
+	 * called. All changes are applied as a single batch update (see {@link #beginUpdate()}).
+	 *
+	 * @param changeSet
+	 *            the changes, typically created with {@link #getChanges()} of another wrapper.
+	 * @throws IllegalArgumentException
+	 *             if the change set contains an identifier that is unknown to this wrapper. In this case no change is
+	 *             applied.
+	 */
+	public void applyChanges(ChangeSet changeSet) {
+		for (String identifier : changeSet.getIdentifiers()) {
+			if (!identifiedFields.containsKey(identifier)) {
+				throw new IllegalArgumentException("There is no field with the identifier [" + identifier
+						+ "] in this ModelWrapper.");
+			}
+		}
+
+		batch(() -> changeSet.forEach(change -> applyValue(identifiedFields.get(change.getIdentifier()).getProperty(),
+				change.getNewValue())));
+	}
+
+	@SuppressWarnings("unchecked")
+	static void applyValue(Property<?> property, Object value) {
+		final Object currentValue = property.getValue();
+
+		if (currentValue instanceof List && value instanceof List) {
+			ListDiff.apply((List<Object>) currentValue, (List<?>) value);
+		} else if (currentValue instanceof Set && value instanceof Set) {
+			BeanSetPropertyField.setAll((Set<Object>) currentValue, (Set<Object>) value);
+		} else if (currentValue instanceof Map && value instanceof Map) {
+			BeanMapPropertyField.setAll((Map<Object, Object>) currentValue, (Map<Object, Object>) value);
+		} else {
+			((Property<Object>) property).setValue(value);
+		}
+	}
+
+
+	/**
+	 * Starts a batch update. Until the matching {@link #endUpdate()} is called, changes of the fields don't update the
+	 * {@link #dirtyProperty()} and {@link #differentProperty()} (and the per-field flags). Instead, both flags are
+	 * calculated once when the batch update is finished. This is useful when many fields are changed at once because
+	 * observers of the flags are only notified once and the difference to the model is only calculated once.
+	 * <p>
+	 * Batch updates can be nested. The flags are updated when the outermost batch update is finished. Every call to
+	 * this method has to be followed by a call to {@link #endUpdate()}, typically in a <code>finally</code> block. See
+	 * {@link #batch(Runnable)} for a more convenient variant.
+	 * <p>
+	 * {@link #reload()}, {@link #reset()} and {@link #commit()} are always executed as batch update.
+	 */
+	public void beginUpdate() {
+		if (updateDepth == 0) {
+			updateGeneration++;
+		}
+		updateDepth++;
+	}
+
+	/**
+	 * Finishes a batch update that was started with {@link #beginUpdate()}. If this is the outermost batch update,
+	 * the dirty and different flags are updated.
+	 *
+	 * @throws IllegalStateException
+	 *             if there is no batch update in progress.
+	 */
+	public void endUpdate() {
+		if (updateDepth == 0) {
+			throw new IllegalStateException("endUpdate() was called without a matching beginUpdate().");
+		}
+
+		updateDepth--;
+
+		if (updateDepth == 0) {
+			applyChangesOfUpdate();
+		}
+	}
+
+	/**
+	 * Executes the given changes as batch update. See {@link #beginUpdate()}.
+	 * <p>
+	 * Usage example:
+	 * <pre>
+	 * wrapper.batch(() -&gt; {
+	 *     name.set("Hugo");
+	 *     age.set(42);
+	 * }); // the dirty and different flags are updated once here
+	 * </pre>
+	 *
+	 * @param changes
+	 *            the changes to the fields of this wrapper.
+	 */
+	public void batch(Runnable changes) {
+		beginUpdate();
+		try {
+			changes.run();
+		} finally {
+			endUpdate();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if a batch update is in progress (see {@link #beginUpdate()}).
+	 */
+	public boolean isUpdating() {
+		return updateDepth > 0;
+	}
+
+	private void applyChangesOfUpdate() {
+		final boolean dirtyFlagsCleared = dirtyFlagsClearedDuringUpdate;
+		final boolean fullRecalculation = fullRecalculationNeeded;
+		final Set<PropertyField<?, M, ?>> changedFields = new LinkedHashSet<>(fieldsChangedDuringUpdate);
+
+		dirtyFlagsClearedDuringUpdate = false;
+		fullRecalculationNeeded = false;
+		fieldsChangedDuringUpdate.clear();
+
+		if (dirtyFlagsCleared) {
+			fieldStates.values().forEach(state -> state.setDirty(false));
+		}
+
+		for (PropertyField<?, M, ?> field : changedFields) {
+			final FieldState state = fieldStates.get(field);
+			if (state != null) {
+				state.setDirty(true);
+			}
+		}
+
+		if (!changedFields.isEmpty()) {
+			dirtyFlag.set(true);
+		} else if (dirtyFlagsCleared) {
+			dirtyFlag.set(false);
+		}
+
+		if (fullRecalculation) {
+			calculateDifferenceFlag();
+		} else if (!changedFields.isEmpty()) {
+			M wrappedModelInstance = model.get();
+			if (wrappedModelInstance != null) {
+				for (PropertyField<?, M, ?> field : changedFields) {
+					final FieldState state = fieldStates.get(field);
+					if (state != null) {
+						updateDifference(field, state, wrappedModelInstance);
+					}
+				}
+				diffFlag.set(differentFieldCount > 0);
+			}
+		}
+	}
+
+	private void propertyWasChanged(PropertyField<?, M, ?> field) {
+		fieldChangeListeners.forEach(listener -> listener.accept(field));
+
+		if (updateDepth > 0) {
+			fieldsChangedDuringUpdate.add(field);
+			return;
+		}
 
-	private void propertyWasChanged() {
 		dirtyFlag.set(true);
-		calculateDifferenceFlag();
+
+		final FieldState state = fieldStates.get(field);
+
+		// fields with an identifier that was already used aren't registered and their property is never handed out.
+		if (state != null) {
+			state.setDirty(true);
+
+			M wrappedModelInstance = model.get();
+			if (wrappedModelInstance != null) {
+				updateDifference(field, state, wrappedModelInstance);
+				diffFlag.set(differentFieldCount > 0);
+			}
+		}
 	}
 
 	private void calculateDifferenceFlag() {
@@ -513,26 +948,70 @@ public class ModelWrapper<M> {
 
 		if (wrappedModelInstance != null) {
 			for (final PropertyField<?, M, ?> field : fields) {
-				if (field.isDifferent(wrappedModelInstance)) {
-					diffFlag.set(true);
-					return;
-				}
+				updateDifference(field, fieldStates.get(field), wrappedModelInstance);
 			}
 
 			for (final ImmutablePropertyField<?, M, ?> field : immutableFields) {
-				if(field.isDifferent(wrappedModelInstance)) {
-					diffFlag.set(true);
-					return;
-				}
+				updateDifference(field, fieldStates.get(field), wrappedModelInstance);
 			}
 
-			diffFlag.set(false);
+			diffFlag.set(differentFieldCount > 0);
 		}
 	}
 
+	private void updateDifference(PropertyField<?, M, ?> field, FieldState state, M wrappedModelInstance) {
+		final boolean different = field.isDifferent(wrappedModelInstance);
+
+		if (different != state.isDifferent()) {
+			state.setDifferent(different);
+			differentFieldCount += different ? 1 : -1;
+		}
+	}
+
+	/**
+	 * Has to be called during a batch update. Changes that were done before in the same batch update are not counted
+	 * as dirty anymore.
+	 */
+	private void clearDirtyFlags() {
+		dirtyFlagsClearedDuringUpdate = true;
+		fieldsChangedDuringUpdate.clear();
+	}
+
+	int getUpdateGeneration() {
+		return updateGeneration;
+	}
+
+	void addFieldChangeListener(Consumer<PropertyField<?, M, ?>> listener) {
+		fieldChangeListeners.add(listener);
+	}
+
+	void removeFieldChangeListener(Consumer<PropertyField<?, M, ?>> listener) {
+		fieldChangeListeners.remove(listener);
+	}
+
+	/**
+	 * @return all fields of this wrapper, including immutable fields and lazy fields whose property wasn't created yet.
+	 */
+	List<PropertyField<?, M, ?>> getAllFields() {
+		final List<PropertyField<?, M, ?>> result = new ArrayList<>(fields);
+		result.addAll(immutableFields);
+		return result;
+	}
+
+	private FieldState getFieldState(Property<?> fieldProperty) {
+		final FieldState state = fieldStates.get(fieldsByProperty.get(fieldProperty));
+		if (state == null) {
+			throw new IllegalArgumentException("The given property [" + fieldProperty
+					+ "] is not a field of this ModelWrapper.");
+		}
+		return state;
+	}
+
 
 	private <T, R extends Property<T>> R add(PropertyField<T, M, R> field) {
 		fields.add(field);
+		fieldStates.put(field, new FieldState());
+		fieldsByProperty.put(field.getProperty(), field);
 		if (model.get() != null) {
 			field.reload(model.get());
 		}
@@ -550,8 +1029,20 @@ public class ModelWrapper<M> {
 		}
 	}
 
+	<T, B, R extends Property<T>> BuilderPropertyField<T, M, B, R> createBuilderField(Function<M, T> getter,
+			BiConsumer<B, T> builderSetter, T defaultValue, Supplier<R> propertySupplier) {
+		return new BuilderPropertyField<>(this::propertyWasChanged, getter, builderSetter, defaultValue,
+				propertySupplier);
+	}
+
+	<T, R extends Property<T>> R addBuilderField(String identifier, PropertyField<T, M, R> field) {
+		return identifier == null ? add(field) : addIdentified(identifier, field);
+	}
+
 	private <T, R extends Property<T>> R addImmutable(ImmutablePropertyField<T, M, R> field) {
 		immutableFields.add(field);
+		fieldStates.put(field, new FieldState());
+		fieldsByProperty.put(field.getProperty(), field);
 
 		if(model.get() != null) {
 			field.reload(model.get());
@@ -585,6 +1076,8 @@ public class ModelWrapper<M> {
 	 *
 	 * Note: Only those changes are observed that are done through the wrapped property fields of this wrapper. If you
 	 * change the data of the model instance directly, this property won't turn to <code>true</code>.
+	 * When a field is changed only this single field is compared with the model. Direct changes to other fields of the
+	 * model instance are detected with the next {@link #commit()}, {@link #reload()} or {@link #reset()}.
 	 *
 	 *
 	 * @return a read-only property indicating a difference between model and wrapper.
@@ -626,6 +1119,185 @@ public class ModelWrapper<M> {
 		return dirtyFlag.get();
 	}
 
+	/**
+	 * This boolean flag indicates whether there is a difference between the wrapped model object and the given
+	 * property field of this wrapper. It is the per-field counterpart of {@link #differentProperty()}.
+	 *
+	 * @param fieldProperty
+	 *            a property that was returned by one of the "field" methods of this wrapper.
+	 * @return a read-only property indicating a difference between the model and this field.
+	 * @throws IllegalArgumentException
+	 *             if the given property is not a field of this wrapper.
+	 */
+	public ReadOnlyBooleanProperty differentProperty(Property<?> fieldProperty) {
+		return getFieldState(fieldProperty).differentProperty();
+	}
+
+	/**
+	 * See {@link #differentProperty(Property)}.
+	 */
+	public boolean isDifferent(Property<?> fieldProperty) {
+		return getFieldState(fieldProperty).isDifferent();
+	}
+
+	/**
+	 * This boolean flag indicates whether the given property field was changed since the last {@link #commit()} or
+	 * {@link #reload()}. It is the per-field counterpart of {@link #dirtyProperty()}.
+	 *
+	 * @param fieldProperty
+	 *            a property that was returned by one of the "field" methods of this wrapper.
+	 * @return a read-only property indicating if the field was changed.
+	 * @throws IllegalArgumentException
+	 *             if the given property is not a field of this wrapper.
+	 */
+	public ReadOnlyBooleanProperty dirtyProperty(Property<?> fieldProperty) {
+		return getFieldState(fieldProperty).dirtyProperty();
+	}
+
+	/**
+	 * See {@link #dirtyProperty(Property)}.
+	 */
+	public boolean isDirty(Property<?> fieldProperty) {
+		return getFieldState(fieldProperty).isDirty();
+	}
+
+
+
+	/**
+	 * Returns the property of the field with the given identifier. If the field was defined with one of the
+	 * "lazyField" methods, the property is created now.
+	 *
+	 * @param identifier
+	 *            the identifier of the field.
+	 * @param <T>
+	 *            the type of the field.
+	 * @return the property of the field.
+	 * @throws IllegalArgumentException
+	 *             if there is no field with the given identifier.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Property<T> property(String identifier) {
+		final PropertyField<?, M, ?> field = identifiedFields.get(identifier);
+		if (field == null) {
+			throw new IllegalArgumentException("There is no field with the identifier [" + identifier + "].");
+		}
+		return (Property<T>) field.getProperty();
+	}
+
+	private <T, R extends Property<T>> void addLazy(String identifier, Function<M, T> getter,
+			BiConsumer<M, T> setter, T defaultValue, Supplier<R> propertySupplier) {
+		if (!identifiedFields.containsKey(identifier)) {
+			final LazyBeanPropertyField<T, M, R> field = new LazyBeanPropertyField<>(this::propertyWasChanged,
+					this::fieldWasMaterialized, model::get, getter, setter, defaultValue, propertySupplier);
+
+			identifiedFields.put(identifier, field);
+			fields.add(field);
+			fieldStates.put(field, new FieldState());
+		}
+	}
+
+	private void fieldWasMaterialized(PropertyField<?, M, ?> field) {
+		fieldsByProperty.put(field.getProperty(), field);
+	}
+
+
+	/* Lazy fields */
+
+	/**
+	 * Add a new field of type String to this instance of the wrapper whose JavaFX property is only created when it is
+	 * needed. This is useful for wrappers with many fields of which only a few are actually bound to the UI.
+	 * <p>
+	 * In contrast to {@link #field(String, StringGetter, StringSetter)} this method doesn't create a property. The
+	 * property is created when it is requested the first time, either with {@link #property(String)} or by calling
+	 * one of the "field" methods with the same identifier. Until then the value of the field is read directly from the
+	 * wrapped model instance when needed for {@link #commit()}, {@link #copyValuesTo(Object)} or the
+	 * {@link #differentProperty()}.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * ModelWrapper{@code<Person>} wrapper = new ModelWrapper{@code<>}();
+	 *
+	 * wrapper.lazyField("name", Person::getName, Person::setName);
+	 * ...
+	 *
+	 * StringProperty name = wrapper.field("name", Person::getName, Person::setName); // the property is created here
+	 * </pre>
+	 *
+	 * If there is already a field with the given identifier, nothing will happen.
+	 *
+	 * @param identifier
+	 *            an identifier for the field.
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param setter
+	 *            a function that sets the given value to the given model element.
+	 */
+	public void lazyField(String identifier, StringGetter<M> getter, StringSetter<M> setter) {
+		addLazy(identifier, getter, setter, null, () -> new SimpleStringProperty(null, identifier));
+	}
+
+	/**
+	 * See {@link #lazyField(String, StringGetter, StringSetter)}.
+	 */
+	public void lazyField(String identifier, StringGetter<M> getter, StringSetter<M> setter, String defaultValue) {
+		addLazy(identifier, getter, setter, defaultValue, () -> new SimpleStringProperty(null, identifier));
+	}
+
+	public void lazyField(String identifier, BooleanGetter<M> getter, BooleanSetter<M> setter) {
+		lazyField(identifier, getter, setter, false);
+	}
+
+	public void lazyField(String identifier, BooleanGetter<M> getter, BooleanSetter<M> setter,
+			boolean defaultValue) {
+		addLazy(identifier, getter, setter, defaultValue, () -> new SimpleBooleanProperty(null, identifier));
+	}
+
+	public void lazyField(String identifier, DoubleGetter<M> getter, DoubleSetter<M> setter) {
+		lazyField(identifier, getter, setter, 0.0);
+	}
+
+	public void lazyField(String identifier, DoubleGetter<M> getter, DoubleSetter<M> setter, double defaultValue) {
+		addLazy(identifier, getter::apply, (m, number) -> setter.accept(m, number.doubleValue()), defaultValue,
+				() -> new SimpleDoubleProperty(null, identifier));
+	}
+
+	public void lazyField(String identifier, FloatGetter<M> getter, FloatSetter<M> setter) {
+		lazyField(identifier, getter, setter, 0f);
+	}
+
+	public void lazyField(String identifier, FloatGetter<M> getter, FloatSetter<M> setter, float defaultValue) {
+		addLazy(identifier, getter::apply, (m, number) -> setter.accept(m, number.floatValue()), defaultValue,
+				() -> new SimpleFloatProperty(null, identifier));
+	}
+
+	public void lazyField(String identifier, IntGetter<M> getter, IntSetter<M> setter) {
+		lazyField(identifier, getter, setter, 0);
+	}
+
+	public void lazyField(String identifier, IntGetter<M> getter, IntSetter<M> setter, int defaultValue) {
+		addLazy(identifier, getter::apply, (m, number) -> setter.accept(m, number.intValue()), defaultValue,
+				() -> new SimpleIntegerProperty(null, identifier));
+	}
+
+	public void lazyField(String identifier, LongGetter<M> getter, LongSetter<M> setter) {
+		lazyField(identifier, getter, setter, 0L);
+	}
+
+	public void lazyField(String identifier, LongGetter<M> getter, LongSetter<M> setter, long defaultValue) {
+		addLazy(identifier, getter::apply, (m, number) -> setter.accept(m, number.longValue()), defaultValue,
+				() -> new SimpleLongProperty(null, identifier));
+	}
+
+	public <T> void lazyField(String identifier, ObjectGetter<M, T> getter, ObjectSetter<M, T> setter) {
+		addLazy(identifier, getter, setter, null, () -> new SimpleObjectProperty<>(null, identifier));
+	}
+
+	public <T> void lazyField(String identifier, ObjectGetter<M, T> getter, ObjectSetter<M, T> setter,
+			T defaultValue) {
+		addLazy(identifier, getter, setter, defaultValue, () -> new SimpleObjectProperty<>(null, identifier));
+	}
+
 
 
 	/* Field type String */
@@ -665,6 +1337,40 @@ public class ModelWrapper<M> {
 		return add(new BeanPropertyField<>(this::propertyWasChanged, getter, setter, SimpleStringProperty::new));
 	}
 
+	/**
+	 * Defines how new instances of an immutable model class are created with a builder. The fields that are defined on
+	 * the returned {@link BuilderMapping} pass their values to a single builder on {@link #commit()} so that exactly one
+	 * new model instance is created, no matter how many fields there are. With
+	 * {@link #immutableField(StringGetter, StringImmutableSetter)} instead, every field creates its own copy of the
+	 * model instance.
+	 * <p>
+	 * Example:
+	 * <pre>
+	 * ModelWrapper{@code<Person>} personWrapper = new ModelWrapper{@code<>}();
+	 * BuilderMapping{@code<Person, Person.Builder>} builder = personWrapper.withBuilder(Person::toBuilder, Person.Builder::build);
+	 *
+	 * StringProperty name = builder.immutableField(Person::getName, Person.Builder::name);
+	 * </pre>
+	 *
+	 * @param toBuilder
+	 *            a function that creates a builder that is initialized with the values of the given model instance.
+	 * @param build
+	 *            a function that creates the model instance from the builder.
+	 * @param <B>
+	 *            the type of the builder.
+	 * @return the mapping that is used to define the fields.
+	 * @throws IllegalStateException
+	 *             if a builder was already defined for this wrapper.
+	 */
+	public <B> BuilderMapping<M, B> withBuilder(Function<M, B> toBuilder, Function<B, M> build) {
+		if (builderMapping != null) {
+			throw new IllegalStateException("A builder was already defined for this ModelWrapper.");
+		}
+		final BuilderMapping<M, B> mapping = new BuilderMapping<>(this, toBuilder, build);
+		builderMapping = mapping;
+		return mapping;
+	}
+
 	/**
 	 * Add a new immutable field of type String to this instance of the wrapper. This method is used for immutable
 	 * model elements that have getters to get values for it's fields but not setters.
@@ -874,7 +1580,8 @@ public class ModelWrapper<M> {
 	/* Field type Boolean */
 
 	public BooleanProperty field(BooleanGetter<M> getter, BooleanSetter<M> setter) {
-		return add(new BeanPropertyField<>(this::propertyWasChanged, getter, setter, SimpleBooleanProperty::new));
+		return add(new BooleanBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept,
+				SimpleBooleanProperty::new));
 	}
 
 	public BooleanProperty immutableField(BooleanGetter<M> getter, BooleanImmutableSetter<M> immutableSetter){
@@ -882,7 +1589,8 @@ public class ModelWrapper<M> {
 	}
 
 	public BooleanProperty field(BooleanGetter<M> getter, BooleanSetter<M> setter, boolean defaultValue) {
-		return add(new BeanPropertyField<>(this::propertyWasChanged, getter, setter, defaultValue,
+		return add(new BooleanBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept,
+				defaultValue,
 				SimpleBooleanProperty::new));
 	}
 
@@ -899,14 +1607,16 @@ public class ModelWrapper<M> {
 	}
 
 	public BooleanProperty field(String identifier, BooleanGetter<M> getter, BooleanSetter<M> setter) {
-		return addIdentified(identifier, new BeanPropertyField<>(this::propertyWasChanged, getter, setter,
+		return addIdentified(identifier, new BooleanBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
 				() -> new SimpleBooleanProperty(null, identifier)));
 	}
 
 	public BooleanProperty field(String identifier, BooleanGetter<M> getter, BooleanSetter<M> setter,
 			boolean defaultValue) {
-		return addIdentified(identifier, new BeanPropertyField<>(this::propertyWasChanged, getter, setter, defaultValue,
-				() -> new SimpleBooleanProperty(null, identifier)));
+		return addIdentified(identifier, new BooleanBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
+				defaultValue, () -> new SimpleBooleanProperty(null, identifier)));
 	}
 
 	public BooleanProperty immutableField(String identifier, BooleanGetter<M> getter, BooleanImmutableSetter<M> immutableSetter){
@@ -927,15 +1637,71 @@ public class ModelWrapper<M> {
 				() -> new SimpleBooleanProperty(null, identifier)));
 	}
 
+	/**
+	 * Add a new field of type <code>boolean</code> to this instance of the wrapper. In contrast to
+	 * {@link #field(BooleanGetter,
+			BooleanSetter)} the getter and setter work with the primitive type so that the value is
+	 * never boxed when it is committed, reloaded or compared with the model.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * BooleanProperty wrappedProperty = personWrapper.booleanField(Person::get..., Person::set...);
+	 * </pre>
+	 *
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param setter
+	 *            a function that sets the given value to the given model element.
+	 *
+	 * @return The wrapped property instance.
+	 */
+	public BooleanProperty booleanField(BooleanPrimitiveGetter<M> getter, BooleanPrimitiveSetter<M> setter) {
+		return add(new BooleanBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				SimpleBooleanProperty::new));
+	}
+
+	/**
+	 * See {@link #booleanField(BooleanPrimitiveGetter,
+			BooleanPrimitiveSetter)}. This method additionally has a parameter to
+	 * define the default value that is used when the {@link #reset()} method is used.
+	 */
+	public BooleanProperty booleanField(BooleanPrimitiveGetter<M> getter, BooleanPrimitiveSetter<M> setter,
+			boolean defaultValue) {
+		return add(new BooleanBeanPropertyField<>(this::propertyWasChanged, getter, setter, defaultValue,
+				SimpleBooleanProperty::new));
+	}
+
+	public BooleanProperty booleanField(String identifier, BooleanPrimitiveGetter<M> getter,
+			BooleanPrimitiveSetter<M> setter) {
+		return addIdentified(identifier, new BooleanBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				() -> new SimpleBooleanProperty(null, identifier)));
+	}
+
+	public BooleanProperty booleanField(String identifier, BooleanPrimitiveGetter<M> getter,
+			BooleanPrimitiveSetter<M> setter,
+			boolean defaultValue) {
+		return addIdentified(identifier, new BooleanBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				defaultValue, () -> new SimpleBooleanProperty(null, identifier)));
+	}
+
+	/**
+	 * A <code>null</code> value of the model is handled like the property does: it is replaced by <code>false</code>.
+	 */
+	private static <M> BooleanPrimitiveGetter<M> unboxed(BooleanGetter<M> getter) {
+		return model -> {
+			final Boolean value = getter.apply(model);
+			return value == null ? false : value;
+		};
+	}
+
 
 
 	/* Field type Double */
 
 
 	public DoubleProperty field(DoubleGetter<M> getter, DoubleSetter<M> setter) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.doubleValue()),
+		return add(new DoubleBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept,
 				SimpleDoubleProperty::new));
 	}
 
@@ -950,9 +1716,7 @@ public class ModelWrapper<M> {
 	}
 
 	public DoubleProperty field(DoubleGetter<M> getter, DoubleSetter<M> setter, double defaultValue) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.doubleValue()),
+		return add(new DoubleBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept,
 				defaultValue,
 				SimpleDoubleProperty::new));
 	}
@@ -976,22 +1740,16 @@ public class ModelWrapper<M> {
 	}
 
 	public DoubleProperty field(String identifier, DoubleGetter<M> getter, DoubleSetter<M> setter) {
-
-		return addIdentified(identifier, new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply,
-				(m, number) -> setter.accept(m, number.doubleValue()),
+		return addIdentified(identifier, new DoubleBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
 				() -> new SimpleDoubleProperty(null, identifier)));
 	}
 
 	public DoubleProperty field(String identifier, DoubleGetter<M> getter, DoubleSetter<M> setter,
 			double defaultValue) {
-		return addIdentified(identifier, new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply,
-				(m, number) -> setter.accept(m, number.doubleValue()),
-				defaultValue,
-				() -> new SimpleDoubleProperty(null, identifier)));
+		return addIdentified(identifier, new DoubleBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
+				defaultValue, () -> new SimpleDoubleProperty(null, identifier)));
 	}
 
 
@@ -1025,15 +1783,69 @@ public class ModelWrapper<M> {
 						() -> new SimpleDoubleProperty(null, identifier)));
 	}
 
+	/**
+	 * Add a new field of type <code>double</code> to this instance of the wrapper. In contrast to
+	 * {@link #field(DoubleGetter,
+			DoubleSetter)} the getter and setter work with the primitive type so that the value is
+	 * never boxed when it is committed, reloaded or compared with the model.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * DoubleProperty wrappedProperty = personWrapper.doubleField(Person::get..., Person::set...);
+	 * </pre>
+	 *
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param setter
+	 *            a function that sets the given value to the given model element.
+	 *
+	 * @return The wrapped property instance.
+	 */
+	public DoubleProperty doubleField(DoublePrimitiveGetter<M> getter, DoublePrimitiveSetter<M> setter) {
+		return add(new DoubleBeanPropertyField<>(this::propertyWasChanged, getter, setter, SimpleDoubleProperty::new));
+	}
+
+	/**
+	 * See {@link #doubleField(DoublePrimitiveGetter,
+			DoublePrimitiveSetter)}. This method additionally has a parameter to
+	 * define the default value that is used when the {@link #reset()} method is used.
+	 */
+	public DoubleProperty doubleField(DoublePrimitiveGetter<M> getter, DoublePrimitiveSetter<M> setter,
+			double defaultValue) {
+		return add(new DoubleBeanPropertyField<>(this::propertyWasChanged, getter, setter, defaultValue,
+				SimpleDoubleProperty::new));
+	}
+
+	public DoubleProperty doubleField(String identifier, DoublePrimitiveGetter<M> getter,
+			DoublePrimitiveSetter<M> setter) {
+		return addIdentified(identifier, new DoubleBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				() -> new SimpleDoubleProperty(null, identifier)));
+	}
+
+	public DoubleProperty doubleField(String identifier, DoublePrimitiveGetter<M> getter,
+			DoublePrimitiveSetter<M> setter,
+			double defaultValue) {
+		return addIdentified(identifier, new DoubleBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				defaultValue, () -> new SimpleDoubleProperty(null, identifier)));
+	}
+
+	/**
+	 * A <code>null</code> value of the model is handled like the property does: it is replaced by <code>0.0</code>.
+	 */
+	private static <M> DoublePrimitiveGetter<M> unboxed(DoubleGetter<M> getter) {
+		return model -> {
+			final Double value = getter.apply(model);
+			return value == null ? 0.0 : value;
+		};
+	}
 
 
 
 	/* Field type Float */
 
 	public FloatProperty field(FloatGetter<M> getter, FloatSetter<M> setter) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.floatValue()),
+		return add(new FloatBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept,
 				SimpleFloatProperty::new));
 	}
 
@@ -1047,9 +1859,7 @@ public class ModelWrapper<M> {
 	}
 
 	public FloatProperty field(FloatGetter<M> getter, FloatSetter<M> setter, float defaultValue) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.floatValue()), defaultValue,
+		return add(new FloatBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept, defaultValue,
 				SimpleFloatProperty::new));
 	}
 
@@ -1072,19 +1882,15 @@ public class ModelWrapper<M> {
 	}
 
 	public FloatProperty field(String identifier, FloatGetter<M> getter, FloatSetter<M> setter) {
-		return addIdentified(identifier, new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.floatValue()),
+		return addIdentified(identifier, new FloatBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
 				() -> new SimpleFloatProperty(null, identifier)));
 	}
 
 	public FloatProperty field(String identifier, FloatGetter<M> getter, FloatSetter<M> setter, float defaultValue) {
-
-		return addIdentified(identifier, new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.floatValue()),
-				defaultValue,
-				() -> new SimpleFloatProperty(null, identifier)));
+		return addIdentified(identifier, new FloatBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
+				defaultValue, () -> new SimpleFloatProperty(null, identifier)));
 	}
 
 
@@ -1116,14 +1922,66 @@ public class ModelWrapper<M> {
 						() -> new SimpleFloatProperty(null, identifier)));
 	}
 
+	/**
+	 * Add a new field of type <code>float</code> to this instance of the wrapper. In contrast to
+	 * {@link #field(FloatGetter, FloatSetter)} the getter and setter work with the primitive type so that the value is
+	 * never boxed when it is committed, reloaded or compared with the model.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * FloatProperty wrappedProperty = personWrapper.floatField(Person::get..., Person::set...);
+	 * </pre>
+	 *
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param setter
+	 *            a function that sets the given value to the given model element.
+	 *
+	 * @return The wrapped property instance.
+	 */
+	public FloatProperty floatField(FloatPrimitiveGetter<M> getter, FloatPrimitiveSetter<M> setter) {
+		return add(new FloatBeanPropertyField<>(this::propertyWasChanged, getter, setter, SimpleFloatProperty::new));
+	}
+
+	/**
+	 * See {@link #floatField(FloatPrimitiveGetter, FloatPrimitiveSetter)}. This method additionally has a parameter to
+	 * define the default value that is used when the {@link #reset()} method is used.
+	 */
+	public FloatProperty floatField(FloatPrimitiveGetter<M> getter, FloatPrimitiveSetter<M> setter,
+			float defaultValue) {
+		return add(new FloatBeanPropertyField<>(this::propertyWasChanged, getter, setter, defaultValue,
+				SimpleFloatProperty::new));
+	}
+
+	public FloatProperty floatField(String identifier, FloatPrimitiveGetter<M> getter, FloatPrimitiveSetter<M> setter) {
+		return addIdentified(identifier, new FloatBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				() -> new SimpleFloatProperty(null, identifier)));
+	}
+
+	public FloatProperty floatField(String identifier, FloatPrimitiveGetter<M> getter, FloatPrimitiveSetter<M> setter,
+			float defaultValue) {
+		return addIdentified(identifier, new FloatBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				defaultValue, () -> new SimpleFloatProperty(null, identifier)));
+	}
+
+	/**
+	 * A <code>null</code> value of the model is handled like the property does: it is replaced by <code>0f</code>.
+	 */
+	private static <M> FloatPrimitiveGetter<M> unboxed(FloatGetter<M> getter) {
+		return model -> {
+			final Float value = getter.apply(model);
+			return value == null ? 0f : value;
+		};
+	}
+
+
 
 	/* Field type Integer */
 
 
 	public IntegerProperty field(IntGetter<M> getter, IntSetter<M> setter) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.intValue()),
+		return add(new IntBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept,
 				SimpleIntegerProperty::new));
 	}
 
@@ -1138,10 +1996,7 @@ public class ModelWrapper<M> {
 	}
 
 	public IntegerProperty field(IntGetter<M> getter, IntSetter<M> setter, int defaultValue) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.intValue()),
-				defaultValue,
+		return add(new IntBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept, defaultValue,
 				SimpleIntegerProperty::new));
 	}
 
@@ -1166,18 +2021,15 @@ public class ModelWrapper<M> {
 	}
 
 	public IntegerProperty field(String identifier, IntGetter<M> getter, IntSetter<M> setter) {
-		return addIdentified(identifier, new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.intValue()),
+		return addIdentified(identifier, new IntBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
 				() -> new SimpleIntegerProperty(null, identifier)));
 	}
 
 	public IntegerProperty field(String identifier, IntGetter<M> getter, IntSetter<M> setter, int defaultValue) {
-		return addIdentified(identifier, new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.intValue()),
-				defaultValue,
-				() -> new SimpleIntegerProperty(null, identifier)));
+		return addIdentified(identifier, new IntBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
+				defaultValue, () -> new SimpleIntegerProperty(null, identifier)));
 	}
 
 
@@ -1209,14 +2061,64 @@ public class ModelWrapper<M> {
 				() -> new SimpleIntegerProperty(null, identifier)));
 	}
 
+	/**
+	 * Add a new field of type <code>int</code> to this instance of the wrapper. In contrast to
+	 * {@link #field(IntGetter, IntSetter)} the getter and setter work with the primitive type so that the value is
+	 * never boxed when it is committed, reloaded or compared with the model.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * IntegerProperty wrappedProperty = personWrapper.intField(Person::get..., Person::set...);
+	 * </pre>
+	 *
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param setter
+	 *            a function that sets the given value to the given model element.
+	 *
+	 * @return The wrapped property instance.
+	 */
+	public IntegerProperty intField(IntPrimitiveGetter<M> getter, IntPrimitiveSetter<M> setter) {
+		return add(new IntBeanPropertyField<>(this::propertyWasChanged, getter, setter, SimpleIntegerProperty::new));
+	}
+
+	/**
+	 * See {@link #intField(IntPrimitiveGetter, IntPrimitiveSetter)}. This method additionally has a parameter to
+	 * define the default value that is used when the {@link #reset()} method is used.
+	 */
+	public IntegerProperty intField(IntPrimitiveGetter<M> getter, IntPrimitiveSetter<M> setter, int defaultValue) {
+		return add(new IntBeanPropertyField<>(this::propertyWasChanged, getter, setter, defaultValue,
+				SimpleIntegerProperty::new));
+	}
+
+	public IntegerProperty intField(String identifier, IntPrimitiveGetter<M> getter, IntPrimitiveSetter<M> setter) {
+		return addIdentified(identifier, new IntBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				() -> new SimpleIntegerProperty(null, identifier)));
+	}
+
+	public IntegerProperty intField(String identifier, IntPrimitiveGetter<M> getter, IntPrimitiveSetter<M> setter,
+			int defaultValue) {
+		return addIdentified(identifier, new IntBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				defaultValue, () -> new SimpleIntegerProperty(null, identifier)));
+	}
+
+	/**
+	 * A <code>null</code> value of the model is handled like the property does: it is replaced by <code>0</code>.
+	 */
+	private static <M> IntPrimitiveGetter<M> unboxed(IntGetter<M> getter) {
+		return model -> {
+			final Integer value = getter.apply(model);
+			return value == null ? 0 : value;
+		};
+	}
+
 
 
 	/* Field type Long */
 
 	public LongProperty field(LongGetter<M> getter, LongSetter<M> setter) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.longValue()),
+		return add(new LongBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept,
 				SimpleLongProperty::new));
 	}
 
@@ -1230,10 +2132,7 @@ public class ModelWrapper<M> {
 	}
 
 	public LongProperty field(LongGetter<M> getter, LongSetter<M> setter, long defaultValue) {
-		return add(new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.longValue()),
-				defaultValue,
+		return add(new LongBeanPropertyField<>(this::propertyWasChanged, unboxed(getter), setter::accept, defaultValue,
 				SimpleLongProperty::new));
 	}
 
@@ -1257,19 +2156,15 @@ public class ModelWrapper<M> {
 
 
 	public LongProperty field(String identifier, LongGetter<M> getter, LongSetter<M> setter) {
-		return addIdentified(identifier, new BeanPropertyField<>(
-				this::propertyWasChanged,
-				getter::apply, (m, number) -> setter.accept(m, number.longValue()),
+		return addIdentified(identifier, new LongBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
 				() -> new SimpleLongProperty(null, identifier)));
 	}
 
 	public LongProperty field(String identifier, LongGetter<M> getter, LongSetter<M> setter, long defaultValue) {
-		return addIdentified(identifier,
-				new BeanPropertyField<>(
-						this::propertyWasChanged,
-						getter::apply, (m, number) -> setter.accept(m, number.longValue()),
-						defaultValue,
-						() -> new SimpleLongProperty(null, identifier)));
+		return addIdentified(identifier, new LongBeanPropertyField<>(this::propertyWasChanged, unboxed(getter),
+				setter::accept,
+				defaultValue, () -> new SimpleLongProperty(null, identifier)));
 	}
 
 
@@ -1301,6 +2196,58 @@ public class ModelWrapper<M> {
 				() -> new SimpleLongProperty(null, identifier)));
 	}
 
+	/**
+	 * Add a new field of type <code>long</code> to this instance of the wrapper. In contrast to
+	 * {@link #field(LongGetter, LongSetter)} the getter and setter work with the primitive type so that the value is
+	 * never boxed when it is committed, reloaded or compared with the model.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * LongProperty wrappedProperty = personWrapper.longField(Person::get..., Person::set...);
+	 * </pre>
+	 *
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param setter
+	 *            a function that sets the given value to the given model element.
+	 *
+	 * @return The wrapped property instance.
+	 */
+	public LongProperty longField(LongPrimitiveGetter<M> getter, LongPrimitiveSetter<M> setter) {
+		return add(new LongBeanPropertyField<>(this::propertyWasChanged, getter, setter, SimpleLongProperty::new));
+	}
+
+	/**
+	 * See {@link #longField(LongPrimitiveGetter, LongPrimitiveSetter)}. This method additionally has a parameter to
+	 * define the default value that is used when the {@link #reset()} method is used.
+	 */
+	public LongProperty longField(LongPrimitiveGetter<M> getter, LongPrimitiveSetter<M> setter, long defaultValue) {
+		return add(new LongBeanPropertyField<>(this::propertyWasChanged, getter, setter, defaultValue,
+				SimpleLongProperty::new));
+	}
+
+	public LongProperty longField(String identifier, LongPrimitiveGetter<M> getter, LongPrimitiveSetter<M> setter) {
+		return addIdentified(identifier, new LongBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				() -> new SimpleLongProperty(null, identifier)));
+	}
+
+	public LongProperty longField(String identifier, LongPrimitiveGetter<M> getter, LongPrimitiveSetter<M> setter,
+			long defaultValue) {
+		return addIdentified(identifier, new LongBeanPropertyField<>(this::propertyWasChanged, getter, setter,
+				defaultValue, () -> new SimpleLongProperty(null, identifier)));
+	}
+
+	/**
+	 * A <code>null</code> value of the model is handled like the property does: it is replaced by <code>0L</code>.
+	 */
+	private static <M> LongPrimitiveGetter<M> unboxed(LongGetter<M> getter) {
+		return model -> {
+			final Long value = getter.apply(model);
+			return value == null ? 0L : value;
+		};
+	}
+
 
 
 	/* Field type generic */
@@ -0,0 +1,303 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import eu.lestard.doc.Beta;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Undo/redo history and snapshots for the fields of a {@link ModelWrapper}.
+ * <p>
+ * The values of all fields are stored in a persistent map with structural sharing. Every change of a field creates a
+ * new version of this map that shares everything but the path to the changed value with the previous version. This
+ * way a history entry is recorded for every single edit without copying the values of all fields, which is important
+ * for forms with hundreds of fields.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * ModelWrapper{@code<Person>} personWrapper = new ModelWrapper{@code<>}();
+ * StringProperty name = personWrapper.field(Person::getName, Person::setName);
+ *
+ * ModelWrapperHistory{@code<Person>} history = new ModelWrapperHistory{@code<>}(personWrapper);
+ *
+ * name.set("hugo");
+ * history.undo(); // name has its old value again
+ * history.redo(); // name is "hugo" again
+ * </pre>
+ *
+ * Changes of the same field that follow each other within the coalescing window (for example each keystroke in a
+ * text field) are combined to a single history entry. All changes of a batch update of the wrapper (see
+ * {@link ModelWrapper#beginUpdate()}), including {@link ModelWrapper#reload()} and {@link ModelWrapper#reset()}, are
+ * combined as well.
+ * <p>
+ * The history only tracks the fields of the wrapper. It doesn't undo commits to the model instance.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+@Beta
+public class ModelWrapperHistory<M> {
+
+	/**
+	 * The default maximum number of undo steps.
+	 */
+	public static final int DEFAULT_MAX_DEPTH = 100;
+
+	/**
+	 * The default time in which changes of the same field are combined to a single history entry.
+	 */
+	public static final Duration DEFAULT_COALESCING_WINDOW = Duration.ofMillis(500);
+
+	/**
+	 * An immutable snapshot of the values of all fields. See {@link #snapshot()}.
+	 */
+	public static final class Snapshot {
+		private final PersistentFieldMap values;
+
+		private Snapshot(PersistentFieldMap values) {
+			this.values = values;
+		}
+	}
+
+	private final ModelWrapper<M> wrapper;
+	private final int maxDepth;
+	private final long coalescingWindowNanos;
+
+	private final Map<PropertyField<?, M, ?>, Integer> indexes = new IdentityHashMap<>();
+	private final List<PropertyField<?, M, ?>> fieldsByIndex = new ArrayList<>();
+
+	private PersistentFieldMap current = PersistentFieldMap.EMPTY;
+	private final Deque<PersistentFieldMap> undoStack = new ArrayDeque<>();
+	private final Deque<PersistentFieldMap> redoStack = new ArrayDeque<>();
+
+	private final ReadOnlyBooleanWrapper canUndo = new ReadOnlyBooleanWrapper();
+	private final ReadOnlyBooleanWrapper canRedo = new ReadOnlyBooleanWrapper();
+
+	/**
+	 * The last change that was recorded. Used to decide whether the next change is coalesced.
+	 */
+	private PropertyField<?, M, ?> lastChangedField;
+	private long lastChangeTime;
+	private int lastUpdateGeneration = -1;
+
+	/**
+	 * <code>true</code> while the history itself changes the fields.
+	 */
+	private boolean restoring = false;
+
+	private final Consumer<PropertyField<?, M, ?>> fieldChangeListener = this::fieldWasChanged;
+
+	/**
+	 * Creates a history with a maximum of {@link #DEFAULT_MAX_DEPTH} undo steps and a coalescing window of
+	 * {@link #DEFAULT_COALESCING_WINDOW}.
+	 *
+	 * @param wrapper
+	 *            the wrapper whose fields are tracked.
+	 */
+	public ModelWrapperHistory(ModelWrapper<M> wrapper) {
+		this(wrapper, DEFAULT_MAX_DEPTH, DEFAULT_COALESCING_WINDOW);
+	}
+
+	/**
+	 * @param wrapper
+	 *            the wrapper whose fields are tracked.
+	 * @param maxDepth
+	 *            the maximum number of undo steps. Older steps are discarded.
+	 * @param coalescingWindow
+	 *            changes of the same field within this time are combined to a single undo step. Use
+	 *            {@link Duration#ZERO} to record every change.
+	 */
+	public ModelWrapperHistory(ModelWrapper<M> wrapper, int maxDepth, Duration coalescingWindow) {
+		if (maxDepth < 1) {
+			throw new IllegalArgumentException("The maximum depth has to be at least 1 but was " + maxDepth);
+		}
+		this.wrapper = Objects.requireNonNull(wrapper);
+		this.maxDepth = maxDepth;
+		this.coalescingWindowNanos = coalescingWindow.toNanos();
+
+		for (PropertyField<?, M, ?> field : wrapper.getAllFields()) {
+			current = current.with(indexOf(field), ChangeSet.copyOf(field.getValue()));
+		}
+
+		wrapper.addFieldChangeListener(fieldChangeListener);
+	}
+
+	/**
+	 * Reverts the last change of the fields.
+	 *
+	 * @return <code>false</code> if there was nothing to undo.
+	 */
+	public boolean undo() {
+		if (undoStack.isEmpty()) {
+			return false;
+		}
+		redoStack.push(current);
+		restore(undoStack.pop());
+		updateFlags();
+		return true;
+	}
+
+	/**
+	 * Applies the last change that was reverted with {@link #undo()} again.
+	 *
+	 * @return <code>false</code> if there was nothing to redo.
+	 */
+	public boolean redo() {
+		if (redoStack.isEmpty()) {
+			return false;
+		}
+		undoStack.push(current);
+		restore(redoStack.pop());
+		updateFlags();
+		return true;
+	}
+
+	/**
+	 * Creates a snapshot of the current values of all fields. Because of the structural sharing this doesn't copy any
+	 * values.
+	 *
+	 * @return the snapshot.
+	 */
+	public Snapshot snapshot() {
+		return new Snapshot(current);
+	}
+
+	/**
+	 * Sets the values of all fields that were changed since the given snapshot back to the values of the snapshot. This
+	 * is recorded as a single undo step.
+	 *
+	 * @param snapshot
+	 *            a snapshot that was created by this history.
+	 */
+	public void restore(Snapshot snapshot) {
+		if (snapshot.values == current) {
+			return;
+		}
+		pushUndo(current);
+		redoStack.clear();
+		restore(snapshot.values);
+		updateFlags();
+	}
+
+	/**
+	 * Removes all undo and redo steps.
+	 */
+	public void clear() {
+		undoStack.clear();
+		redoStack.clear();
+		lastChangedField = null;
+		updateFlags();
+	}
+
+	/**
+	 * Stops tracking the changes of the wrapper.
+	 */
+	public void dispose() {
+		wrapper.removeFieldChangeListener(fieldChangeListener);
+	}
+
+	public ReadOnlyBooleanProperty canUndoProperty() {
+		return canUndo.getReadOnlyProperty();
+	}
+
+	public boolean canUndo() {
+		return canUndo.get();
+	}
+
+	public ReadOnlyBooleanProperty canRedoProperty() {
+		return canRedo.getReadOnlyProperty();
+	}
+
+	public boolean canRedo() {
+		return canRedo.get();
+	}
+
+	/**
+	 * @return the number of available undo steps.
+	 */
+	public int getUndoCount() {
+		return undoStack.size();
+	}
+
+	private void fieldWasChanged(PropertyField<?, M, ?> field) {
+		if (restoring) {
+			return;
+		}
+
+		final int index = indexOf(field);
+		final Object value = ChangeSet.copyOf(field.getValue());
+		if (current.contains(index) && Objects.equals(current.get(index), value)) {
+			return;
+		}
+
+		final long now = System.nanoTime();
+		final int updateGeneration = wrapper.getUpdateGeneration();
+
+		final boolean sameBatchUpdate = wrapper.isUpdating() && updateGeneration == lastUpdateGeneration;
+		final boolean sameField = field == lastChangedField && now - lastChangeTime < coalescingWindowNanos;
+
+		if (!(sameBatchUpdate || sameField) || undoStack.isEmpty()) {
+			pushUndo(current);
+		}
+		redoStack.clear();
+
+		current = current.with(index, value);
+
+		lastChangedField = field;
+		lastChangeTime = now;
+		lastUpdateGeneration = wrapper.isUpdating() ? updateGeneration : -1;
+
+		updateFlags();
+	}
+
+	private void pushUndo(PersistentFieldMap values) {
+		undoStack.push(values);
+		while (undoStack.size() > maxDepth) {
+			undoStack.removeLast();
+		}
+	}
+
+	private void restore(PersistentFieldMap target) {
+		final PersistentFieldMap source = current;
+
+		restoring = true;
+		try {
+			wrapper.batch(() -> PersistentFieldMap.forEachDifference(source, target, index -> {
+				// fields that were added after the snapshot was taken are not in the snapshot
+				if (target.contains(index)) {
+					ModelWrapper.applyValue(fieldsByIndex.get(index).getProperty(), target.get(index));
+				}
+			}));
+		} finally {
+			restoring = false;
+		}
+
+		current = target;
+		lastChangedField = null;
+	}
+
+	private int indexOf(PropertyField<?, M, ?> field) {
+		Integer index = indexes.get(field);
+		if (index == null) {
+			index = fieldsByIndex.size();
+			fieldsByIndex.add(field);
+			indexes.put(field, index);
+		}
+		return index;
+	}
+
+	private void updateFlags() {
+		canUndo.set(!undoStack.isEmpty());
+		canRedo.set(!redoStack.isEmpty());
+	}
+}
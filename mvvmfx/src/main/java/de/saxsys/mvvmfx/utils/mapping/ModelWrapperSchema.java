@@ -0,0 +1,256 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.BooleanSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoubleGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.DoubleSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.FloatSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.LongSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ObjectGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.ObjectSetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringGetter;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringSetter;
+import eu.lestard.doc.Beta;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.FloatProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleFloatProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The field definitions of a {@link ModelWrapper}-like wrapper that are shared by many wrapper instances.
+ * <p>
+ * Every {@link ModelWrapper} stores the getters, setters, default values and identifiers of all of its fields. This is
+ * fine for a form with a single wrapper but when there is a wrapper for every row of a table the same metadata is
+ * duplicated thousands of times. With a schema the fields are declared only once:
+ *
+ * <pre>
+ * ModelWrapperSchema{@code<Person>} schema = new ModelWrapperSchema{@code<>}();
+ *
+ * SchemaField{@code<Person, String, StringProperty>} name = schema.field("name", Person::getName, Person::setName);
+ * SchemaField{@code<Person, Number, IntegerProperty>} age = schema.field("age", Person::getAge, Person::setAge);
+ *
+ * // for each row
+ * SchemaModelWrapper{@code<Person>} wrapper = schema.wrap(person);
+ * StringProperty nameProperty = wrapper.property(name);
+ * </pre>
+ *
+ * The {@link SchemaModelWrapper} instances only store the state of their model instance: the JavaFX properties of
+ * the fields (which are only created when they are requested) and some flags.
+ * <p>
+ * All fields have to be declared before the first wrapper is created.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+@Beta
+public class ModelWrapperSchema<M> {
+
+	private final List<SchemaField<M, ?, ?>> fields = new ArrayList<>();
+	private final Map<String, SchemaField<M, ?, ?>> fieldsByIdentifier = new HashMap<>();
+
+	private boolean sealed = false;
+
+	/**
+	 * Creates a wrapper for the given model instance.
+	 *
+	 * @param model
+	 *            the model instance. May be <code>null</code>.
+	 * @return a new wrapper.
+	 */
+	public SchemaModelWrapper<M> wrap(M model) {
+		seal();
+		return new SchemaModelWrapper<>(this, model);
+	}
+
+	/**
+	 * Creates a wrapper without a model instance. The model instance can be defined afterwards with
+	 * {@link SchemaModelWrapper#set(Object)}.
+	 *
+	 * @return a new wrapper.
+	 */
+	public SchemaModelWrapper<M> wrap() {
+		return wrap(null);
+	}
+
+	/**
+	 * @return all fields of this schema in the order they were declared.
+	 */
+	public List<SchemaField<M, ?, ?>> getFields() {
+		return Collections.unmodifiableList(fields);
+	}
+
+	/**
+	 * @param identifier
+	 *            the identifier of a field.
+	 * @return the field with the given identifier if there is one.
+	 */
+	public Optional<SchemaField<M, ?, ?>> getField(String identifier) {
+		return Optional.ofNullable(fieldsByIdentifier.get(identifier));
+	}
+
+	/**
+	 * Prevents further field declarations. Called as soon as the first wrapper is created because the wrappers size
+	 * their state by the number of fields.
+	 */
+	void seal() {
+		sealed = true;
+	}
+
+	int size() {
+		return fields.size();
+	}
+
+	SchemaField<M, ?, ?> getField(int index) {
+		return fields.get(index);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T, R extends Property<T>> SchemaField<M, T, R> add(String identifier, Function<M, T> getter,
+			BiConsumer<M, T> setter, T defaultValue, BiFunction<Object, String, R> propertyFactory) {
+		if (sealed) {
+			throw new IllegalStateException("The field [" + identifier
+					+ "] can't be added because there are already wrappers for this schema.");
+		}
+
+		if (fieldsByIdentifier.containsKey(identifier)) {
+			return (SchemaField<M, T, R>) fieldsByIdentifier.get(identifier);
+		}
+
+		final SchemaField<M, T, R> field = new SchemaField<>(fields.size(), identifier, getter, setter, defaultValue,
+				propertyFactory);
+		fields.add(field);
+		fieldsByIdentifier.put(identifier, field);
+		return field;
+	}
+
+
+	/* Field type String */
+
+	/**
+	 * Declare a new field of type String. If there is already a field with the given identifier, this field is
+	 * returned.
+	 *
+	 * @param identifier
+	 *            an identifier for the field.
+	 * @param getter
+	 *            a function that returns the current value of the field for a given model element.
+	 * @param setter
+	 *            a function that sets the given value to the given model element.
+	 * @return the declared field.
+	 * @throws IllegalStateException
+	 *             if there are already wrappers for this schema.
+	 */
+	public SchemaField<M, String, StringProperty> field(String identifier, StringGetter<M> getter,
+			StringSetter<M> setter) {
+		return field(identifier, getter, setter, null);
+	}
+
+	/**
+	 * See {@link #field(String, StringGetter, StringSetter)}.
+	 */
+	public SchemaField<M, String, StringProperty> field(String identifier, StringGetter<M> getter,
+			StringSetter<M> setter, String defaultValue) {
+		return add(identifier, getter, setter, defaultValue, SimpleStringProperty::new);
+	}
+
+	/* Field type Boolean */
+
+	public SchemaField<M, Boolean, BooleanProperty> field(String identifier, BooleanGetter<M> getter,
+			BooleanSetter<M> setter) {
+		return field(identifier, getter, setter, false);
+	}
+
+	public SchemaField<M, Boolean, BooleanProperty> field(String identifier, BooleanGetter<M> getter,
+			BooleanSetter<M> setter, boolean defaultValue) {
+		return add(identifier, getter, setter, defaultValue, SimpleBooleanProperty::new);
+	}
+
+	/* Field type Double */
+
+	public SchemaField<M, Number, DoubleProperty> field(String identifier, DoubleGetter<M> getter,
+			DoubleSetter<M> setter) {
+		return field(identifier, getter, setter, 0.0);
+	}
+
+	public SchemaField<M, Number, DoubleProperty> field(String identifier, DoubleGetter<M> getter,
+			DoubleSetter<M> setter, double defaultValue) {
+		return add(identifier, getter::apply, (m, number) -> setter.accept(m, number.doubleValue()), defaultValue,
+				SimpleDoubleProperty::new);
+	}
+
+	/* Field type Float */
+
+	public SchemaField<M, Number, FloatProperty> field(String identifier, FloatGetter<M> getter,
+			FloatSetter<M> setter) {
+		return field(identifier, getter, setter, 0f);
+	}
+
+	public SchemaField<M, Number, FloatProperty> field(String identifier, FloatGetter<M> getter,
+			FloatSetter<M> setter, float defaultValue) {
+		return add(identifier, getter::apply, (m, number) -> setter.accept(m, number.floatValue()), defaultValue,
+				SimpleFloatProperty::new);
+	}
+
+	/* Field type Integer */
+
+	public SchemaField<M, Number, IntegerProperty> field(String identifier, IntGetter<M> getter,
+			IntSetter<M> setter) {
+		return field(identifier, getter, setter, 0);
+	}
+
+	public SchemaField<M, Number, IntegerProperty> field(String identifier, IntGetter<M> getter,
+			IntSetter<M> setter, int defaultValue) {
+		return add(identifier, getter::apply, (m, number) -> setter.accept(m, number.intValue()), defaultValue,
+				SimpleIntegerProperty::new);
+	}
+
+	/* Field type Long */
+
+	public SchemaField<M, Number, LongProperty> field(String identifier, LongGetter<M> getter,
+			LongSetter<M> setter) {
+		return field(identifier, getter, setter, 0L);
+	}
+
+	public SchemaField<M, Number, LongProperty> field(String identifier, LongGetter<M> getter,
+			LongSetter<M> setter, long defaultValue) {
+		return add(identifier, getter::apply, (m, number) -> setter.accept(m, number.longValue()), defaultValue,
+				SimpleLongProperty::new);
+	}
+
+	/* Field type Object */
+
+	public <T> SchemaField<M, T, ObjectProperty<T>> field(String identifier, ObjectGetter<M, T> getter,
+			ObjectSetter<M, T> setter) {
+		return field(identifier, getter, setter, null);
+	}
+
+	public <T> SchemaField<M, T, ObjectProperty<T>> field(String identifier, ObjectGetter<M, T> getter,
+			ObjectSetter<M, T> setter, T defaultValue) {
+		return add(identifier, getter, setter, defaultValue, SimpleObjectProperty<T>::new);
+	}
+}
@@ -0,0 +1,140 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable map from field indexes to field values that is used for the snapshots of {@link ModelWrapperHistory}.
+ * <p>
+ * The map is a trie with 32 entries per node (like the persistent vectors of Clojure or Scala). Changing a value
+ * copies only the nodes on the path to the value, all other nodes are shared with the previous version. Therefore
+ * each snapshot costs O(log32 n) time and memory instead of a full copy of all n values. For a form with up to 1024
+ * fields this is two nodes per change.
+ * <p>
+ * Two versions of the map can be compared efficiently because shared nodes are skipped without looking at their
+ * values.
+ */
+final class PersistentFieldMap {
+
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	/**
+	 * Stored instead of <code>null</code> values, so that <code>null</code> can be used for absent entries.
+	 */
+	private static final Object NULL = new Object();
+
+	static final PersistentFieldMap EMPTY = new PersistentFieldMap(new Object[WIDTH], 0);
+
+	private final Object[] root;
+
+	/**
+	 * The number of bits the index has to be shifted to get the slot in the root node. 0 if the root node contains
+	 * the values.
+	 */
+	private final int shift;
+
+	private PersistentFieldMap(Object[] root, int shift) {
+		this.root = root;
+		this.shift = shift;
+	}
+
+	/**
+	 * @return <code>true</code> if there is a value for the given index (which may be <code>null</code>).
+	 */
+	boolean contains(int index) {
+		return lookup(index) != null;
+	}
+
+	/**
+	 * @return the value for the given index or <code>null</code> if there is none.
+	 */
+	Object get(int index) {
+		final Object value = lookup(index);
+		return value == NULL ? null : value;
+	}
+
+	private Object lookup(int index) {
+		if (index >= capacity()) {
+			return null;
+		}
+		Object[] node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Object[]) node[(index >>> level) & MASK];
+			if (node == null) {
+				return null;
+			}
+		}
+		return node[index & MASK];
+	}
+
+	/**
+	 * @return a new version of this map that contains the given value for the given index.
+	 */
+	PersistentFieldMap with(int index, Object value) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException("Index: " + index);
+		}
+
+		PersistentFieldMap map = this;
+		while (index >= map.capacity()) {
+			map = map.grow();
+		}
+		return new PersistentFieldMap(set(map.root, map.shift, index, value == null ? NULL : value), map.shift);
+	}
+
+	private static Object[] set(Object[] node, int level, int index, Object value) {
+		final Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+		if (level == 0) {
+			copy[index & MASK] = value;
+		} else {
+			final int slot = (index >>> level) & MASK;
+			copy[slot] = set((Object[]) copy[slot], level - BITS, index, value);
+		}
+		return copy;
+	}
+
+	private int capacity() {
+		return 1 << (shift + BITS);
+	}
+
+	private PersistentFieldMap grow() {
+		final Object[] newRoot = new Object[WIDTH];
+		newRoot[0] = root;
+		return new PersistentFieldMap(newRoot, shift + BITS);
+	}
+
+	/**
+	 * Calls the given consumer with the index of every entry that has a different value in the two maps. Nodes that
+	 * are shared between both maps are skipped.
+	 */
+	static void forEachDifference(PersistentFieldMap a, PersistentFieldMap b, IntConsumer consumer) {
+		while (a.shift < b.shift) {
+			a = a.grow();
+		}
+		while (b.shift < a.shift) {
+			b = b.grow();
+		}
+		forEachDifference(a.root, b.root, a.shift, 0, consumer);
+	}
+
+	private static void forEachDifference(Object[] a, Object[] b, int level, int offset, IntConsumer consumer) {
+		if (a == b) {
+			return;
+		}
+		for (int slot = 0; slot < WIDTH; slot++) {
+			final Object valueA = a == null ? null : a[slot];
+			final Object valueB = b == null ? null : b[slot];
+			final int index = offset + (slot << level);
+
+			if (level == 0) {
+				if (!Objects.equals(valueA, valueB)) {
+					consumer.accept(index);
+				}
+			} else {
+				forEachDifference((Object[]) valueA, (Object[]) valueB, level - BITS, index, consumer);
+			}
+		}
+	}
+}
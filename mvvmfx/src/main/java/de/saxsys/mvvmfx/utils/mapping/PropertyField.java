@@ -3,6 +3,8 @@ package de.saxsys.mvvmfx.utils.mapping;
 import javafx.beans.property.Property;
 import javafx.beans.property.StringProperty;
 
+import java.util.function.Consumer;
+
 /**
  * This interface defines the operations that are possible for each field of a wrapped class.
  *
@@ -17,6 +19,15 @@ import javafx.beans.property.StringProperty;
 interface PropertyField<T, M, R extends Property<T>> {
 	void commit(M wrappedObject);
 
+	/**
+	 * Takes the current value of this field and returns an action that writes this value to a model object like
+	 * {@link #commit(Object)}. The action doesn't access the property, so it can be executed on another thread while
+	 * the property is changed. This is used by {@link ModelWrapper#commitAsync(java.util.concurrent.Executor)}.
+	 *
+	 * @return the commit action.
+	 */
+	Consumer<M> prepareCommit();
+
 	void reload(M wrappedObject);
 
 	void resetToDefault();
@@ -36,4 +47,18 @@ interface PropertyField<T, M, R extends Property<T>> {
 	 *         otherwise <code>true</code>
 	 */
 	boolean isDifferent(M wrappedObject);
+
+	/**
+	 * @param wrappedObject
+	 *            the wrapped model object
+	 * @return the value of this field in the given model object.
+	 */
+	Object getModelValue(M wrappedObject);
+
+	/**
+	 * @return the current value of this field in the wrapper.
+	 */
+	default Object getValue() {
+		return getProperty().getValue();
+	}
 }
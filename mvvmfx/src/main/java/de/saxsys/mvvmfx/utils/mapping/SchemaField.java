@@ -0,0 +1,83 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import javafx.beans.property.Property;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A field that was declared in a {@link ModelWrapperSchema}. Instances are created by the "field" methods of the
+ * schema and are used to access the property of the field in a {@link SchemaModelWrapper}:
+ *
+ * <pre>
+ * SchemaField{@code<Person, String, StringProperty>} name = schema.field("name", Person::getName, Person::setName);
+ *
+ * SchemaModelWrapper{@code<Person>} wrapper = schema.wrap(person);
+ * StringProperty nameProperty = wrapper.property(name);
+ * </pre>
+ *
+ * The field only contains the metadata that is shared by all wrappers of the schema. It doesn't hold any state of a
+ * specific model instance.
+ *
+ * @param <M>
+ *            the type of the model class.
+ * @param <T>
+ *            the type of the value of the field.
+ * @param <R>
+ *            the type of the JavaFX property of the field.
+ */
+public final class SchemaField<M, T, R extends Property<T>> {
+
+	private final int index;
+	private final String identifier;
+	private final Function<M, T> getter;
+	private final BiConsumer<M, T> setter;
+	private final T defaultValue;
+	private final BiFunction<Object, String, R> propertyFactory;
+
+	SchemaField(int index, String identifier, Function<M, T> getter, BiConsumer<M, T> setter, T defaultValue,
+			BiFunction<Object, String, R> propertyFactory) {
+		this.index = index;
+		this.identifier = identifier;
+		this.getter = getter;
+		this.setter = setter;
+		this.defaultValue = defaultValue;
+		this.propertyFactory = propertyFactory;
+	}
+
+	/**
+	 * @return the identifier of this field.
+	 */
+	public String getIdentifier() {
+		return identifier;
+	}
+
+	/**
+	 * @return the default value of this field.
+	 */
+	public T getDefaultValue() {
+		return defaultValue;
+	}
+
+	int getIndex() {
+		return index;
+	}
+
+	T getValue(M model) {
+		return getter.apply(model);
+	}
+
+	void setValue(M model, T value) {
+		setter.accept(model, value);
+	}
+
+	R createProperty(Object bean) {
+		return propertyFactory.apply(bean, identifier);
+	}
+
+	@Override
+	public String toString() {
+		return "SchemaField[" + identifier + "]";
+	}
+}
@@ -0,0 +1,361 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import eu.lestard.doc.Beta;
+import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A lightweight wrapper for a model instance whose fields are declared in a {@link ModelWrapperSchema}. It behaves
+ * like a {@link ModelWrapper} with commit, reload, reset and dirty/different flags but only stores the state of the
+ * wrapped model instance:
+ * <ul>
+ * <li>the JavaFX properties of the fields, which are only created when they are requested with
+ * {@link #property(SchemaField)}</li>
+ * <li>bitsets for the dirty and different state of the fields and for fields that were reset without a property</li>
+ * </ul>
+ * As long as there is no property for a field, its value is the value of the wrapped model instance (or the default
+ * value after a {@link #reset()}).
+ * <p>
+ * Instances are created with {@link ModelWrapperSchema#wrap(Object)}.
+ *
+ * @param <M>
+ *            the type of the model class.
+ */
+@Beta
+public class SchemaModelWrapper<M> {
+
+	private final ModelWrapperSchema<M> schema;
+
+	private M model;
+
+	/**
+	 * The properties of the fields by the index of the field. <code>null</code> until the first property is created.
+	 */
+	private Property<?>[] properties;
+
+	private final BitSet resetFields = new BitSet();
+	private final BitSet dirtyFields = new BitSet();
+	private final BitSet differentFields = new BitSet();
+
+	private boolean dirty = false;
+	private ReadOnlyBooleanWrapper dirtyFlag;
+	private ReadOnlyBooleanWrapper diffFlag;
+
+	/**
+	 * <code>true</code> while commit, reload or reset are writing the properties. The flags are recalculated
+	 * afterwards.
+	 */
+	private boolean updating = false;
+
+	SchemaModelWrapper(ModelWrapperSchema<M> schema, M model) {
+		this.schema = schema;
+		this.model = model;
+	}
+
+	/**
+	 * @return the schema of this wrapper.
+	 */
+	public ModelWrapperSchema<M> getSchema() {
+		return schema;
+	}
+
+	/**
+	 * @return the wrapped model instance.
+	 */
+	public M get() {
+		return model;
+	}
+
+	/**
+	 * Define the model instance that is wrapped. The values of the new model instance are loaded into the properties
+	 * (see {@link #reload()}).
+	 *
+	 * @param model
+	 *            the model instance.
+	 */
+	public void set(M model) {
+		this.model = model;
+		reload();
+	}
+
+	/**
+	 * Returns the property of the given field. The property is created when it is requested for the first time.
+	 *
+	 * @param field
+	 *            a field of the schema of this wrapper.
+	 * @return the property of the field.
+	 * @throws IllegalArgumentException
+	 *             if the field doesn't belong to the schema of this wrapper.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T, R extends Property<T>> R property(SchemaField<M, T, R> field) {
+		final int index = indexOf(field);
+
+		if (properties == null) {
+			properties = new Property<?>[schema.size()];
+		}
+
+		if (properties[index] == null) {
+			final R property = field.createProperty(this);
+
+			final T value = getCurrentValue(field);
+			if (value != null) {
+				property.setValue(value);
+			}
+			resetFields.clear(index);
+
+			property.addListener((observable, oldValue, newValue) -> fieldWasChanged(index));
+			properties[index] = property;
+		}
+
+		return (R) properties[index];
+	}
+
+	/**
+	 * Take the changed values from all fields and write them back to the wrapped model instance.
+	 */
+	public void commit() {
+		if (model == null) {
+			return;
+		}
+
+		updating = true;
+		try {
+			for (int i = 0; i < schema.size(); i++) {
+				if (isMaterialized(i) || resetFields.get(i)) {
+					commit(schema.getField(i));
+				}
+			}
+			resetFields.clear();
+		} finally {
+			updating = false;
+		}
+
+		clearDirtyFlags();
+		calculateDifferenceFlags();
+	}
+
+	private <T> void commit(SchemaField<M, T, ?> field) {
+		field.setValue(model, getCurrentValue(field));
+	}
+
+	/**
+	 * Take the values from the wrapped model instance and put them in the properties of the fields.
+	 */
+	public void reload() {
+		updating = true;
+		try {
+			resetFields.clear();
+			if (model != null && properties != null) {
+				for (int i = 0; i < properties.length; i++) {
+					if (isMaterialized(i)) {
+						reload(schema.getField(i));
+					}
+				}
+			}
+		} finally {
+			updating = false;
+		}
+
+		clearDirtyFlags();
+		calculateDifferenceFlags();
+	}
+
+	private <T> void reload(SchemaField<M, T, ?> field) {
+		setPropertyValue(field, field.getValue(model));
+	}
+
+	/**
+	 * Reset all fields to their default values.
+	 */
+	public void reset() {
+		boolean changed = false;
+
+		updating = true;
+		try {
+			for (int i = 0; i < schema.size(); i++) {
+				if (reset(schema.getField(i))) {
+					dirtyFields.set(i);
+					changed = true;
+				}
+			}
+		} finally {
+			updating = false;
+		}
+
+		if (changed) {
+			setDirty(true);
+		}
+		calculateDifferenceFlags();
+	}
+
+	private <T> boolean reset(SchemaField<M, T, ?> field) {
+		final T defaultValue = field.getDefaultValue();
+		final boolean changed = !Objects.equals(getCurrentValue(field), defaultValue);
+
+		if (isMaterialized(field.getIndex())) {
+			setPropertyValue(field, defaultValue);
+		} else {
+			resetFields.set(field.getIndex());
+		}
+		return changed;
+	}
+
+	/**
+	 * Writes the current values of all fields to the given model instance. In contrast to {@link #commit()} the wrapped
+	 * model instance and the flags of this wrapper are not touched.
+	 *
+	 * @param target
+	 *            the model instance that the values are written to.
+	 */
+	public void copyValuesTo(M target) {
+		Objects.requireNonNull(target);
+		for (int i = 0; i < schema.size(); i++) {
+			copyValue(schema.getField(i), target);
+		}
+	}
+
+	private <T> void copyValue(SchemaField<M, T, ?> field, M target) {
+		field.setValue(target, getCurrentValue(field));
+	}
+
+	/**
+	 * See {@link ModelWrapper#dirtyProperty()}.
+	 *
+	 * @return a boolean property that indicates whether any field was changed since the last commit or reload.
+	 */
+	public ReadOnlyBooleanProperty dirtyProperty() {
+		if (dirtyFlag == null) {
+			dirtyFlag = new ReadOnlyBooleanWrapper(dirty);
+		}
+		return dirtyFlag.getReadOnlyProperty();
+	}
+
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * See {@link ModelWrapper#differentProperty()}.
+	 *
+	 * @return a boolean property that indicates whether the values of the fields are different from the values of the
+	 *         wrapped model instance.
+	 */
+	public ReadOnlyBooleanProperty differentProperty() {
+		if (diffFlag == null) {
+			diffFlag = new ReadOnlyBooleanWrapper(isDifferent());
+		}
+		return diffFlag.getReadOnlyProperty();
+	}
+
+	public boolean isDifferent() {
+		return !differentFields.isEmpty();
+	}
+
+	/**
+	 * @param field
+	 *            a field of the schema of this wrapper.
+	 * @return <code>true</code> if the given field was changed since the last commit or reload.
+	 */
+	public boolean isDirty(SchemaField<M, ?, ?> field) {
+		return dirtyFields.get(indexOf(field));
+	}
+
+	/**
+	 * @param field
+	 *            a field of the schema of this wrapper.
+	 * @return <code>true</code> if the value of the given field is different from the value of the wrapped model
+	 *         instance.
+	 */
+	public boolean isDifferent(SchemaField<M, ?, ?> field) {
+		return differentFields.get(indexOf(field));
+	}
+
+	private void fieldWasChanged(int index) {
+		if (updating) {
+			return;
+		}
+
+		dirtyFields.set(index);
+		setDirty(true);
+
+		differentFields.set(index, differsFromModel(schema.getField(index)));
+		updateDiffFlag();
+	}
+
+	private void clearDirtyFlags() {
+		dirtyFields.clear();
+		setDirty(false);
+	}
+
+	private void calculateDifferenceFlags() {
+		differentFields.clear();
+		for (int i = 0; i < schema.size(); i++) {
+			if (differsFromModel(schema.getField(i))) {
+				differentFields.set(i);
+			}
+		}
+		updateDiffFlag();
+	}
+
+	private <T> boolean differsFromModel(SchemaField<M, T, ?> field) {
+		if (model == null) {
+			return false;
+		}
+
+		final int index = field.getIndex();
+		if (!isMaterialized(index) && !resetFields.get(index)) {
+			// without a property and without a reset the value is the value of the model instance.
+			return false;
+		}
+		return !Objects.equals(field.getValue(model), getCurrentValue(field));
+	}
+
+	private void setDirty(boolean dirty) {
+		this.dirty = dirty;
+		if (dirtyFlag != null) {
+			dirtyFlag.set(dirty);
+		}
+	}
+
+	private void updateDiffFlag() {
+		if (diffFlag != null) {
+			diffFlag.set(isDifferent());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T getCurrentValue(SchemaField<M, T, ?> field) {
+		final int index = field.getIndex();
+		if (isMaterialized(index)) {
+			return (T) properties[index].getValue();
+		}
+		// without a model instance the field has its default value
+		if (resetFields.get(index) || model == null) {
+			return field.getDefaultValue();
+		}
+		return field.getValue(model);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> void setPropertyValue(SchemaField<M, T, ?> field, T value) {
+		((Property<T>) properties[field.getIndex()]).setValue(value);
+	}
+
+	private boolean isMaterialized(int index) {
+		return properties != null && properties[index] != null;
+	}
+
+	private int indexOf(SchemaField<M, ?, ?> field) {
+		final int index = field.getIndex();
+		if (index >= schema.size() || schema.getField(index) != field) {
+			throw new IllegalArgumentException("The field [" + field.getIdentifier()
+					+ "] is not a field of the schema of this wrapper.");
+		}
+		return index;
+	}
+}
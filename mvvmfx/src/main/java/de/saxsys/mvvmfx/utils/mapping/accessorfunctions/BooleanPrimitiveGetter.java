@@ -0,0 +1,19 @@
+package de.saxsys.mvvmfx.utils.mapping.accessorfunctions;
+
+/**
+ * A functional interface to define a getter method of the primitive type <code>boolean</code>. In contrast to
+ * {@link BooleanGetter} the value isn't boxed.
+ *
+ * @param <M>
+ *            the generic type of the model.
+ */
+@FunctionalInterface
+public interface BooleanPrimitiveGetter<M> {
+
+	/**
+	 * @param model
+	 *            the model instance.
+	 * @return the value of the field.
+	 */
+	boolean applyAsBoolean(M model);
+}
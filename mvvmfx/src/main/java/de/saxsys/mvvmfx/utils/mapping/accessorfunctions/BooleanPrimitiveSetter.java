@@ -0,0 +1,20 @@
+package de.saxsys.mvvmfx.utils.mapping.accessorfunctions;
+
+/**
+ * A functional interface to define a setter method of the primitive type <code>boolean</code>. In contrast to
+ * {@link BooleanSetter} the value isn't boxed.
+ *
+ * @param <M>
+ *            the generic type of the model.
+ */
+@FunctionalInterface
+public interface BooleanPrimitiveSetter<M> {
+
+	/**
+	 * @param model
+	 *            the model instance.
+	 * @param value
+	 *            the new value to be set.
+	 */
+	void accept(M model, boolean value);
+}
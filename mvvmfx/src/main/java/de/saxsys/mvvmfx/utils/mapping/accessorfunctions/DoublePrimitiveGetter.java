@@ -0,0 +1,22 @@
+package de.saxsys.mvvmfx.utils.mapping.accessorfunctions;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A functional interface to define a getter method of the primitive type <code>double</code>. In contrast to
+ * {@link DoubleGetter} the value isn't boxed.
+ *
+ * @param <M>
+ *            the generic type of the model.
+ */
+@FunctionalInterface
+public interface DoublePrimitiveGetter<M> extends ToDoubleFunction<M> {
+
+	/**
+	 * @param model
+	 *            the model instance.
+	 * @return the value of the field.
+	 */
+	@Override
+	double applyAsDouble(M model);
+}
@@ -0,0 +1,23 @@
+package de.saxsys.mvvmfx.utils.mapping.accessorfunctions;
+
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * A functional interface to define a setter method of the primitive type <code>double</code>. In contrast to
+ * {@link DoubleSetter} the value isn't boxed.
+ *
+ * @param <M>
+ *            the generic type of the model.
+ */
+@FunctionalInterface
+public interface DoublePrimitiveSetter<M> extends ObjDoubleConsumer<M> {
+
+	/**
+	 * @param model
+	 *            the model instance.
+	 * @param value
+	 *            the new value to be set.
+	 */
+	@Override
+	void accept(M model, double value);
+}
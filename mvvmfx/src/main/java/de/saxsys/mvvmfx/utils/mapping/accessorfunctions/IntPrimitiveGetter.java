@@ -0,0 +1,22 @@
+package de.saxsys.mvvmfx.utils.mapping.accessorfunctions;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * A functional interface to define a getter method of the primitive type <code>int</code>. In contrast to
+ * {@link IntGetter} the value isn't boxed.
+ *
+ * @param <M>
+ *            the generic type of the model.
+ */
+@FunctionalInterface
+public interface IntPrimitiveGetter<M> extends ToIntFunction<M> {
+
+	/**
+	 * @param model
+	 *            the model instance.
+	 * @return the value of the field.
+	 */
+	@Override
+	int applyAsInt(M model);
+}
@@ -0,0 +1,22 @@
+package de.saxsys.mvvmfx.utils.mapping.accessorfunctions;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * A functional interface to define a getter method of the primitive type <code>long</code>. In contrast to
+ * {@link LongGetter} the value isn't boxed.
+ *
+ * @param <M>
+ *            the generic type of the model.
+ */
+@FunctionalInterface
+public interface LongPrimitiveGetter<M> extends ToLongFunction<M> {
+
+	/**
+	 * @param model
+	 *            the model instance.
+	 * @return the value of the field.
+	 */
+	@Override
+	long applyAsLong(M model);
+}
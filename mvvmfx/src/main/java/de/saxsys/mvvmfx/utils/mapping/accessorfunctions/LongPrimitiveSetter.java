@@ -0,0 +1,23 @@
+package de.saxsys.mvvmfx.utils.mapping.accessorfunctions;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A functional interface to define a setter method of the primitive type <code>long</code>. In contrast to
+ * {@link LongSetter} the value isn't boxed.
+ *
+ * @param <M>
+ *            the generic type of the model.
+ */
+@FunctionalInterface
+public interface LongPrimitiveSetter<M> extends ObjLongConsumer<M> {
+
+	/**
+	 * @param model
+	 *            the model instance.
+	 * @param value
+	 *            the new value to be set.
+	 */
+	@Override
+	void accept(M model, long value);
+}
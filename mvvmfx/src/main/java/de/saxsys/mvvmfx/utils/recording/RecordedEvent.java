@@ -0,0 +1,65 @@
+package de.saxsys.mvvmfx.utils.recording;
+
+import java.util.Arrays;
+
+/**
+ * A single event that was recorded by the {@link TrafficRecorder}.
+ */
+public final class RecordedEvent {
+
+	/**
+	 * The kind of a recorded event.
+	 */
+	public enum Type {
+		/**
+		 * A notification that was published via a {@link de.saxsys.mvvmfx.utils.notifications.NotificationCenter}.
+		 */
+		NOTIFICATION,
+		/**
+		 * An invocation of {@link de.saxsys.mvvmfx.utils.commands.Command#execute()}.
+		 */
+		COMMAND
+	}
+
+	private final Type type;
+	private final long timestamp;
+	private final String name;
+	private final Object[] payload;
+
+	RecordedEvent(Type type, long timestamp, String name, Object[] payload) {
+		this.type = type;
+		this.timestamp = timestamp;
+		this.name = name;
+		this.payload = payload;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the time in nanoseconds since the start of the recording.
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * @return the message name of a notification or the name of a command.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the payload of a notification. Commands have an empty payload.
+	 */
+	public Object[] getPayload() {
+		return payload;
+	}
+
+	@Override
+	public String toString() {
+		return type + "[" + name + ", " + timestamp + "ns, " + Arrays.toString(payload) + "]";
+	}
+}
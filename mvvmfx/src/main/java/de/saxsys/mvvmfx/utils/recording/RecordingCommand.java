@@ -0,0 +1,78 @@
+package de.saxsys.mvvmfx.utils.recording;
+
+import de.saxsys.mvvmfx.utils.commands.Command;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+
+/**
+ * A {@link Command} that records each execution with a {@link TrafficRecorder} and delegates everything to the actual
+ * command.
+ */
+class RecordingCommand implements Command {
+
+	private final String commandName;
+	private final Command delegate;
+	private final TrafficRecorder recorder;
+
+	RecordingCommand(String commandName, Command delegate, TrafficRecorder recorder) {
+		this.commandName = commandName;
+		this.delegate = delegate;
+		this.recorder = recorder;
+	}
+
+	@Override
+	public void execute() {
+		recorder.recordCommand(commandName);
+		delegate.execute();
+	}
+
+	@Override
+	public boolean isExecutable() {
+		return delegate.isExecutable();
+	}
+
+	@Override
+	public ReadOnlyBooleanProperty executableProperty() {
+		return delegate.executableProperty();
+	}
+
+	@Override
+	public boolean isNotExecutable() {
+		return delegate.isNotExecutable();
+	}
+
+	@Override
+	public ReadOnlyBooleanProperty notExecutableProperty() {
+		return delegate.notExecutableProperty();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return delegate.isRunning();
+	}
+
+	@Override
+	public ReadOnlyBooleanProperty runningProperty() {
+		return delegate.runningProperty();
+	}
+
+	@Override
+	public boolean isNotRunning() {
+		return delegate.isNotRunning();
+	}
+
+	@Override
+	public ReadOnlyBooleanProperty notRunningProperty() {
+		return delegate.notRunningProperty();
+	}
+
+	@Override
+	public double getProgress() {
+		return delegate.getProgress();
+	}
+
+	@Override
+	public ReadOnlyDoubleProperty progressProperty() {
+		return delegate.progressProperty();
+	}
+}
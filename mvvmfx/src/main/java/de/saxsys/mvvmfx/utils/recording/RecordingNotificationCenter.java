@@ -0,0 +1,65 @@
+package de.saxsys.mvvmfx.utils.recording;
+
+import de.saxsys.mvvmfx.utils.notifications.NotificationCenter;
+import de.saxsys.mvvmfx.utils.notifications.NotificationObserver;
+
+/**
+ * A {@link NotificationCenter} that records all global notifications with a {@link TrafficRecorder} and delegates
+ * everything else to the actual notification center.
+ */
+class RecordingNotificationCenter implements NotificationCenter {
+
+	private final NotificationCenter delegate;
+	private final TrafficRecorder recorder;
+
+	RecordingNotificationCenter(NotificationCenter delegate, TrafficRecorder recorder) {
+		this.delegate = delegate;
+		this.recorder = recorder;
+	}
+
+	@Override
+	public void subscribe(String messageName, NotificationObserver observer) {
+		delegate.subscribe(messageName, observer);
+	}
+
+	@Override
+	public void unsubscribe(String messageName, NotificationObserver observer) {
+		delegate.unsubscribe(messageName, observer);
+	}
+
+	@Override
+	public void unsubscribe(NotificationObserver observer) {
+		delegate.unsubscribe(observer);
+	}
+
+	@Override
+	public void publish(String messageName, Object... payload) {
+		recorder.recordNotification(messageName, payload);
+		delegate.publish(messageName, payload);
+	}
+
+	@Override
+	public void publish(Object channel, String messageName, Object[] payload) {
+		delegate.publish(channel, messageName, payload);
+	}
+
+	@Override
+	public void subscribe(Object channel, String messageName, NotificationObserver observer) {
+		delegate.subscribe(channel, messageName, observer);
+	}
+
+	@Override
+	public void unsubscribe(Object channel, String messageName, NotificationObserver observer) {
+		delegate.unsubscribe(channel, messageName, observer);
+	}
+
+	@Override
+	public void unsubscribe(Object channel, NotificationObserver observer) {
+		delegate.unsubscribe(channel, observer);
+	}
+
+	@Override
+	public void clear() {
+		delegate.clear();
+	}
+}
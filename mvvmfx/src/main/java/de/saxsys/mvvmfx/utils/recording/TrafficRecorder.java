@@ -0,0 +1,275 @@
+package de.saxsys.mvvmfx.utils.recording;
+
+import de.saxsys.mvvmfx.utils.commands.Command;
+import de.saxsys.mvvmfx.utils.notifications.NotificationCenter;
+import eu.lestard.doc.Beta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.saxsys.mvvmfx.internal.AllowListObjectInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the notifications and command executions of an application session into a compact, append-only binary log.
+ * The log can be replayed later with the {@link TrafficReplayer}.
+ * <p>
+ * The publishing thread only takes the timestamp of an event and hands it over to a background thread, which
+ * serializes the payload and writes the event through a memory-mapped file. Because the payload is serialized later,
+ * payload objects shouldn't be modified after they were published.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * TrafficRecorder recorder = new TrafficRecorder(Paths.get("session.log"));
+ *
+ * // record all notifications
+ * NotificationCenterFactory.setNotificationCenter(recorder.record(NotificationCenterFactory.getNotificationCenter()));
+ *
+ * // record a command
+ * Command saveCommand = recorder.record("save", new DelegateCommand(...));
+ *
+ * ...
+ * recorder.close();
+ * </pre>
+ *
+ * The payload of notifications is recorded with the standard java serialization. If a payload isn't
+ * {@link Serializable} the notification is recorded without payload. The {@link TrafficReplayer} only restores payloads
+ * of allowed types, see {@link TrafficReplayer#TrafficReplayer(Path, Class...)}.
+ */
+@Beta
+public class TrafficRecorder implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TrafficRecorder.class);
+
+	static final int MAGIC = 0x4D56_4658; // "MVFX"
+	static final byte VERSION = 1;
+	static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+	static final byte TYPE_NOTIFICATION = 1;
+	static final byte TYPE_COMMAND = 2;
+
+	/**
+	 * The maximum length of a message or command name in UTF-8 bytes. The length is stored as unsigned short.
+	 */
+	static final int MAX_NAME_LENGTH = 0xFFFF;
+
+	private static final int REGION_SIZE = 4 * 1024 * 1024;
+	private static final byte[] EMPTY = new byte[0];
+
+	private final FileChannel channel;
+	private final long startTime = System.nanoTime();
+
+	private MappedByteBuffer region;
+	private long regionStart = 0;
+
+	private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "mvvmfx-traffic-recorder");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a recorder that writes into the given file. An existing file is overwritten.
+	 *
+	 * @param file
+	 *            the file of the log.
+	 * @throws IOException
+	 *             if the file can't be created.
+	 */
+	public TrafficRecorder(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		region = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+		region.putInt(MAGIC);
+		region.put(VERSION);
+	}
+
+	/**
+	 * Wraps the given notification center so that all notifications that are published through the returned instance
+	 * are recorded.
+	 * <p>
+	 * Only global notifications are recorded. Notifications on channels are passed through without recording because
+	 * the channel objects can't be restored in another session.
+	 *
+	 * @param notificationCenter
+	 *            the actual notification center.
+	 * @return a notification center that records all published notifications.
+	 */
+	public NotificationCenter record(NotificationCenter notificationCenter) {
+		return new RecordingNotificationCenter(notificationCenter, this);
+	}
+
+	/**
+	 * Wraps the given command so that each invocation of {@link Command#execute()} is recorded with the given name.
+	 *
+	 * @param commandName
+	 *            the name that is used to identify the command when the log is replayed.
+	 * @param command
+	 *            the actual command.
+	 * @return a command that records each execution.
+	 */
+	public Command record(String commandName, Command command) {
+		return new RecordingCommand(commandName, command, this);
+	}
+
+	/**
+	 * Records that a notification was published.
+	 *
+	 * @param messageName
+	 *            the message name.
+	 * @param payload
+	 *            the payload of the notification.
+	 */
+	public void recordNotification(String messageName, Object... payload) {
+		final long timestamp = System.nanoTime() - startTime;
+		final Object[] payloadCopy = payload == null ? null : payload.clone();
+		submit(() -> append(TYPE_NOTIFICATION, timestamp, messageName, encodePayload(messageName, payloadCopy)));
+	}
+
+	/**
+	 * Records that a command was executed.
+	 *
+	 * @param commandName
+	 *            the name of the command.
+	 */
+	public void recordCommand(String commandName) {
+		final long timestamp = System.nanoTime() - startTime;
+		submit(() -> append(TYPE_COMMAND, timestamp, commandName, EMPTY));
+	}
+
+	private void submit(Runnable event) {
+		if (closed) {
+			return;
+		}
+		try {
+			writer.execute(event);
+		} catch (RejectedExecutionException e) {
+			// the recorder was closed in the meantime
+		}
+	}
+
+	/**
+	 * Writes an event into the log. Only called by the writer thread.
+	 */
+	private void append(byte type, long timestamp, String name, byte[] payload) {
+		final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		if (nameBytes.length > MAX_NAME_LENGTH) {
+			LOG.warn("The name of the event [" + name.substring(0, 64) + "...] is too long. The event isn't recorded.");
+			return;
+		}
+
+		final int size = Byte.BYTES + Long.BYTES + Short.BYTES + nameBytes.length + Integer.BYTES + payload.length;
+
+		try {
+			ensureCapacity(size);
+		} catch (IOException e) {
+			LOG.error("Can't extend the traffic log. The event [" + name + "] isn't recorded.", e);
+			return;
+		}
+
+		region.put(type);
+		region.putLong(timestamp);
+		region.putShort((short) nameBytes.length);
+		region.put(nameBytes);
+		region.putInt(payload.length);
+		region.put(payload);
+	}
+
+	private void ensureCapacity(int size) throws IOException {
+		if (region.remaining() < size) {
+			regionStart += region.position();
+			region.force();
+			region = channel.map(FileChannel.MapMode.READ_WRITE, regionStart, Math.max(REGION_SIZE, size));
+		}
+	}
+
+	/**
+	 * Waits until all recorded events are written, flushes the log and cuts off the unused space at the end of the
+	 * file.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		writer.shutdown();
+		try {
+			while (!writer.awaitTermination(1, TimeUnit.SECONDS)) {
+				LOG.debug("Waiting for the traffic log to be written.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while the traffic log was written.");
+		}
+
+		region.force();
+		channel.truncate(regionStart + region.position());
+		channel.close();
+	}
+
+	private static byte[] encodePayload(String messageName, Object[] payload) {
+		if (payload == null || payload.length == 0) {
+			return EMPTY;
+		}
+
+		for (Object element : payload) {
+			if (element != null && !(element instanceof Serializable)) {
+				LOG.warn("The payload of the notification [" + messageName
+						+ "] isn't serializable and therefore isn't recorded.");
+				return EMPTY;
+			}
+		}
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(payload);
+		} catch (IOException e) {
+			LOG.warn("The payload of the notification [" + messageName + "] can't be recorded.", e);
+			return EMPTY;
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @param payloadTypes
+	 *            the classes that are allowed in addition to {@link AllowListObjectInputStream#DEFAULT_TYPES}.
+	 */
+	static Object[] decodePayload(byte[] bytes, Collection<Class<?>> payloadTypes) throws IOException {
+		if (bytes.length == 0) {
+			return new Object[0];
+		}
+
+		try (ObjectInputStream in = new AllowListObjectInputStream(new ByteArrayInputStream(bytes), payloadTypes)) {
+			final Object payload = in.readObject();
+			if (!(payload instanceof Object[])) {
+				throw new IOException("The recorded payload isn't an array of objects.");
+			}
+			return (Object[]) payload;
+		} catch (ClassNotFoundException e) {
+			throw new IOException("The recorded payload contains a class that isn't available.", e);
+		}
+	}
+}
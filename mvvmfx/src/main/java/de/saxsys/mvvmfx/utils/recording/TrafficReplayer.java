@@ -0,0 +1,187 @@
+package de.saxsys.mvvmfx.utils.recording;
+
+import de.saxsys.mvvmfx.utils.commands.Command;
+import de.saxsys.mvvmfx.utils.notifications.NotificationCenter;
+import eu.lestard.doc.Beta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a log that was written by the {@link TrafficRecorder}.
+ * <p>
+ * The events can be replayed with the original timing ({@link #REAL_TIME}), faster or slower than the original timing or
+ * without any delay between the events ({@link #MAX_SPEED}). The events are dispatched with an {@link Executor}. For
+ * example, to replay a session on the JavaFX application thread of a headless application:
+ *
+ * <pre>
+ * TrafficReplayer replayer = new TrafficReplayer(Paths.get("session.log"));
+ *
+ * Map&lt;String, Command&gt; commands = new HashMap&lt;&gt;();
+ * commands.put("save", viewModel.getSaveCommand());
+ *
+ * replayer.replay(notificationCenter, commands, TrafficReplayer.REAL_TIME, Platform::runLater);
+ * </pre>
+ */
+@Beta
+public class TrafficReplayer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TrafficReplayer.class);
+
+	/**
+	 * Replays the events with the same timing as they were recorded.
+	 */
+	public static final double REAL_TIME = 1.0;
+
+	/**
+	 * Replays the events without waiting between them.
+	 */
+	public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+	private final List<RecordedEvent> events;
+
+	/**
+	 * Reads the given log.
+	 * <p>
+	 * A log file may come from an untrusted source, so the payloads are only deserialized when they consist of
+	 * strings, boxed primitives, <code>BigInteger</code>, <code>BigDecimal</code>, arrays of them and the given payload
+	 * types.
+	 *
+	 * @param file
+	 *            a log that was written by the {@link TrafficRecorder}.
+	 * @param payloadTypes
+	 *            the classes that are allowed in payloads in addition to the always allowed ones. Subclasses have to
+	 *            be listed explicitly.
+	 * @throws IOException
+	 *             if the file can't be read, isn't a valid log or contains a payload of a type that isn't allowed.
+	 */
+	public TrafficReplayer(Path file, Class<?>... payloadTypes) throws IOException {
+		this.events = Collections.unmodifiableList(read(file, Arrays.asList(payloadTypes)));
+	}
+
+	/**
+	 * @return all recorded events in the order they were recorded.
+	 */
+	public List<RecordedEvent> getEvents() {
+		return events;
+	}
+
+	/**
+	 * Replays all recorded events. This method blocks until the last event was handed to the dispatcher.
+	 * <p>
+	 * Notifications are published on the given notification center. Commands are looked up by the name they were
+	 * recorded with. Commands that are missing in the given map or that aren't executable at the time of the replay are
+	 * skipped.
+	 *
+	 * @param notificationCenter
+	 *            the notification center that is used to publish the recorded notifications.
+	 * @param commands
+	 *            the commands that can be executed, by the name they were recorded with.
+	 * @param speed
+	 *            the speed factor. <code>1.0</code> ({@link #REAL_TIME}) replays with the original timing,
+	 *            <code>2.0</code> twice as fast and {@link #MAX_SPEED} without any delay.
+	 * @param dispatcher
+	 *            the executor that is used to dispatch the events, for example <code>Platform::runLater</code>.
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the next event.
+	 */
+	public void replay(NotificationCenter notificationCenter, Map<String, Command> commands, double speed,
+			Executor dispatcher) throws InterruptedException {
+		if (speed <= 0 || Double.isNaN(speed)) {
+			throw new IllegalArgumentException("The speed has to be positive but was [" + speed + "].");
+		}
+
+		final long start = System.nanoTime();
+
+		for (RecordedEvent event : events) {
+			if (speed != MAX_SPEED) {
+				final long due = start + (long) (event.getTimestamp() / speed);
+				final long delay = due - System.nanoTime();
+				if (delay > 0) {
+					TimeUnit.NANOSECONDS.sleep(delay);
+				}
+			}
+
+			dispatcher.execute(() -> dispatch(event, notificationCenter, commands));
+		}
+	}
+
+	private static void dispatch(RecordedEvent event, NotificationCenter notificationCenter,
+			Map<String, Command> commands) {
+		switch (event.getType()) {
+			case NOTIFICATION:
+				notificationCenter.publish(event.getName(), event.getPayload());
+				break;
+			case COMMAND:
+				final Command command = commands.get(event.getName());
+				if (command == null) {
+					LOG.debug("No command with the name [" + event.getName() + "] available. It is skipped.");
+				} else if (command.isExecutable()) {
+					command.execute();
+				}
+				break;
+		}
+	}
+
+	private static List<RecordedEvent> read(Path file, Collection<Class<?>> payloadTypes) throws IOException {
+		final List<RecordedEvent> events = new ArrayList<>();
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.remaining() < TrafficRecorder.HEADER_SIZE || buffer.getInt() != TrafficRecorder.MAGIC) {
+				throw new IOException("The file [" + file + "] isn't a traffic log.");
+			}
+			final byte version = buffer.get();
+			if (version != TrafficRecorder.VERSION) {
+				throw new IOException("The traffic log version [" + version + "] isn't supported.");
+			}
+
+			try {
+				while (buffer.hasRemaining()) {
+					final int position = buffer.position();
+					final byte type = buffer.get();
+					if (type == 0) {
+						// the rest of the file was never written, e.g. because the recorder wasn't closed.
+						break;
+					}
+					if (type != TrafficRecorder.TYPE_NOTIFICATION && type != TrafficRecorder.TYPE_COMMAND) {
+						throw new IOException("The traffic log [" + file + "] contains an event of the unknown type ["
+								+ type + "] at position " + position + ".");
+					}
+
+					final long timestamp = buffer.getLong();
+
+					final byte[] name = new byte[buffer.getShort() & 0xFFFF];
+					buffer.get(name);
+
+					final byte[] payload = new byte[buffer.getInt()];
+					buffer.get(payload);
+
+					events.add(new RecordedEvent(type == TrafficRecorder.TYPE_COMMAND ? RecordedEvent.Type.COMMAND
+							: RecordedEvent.Type.NOTIFICATION, timestamp, new String(name, StandardCharsets.UTF_8),
+							TrafficRecorder.decodePayload(payload, payloadTypes)));
+				}
+			} catch (BufferUnderflowException e) {
+				LOG.warn("The traffic log [" + file + "] ends with an incomplete event. It is ignored.");
+			}
+		}
+
+		return events;
+	}
+}
@@ -0,0 +1,5 @@
+/**
+ * Record the notification and command traffic of an application session and replay it later, for example to create a
+ * realistic and repeatable load for performance tests.
+ */
+package de.saxsys.mvvmfx.utils.recording;
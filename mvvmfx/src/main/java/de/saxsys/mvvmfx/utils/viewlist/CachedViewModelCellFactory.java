@@ -22,10 +22,19 @@ import de.saxsys.mvvmfx.ViewModel;
 import de.saxsys.mvvmfx.ViewTuple;
 import de.saxsys.mvvmfx.internal.viewloader.View;
 import eu.lestard.doc.Beta;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
 import javafx.util.Callback;
 
 import javax.swing.text.html.ListView;
-import java.util.HashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -75,13 +84,52 @@ import java.util.Map;
  * 		vm -> FluentViewLoader.fxmlView(ItemView.class).viewModel(vm).load()));
  * </pre>
  * 
+ * <br>
+ * 
+ * By default every {@link ViewTuple} is kept as long as the cell factory is used. For large or frequently changing
+ * lists the cache can be limited with the following policies:
+ * <ul>
+ * <li>{@link #setMaxSize(int)}: the least recently used entries are evicted when the maximum size is exceeded.</li>
+ * <li>{@link #setSoftValues(boolean)}: entries are removed when the garbage collector needs memory.</li>
+ * <li>{@link #expireAfterRemoval(ObservableList)}: entries are removed when their ViewModel is removed from the
+ * items of the ListView.</li>
+ * </ul>
+ * The maximum size should be larger than the number of visible cells, otherwise the views of visible cells are
+ * loaded again while scrolling. The hit, miss and eviction counts can be used to tune the policies.
  * 
  * @author manuel.mauky
  */
 @Beta
 public class CachedViewModelCellFactory<V extends View<VM>, VM extends ViewModel> implements ViewListCellFactory<VM> {
 	
-	private Map<VM, ViewTuple<V, VM>> cache = new HashMap<>();
+	/**
+	 * The keys are the ViewModels, the values are the {@link ViewTuple}s or {@link SoftValue}s.
+	 */
+	private final Map<Object, Object> cache = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+			if (size() > maxSize) {
+				evictionCount++;
+				return true;
+			}
+			return false;
+		}
+	};
+	
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+	
+	private int maxSize = Integer.MAX_VALUE;
+	private boolean softValues = false;
+	
+	private long hitCount = 0;
+	private long missCount = 0;
+	private long evictionCount = 0;
+	
+	/**
+	 * How often each ViewModel is contained in the items list of {@link #expireAfterRemoval(ObservableList)}.
+	 */
+	private final Map<VM, Integer> itemCounts = new IdentityHashMap<>();
+	private final ListChangeListener<VM> itemsListener = this::itemsChanged;
 	
 	private Callback<VM, ViewTuple<V, VM>> loadFactory;
 	
@@ -91,14 +139,179 @@ public class CachedViewModelCellFactory<V extends View<VM>, VM extends ViewModel
 	
 	@Override
 	public ViewTuple<V, VM> map(VM viewModel) {
-		if (!cache.containsKey(viewModel)) {
-			final ViewTuple<V, VM> viewTuple = loadFactory.call(viewModel);
-			cache.put(viewModel, viewTuple);
+		expungeStaleEntries();
+		
+		final Object value = cache.get(viewModel);
+		@SuppressWarnings("unchecked")
+		ViewTuple<V, VM> viewTuple = (ViewTuple<V, VM>) (value instanceof Reference ? ((Reference<?>) value).get()
+				: value);
+		
+		if (viewTuple != null) {
+			hitCount++;
+		} else {
+			missCount++;
+			viewTuple = loadFactory.call(viewModel);
+			if (softValues) {
+				cache.put(viewModel, new SoftValue(viewModel, viewTuple, queue));
+			} else {
+				cache.put(viewModel, viewTuple);
+			}
+		}
+		
+		return viewTuple;
+	}
+	
+	/**
+	 * Limits the number of cached {@link ViewTuple}s. When the maximum size is exceeded, the least recently used entry
+	 * is evicted.
+	 * 
+	 * @param maxSize
+	 *            the maximum number of entries.
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The maximum size has to be at least 1 but was " + maxSize);
+		}
+		this.maxSize = maxSize;
+		
+		final List<Object> keys = new ArrayList<>(cache.keySet());
+		for (int i = 0; i < keys.size() - maxSize; i++) {
+			cache.remove(keys.get(i));
+			evictionCount++;
+		}
+	}
+	
+	public int getMaxSize() {
+		return maxSize;
+	}
+	
+	/**
+	 * Keeps the cached {@link ViewTuple}s only with {@link SoftReference}s, so that the garbage collector can clear
+	 * them when memory is needed. The entry of a cleared {@link ViewTuple} is removed and its view is loaded again on
+	 * the next access.
+	 * <p>
+	 * A {@link ViewTuple} references its ViewModel, so an entry is not removed when its ViewModel isn't used anymore,
+	 * but only when the garbage collector decides to clear soft references. Use
+	 * {@link #expireAfterRemoval(ObservableList)} to remove the entries of ViewModels that aren't shown anymore.
+	 * <p>
+	 * Changing this policy clears the cache.
+	 * 
+	 * @param softValues
+	 *            <code>true</code> if the {@link ViewTuple}s should be softly referenced.
+	 */
+	public void setSoftValues(boolean softValues) {
+		if (this.softValues != softValues) {
+			this.softValues = softValues;
+			cache.clear();
+		}
+	}
+	
+	public boolean isSoftValues() {
+		return softValues;
+	}
+	
+	/**
+	 * Removes the {@link ViewTuple} of a ViewModel from the cache when the ViewModel is removed from the given list
+	 * (typically the items of the ListView). A ViewModel that is moved within the list by a single change (like sorting
+	 * the list or replacing it with <code>setAll</code>) keeps its {@link ViewTuple}.
+	 * <p>
+	 * The list is only weakly observed.
+	 * 
+	 * @param items
+	 *            the list of ViewModels.
+	 */
+	public void expireAfterRemoval(ObservableList<VM> items) {
+		for (VM item : items) {
+			itemCounts.merge(item, 1, Integer::sum);
+		}
+		items.addListener(new WeakListChangeListener<>(itemsListener));
+	}
+	
+	/**
+	 * @return the number of cached {@link ViewTuple}s, including entries whose {@link ViewTuple} was cleared by the
+	 *         garbage collector but that were not removed yet.
+	 */
+	public int size() {
+		expungeStaleEntries();
+		return cache.size();
+	}
+	
+	/**
+	 * Removes all cached {@link ViewTuple}s. The statistics are not reset.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+	
+	/**
+	 * @return how often a cached {@link ViewTuple} was returned.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+	
+	/**
+	 * @return how often a view had to be loaded.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+	
+	/**
+	 * @return the number of entries that were evicted because the maximum size was exceeded or their ViewModel was
+	 *         removed from the list of {@link #expireAfterRemoval(ObservableList)}.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+	
+	/**
+	 * @return the ratio of hits to all lookups or <code>0</code> if there was no lookup yet.
+	 */
+	public double getHitRate() {
+		final long lookups = hitCount + missCount;
+		return lookups == 0 ? 0 : (double) hitCount / lookups;
+	}
+	
+	/**
+	 * Resets the hit, miss and eviction counters.
+	 */
+	public void resetStatistics() {
+		hitCount = 0;
+		missCount = 0;
+		evictionCount = 0;
+	}
+	
+	private void itemsChanged(ListChangeListener.Change<? extends VM> change) {
+		final List<VM> removed = new ArrayList<>();
+		while (change.next()) {
+			if (change.wasPermutated() || change.wasUpdated()) {
+				continue;
+			}
+			for (VM item : change.getAddedSubList()) {
+				itemCounts.merge(item, 1, Integer::sum);
+			}
+			removed.addAll(change.getRemoved());
 		}
 		
-		return cache.get(viewModel);
+		// the removed items are processed after the added ones, so that moved items are not evicted
+		for (VM item : removed) {
+			if (itemCounts.merge(item, -1, Integer::sum) <= 0) {
+				itemCounts.remove(item);
+				if (cache.remove(item) != null) {
+					evictionCount++;
+				}
+			}
+		}
 	}
 	
+	private void expungeStaleEntries() {
+		Reference<?> reference;
+		while ((reference = queue.poll()) != null) {
+			// the entry may have been replaced in the meantime
+			cache.remove(((SoftValue) reference).key, reference);
+		}
+	}
 	
 	public static <V extends View<VM>, VM extends ViewModel> CachedViewModelCellFactory<V, VM> create(
 			Callback<VM, ViewTuple<V, VM>> callback) {
@@ -115,4 +328,16 @@ public class CachedViewModelCellFactory<V extends View<VM>, VM extends ViewModel
 		return create(vm -> FluentViewLoader.javaView(viewType).viewModel(vm).load());
 	}
 	
+	/**
+	 * A softly referenced {@link ViewTuple} that remembers its key, so that the entry can be removed when the
+	 * {@link ViewTuple} was cleared.
+	 */
+	private static final class SoftValue extends SoftReference<Object> {
+		private final Object key;
+		
+		SoftValue(Object key, Object viewTuple, ReferenceQueue<Object> queue) {
+			super(viewTuple, queue);
+			this.key = key;
+		}
+	}
 }
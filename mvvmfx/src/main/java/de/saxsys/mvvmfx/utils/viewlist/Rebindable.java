@@ -0,0 +1,56 @@
+package de.saxsys.mvvmfx.utils.viewlist;
+
+import de.saxsys.mvvmfx.InjectViewModel;
+import de.saxsys.mvvmfx.ViewModel;
+import eu.lestard.doc.Beta;
+
+/**
+ * A view that can be reused for another ViewModel of the same type. This is used by the
+ * {@link RecyclingViewModelCellFactory}.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * public class ItemView implements FxmlView{@code <ItemViewModel>}, Rebindable{@code <ItemViewModel>} {
+ *
+ *     {@literal @}FXML
+ *     public Label text;
+ *     {@literal @}InjectViewModel
+ *     private ItemViewModel viewModel;
+ *
+ *     public void initialize() {
+ *         text.textProperty().bind(viewModel.textProperty());
+ *     }
+ *
+ *     {@literal @}Override
+ *     public void rebind(ItemViewModel oldViewModel, ItemViewModel newViewModel) {
+ *         text.textProperty().unbind();
+ *         if (newViewModel != null) {
+ *             text.textProperty().bind(newViewModel.textProperty());
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <VM>
+ *            the type of the ViewModel.
+ */
+@Beta
+@FunctionalInterface
+public interface Rebindable<VM extends ViewModel> {
+
+	/**
+	 * Called when the view is reused for another ViewModel. The new ViewModel was already injected into the field
+	 * annotated with {@link InjectViewModel}. The view has to remove all bindings and listeners to the old ViewModel
+	 * and bind itself to the new one.
+	 * <p>
+	 * When the cell of the view becomes empty, the view is rebound to <code>null</code> and only has to unbind itself
+	 * from the old ViewModel. Afterwards it may be rebound from <code>null</code> to a ViewModel again.
+	 *
+	 * @param oldViewModel
+	 *            the ViewModel the view was bound to or <code>null</code> if the cell was empty.
+	 * @param newViewModel
+	 *            the ViewModel the view is bound to from now on or <code>null</code> if the cell became empty.
+	 */
+	void rebind(VM oldViewModel, VM newViewModel);
+}
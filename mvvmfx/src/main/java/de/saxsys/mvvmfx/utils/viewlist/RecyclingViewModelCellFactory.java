@@ -0,0 +1,133 @@
+package de.saxsys.mvvmfx.utils.viewlist;
+
+import de.saxsys.mvvmfx.FluentViewLoader;
+import de.saxsys.mvvmfx.FxmlView;
+import de.saxsys.mvvmfx.InjectViewModel;
+import de.saxsys.mvvmfx.JavaView;
+import de.saxsys.mvvmfx.ViewModel;
+import de.saxsys.mvvmfx.ViewTuple;
+import de.saxsys.mvvmfx.internal.viewloader.View;
+import de.saxsys.mvvmfx.internal.viewloader.ViewLoaderReflectionUtils;
+import eu.lestard.doc.Beta;
+import javafx.scene.Parent;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+
+/**
+ * A cell factory for {@link ListView}s that are based on a list of ViewModels. Unlike the
+ * {@link CachedViewModelCellFactory}, which loads a view for every ViewModel, every cell loads exactly one view and
+ * reuses it for all ViewModels it shows. A ListView only creates a few more cells than are visible, so the number of
+ * loaded views doesn't depend on the number of items.
+ * <p>
+ * The view has to implement {@link Rebindable}. When a cell shows another ViewModel, the new ViewModel is injected
+ * into the field of the view that is annotated with {@link InjectViewModel} and
+ * {@link Rebindable#rebind(ViewModel, ViewModel)} is called, so that the view can bind itself to the new ViewModel.
+ * When a cell becomes empty, <code>null</code> is injected and the view is rebound to <code>null</code>, so that it
+ * releases the ViewModel it showed before.
+ * <p>
+ * Typical usage:
+ *
+ * <pre>
+ * itemList.setCellFactory(RecyclingViewModelCellFactory.createForFxmlView(ItemView.class));
+ * </pre>
+ *
+ * The state of a view that isn't stored in the ViewModel (like the scroll position of a nested list) is not kept when
+ * the cell shows another ViewModel. {@link ViewTuple#getViewModel()} of the loaded view tuple always returns the first
+ * ViewModel of the cell.
+ *
+ * @param <V>
+ *            the type of the View.
+ * @param <VM>
+ *            the type of the ViewModel.
+ */
+@Beta
+public class RecyclingViewModelCellFactory<V extends View<VM> & Rebindable<VM>, VM extends ViewModel>
+		implements Callback<ListView<VM>, ListCell<VM>> {
+
+	private final Callback<VM, ViewTuple<V, VM>> loadFactory;
+
+	/**
+	 * @param loadFactory
+	 *            loads a view for the first ViewModel of a cell.
+	 */
+	public RecyclingViewModelCellFactory(Callback<VM, ViewTuple<V, VM>> loadFactory) {
+		this.loadFactory = loadFactory;
+	}
+
+	@Override
+	public ListCell<VM> call(ListView<VM> listView) {
+		final CellBinding<V, VM> binding = new CellBinding<>(loadFactory);
+		return new ListCell<VM>() {
+			@Override
+			protected void updateItem(VM item, boolean empty) {
+				super.updateItem(item, empty);
+				setText(null);
+				final ViewTuple<V, VM> viewTuple = binding.update(empty ? null : item);
+				final Parent graphic = viewTuple == null ? null : viewTuple.getView();
+				if (getGraphic() != graphic) {
+					setGraphic(graphic);
+				}
+			}
+		};
+	}
+
+	/**
+	 * The state of a single cell: the loaded view and the ViewModel it is bound to. The view is loaded for the first
+	 * ViewModel and kept when the cell becomes empty.
+	 */
+	static class CellBinding<V extends View<VM> & Rebindable<VM>, VM extends ViewModel> {
+
+		private final Callback<VM, ViewTuple<V, VM>> loadFactory;
+
+		private ViewTuple<V, VM> viewTuple;
+		private VM boundViewModel;
+
+		CellBinding(Callback<VM, ViewTuple<V, VM>> loadFactory) {
+			this.loadFactory = loadFactory;
+		}
+
+		/**
+		 * Binds the view to the given ViewModel. When the cell becomes empty the view is unbound from its ViewModel
+		 * (see {@link Rebindable#rebind(ViewModel, ViewModel)}), so that it doesn't keep the ViewModel alive.
+		 *
+		 * @param viewModel
+		 *            the ViewModel to show or <code>null</code> if the cell is empty.
+		 * @return the view tuple to show or <code>null</code> if the cell is empty.
+		 */
+		ViewTuple<V, VM> update(VM viewModel) {
+			if (viewModel == boundViewModel) {
+				return viewModel == null ? null : viewTuple;
+			}
+
+			if (viewTuple == null) {
+				viewTuple = loadFactory.call(viewModel);
+			} else {
+				final V codeBehind = viewTuple.getCodeBehind();
+				ViewLoaderReflectionUtils.reinjectViewModel(codeBehind, viewModel);
+				codeBehind.rebind(boundViewModel, viewModel);
+			}
+			boundViewModel = viewModel;
+			return viewModel == null ? null : viewTuple;
+		}
+
+		VM getBoundViewModel() {
+			return boundViewModel;
+		}
+	}
+
+	public static <V extends View<VM> & Rebindable<VM>, VM extends ViewModel> RecyclingViewModelCellFactory<V, VM> create(
+			Callback<VM, ViewTuple<V, VM>> callback) {
+		return new RecyclingViewModelCellFactory<>(callback);
+	}
+
+	public static <V extends FxmlView<VM> & Rebindable<VM>, VM extends ViewModel> RecyclingViewModelCellFactory<V, VM> createForFxmlView(
+			Class<V> viewType) {
+		return create(vm -> FluentViewLoader.fxmlView(viewType).viewModel(vm).load());
+	}
+
+	public static <V extends JavaView<VM> & Rebindable<VM>, VM extends ViewModel> RecyclingViewModelCellFactory<V, VM> createForJavaView(
+			Class<V> viewType) {
+		return create(vm -> FluentViewLoader.javaView(viewType).viewModel(vm).load());
+	}
+}
@@ -0,0 +1,94 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class IdentityMemoTest {
+
+	@Test
+	public void testComputeIfAbsentComparesByIdentity() {
+		IdentityMemo<String, Object> memo = new IdentityMemo<>();
+
+		String a1 = new String("a");
+		String a2 = new String("a");
+
+		Object first = memo.computeIfAbsent(a1, value -> new Object());
+		assertThat(memo.computeIfAbsent(a1, value -> new Object())).isSameAs(first);
+		assertThat(memo.computeIfAbsent(a2, value -> new Object())).isNotSameAs(first);
+
+		assertThat(memo.getHitCount()).isEqualTo(1);
+		assertThat(memo.getMissCount()).isEqualTo(2);
+		assertThat(memo.getHitRate()).isEqualTo(1.0 / 3);
+		assertThat(memo.size()).isEqualTo(2);
+
+		memo.remove(a1);
+		assertThat(memo.computeIfAbsent(a1, value -> new Object())).isNotSameAs(first);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntryIsEvicted() {
+		IdentityMemo<Object, Integer> memo = new IdentityMemo<>(2);
+		AtomicInteger counter = new AtomicInteger();
+
+		Object a = new Object();
+		Object b = new Object();
+		Object c = new Object();
+
+		memo.computeIfAbsent(a, o -> counter.incrementAndGet());
+		memo.computeIfAbsent(b, o -> counter.incrementAndGet());
+		// a was used more recently than b
+		memo.computeIfAbsent(a, o -> counter.incrementAndGet());
+		memo.computeIfAbsent(c, o -> counter.incrementAndGet());
+
+		assertThat(memo.size()).isEqualTo(2);
+		assertThat(memo.getEvictionCount()).isEqualTo(1);
+		assertThat(memo.computeIfAbsent(a, o -> counter.incrementAndGet())).isEqualTo(1);
+		assertThat(memo.computeIfAbsent(b, o -> counter.incrementAndGet())).isEqualTo(4);
+	}
+
+	@Test
+	public void testInvalidMaxSize() {
+		try {
+			new IdentityMemo<>(0);
+			fail("Expected an IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testMovedElementsKeepTheirTargetElements() {
+		ListTransformation<Object, List<Object>> transformation = new ListTransformation<>(item -> {
+			List<Object> viewModel = new ArrayList<>();
+			viewModel.add(item);
+			return viewModel;
+		});
+		IdentityMemo<Object, List<Object>> memo = new IdentityMemo<>();
+		transformation.setIdentityMemo(memo);
+
+		Object a = new Object();
+		Object b = new Object();
+		Object c = new Object();
+		transformation.getSourceList().addAll(a, b, c);
+
+		List<Object> viewModelOfA = transformation.getTargetList().get(0);
+
+		// move a to the end
+		transformation.getSourceList().remove(a);
+		transformation.getSourceList().add(a);
+		assertThat(transformation.getTargetList().get(2)).isSameAs(viewModelOfA);
+
+		// replace the list with mostly the same elements
+		Object d = new Object();
+		transformation.getSourceList().setAll(c, a, d);
+		assertThat(transformation.getTargetList().get(1)).isSameAs(viewModelOfA);
+		assertThat(memo.getHitCount()).isEqualTo(3);
+		assertThat(memo.getMissCount()).isEqualTo(4);
+	}
+}
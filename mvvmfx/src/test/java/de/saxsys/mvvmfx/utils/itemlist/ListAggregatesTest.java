@@ -0,0 +1,145 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import javafx.beans.Observable;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ListAggregatesTest {
+
+	@Test
+	public void testCountIf() {
+		DoubleProperty a = new SimpleDoubleProperty(1);
+		DoubleProperty b = new SimpleDoubleProperty(-1);
+		ObservableList<DoubleProperty> list = FXCollections.observableArrayList(a, b);
+
+		AtomicInteger evaluations = new AtomicInteger();
+		ReadOnlyIntegerProperty positive = ListAggregates.countIf(list, value -> {
+			evaluations.incrementAndGet();
+			return value.get() > 0;
+		}, value -> new Observable[] { value });
+
+		assertThat(positive.get()).isEqualTo(1);
+
+		list.add(new SimpleDoubleProperty(5));
+		assertThat(positive.get()).isEqualTo(2);
+
+		evaluations.set(0);
+		b.set(3);
+		assertThat(positive.get()).isEqualTo(3);
+		// only the changed element was evaluated again
+		assertThat(evaluations.get()).isEqualTo(1);
+
+		list.remove(a);
+		assertThat(positive.get()).isEqualTo(2);
+
+		// removed elements are not observed anymore
+		a.set(-5);
+		a.set(5);
+		assertThat(positive.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testSumAndAverage() {
+		DoubleProperty a = new SimpleDoubleProperty(0.1);
+		ObservableList<DoubleProperty> list = FXCollections.observableArrayList(a);
+
+		ReadOnlyDoubleProperty sum = ListAggregates.sum(list, DoubleProperty::get, value -> new Observable[] { value });
+		ReadOnlyDoubleProperty average = ListAggregates.average(list, DoubleProperty::get,
+				value -> new Observable[] { value });
+
+		assertThat(sum.get()).isEqualTo(0.1);
+
+		List<DoubleProperty> values = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			values.add(new SimpleDoubleProperty(0.1));
+		}
+		list.addAll(values);
+		assertThat(sum.get()).isCloseTo(1000.1, within(1e-9));
+		assertThat(average.get()).isCloseTo(0.1, within(1e-12));
+
+		list.removeAll(values);
+		// the rounding errors of adding and removing don't remain
+		assertThat(sum.get()).isEqualTo(0.1);
+
+		a.set(4);
+		list.add(new SimpleDoubleProperty(2));
+		assertThat(sum.get()).isEqualTo(6.0);
+		assertThat(average.get()).isEqualTo(3.0);
+
+		list.clear();
+		assertThat(sum.get()).isEqualTo(0.0);
+		assertThat(average.get()).isEqualTo(0.0);
+	}
+
+	@Test
+	public void testMinAndMax() {
+		DoubleProperty a = new SimpleDoubleProperty(3);
+		ObservableList<DoubleProperty> list = FXCollections.observableArrayList(a, new SimpleDoubleProperty(1),
+				new SimpleDoubleProperty(1), new SimpleDoubleProperty(2));
+
+		ReadOnlyObjectProperty<Double> min = ListAggregates.min(list, DoubleProperty::getValue,
+				Comparator.naturalOrder(), value -> new Observable[] { value });
+		ReadOnlyObjectProperty<Double> max = ListAggregates.max(list, DoubleProperty::getValue,
+				Comparator.naturalOrder(), value -> new Observable[] { value });
+
+		assertThat(min.get()).isEqualTo(1.0);
+		assertThat(max.get()).isEqualTo(3.0);
+
+		// the minimum occurs twice
+		list.remove(1);
+		assertThat(min.get()).isEqualTo(1.0);
+		list.remove(1);
+		assertThat(min.get()).isEqualTo(2.0);
+
+		a.set(0);
+		assertThat(min.get()).isEqualTo(0.0);
+		assertThat(max.get()).isEqualTo(2.0);
+
+		list.clear();
+		assertThat(min.get()).isNull();
+		assertThat(max.get()).isNull();
+	}
+
+	@Test
+	public void testDistinctCount() {
+		ObservableList<String> list = FXCollections.observableArrayList("a", "b", "a");
+
+		ReadOnlyIntegerProperty distinct = ListAggregates.distinctCount(list, value -> value, null);
+		assertThat(distinct.get()).isEqualTo(2);
+
+		list.remove(0);
+		assertThat(distinct.get()).isEqualTo(2);
+
+		list.set(0, "a");
+		assertThat(distinct.get()).isEqualTo(1);
+
+		FXCollections.sort(list);
+		list.add(null);
+		assertThat(distinct.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testUpdateChanges() {
+		DoubleProperty a = new SimpleDoubleProperty(1);
+		ObservableList<DoubleProperty> list = FXCollections.observableArrayList(value -> new Observable[] { value });
+		list.add(a);
+
+		ReadOnlyDoubleProperty sum = ListAggregates.sum(list, DoubleProperty::get, null);
+		a.set(5);
+		assertThat(sum.get()).isEqualTo(5.0);
+	}
+}
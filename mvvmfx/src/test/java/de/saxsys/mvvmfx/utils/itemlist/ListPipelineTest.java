@@ -0,0 +1,164 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import de.saxsys.mvvmfx.testingutils.GCVerifier;
+import javafx.beans.Observable;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListPipelineTest {
+
+	private static class Item {
+		private final String text;
+		private final BooleanProperty completed = new SimpleBooleanProperty();
+
+		Item(String text) {
+			this.text = text;
+		}
+	}
+
+	@Test
+	public void testMapAndFilter() {
+		ObservableList<String> source = FXCollections.observableArrayList("a", "bbb", "cc");
+		AtomicInteger mappings = new AtomicInteger();
+
+		ObservableList<Integer> result = ListPipeline.from(source)
+				.map(value -> {
+					mappings.incrementAndGet();
+					return value.length();
+				})
+				.filter(length -> length > 1)
+				.toList();
+
+		assertThat(result).containsExactly(3, 2);
+
+		source.add(1, "dddd");
+		assertThat(result).containsExactly(4, 3, 2);
+
+		source.remove("bbb");
+		assertThat(result).containsExactly(4, 2);
+
+		source.set(0, "ee");
+		assertThat(result).containsExactly(2, 4, 2);
+		source.set(0, "e");
+		assertThat(result).containsExactly(4, 2);
+
+		// every element was only mapped once
+		assertThat(mappings.get()).isEqualTo(6);
+	}
+
+	@Test
+	public void testFilterWithDependencies() {
+		Item a = new Item("a");
+		Item b = new Item("b");
+		Item c = new Item("c");
+		ObservableList<Item> source = FXCollections.observableArrayList(a, b, c);
+
+		AtomicInteger evaluations = new AtomicInteger();
+		ObservableList<String> result = ListPipeline.from(source)
+				.filter(item -> {
+					evaluations.incrementAndGet();
+					return !item.completed.get();
+				}, item -> new Observable[] { item.completed })
+				.map(item -> item.text)
+				.toList();
+
+		assertThat(result).containsExactly("a", "b", "c");
+		evaluations.set(0);
+
+		final List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		result.addListener((ListChangeListener<String>) changes::add);
+
+		b.completed.set(true);
+		assertThat(result).containsExactly("a", "c");
+		assertThat(evaluations.get()).isEqualTo(1);
+		assertThat(changes).hasSize(1);
+
+		b.completed.set(false);
+		assertThat(result).containsExactly("a", "b", "c");
+		assertThat(evaluations.get()).isEqualTo(2);
+
+		// removed elements are not observed anymore
+		source.remove(b);
+		b.completed.set(true);
+		assertThat(result).containsExactly("a", "c");
+		assertThat(evaluations.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testFlatMapAndPermutation() {
+		ObservableList<String> source = FXCollections.observableArrayList("b,c", "", "a");
+
+		ObservableList<String> result = ListPipeline.from(source)
+				.flatMap(value -> value.isEmpty() ? new ArrayList<String>() : Arrays.asList(value.split(",")))
+				.toList();
+
+		assertThat(result).containsExactly("b", "c", "a");
+
+		final List<Boolean> permutations = new ArrayList<>();
+		result.addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				permutations.add(change.wasPermutated());
+			}
+		});
+
+		FXCollections.sort(source);
+		assertThat(result).containsExactly("a", "b", "c");
+		assertThat(permutations).containsExactly(true);
+
+		source.add(1, "d,e");
+		assertThat(result).containsExactly("d", "e", "a", "b", "c");
+	}
+
+	@Test
+	public void testSorted() {
+		ObservableList<String> source = FXCollections.observableArrayList("ccc", "a", "bb");
+
+		ObservableList<String> result = ListPipeline.from(source)
+				.sorted(Comparator.comparing(String::length))
+				.map(String::toUpperCase)
+				.toList();
+
+		assertThat(result).containsExactly("A", "BB", "CCC");
+
+		source.add("dddd");
+		source.add("");
+		assertThat(result).containsExactly("", "A", "BB", "CCC", "DDDD");
+	}
+
+	@Test
+	public void testStagesAfterSortedAreKeptAlive() {
+		ObservableList<Integer> source = FXCollections.observableArrayList(30, 10, 20);
+		AtomicInteger mappings = new AtomicInteger();
+
+		ListPipeline<String> pipeline = ListPipeline.from(source)
+				.map(value -> {
+					mappings.incrementAndGet();
+					return value;
+				})
+				.sorted(Comparator.naturalOrder())
+				.map(value -> "x" + value);
+		// the lists are only created by toList()
+		assertThat(mappings.get()).isEqualTo(0);
+
+		ObservableList<String> result = pipeline.toList();
+		assertThat(result).containsExactly("x10", "x20", "x30");
+
+		// only the result is referenced, the intermediate lists must not be collected
+		GCVerifier.forceGC();
+
+		source.add(0);
+		assertThat(result).containsExactly("x0", "x10", "x20", "x30");
+	}
+}
@@ -1,7 +1,21 @@
 package de.saxsys.mvvmfx.utils.itemlist;
 
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ListTransformationTest {
@@ -26,4 +40,194 @@ public class ListTransformationTest {
 		assertThat(transformation.getTargetList()).contains(5, 5, 4);
 	}
 
+	@Test
+	public void testRemoveWithEqualTargetElements() {
+		ListTransformation<String, Integer> transformation = new ListTransformation<>(String::length);
+		transformation.getSourceList().addAll("a", "b", "c", "dd");
+
+		transformation.getSourceList().remove("b");
+		assertThat(transformation.getTargetList()).containsExactly(1, 1, 2);
+
+		transformation.getSourceList().set(0, "eee");
+		assertThat(transformation.getTargetList()).containsExactly(3, 1, 2);
+	}
+
+	@Test
+	public void testSingleChangeEventForLargeList() {
+		ListTransformation<Integer, String> transformation = new ListTransformation<>(i -> "item" + (i % 10));
+
+		final List<Integer> source = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			source.add(i);
+		}
+		transformation.getSourceList().setAll(source);
+		assertThat(transformation.getTargetList()).hasSize(100_000);
+
+		final List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		transformation.getTargetList().addListener((ListChangeListener<String>) changes::add);
+
+		// every tenth element has the same target value, removing by value would remove all of them
+		transformation.getSourceList().remove(50_000, 60_000);
+
+		assertThat(changes).hasSize(1);
+		assertThat(transformation.getTargetList()).hasSize(90_000);
+		assertThat(transformation.getTargetList().get(50_000)).isEqualTo("item0");
+		assertThat(transformation.getTargetList().get(49_999)).isEqualTo("item9");
+
+		changes.clear();
+		// a single change of the source list with several sub-changes
+		transformation.getSourceList().removeAll(0, 10, 20);
+
+		assertThat(changes).hasSize(1);
+		assertThat(transformation.getTargetList()).hasSize(89_997);
+		assertThat(transformation.getTargetList().get(0)).isEqualTo("item1");
+
+		for (int i = 0; i < transformation.getSourceList().size(); i += 1000) {
+			assertThat(transformation.getTargetList().get(i))
+					.isEqualTo("item" + (transformation.getSourceList().get(i) % 10));
+		}
+	}
+
+	@Test
+	public void testPermutationDoesNotTransformAgain() {
+		AtomicInteger transformations = new AtomicInteger();
+		ListTransformation<String, Integer> transformation = new ListTransformation<>(value -> {
+			transformations.incrementAndGet();
+			return value.length();
+		});
+		transformation.getSourceList().addAll("ccc", "a", "dddd", "bb");
+		transformations.set(0);
+
+		final List<ListChangeListener.Change<? extends Integer>> changes = new ArrayList<>();
+		transformation.getTargetList().addListener((ListChangeListener<Integer>) change -> {
+			while (change.next()) {
+				changes.add(change);
+				assertThat(change.wasPermutated()).isTrue();
+				// "ccc" was moved from the first to the third position
+				assertThat(change.getPermutation(0)).isEqualTo(2);
+			}
+		});
+
+		FXCollections.sort(transformation.getSourceList());
+
+		assertThat(transformation.getTargetList()).containsExactly(1, 2, 3, 4);
+		assertThat(transformations.get()).isEqualTo(0);
+		assertThat(changes).hasSize(1);
+	}
+
+	@Test
+	public void testLazyMode() {
+		AtomicInteger transformations = new AtomicInteger();
+		ListTransformation<Integer, String> transformation = new ListTransformation<>(value -> {
+			transformations.incrementAndGet();
+			return "item" + value;
+		}, ListTransformation.Mode.LAZY);
+
+		final List<Integer> source = new ArrayList<>();
+		for (int i = 0; i < 200_000; i++) {
+			source.add(i);
+		}
+		transformation.getSourceList().setAll(source);
+
+		assertThat(transformation.getTargetList()).hasSize(200_000);
+		assertThat(transformations.get()).isEqualTo(0);
+
+		assertThat(transformation.getTargetList().get(5)).isEqualTo("item5");
+		assertThat(transformation.getTargetList().get(5)).isSameAs(transformation.getTargetList().get(5));
+		assertThat(transformations.get()).isEqualTo(1);
+
+		final List<String> removed = new ArrayList<>();
+		final List<Integer> added = new ArrayList<>();
+		transformation.getTargetList().addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				removed.addAll(change.getRemoved());
+				if (change.wasAdded()) {
+					added.add(change.getAddedSize());
+				}
+			}
+		});
+
+		transformation.getSourceList().remove(4, 7);
+		transformation.getSourceList().add(0, -1);
+
+		// only the elements that the listener asked for were transformed
+		assertThat(removed).containsExactly("item4", "item5", "item6");
+		assertThat(added).containsExactly(1);
+		assertThat(transformations.get()).isEqualTo(3);
+
+		FXCollections.sort(transformation.getSourceList(), Comparator.reverseOrder());
+		assertThat(transformations.get()).isEqualTo(3);
+		assertThat(transformation.getTargetList().get(0)).isEqualTo("item199999");
+		assertThat(transformation.getTargetList().get(199_997)).isEqualTo("item-1");
+	}
+
+	@Test
+	public void testLazyWeakMode() {
+		ListTransformation<String, Integer> transformation = new ListTransformation<>(String::length,
+				ListTransformation.Mode.LAZY_WEAK);
+		transformation.getSourceList().addAll("a", "bb", "ccc");
+
+		assertThat(transformation.getTargetList()).containsExactly(1, 2, 3);
+
+		transformation.getSourceList().remove(1);
+		assertThat(transformation.getTargetList()).containsExactly(1, 3);
+	}
+
+	@Test
+	public void testParallelTransformation() {
+		ListTransformation<Integer, String> transformation = new ListTransformation<>(value -> "item" + value);
+		transformation.setParallelThreshold(1000);
+
+		final List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		transformation.getTargetList().addListener((ListChangeListener<String>) changes::add);
+
+		final List<Integer> source = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			source.add(i);
+		}
+		transformation.getSourceList().addAll(source);
+
+		assertThat(changes).hasSize(1);
+		assertThat(transformation.getTargetList()).hasSize(100_000);
+		for (int i = 0; i < 100_000; i += 997) {
+			assertThat(transformation.getTargetList().get(i)).isEqualTo("item" + i);
+		}
+	}
+
+	@Test
+	public void testAsyncTransformation() {
+		final Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+		ListTransformation<String, Integer> transformation = new ListTransformation<>(value -> {
+			threads.add(Thread.currentThread());
+			return value.length();
+		});
+		transformation.getSourceList().add("a");
+		threads.clear();
+
+		final Deque<Runnable> background = new ArrayDeque<>();
+		final Deque<Runnable> ui = new ArrayDeque<>();
+
+		final CompletableFuture<Void> future = transformation.publishAsync(Arrays.asList("bb", "ccc"),
+				background::add, ui::add, false);
+
+		Thread worker = new Thread(background.poll());
+		worker.start();
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+		assertThat(transformation.getSourceList()).containsExactly("a");
+
+		ui.poll().run();
+		assertThat(future.isDone()).isTrue();
+		assertThat(transformation.getSourceList()).containsExactly("a", "bb", "ccc");
+		assertThat(transformation.getTargetList()).containsExactly(1, 2, 3);
+		// the elements were only transformed in the background
+		assertThat(threads).containsExactly(worker);
+
+		transformation.publishAsync(Arrays.asList("dddd"), Runnable::run, Runnable::run, true);
+		assertThat(transformation.getTargetList()).containsExactly(4);
+	}
+
 }
@@ -0,0 +1,137 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObservableIndexTest {
+
+	@Test
+	public void testLookupByKey() {
+		ObservableList<String> list = FXCollections.observableArrayList("apple", "banana");
+		ObservableIndex<Character, String> index = new ObservableIndex<>(list, value -> value.charAt(0));
+
+		assertThat(index.get('a')).isEqualTo("apple");
+		assertThat(index.indexOf('b')).isEqualTo(1);
+		assertThat(index.containsKey('c')).isFalse();
+		assertThat(index.indexOf('c')).isEqualTo(-1);
+
+		list.add(0, "cherry");
+		assertThat(index.get('c')).isEqualTo("cherry");
+		assertThat(index.indexOf('c')).isEqualTo(0);
+		assertThat(index.indexOf('a')).isEqualTo(1);
+		assertThat(index.indexOf('b')).isEqualTo(2);
+
+		list.remove("apple");
+		assertThat(index.containsKey('a')).isFalse();
+		assertThat(index.indexOf('b')).isEqualTo(1);
+
+		list.set(1, "date");
+		assertThat(index.get('b')).isNull();
+		assertThat(index.indexOf('d')).isEqualTo(1);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void testPermutation() {
+		ObservableList<String> list = FXCollections.observableArrayList("d", "b", "a", "c");
+		ObservableIndex<String, String> index = new ObservableIndex<>(list, value -> value);
+
+		FXCollections.sort(list);
+		assertThat(index.indexOf("a")).isEqualTo(0);
+		assertThat(index.indexOf("d")).isEqualTo(3);
+
+		FXCollections.sort(list, Comparator.reverseOrder());
+		assertThat(index.indexOf("a")).isEqualTo(3);
+		assertThat(index.indexOf("c")).isEqualTo(1);
+	}
+
+	@Test
+	public void testLargeList() {
+		ObservableList<Integer> list = FXCollections.observableArrayList();
+		List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			values.add(i);
+		}
+		list.setAll(values);
+
+		ObservableIndex<String, Integer> index = new ObservableIndex<>(list, value -> "id" + value);
+
+		for (int i = 0; i < 1000; i++) {
+			list.add(0, -1 - i);
+		}
+		list.remove(50_000, 60_000);
+
+		assertThat(index.indexOf("id-1000")).isEqualTo(0);
+		assertThat(index.indexOf("id0")).isEqualTo(1000);
+		assertThat(index.containsKey("id50000")).isFalse();
+		for (int i = 0; i < list.size(); i += 997) {
+			assertThat(index.indexOf("id" + list.get(i))).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void testDuplicateKeys() {
+		ObservableList<String> list = FXCollections.observableArrayList("a1", "a2", "b1");
+		ObservableIndex<Character, String> index = new ObservableIndex<>(list, value -> value.charAt(0));
+
+		assertThat(index.get('a')).isEqualTo("a1");
+		assertThat(index.size()).isEqualTo(2);
+
+		list.remove("a1");
+		assertThat(index.get('a')).isEqualTo("a2");
+		assertThat(index.indexOf('a')).isEqualTo(0);
+
+		list.remove("a2");
+		assertThat(index.containsKey('a')).isFalse();
+	}
+
+	@Test
+	public void testUpdatedKey() {
+		StringProperty id = new SimpleStringProperty("1");
+		ObservableList<StringProperty> list = FXCollections.observableArrayList(
+				property -> new Observable[] { property });
+		list.add(id);
+
+		ObservableIndex<String, StringProperty> index = new ObservableIndex<>(list, StringProperty::get);
+		assertThat(index.get("1")).isSameAs(id);
+
+		id.set("2");
+		assertThat(index.containsKey("1")).isFalse();
+		assertThat(index.get("2")).isSameAs(id);
+	}
+
+	@Test
+	public void testLookup() {
+		ObservableList<String> list = FXCollections.observableArrayList("apple");
+		ObservableIndex<Character, String> index = new ObservableIndex<>(list, value -> value.charAt(0));
+
+		ReadOnlyObjectProperty<String> a = index.lookup('a');
+		ReadOnlyObjectProperty<String> b = index.lookup('b');
+		assertThat(index.lookup('a')).isSameAs(a);
+
+		assertThat(a.get()).isEqualTo("apple");
+		assertThat(b.get()).isNull();
+
+		List<String> values = new ArrayList<>();
+		b.addListener((observable, oldValue, newValue) -> values.add(newValue));
+
+		list.add("banana");
+		assertThat(b.get()).isEqualTo("banana");
+
+		list.setAll("avocado");
+		assertThat(a.get()).isEqualTo("avocado");
+		assertThat(b.get()).isNull();
+		assertThat(values).containsExactly("banana", null);
+	}
+}
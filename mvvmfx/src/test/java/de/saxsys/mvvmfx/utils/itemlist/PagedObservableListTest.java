@@ -0,0 +1,245 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PagedObservableListTest {
+
+	private static List<String> rows(int offset, int count) {
+		final List<String> rows = new ArrayList<>();
+		for (int i = offset; i < offset + count; i++) {
+			rows.add("row" + i);
+		}
+		return rows;
+	}
+
+	@Test
+	public void testSynchronousLoading() {
+		final List<Integer> loadedOffsets = new ArrayList<>();
+		PagedObservableList<String> list = new PagedObservableList<>(1_000_000, 100,
+				PageLoader.synchronous((offset, count) -> {
+					loadedOffsets.add(offset);
+					return rows(offset, count);
+				}));
+
+		assertThat(list).hasSize(1_000_000);
+		assertThat(loadedOffsets).isEmpty();
+
+		assertThat(list.get(123_456)).isEqualTo("row123456");
+		// the page and its neighbours
+		assertThat(loadedOffsets).containsExactly(123_400, 123_500, 123_300);
+
+		assertThat(list.get(123_401)).isEqualTo("row123401");
+		assertThat(loadedOffsets).hasSize(3);
+
+		assertThat(list.get(999_999)).isEqualTo("row999999");
+		assertThat(loadedOffsets).contains(999_900, 999_800);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedPagesAreEvicted() {
+		AtomicInteger loads = new AtomicInteger();
+		PagedObservableList<String> list = new PagedObservableList<>(1000, 10,
+				PageLoader.synchronous((offset, count) -> {
+					loads.incrementAndGet();
+					return rows(offset, count);
+				}));
+		list.setPrefetchDistance(0);
+		list.setMaxResidentPages(2);
+
+		final List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		list.addListener((ListChangeListener<String>) changes::add);
+
+		list.get(0);
+		list.get(10);
+		list.get(0);
+		list.get(20);
+
+		assertThat(list.isResident(0)).isTrue();
+		assertThat(list.isResident(10)).isFalse();
+		assertThat(list.isResident(20)).isTrue();
+
+		assertThat(list.get(15)).isEqualTo("row15");
+		assertThat(loads.get()).isEqualTo(4);
+		// evicting doesn't change the content of the list
+		assertThat(changes).isEmpty();
+	}
+
+	@Test
+	public void testAsynchronousLoading() {
+		final Map<Integer, CompletableFuture<List<String>>> requests = new HashMap<>();
+		final Deque<Runnable> ui = new ArrayDeque<>();
+
+		PagedObservableList<String> list = new PagedObservableList<>(250, 100, (offset, count) -> {
+			final CompletableFuture<List<String>> future = new CompletableFuture<>();
+			requests.put(offset, future);
+			return future;
+		}, ui::add);
+		list.setPlaceholderFactory(index -> "loading");
+
+		final List<String> added = new ArrayList<>();
+		list.addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				assertThat(change.wasReplaced()).isTrue();
+				added.addAll(change.getAddedSubList());
+			}
+		});
+
+		assertThat(list.get(5)).isEqualTo("loading");
+		assertThat(list.isLoading()).isTrue();
+		assertThat(requests.keySet()).containsOnly(0, 100);
+
+		// a page that is loading isn't requested again
+		list.get(6);
+		assertThat(requests).hasSize(2);
+
+		requests.get(0).complete(rows(0, 100));
+		assertThat(list.get(5)).isEqualTo("loading");
+
+		ui.poll().run();
+		assertThat(list.get(5)).isEqualTo("row5");
+		assertThat(added).hasSize(100);
+		assertThat(added.get(5)).isEqualTo("row5");
+
+		// the last page only has 50 elements
+		list.get(150);
+		assertThat(requests.keySet()).containsOnly(0, 100, 200);
+		requests.get(100).complete(rows(100, 100));
+		requests.get(200).complete(rows(200, 50));
+		ui.poll().run();
+		ui.poll().run();
+
+		assertThat(list.isLoading()).isFalse();
+		assertThat(list.get(249)).isEqualTo("row249");
+	}
+
+	@Test
+	public void testFailedPageIsLoadedAgain() {
+		AtomicInteger loads = new AtomicInteger();
+		PagedObservableList<String> list = new PagedObservableList<>(10, 10, (offset, count) -> {
+			final CompletableFuture<List<String>> future = new CompletableFuture<>();
+			if (loads.incrementAndGet() == 1) {
+				future.completeExceptionally(new IllegalStateException("backend not available"));
+			} else {
+				future.complete(rows(offset, count));
+			}
+			return future;
+		}, Runnable::run);
+
+		assertThat(list.get(0)).isNull();
+		assertThat(list.get(0)).isEqualTo("row0");
+		assertThat(loads.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testTotalSizeAndRefresh() {
+		AtomicInteger version = new AtomicInteger();
+		PagedObservableList<String> list = new PagedObservableList<>(15, 10,
+				PageLoader.synchronous((offset, count) -> {
+					final List<String> rows = new ArrayList<>();
+					for (int i = offset; i < offset + count; i++) {
+						rows.add(version.get() + ":" + i);
+					}
+					return rows;
+				}));
+
+		final List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		list.addListener((ListChangeListener<String>) changes::add);
+
+		assertThat(list.get(12)).isEqualTo("0:12");
+
+		list.setTotalSize(20);
+		assertThat(list).hasSize(20);
+		assertThat(list.get(19)).isEqualTo("0:19");
+
+		list.setTotalSize(5);
+		assertThat(list).hasSize(5);
+		assertThat(changes).hasSize(2);
+		final ListChangeListener.Change<? extends String> removal = changes.get(1);
+		assertThat(removal.next()).isTrue();
+		assertThat(removal.getFrom()).isEqualTo(5);
+		assertThat(removal.getRemovedSize()).isEqualTo(15);
+		assertThat(removal.getRemoved().get(14)).isEqualTo("0:19");
+
+		version.set(1);
+		assertThat(list.get(4)).isEqualTo("0:4");
+		list.refresh();
+		assertThat(changes).hasSize(3);
+		assertThat(list.get(4)).isEqualTo("1:4");
+	}
+
+	@Test
+	public void testWithLazyListTransformation() {
+		AtomicInteger loads = new AtomicInteger();
+		PagedObservableList<String> list = new PagedObservableList<>(1_000_000, 100,
+				PageLoader.synchronous((offset, count) -> {
+					loads.incrementAndGet();
+					return rows(offset, count);
+				}));
+
+		AtomicInteger transformations = new AtomicInteger();
+		ListTransformation<String, String> transformation = new ListTransformation<>(list, row -> {
+			transformations.incrementAndGet();
+			return row.toUpperCase();
+		}, ListTransformation.Mode.LAZY);
+
+		assertThat(transformation.getTargetList()).hasSize(1_000_000);
+		assertThat(loads.get()).isEqualTo(0);
+
+		assertThat(transformation.getTargetList().get(500_000)).isEqualTo("ROW500000");
+		assertThat(transformations.get()).isEqualTo(1);
+		assertThat(loads.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void testPlaceholdersAreNotTransformed() {
+		final Map<Integer, CompletableFuture<List<String>>> requests = new HashMap<>();
+		final Deque<Runnable> ui = new ArrayDeque<>();
+
+		PagedObservableList<String> list = new PagedObservableList<>(1000, 100, (offset, count) -> {
+			final CompletableFuture<List<String>> future = new CompletableFuture<>();
+			requests.put(offset, future);
+			return future;
+		}, ui::add);
+		list.setPrefetchDistance(0);
+
+		final List<String> transformed = new ArrayList<>();
+		ListTransformation<String, String> transformation = new ListTransformation<>(list, row -> {
+			transformed.add(row);
+			return row.toUpperCase();
+		}, ListTransformation.Mode.LAZY);
+		transformation.setPlaceholderPredicate(Objects::isNull);
+
+		final List<String> replaced = new ArrayList<>();
+		transformation.getTargetList().addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				replaced.add(change.getFrom() + "-" + change.getTo());
+			}
+		});
+
+		assertThat(transformation.getTargetList().get(150)).isNull();
+		assertThat(transformation.getTargetList().get(150)).isNull();
+		assertThat(requests.keySet()).containsOnly(100);
+		assertThat(transformed).isEmpty();
+
+		requests.get(100).complete(rows(100, 100));
+		ui.poll().run();
+
+		assertThat(replaced).containsExactly("100-200");
+		assertThat(transformed).isEmpty();
+		assertThat(transformation.getTargetList().get(150)).isEqualTo("ROW150");
+		assertThat(transformed).containsExactly("row150");
+	}
+}
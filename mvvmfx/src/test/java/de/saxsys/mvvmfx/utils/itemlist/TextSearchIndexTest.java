@@ -0,0 +1,152 @@
+package de.saxsys.mvvmfx.utils.itemlist;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextSearchIndexTest {
+
+	@Test
+	public void testSearch() {
+		ObservableList<String> list = FXCollections.observableArrayList("Germany", "Norway", "Great Britain", "Spain",
+				"Ghana");
+		TextSearchIndex index = new TextSearchIndex(list);
+
+		assertThat(index.search("ai")).containsExactly(2, 3);
+		assertThat(index.search("AIN")).containsExactly(2, 3);
+		assertThat(index.search("way")).containsExactly(1);
+		assertThat(index.search("xyz")).isEmpty();
+		assertThat(index.search("")).hasSize(5);
+		assertThat(index.search(null)).hasSize(5);
+
+		// the trigrams "ger" and "man" are both contained in other strings but not "germ"
+		list.add("Herman");
+		assertThat(index.search("germ")).containsExactly(0);
+	}
+
+	@Test
+	public void testIndexIsUpdatedWithList() {
+		ObservableList<String> list = FXCollections.observableArrayList("Germany", "Norway", "Spain");
+		TextSearchIndex index = new TextSearchIndex(list);
+
+		list.add(0, "Denmark");
+		assertThat(index.search("mar")).containsExactly(0);
+		assertThat(index.search("pai")).containsExactly(3);
+
+		list.remove("Norway");
+		assertThat(index.search("way")).isEmpty();
+		assertThat(index.search("pai")).containsExactly(2);
+
+		list.set(0, "Austria");
+		assertThat(index.search("mar")).isEmpty();
+		assertThat(index.search("tri")).containsExactly(0);
+
+		FXCollections.sort(list, Comparator.reverseOrder());
+		assertThat(list).containsExactly("Spain", "Germany", "Austria");
+		assertThat(index.search("ia")).containsExactly(2);
+		assertThat(index.search("an")).containsExactly(1);
+	}
+
+	@Test
+	public void testFilteredView() {
+		ObservableList<String> list = FXCollections.observableArrayList("Germany", "Norway", "Great Britain", "Spain");
+		TextSearchIndex index = new TextSearchIndex(list);
+
+		StringProperty query = new SimpleStringProperty();
+		ObservableList<String> view = index.filteredView(query);
+		assertThat(view).containsExactly("Germany", "Norway", "Great Britain", "Spain");
+
+		List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		view.addListener((ListChangeListener<String>) changes::add);
+
+		query.set("g");
+		assertThat(view).containsExactly("Germany", "Great Britain");
+		query.set("gr");
+		assertThat(view).containsExactly("Great Britain");
+		query.set("gre");
+		assertThat(view).containsExactly("Great Britain");
+		query.set("g");
+		assertThat(view).containsExactly("Germany", "Great Britain");
+		// extending "gr" to "gre" doesn't change the view
+		assertThat(changes).hasSize(3);
+
+		list.add(1, "Portugal");
+		assertThat(view).containsExactly("Germany", "Portugal", "Great Britain");
+
+		list.remove("Germany");
+		assertThat(view).containsExactly("Portugal", "Great Britain");
+	}
+
+	@Test
+	public void testFilteredViewFiresGranularChanges() {
+		ObservableList<String> list = FXCollections.observableArrayList();
+		for (int i = 0; i < 1000; i++) {
+			list.add("entry " + i);
+		}
+		TextSearchIndex index = new TextSearchIndex(list);
+
+		StringProperty query = new SimpleStringProperty("entry 1");
+		ObservableList<String> view = index.filteredView(query);
+		assertThat(view).hasSize(111);
+
+		List<String> events = new ArrayList<>();
+		view.addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					events.add("permutated " + change.getFrom() + "-" + change.getTo());
+				} else {
+					events.add("removed " + change.getRemovedSize() + " added " + change.getAddedSize() + " at "
+							+ change.getFrom());
+				}
+			}
+		});
+
+		// only "entry 10" and "entry 100" ... "entry 109" stay in the view
+		query.set("entry 10");
+		assertThat(view).hasSize(11);
+		assertThat(events).containsExactly("removed 1 added 0 at 0", "removed 9 added 0 at 1",
+				"removed 90 added 0 at 11");
+
+		events.clear();
+		list.add(106, "entry 105 again");
+		assertThat(view).hasSize(12);
+		assertThat(events).containsExactly("removed 0 added 1 at 7");
+
+		events.clear();
+		list.remove("entry 100");
+		assertThat(events).containsExactly("removed 1 added 0 at 1");
+
+		events.clear();
+		FXCollections.sort(list, Comparator.reverseOrder());
+		assertThat(view.get(0)).isEqualTo("entry 109");
+		assertThat(events).containsExactly("permutated 0-11");
+	}
+
+	@Test
+	public void testLargeList() {
+		ObservableList<String> list = FXCollections.observableArrayList();
+		List<String> values = new ArrayList<>();
+		for (int i = 0; i < 50_000; i++) {
+			values.add("entry " + i);
+		}
+		list.setAll(values);
+		TextSearchIndex index = new TextSearchIndex(list);
+
+		assertThat(index.search("12345")).containsExactly(12345);
+
+		// most of the entries are removed, so the index is rebuilt
+		list.remove(0, 40_000);
+		assertThat(index.search("12345")).isEmpty();
+		assertThat(index.search("y 49999")).containsExactly(9999);
+		assertThat(index.search("entry")).hasSize(10_000);
+	}
+}
@@ -0,0 +1,89 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+public class ListDiffTest {
+
+	@Test
+	public void testOnlyChangedElementsAreTouched() {
+		ObservableList<String> target = FXCollections.observableArrayList("a", "b", "c", "d", "e");
+
+		List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		List<String> removed = new ArrayList<>();
+		List<String> added = new ArrayList<>();
+		target.addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				removed.addAll(change.getRemoved());
+				added.addAll(change.getAddedSubList());
+			}
+			changes.add(change);
+		});
+
+		ListDiff.apply(target, Arrays.asList("a", "x", "y", "c", "d"));
+
+		assertThat(target).containsExactly("a", "x", "y", "c", "d");
+		assertThat(removed).containsOnly("b", "e");
+		assertThat(added).containsOnly("x", "y");
+		// one removal of "e", one removal of "b" and one addition of "x" and "y"
+		assertThat(changes).hasSize(3);
+	}
+
+	@Test
+	public void testEqualListsFireNoEvents() {
+		ObservableList<String> target = FXCollections.observableArrayList("a", "b", "c");
+
+		List<ListChangeListener.Change<? extends String>> changes = new ArrayList<>();
+		target.addListener((ListChangeListener<String>) changes::add);
+
+		ListDiff.apply(target, Arrays.asList("a", "b", "c"));
+
+		assertThat(changes).isEmpty();
+	}
+
+	@Test
+	public void testRandomLists() {
+		Random random = new Random(42);
+
+		for (int i = 0; i < 500; i++) {
+			List<Integer> target = randomList(random);
+			List<Integer> source = randomList(random);
+
+			ListDiff.apply(target, source);
+
+			assertThat(target).isEqualTo(source);
+		}
+	}
+
+	@Test
+	public void testTooManyDifferences() {
+		List<Integer> target = new ArrayList<>();
+		List<Integer> source = new ArrayList<>();
+		for (int i = 0; i < ListDiff.MAX_EDIT_DISTANCE * 2; i++) {
+			target.add(i);
+			source.add(-i - 1);
+		}
+
+		ListDiff.apply(target, source);
+
+		assertThat(target).isEqualTo(source);
+	}
+
+	private static List<Integer> randomList(Random random) {
+		int size = random.nextInt(20);
+		List<Integer> result = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			result.add(random.nextInt(5));
+		}
+		return result;
+	}
+}
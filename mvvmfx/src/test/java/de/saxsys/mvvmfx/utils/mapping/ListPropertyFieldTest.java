@@ -0,0 +1,50 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import javafx.beans.property.ListProperty;
+import javafx.beans.property.SimpleListProperty;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ListPropertyFieldTest {
+
+	@Test
+	public void testInPlaceChangeOfBeanListIsDifferent() {
+		Person person = new Person();
+		person.getNicknames().add("captain");
+
+		BeanListPropertyField<Person, String, ObservableList<String>, ListProperty<String>> field =
+				new BeanListPropertyField<>(changed -> {}, Person::getNicknames, Person::setNicknames,
+						SimpleListProperty::new);
+
+		field.reload(person);
+		assertThat(field.isDifferent(person)).isFalse();
+
+		// the list of the model isn't observable, so this change can only be found by comparing the lists
+		person.getNicknames().add("ace");
+		assertThat(field.isDifferent(person)).isTrue();
+
+		field.reload(person);
+		assertThat(field.isDifferent(person)).isFalse();
+	}
+
+	@Test
+	public void testInPlaceChangeOfObservableListIsDifferent() {
+		PersonFX person = new PersonFX();
+		person.getNicknames().add("captain");
+
+		FxListPropertyField<PersonFX, String, ObservableList<String>, ListProperty<String>> field =
+				new FxListPropertyField<>(changed -> {}, PersonFX::nicknamesProperty, SimpleListProperty::new);
+
+		field.reload(person);
+		assertThat(field.isDifferent(person)).isFalse();
+
+		person.getNicknames().add("ace");
+		assertThat(field.isDifferent(person)).isTrue();
+
+		field.commit(person);
+		assertThat(field.isDifferent(person)).isFalse();
+		assertThat(person.getNicknames()).containsExactly("captain");
+	}
+}
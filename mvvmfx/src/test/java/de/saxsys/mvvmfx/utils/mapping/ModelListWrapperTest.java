@@ -0,0 +1,227 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+
+import de.saxsys.mvvmfx.testingutils.GCVerifier;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.SetChangeListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ModelListWrapperTest {
+
+	private final ModelWrapperSchema<Person> schema = new ModelWrapperSchema<>();
+
+	private final SchemaField<Person, String, StringProperty> name = schema.field("name", Person::getName,
+			Person::setName, "empty");
+	private final SchemaField<Person, Number, IntegerProperty> age = schema.field("age", Person::getAge,
+			Person::setAge);
+
+	private List<Person> persons;
+	private ModelListWrapper<Person> listWrapper;
+
+	@BeforeEach
+	public void setup() {
+		persons = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Person person = new Person();
+			person.setName("person" + i);
+			person.setAge(i);
+			persons.add(person);
+		}
+		listWrapper = new ModelListWrapper<>(schema, persons);
+	}
+
+	@Test
+	public void testEditAndCommit() {
+		assertThat(listWrapper.size()).isEqualTo(100);
+		assertThat(listWrapper.getValue(5, name)).isEqualTo("person5");
+		assertThat(listWrapper.isDirty()).isFalse();
+
+		listWrapper.property(5, name).set("horst");
+		listWrapper.property(42, age).set(99);
+
+		assertThat(listWrapper.property(5, name)).isSameAs(listWrapper.property(5, name));
+		assertThat(listWrapper.isDirty()).isTrue();
+		assertThat(listWrapper.isDirty(5)).isTrue();
+		assertThat(listWrapper.isDirty(5, name)).isTrue();
+		assertThat(listWrapper.isDirty(5, age)).isFalse();
+		assertThat(listWrapper.isDirty(6)).isFalse();
+		assertThat(listWrapper.getDirtyRows()).containsExactly(5, 42);
+		assertThat(listWrapper.isDifferent()).isTrue();
+		assertThat(persons.get(5).getName()).isEqualTo("person5");
+
+		listWrapper.commit();
+
+		assertThat(persons.get(5).getName()).isEqualTo("horst");
+		assertThat(persons.get(42).getAge()).isEqualTo(99);
+		assertThat(listWrapper.isDirty()).isFalse();
+		assertThat(listWrapper.getDirtyRows()).isEmpty();
+		assertThat(listWrapper.isDifferent()).isFalse();
+		assertThat(listWrapper.property(5, name).get()).isEqualTo("horst");
+	}
+
+	@Test
+	public void testReload() {
+		StringProperty nameProperty = listWrapper.property(3, name);
+		nameProperty.set("horst");
+
+		persons.get(7).setName("changed externally");
+		listWrapper.reload();
+
+		assertThat(nameProperty.get()).isEqualTo("person3");
+		assertThat(listWrapper.getValue(7, name)).isEqualTo("changed externally");
+		assertThat(listWrapper.isDirty()).isFalse();
+	}
+
+	@Test
+	public void testReset() {
+		StringProperty nameProperty = listWrapper.property(3, name);
+
+		listWrapper.reset();
+
+		assertThat(nameProperty.get()).isEqualTo("empty");
+		assertThat(listWrapper.getValue(50, name)).isEqualTo("empty");
+		assertThat(listWrapper.getValue(50, age)).isEqualTo(0);
+		assertThat(listWrapper.getDirtyRows()).hasSize(100);
+		assertThat(persons.get(50).getName()).isEqualTo("person50");
+
+		listWrapper.property(50, name).set("horst");
+		listWrapper.commit();
+
+		assertThat(persons.get(50).getName()).isEqualTo("horst");
+		assertThat(persons.get(51).getName()).isEqualTo("empty");
+		assertThat(persons.get(51).getAge()).isEqualTo(0);
+	}
+
+	@Test
+	public void testSetModels() {
+		listWrapper.property(0, name).set("horst");
+
+		List<Person> others = new ArrayList<>();
+		Person other = new Person();
+		other.setName("other");
+		others.add(other);
+
+		listWrapper.setModels(others);
+
+		assertThat(listWrapper.size()).isEqualTo(1);
+		assertThat(listWrapper.isDirty()).isFalse();
+		assertThat(listWrapper.property(0, name).get()).isEqualTo("other");
+	}
+
+	@Test
+	public void testPropertiesAreNotKeptByTheWrapper() {
+		StringProperty nameProperty = listWrapper.property(3, name);
+		nameProperty.set("horst");
+
+		GCVerifier verifier = GCVerifier.create(nameProperty);
+		nameProperty = null;
+		verifier.verify("the property of a cell is only weakly referenced by the wrapper");
+
+		// the edited value is kept
+		assertThat(listWrapper.property(3, name).get()).isEqualTo("horst");
+		assertThat(listWrapper.isDirty(3, name)).isTrue();
+	}
+
+	@Test
+	public void testDirtyRowsAreObservable() {
+		List<Integer> addedRows = new ArrayList<>();
+		listWrapper.getDirtyRows().addListener((SetChangeListener<Integer>) change -> {
+			if (change.wasAdded()) {
+				addedRows.add(change.getElementAdded());
+			}
+		});
+
+		listWrapper.property(42, age).set(99);
+		listWrapper.property(5, name).set("horst");
+		listWrapper.property(5, age).set(1);
+
+		assertThat(addedRows).containsExactly(42, 5);
+		assertThat(listWrapper.getDirtyRows()).containsExactly(5, 42);
+
+		listWrapper.commit();
+		assertThat(listWrapper.getDirtyRows()).isEmpty();
+	}
+
+	@Test
+	public void testEditedValuesMoveWithTheirRows() {
+		ObservableList<Person> observablePersons = FXCollections.observableArrayList(persons);
+		listWrapper.setModels(observablePersons);
+
+		StringProperty nameProperty = listWrapper.property(5, name);
+		nameProperty.set("horst");
+		listWrapper.property(42, age).set(99);
+
+		// insert two rows before the edited rows
+		observablePersons.addAll(0, persons.subList(90, 92));
+		assertThat(listWrapper.getValue(7, name)).isEqualTo("horst");
+		assertThat(listWrapper.getValue(44, age)).isEqualTo(99);
+		assertThat(listWrapper.getDirtyRows()).containsExactly(7, 44);
+
+		// the property of the cell follows the row
+		nameProperty.set("horst2");
+		assertThat(listWrapper.getValue(7, name)).isEqualTo("horst2");
+
+		// removing the edited row discards its state
+		observablePersons.remove(7);
+		assertThat(listWrapper.getDirtyRows()).containsExactly(43);
+		assertThat(listWrapper.getValue(7, name)).isEqualTo("person6");
+		nameProperty.set("not connected anymore");
+		assertThat(listWrapper.getDirtyRows()).containsExactly(43);
+
+		FXCollections.sort(observablePersons, Comparator.comparing(Person::getAge).reversed());
+		final int row = observablePersons.indexOf(persons.get(42));
+		assertThat(listWrapper.getDirtyRows()).containsExactly(row);
+		assertThat(listWrapper.getValue(row, age)).isEqualTo(99);
+
+		listWrapper.commit();
+		assertThat(persons.get(42).getAge()).isEqualTo(99);
+		assertThat(persons.get(5).getName()).isEqualTo("person5");
+	}
+
+	@Test
+	public void testPreviousModelsAreNotObservedAfterSetModels() {
+		ObservableList<Person> previousPersons = FXCollections.observableArrayList(persons);
+		listWrapper.setModels(previousPersons);
+
+		ObservableList<Person> newPersons = FXCollections.observableArrayList(persons);
+		listWrapper.setModels(newPersons);
+		listWrapper.property(2, name).set("horst");
+
+		previousPersons.remove(0);
+		FXCollections.sort(previousPersons, Comparator.comparing(Person::getAge).reversed());
+
+		assertThat(listWrapper.getDirtyRows()).containsExactly(2);
+		assertThat(listWrapper.getValue(2, name)).isEqualTo("horst");
+
+		listWrapper.commit();
+		assertThat(persons.get(2).getName()).isEqualTo("horst");
+	}
+
+	@Test
+	public void testStructuralModificationOfPlainListIsRejected() {
+		listWrapper.property(5, name).set("horst");
+		persons.remove(0);
+
+		try {
+			listWrapper.getValue(5, name);
+			fail("The list was modified without notifying the wrapper");
+		} catch (ConcurrentModificationException e) {
+			// expected
+		}
+
+		listWrapper.setModels(persons);
+		assertThat(listWrapper.getValue(4, name)).isEqualTo("person5");
+	}
+}
@@ -0,0 +1,177 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ListProperty;
+import javafx.beans.property.StringProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ModelWrapperHistoryTest {
+
+	private Person person;
+	private ModelWrapper<Person> personWrapper;
+	private StringProperty name;
+	private IntegerProperty age;
+	private ListProperty<String> nicknames;
+
+	@BeforeEach
+	public void setup() {
+		person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+		person.setNicknames(new ArrayList<>());
+
+		personWrapper = new ModelWrapper<>(person);
+		name = personWrapper.field(Person::getName, Person::setName);
+		age = personWrapper.field(Person::getAge, Person::setAge);
+		nicknames = personWrapper.field(Person::getNicknames, Person::setNicknames);
+	}
+
+	@Test
+	public void testUndoRedo() {
+		ModelWrapperHistory<Person> history = new ModelWrapperHistory<>(personWrapper, 10, Duration.ZERO);
+
+		assertThat(history.canUndo()).isFalse();
+
+		name.set("hugo");
+		age.set(33);
+		nicknames.add("captain");
+
+		assertThat(history.getUndoCount()).isEqualTo(3);
+
+		assertThat(history.undo()).isTrue();
+		assertThat(nicknames).isEmpty();
+		assertThat(history.undo()).isTrue();
+		assertThat(age.get()).isEqualTo(32);
+		assertThat(name.get()).isEqualTo("hugo");
+		assertThat(history.canRedo()).isTrue();
+
+		assertThat(history.redo()).isTrue();
+		assertThat(age.get()).isEqualTo(33);
+
+		assertThat(history.undo()).isTrue();
+		assertThat(history.undo()).isTrue();
+		assertThat(name.get()).isEqualTo("horst");
+		assertThat(history.undo()).isFalse();
+		assertThat(history.canUndo()).isFalse();
+
+		// a new change discards the redo steps
+		age.set(40);
+		assertThat(history.canRedo()).isFalse();
+
+		// the model is not touched
+		assertThat(person.getAge()).isEqualTo(32);
+	}
+
+	@Test
+	public void testCoalescing() {
+		ModelWrapperHistory<Person> history = new ModelWrapperHistory<>(personWrapper, 10, Duration.ofHours(1));
+
+		name.set("h");
+		name.set("hu");
+		name.set("hug");
+		age.set(33);
+		age.set(34);
+
+		assertThat(history.getUndoCount()).isEqualTo(2);
+
+		history.undo();
+		assertThat(age.get()).isEqualTo(32);
+		assertThat(name.get()).isEqualTo("hug");
+
+		history.undo();
+		assertThat(name.get()).isEqualTo("horst");
+	}
+
+	@Test
+	public void testBatchUpdateIsOneStep() {
+		ModelWrapperHistory<Person> history = new ModelWrapperHistory<>(personWrapper, 10, Duration.ZERO);
+
+		personWrapper.batch(() -> {
+			name.set("hugo");
+			age.set(50);
+		});
+		personWrapper.reset();
+
+		assertThat(history.getUndoCount()).isEqualTo(2);
+
+		history.undo();
+		assertThat(name.get()).isEqualTo("hugo");
+		assertThat(age.get()).isEqualTo(50);
+
+		history.undo();
+		assertThat(name.get()).isEqualTo("horst");
+		assertThat(age.get()).isEqualTo(32);
+	}
+
+	@Test
+	public void testMaxDepth() {
+		ModelWrapperHistory<Person> history = new ModelWrapperHistory<>(personWrapper, 3, Duration.ZERO);
+
+		for (int i = 0; i < 10; i++) {
+			age.set(i);
+		}
+
+		assertThat(history.getUndoCount()).isEqualTo(3);
+		while (history.undo()) {
+			// undo all
+		}
+		assertThat(age.get()).isEqualTo(6);
+	}
+
+	@Test
+	public void testSnapshots() {
+		ModelWrapperHistory<Person> history = new ModelWrapperHistory<>(personWrapper, 10, Duration.ZERO);
+
+		nicknames.add("captain");
+		ModelWrapperHistory.Snapshot snapshot = history.snapshot();
+
+		name.set("hugo");
+		nicknames.add("player");
+		nicknames.remove("captain");
+
+		history.restore(snapshot);
+		assertThat(name.get()).isEqualTo("horst");
+		assertThat(nicknames).containsExactly("captain");
+
+		// restoring is an undo step itself
+		history.undo();
+		assertThat(name.get()).isEqualTo("hugo");
+		assertThat(nicknames).containsExactly("player");
+	}
+
+	@Test
+	public void testDispose() {
+		ModelWrapperHistory<Person> history = new ModelWrapperHistory<>(personWrapper, 10, Duration.ZERO);
+		history.dispose();
+
+		name.set("hugo");
+		assertThat(history.canUndo()).isFalse();
+	}
+
+	@Test
+	public void testPersistentFieldMapSharesStructure() {
+		PersistentFieldMap map = PersistentFieldMap.EMPTY;
+		for (int i = 0; i < 2000; i++) {
+			map = map.with(i, i);
+		}
+
+		PersistentFieldMap changed = map.with(1500, "changed").with(7, null);
+
+		assertThat(map.get(1500)).isEqualTo(1500);
+		assertThat(changed.get(1500)).isEqualTo("changed");
+		assertThat(changed.contains(7)).isTrue();
+		assertThat(changed.get(7)).isNull();
+		assertThat(changed.contains(5000)).isFalse();
+
+		List<Integer> differences = new ArrayList<>();
+		PersistentFieldMap.forEachDifference(map, changed, differences::add);
+		assertThat(differences).containsExactly(7, 1500);
+	}
+}
@@ -0,0 +1,140 @@
+package de.saxsys.mvvmfx.utils.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.StringProperty;
+import org.junit.jupiter.api.Test;
+
+public class ModelWrapperSchemaTest {
+
+	private final ModelWrapperSchema<Person> schema = new ModelWrapperSchema<>();
+
+	private final SchemaField<Person, String, StringProperty> name = schema.field("name", Person::getName,
+			Person::setName, "empty");
+	private final SchemaField<Person, Number, IntegerProperty> age = schema.field("age", Person::getAge,
+			Person::setAge);
+
+	@Test
+	public void testCommitAndReload() {
+		Person person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+
+		SchemaModelWrapper<Person> wrapper = schema.wrap(person);
+
+		assertThat(wrapper.property(name).get()).isEqualTo("horst");
+		assertThat(wrapper.property(age).get()).isEqualTo(32);
+		assertThat(wrapper.isDirty()).isFalse();
+		assertThat(wrapper.isDifferent()).isFalse();
+
+		wrapper.property(name).set("hugo");
+		assertThat(wrapper.isDirty()).isTrue();
+		assertThat(wrapper.isDirty(name)).isTrue();
+		assertThat(wrapper.isDirty(age)).isFalse();
+		assertThat(wrapper.differentProperty().get()).isTrue();
+		assertThat(person.getName()).isEqualTo("horst");
+
+		wrapper.commit();
+		assertThat(person.getName()).isEqualTo("hugo");
+		assertThat(wrapper.isDirty()).isFalse();
+		assertThat(wrapper.isDifferent()).isFalse();
+
+		person.setAge(40);
+		wrapper.reload();
+		assertThat(wrapper.property(age).get()).isEqualTo(40);
+
+		wrapper.property(name).set("horst");
+		wrapper.property(name).set("hugo");
+		assertThat(wrapper.isDirty()).isTrue();
+		assertThat(wrapper.isDifferent()).isFalse();
+	}
+
+	@Test
+	public void testResetWithoutProperties() {
+		Person person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+
+		SchemaModelWrapper<Person> wrapper = schema.wrap(person);
+		wrapper.reset();
+
+		assertThat(wrapper.isDirty()).isTrue();
+		assertThat(wrapper.isDifferent(name)).isTrue();
+		assertThat(wrapper.isDifferent(age)).isTrue();
+
+		Person copy = new Person();
+		wrapper.copyValuesTo(copy);
+		assertThat(copy.getName()).isEqualTo("empty");
+		assertThat(copy.getAge()).isEqualTo(0);
+
+		wrapper.commit();
+		assertThat(person.getName()).isEqualTo("empty");
+		assertThat(person.getAge()).isEqualTo(0);
+		assertThat(wrapper.isDifferent()).isFalse();
+
+		// the property is created with the current value
+		assertThat(wrapper.property(name).get()).isEqualTo("empty");
+	}
+
+	@Test
+	public void testCopyValuesToWithoutModel() {
+		SchemaModelWrapper<Person> wrapper = schema.wrap();
+
+		// without a model instance the fields have their default values
+		Person copy = new Person();
+		copy.setAge(32);
+		wrapper.copyValuesTo(copy);
+		assertThat(copy.getName()).isEqualTo("empty");
+		assertThat(copy.getAge()).isEqualTo(0);
+
+		assertThat(wrapper.property(name).get()).isEqualTo("empty");
+	}
+
+	@Test
+	public void testWrappersDontShareState() {
+		Person personA = new Person();
+		personA.setName("a");
+		Person personB = new Person();
+		personB.setName("b");
+
+		SchemaModelWrapper<Person> wrapperA = schema.wrap(personA);
+		SchemaModelWrapper<Person> wrapperB = schema.wrap(personB);
+
+		wrapperA.property(name).set("changed");
+
+		assertThat(wrapperB.property(name).get()).isEqualTo("b");
+		assertThat(wrapperB.isDirty()).isFalse();
+
+		wrapperB.set(personA);
+		assertThat(wrapperB.property(name).get()).isEqualTo("a");
+	}
+
+	@Test
+	public void testSchemaIsSealedAfterFirstWrapper() {
+		ModelWrapperSchema<Person> otherSchema = new ModelWrapperSchema<>();
+		SchemaField<Person, String, StringProperty> otherName = otherSchema.field("name", Person::getName,
+				Person::setName);
+
+		assertThat(otherSchema.field("name", Person::getName, Person::setName)).isSameAs(otherName);
+		assertThat(otherSchema.getField("name").get()).isSameAs(otherName);
+
+		SchemaModelWrapper<Person> wrapper = otherSchema.wrap();
+
+		try {
+			otherSchema.field("age", Person::getAge, Person::setAge);
+			fail("Expected an IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+
+		// a field of another schema can't be used
+		try {
+			wrapper.property(age);
+			fail("Expected an IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+}
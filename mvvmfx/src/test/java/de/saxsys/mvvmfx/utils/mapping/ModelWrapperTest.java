@@ -16,17 +16,26 @@
 package de.saxsys.mvvmfx.utils.mapping;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.IntGetter;
 import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.SetPropertyAccessor;
+import de.saxsys.mvvmfx.utils.mapping.accessorfunctions.StringGetter;
 import javafx.beans.property.MapProperty;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
@@ -35,10 +44,17 @@ import javafx.collections.ObservableSet;
 import org.assertj.core.data.MapEntry;
 import org.junit.jupiter.api.Test;
 
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ListProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.SetProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.collections.FXCollections;
 
@@ -447,6 +463,150 @@ public class ModelWrapperTest {
 		assertThat(phoneNumbersProperty.getValue()).containsOnly(MapEntry.entry("private", "030 112233"));
 	}
 
+	@Test
+	public void testWithBuilder() {
+		PersonImmutable person1 = PersonImmutable.create()
+				.withName("horst")
+				.withAge(32);
+
+		ModelWrapper<PersonImmutable> personWrapper = new ModelWrapper<>(person1);
+
+		final AtomicInteger builds = new AtomicInteger();
+		final BuilderMapping<PersonImmutable, PersonImmutable.Builder> builder = personWrapper.withBuilder(
+				PersonImmutable::toBuilder, b -> {
+					builds.incrementAndGet();
+					return b.build();
+				});
+
+		final StringProperty nameProperty = builder.immutableField(PersonImmutable::getName,
+				PersonImmutable.Builder::name);
+		final IntegerProperty ageProperty = builder.immutableField("age", PersonImmutable::getAge,
+				PersonImmutable.Builder::age);
+
+		assertThat(nameProperty.getValue()).isEqualTo("horst");
+		assertThat(ageProperty.getValue()).isEqualTo(32);
+		assertThat(personWrapper.property("age")).isSameAs(ageProperty);
+
+		nameProperty.setValue("hugo");
+		ageProperty.setValue(33);
+		assertThat(personWrapper.isDifferent()).isTrue();
+
+		personWrapper.commit();
+
+		assertThat(builds.get()).isEqualTo(1);
+		assertThat(person1.getName()).isEqualTo("horst");
+
+		PersonImmutable person2 = personWrapper.get();
+		assertThat(person2).isNotSameAs(person1);
+		assertThat(person2.getName()).isEqualTo("hugo");
+		assertThat(person2.getAge()).isEqualTo(33);
+		assertThat(personWrapper.isDifferent()).isFalse();
+		assertThat(personWrapper.isDirty()).isFalse();
+
+		personWrapper.reset();
+		assertThat(nameProperty.getValue()).isNull();
+		assertThat(ageProperty.getValue()).isEqualTo(0);
+
+		personWrapper.reload();
+		assertThat(nameProperty.getValue()).isEqualTo("hugo");
+
+		try {
+			personWrapper.withBuilder(PersonImmutable::toBuilder, PersonImmutable.Builder::build);
+			fail("Expected an IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCopyValuesToIsRejectedForBuilderFields() {
+		PersonImmutable person = PersonImmutable.create().withName("horst");
+		ModelWrapper<PersonImmutable> personWrapper = new ModelWrapper<>(person);
+
+		personWrapper.withBuilder(PersonImmutable::toBuilder, PersonImmutable.Builder::build)
+				.immutableField(PersonImmutable::getName, PersonImmutable.Builder::name)
+				.setValue("hugo");
+
+		try {
+			personWrapper.copyValuesTo(PersonImmutable.create());
+			fail("Builder fields can't be copied to an existing model instance");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testChangeSetIsSortedByIdentifier() {
+		ChangeSet changes = new ChangeSet(Arrays.asList(
+				new FieldChange("name", "horst", "hugo"),
+				new FieldChange("age", 32, 33),
+				new FieldChange("city", null, "Dresden"),
+				new FieldChange("age", 32, 34)));
+
+		assertThat(changes.getIdentifiers()).containsExactly("age", "city", "name");
+		assertThat(changes.getChanges()).extracting(FieldChange::getIdentifier).containsExactly("age", "city", "name");
+		assertThat(changes.get("age").get().getNewValue()).isEqualTo(34);
+	}
+
+	@Test
+	public void testChanges() {
+		Person person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+		person.setNicknames(Arrays.asList("captain"));
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+		StringProperty name = personWrapper.field("name", Person::getName, Person::setName);
+		IntegerProperty age = personWrapper.field("age", Person::getAge, Person::setAge);
+		ListProperty<String> nicknames = personWrapper.field("nicknames", Person::getNicknames, Person::setNicknames);
+		// fields without identifier are not part of the change set
+		personWrapper.field(Person::getEmailAddresses, Person::setEmailAddresses);
+
+		assertThat(personWrapper.getChanges().isEmpty()).isTrue();
+
+		name.set("hugo");
+		nicknames.add("player");
+
+		ChangeSet changes = personWrapper.getChanges();
+		assertThat(changes.getIdentifiers()).containsExactly("name", "nicknames");
+		assertThat(changes.get("name").get()).isEqualTo(new FieldChange("name", "horst", "hugo"));
+		assertThat(changes.get("age").isPresent()).isFalse();
+
+		// the change set is not affected by later changes
+		nicknames.add("another");
+		assertThat(changes.get("nicknames").get().getNewValue()).isEqualTo(Arrays.asList("captain", "player"));
+
+		Person otherPerson = new Person();
+		otherPerson.setName("horst");
+		otherPerson.setAge(50);
+		otherPerson.setNicknames(new ArrayList<>(Arrays.asList("captain")));
+
+		ModelWrapper<Person> otherWrapper = new ModelWrapper<>(otherPerson);
+		StringProperty otherName = otherWrapper.field("name", Person::getName, Person::setName);
+		IntegerProperty otherAge = otherWrapper.field("age", Person::getAge, Person::setAge);
+		ListProperty<String> otherNicknames = otherWrapper.field("nicknames", Person::getNicknames,
+				Person::setNicknames);
+
+		otherWrapper.applyChanges(changes);
+
+		assertThat(otherName.get()).isEqualTo("hugo");
+		assertThat(otherAge.get()).isEqualTo(50);
+		assertThat(otherNicknames).containsExactly("captain", "player");
+		assertThat(otherWrapper.isDirty()).isTrue();
+		assertThat(otherPerson.getName()).isEqualTo("horst");
+
+		otherWrapper.commit();
+		assertThat(otherPerson.getName()).isEqualTo("hugo");
+		assertThat(otherWrapper.getChanges().isEmpty()).isTrue();
+
+		try {
+			new ModelWrapper<>(new Person()).applyChanges(changes);
+			fail("Expected an IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
 	@Test
 	public void testIdentifiedFields() {
 		Person person = new Person();
@@ -956,7 +1116,11 @@ public class ModelWrapperTest {
 		assertThat(personWrapper.isDifferent()).isTrue(); // still true because the modelWrapper can't detect the change in the model
 
 		person.setName("luise");
-		name.set("luise"); // this triggers the recalculation of the different-flag which will now detect the previous change to the nicknames list
+		name.set("luise"); // only the changed field is checked so the previous change to the nicknames list is still not detected
+		assertThat(personWrapper.isDifferent()).isTrue();
+
+		nicknames.remove("player");
+		nicknames.add("player"); // now the nicknames field is checked again
 		assertThat(personWrapper.isDifferent()).isFalse();
 
 		nicknames.setValue(FXCollections.observableArrayList("spectator"));
@@ -1405,6 +1569,511 @@ public class ModelWrapperTest {
 	}
 
 
+	@Test
+	public void testPerFieldFlags() {
+		Person person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+
+		final StringProperty name = personWrapper.field(Person::getName, Person::setName);
+		final IntegerProperty age = personWrapper.field(Person::getAge, Person::setAge);
+
+		final ReadOnlyBooleanProperty nameDifferent = personWrapper.differentProperty(name);
+		final ReadOnlyBooleanProperty nameDirty = personWrapper.dirtyProperty(name);
+
+		personWrapper.reload();
+		assertThat(nameDifferent.get()).isFalse();
+		assertThat(nameDirty.get()).isFalse();
+
+		name.set("hugo");
+		assertThat(nameDifferent.get()).isTrue();
+		assertThat(nameDirty.get()).isTrue();
+		assertThat(personWrapper.isDifferent(age)).isFalse();
+		assertThat(personWrapper.isDirty(age)).isFalse();
+
+		age.set(33);
+		assertThat(personWrapper.isDifferent(age)).isTrue();
+
+		name.set("horst");
+		assertThat(nameDifferent.get()).isFalse();
+		assertThat(nameDirty.get()).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue(); // age is still different
+
+		age.set(32);
+		assertThat(personWrapper.isDifferent()).isFalse();
+		assertThat(personWrapper.isDirty()).isTrue();
+
+		name.set("hugo");
+		personWrapper.commit();
+		assertThat(nameDifferent.get()).isFalse();
+		assertThat(nameDirty.get()).isFalse();
+		assertThat(personWrapper.isDifferent()).isFalse();
+	}
+
+	@Test
+	public void testPerFieldFlagsOnlyCheckTheChangedField() {
+		Person person = new Person();
+		person.setName("horst");
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+
+		final int[] ageGetterCalls = new int[1];
+
+		final StringProperty name = personWrapper.field(Person::getName, Person::setName);
+		final IntGetter<Person> ageGetter = p -> {
+			ageGetterCalls[0]++;
+			return p.getAge();
+		};
+		personWrapper.field(ageGetter, Person::setAge);
+
+		ageGetterCalls[0] = 0;
+
+		name.set("hugo");
+		name.set("horst");
+
+		assertThat(ageGetterCalls[0]).isEqualTo(0);
+	}
+
+	@Test
+	public void testPerFieldFlagsForUnknownPropertyFails() {
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(new Person());
+
+		try {
+			personWrapper.differentProperty(new SimpleStringProperty());
+			fail("Expected an IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertThat(e).hasMessageContaining("not a field of this ModelWrapper");
+		}
+	}
+
+
+	@Test
+	public void testBatchUpdate() {
+		Person person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+
+		final StringProperty name = personWrapper.field(Person::getName, Person::setName);
+		final IntegerProperty age = personWrapper.field(Person::getAge, Person::setAge);
+		personWrapper.reload();
+
+		final List<Boolean> dirtyChanges = new ArrayList<>();
+		final List<Boolean> differentChanges = new ArrayList<>();
+		personWrapper.dirtyProperty().addListener((observable, oldValue, newValue) -> dirtyChanges.add(newValue));
+		personWrapper.differentProperty().addListener((observable, oldValue, newValue) -> differentChanges.add(newValue));
+
+		personWrapper.batch(() -> {
+			name.set("hugo");
+			age.set(33);
+
+			// the flags are not updated during the batch update
+			assertThat(personWrapper.isDirty()).isFalse();
+			assertThat(personWrapper.isDifferent()).isFalse();
+			assertThat(personWrapper.isUpdating()).isTrue();
+		});
+
+		assertThat(personWrapper.isUpdating()).isFalse();
+		assertThat(personWrapper.isDirty()).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue();
+		assertThat(personWrapper.isDirty(name)).isTrue();
+		assertThat(personWrapper.isDifferent(age)).isTrue();
+		assertThat(dirtyChanges).containsExactly(true);
+		assertThat(differentChanges).containsExactly(true);
+
+		dirtyChanges.clear();
+		differentChanges.clear();
+
+		personWrapper.reload();
+
+		assertThat(personWrapper.isDirty()).isFalse();
+		assertThat(personWrapper.isDifferent()).isFalse();
+		assertThat(dirtyChanges).containsExactly(false);
+		assertThat(differentChanges).containsExactly(false);
+	}
+
+	@Test
+	public void testNestedBatchUpdate() {
+		Person person = new Person();
+		person.setName("horst");
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+		final StringProperty name = personWrapper.field(Person::getName, Person::setName);
+
+		personWrapper.beginUpdate();
+		personWrapper.beginUpdate();
+		name.set("hugo");
+		personWrapper.endUpdate();
+
+		assertThat(personWrapper.isDifferent()).isFalse();
+
+		personWrapper.reload(); // a reload inside of a batch update is applied at the end too
+		name.set("luise");
+
+		personWrapper.endUpdate();
+
+		assertThat(name.get()).isEqualTo("luise");
+		assertThat(personWrapper.isDirty()).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue();
+	}
+
+	@Test
+	public void testEndUpdateWithoutBeginUpdateFails() {
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(new Person());
+
+		try {
+			personWrapper.endUpdate();
+			fail("Expected an IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(personWrapper.isUpdating()).isFalse();
+		}
+	}
+
+
+	@Test
+	public void testPrimitiveFields() {
+		ExampleModel model = new ExampleModel();
+		model.setDouble(Double.NaN);
+		model.setLong(42L);
+
+		ModelWrapper<ExampleModel> wrapper = new ModelWrapper<>(model);
+
+		final DoubleProperty doubleField = wrapper.field(ExampleModel::getDouble, ExampleModel::setDouble, 1.5);
+		final LongProperty longField = wrapper.field(ExampleModel::getLong, ExampleModel::setLong);
+		wrapper.reload();
+
+		assertThat(doubleField.get()).isNaN();
+		assertThat(wrapper.isDifferent()).isFalse(); // NaN is equal to NaN like with boxed values
+
+		longField.set(43L);
+		assertThat(wrapper.isDirty()).isTrue();
+		assertThat(wrapper.isDifferent()).isTrue();
+
+		longField.set(44L);
+		longField.set(42L); // every change is observed
+		assertThat(wrapper.isDifferent()).isFalse();
+
+		doubleField.set(2.0);
+		wrapper.commit();
+		assertThat(model.getDouble()).isEqualTo(2.0);
+		assertThat(wrapper.isDifferent()).isFalse();
+
+		wrapper.reset();
+		assertThat(doubleField.get()).isEqualTo(1.5);
+		assertThat(longField.get()).isEqualTo(0L);
+		assertThat(wrapper.isDifferent(doubleField)).isTrue();
+	}
+
+	@Test
+	public void testPrimitiveAccessorFields() {
+		ExampleModel model = new ExampleModel();
+		model.setInteger(5);
+		model.setBoolean(true);
+
+		ModelWrapper<ExampleModel> wrapper = new ModelWrapper<>(model);
+
+		final IntegerProperty intField = wrapper.intField(ExampleModel::getInteger, ExampleModel::setInteger, 7);
+		final BooleanProperty booleanField = wrapper.booleanField("boolean", ExampleModel::getBoolean,
+				ExampleModel::setBoolean);
+		wrapper.reload();
+
+		assertThat(intField.get()).isEqualTo(5);
+		assertThat(booleanField.get()).isTrue();
+		assertThat(wrapper.isDifferent()).isFalse();
+
+		intField.set(6);
+		booleanField.set(false);
+		assertThat(wrapper.isDifferent()).isTrue();
+		assertThat(wrapper.getChanges().getChanges()).hasSize(1); // only identified fields are listed
+
+		wrapper.commit();
+		assertThat(model.getInteger()).isEqualTo(6);
+		assertThat(model.getBoolean()).isFalse();
+		assertThat(wrapper.isDifferent()).isFalse();
+
+		wrapper.reset();
+		assertThat(intField.get()).isEqualTo(7);
+		assertThat(booleanField.get()).isFalse();
+	}
+
+	@Test
+	public void testInvalidationWithoutChangeDoesNotMarkPrimitiveFieldDirty() {
+		ExampleModel model = new ExampleModel();
+		model.setInteger(5);
+
+		ModelWrapper<ExampleModel> wrapper = new ModelWrapper<>(model);
+		final IntegerProperty intField = wrapper.field(ExampleModel::getInteger, ExampleModel::setInteger);
+		wrapper.reload();
+
+		final AtomicInteger fieldChanges = new AtomicInteger();
+		wrapper.addFieldChangeListener(field -> fieldChanges.incrementAndGet());
+
+		final IntegerProperty source = new SimpleIntegerProperty(5);
+		final StringProperty trigger = new SimpleStringProperty();
+		intField.bind(Bindings.createIntegerBinding(source::get, source, trigger));
+
+		trigger.set("invalidates the binding without changing its value");
+		assertThat(wrapper.isDirty()).isFalse();
+		assertThat(fieldChanges.get()).isEqualTo(0);
+
+		source.set(6);
+		assertThat(wrapper.isDirty()).isTrue();
+		assertThat(fieldChanges.get()).isEqualTo(1);
+	}
+
+
+	@Test
+	public void testLazyFields() {
+		Person person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+
+		final int[] nameGetterCalls = new int[1];
+		final StringGetter<Person> nameGetter = p -> {
+			nameGetterCalls[0]++;
+			return p.getName();
+		};
+
+		personWrapper.lazyField("name", nameGetter, Person::setName, "default");
+		personWrapper.lazyField("age", Person::getAge, Person::setAge);
+
+		personWrapper.reload();
+		assertThat(nameGetterCalls[0]).isEqualTo(0); // the model isn't read as long as there is no property
+		assertThat(personWrapper.isDifferent()).isFalse();
+
+		// not materialized fields are copied from the wrapped model
+		Person copy = new Person();
+		personWrapper.copyValuesTo(copy);
+		assertThat(copy.getName()).isEqualTo("horst");
+		assertThat(copy.getAge()).isEqualTo(32);
+
+		// reset works without property too
+		personWrapper.reset();
+		assertThat(personWrapper.isDirty()).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue();
+
+		personWrapper.commit();
+		assertThat(person.getName()).isEqualTo("default");
+		assertThat(person.getAge()).isEqualTo(0);
+
+		// the property is created when it is requested
+		final StringProperty name = personWrapper.field("name", nameGetter, Person::setName);
+		assertThat(name.get()).isEqualTo("default");
+		assertThat(personWrapper.<Number>property("age").getValue()).isEqualTo(0);
+
+		name.set("hugo");
+		assertThat(personWrapper.isDifferent(name)).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue();
+
+		personWrapper.commit();
+		assertThat(person.getName()).isEqualTo("hugo");
+		assertThat(personWrapper.isDifferent()).isFalse();
+	}
+
+	@Test
+	public void testLazyFieldsWithoutModel() {
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>();
+		personWrapper.lazyField("name", Person::getName, Person::setName, "default");
+		personWrapper.lazyField("age", Person::getAge, Person::setAge, 18);
+
+		// without a wrapped model the fields have their default values
+		Person copy = new Person();
+		personWrapper.copyValuesTo(copy);
+		assertThat(copy.getName()).isEqualTo("default");
+		assertThat(copy.getAge()).isEqualTo(18);
+
+		assertThat(personWrapper.<Number>property("age").getValue()).isEqualTo(18);
+	}
+
+	@Test
+	public void testPropertyWithUnknownIdentifierFails() {
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(new Person());
+
+		try {
+			personWrapper.property("unknown");
+			fail("Expected an IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertThat(e).hasMessageContaining("unknown");
+		}
+	}
+
+
+	@Test
+	public void testCommitAsync() {
+		Person person = new Person();
+		person.setName("horst");
+		person.setAge(32);
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+		final StringProperty name = personWrapper.field(Person::getName, Person::setName);
+		final IntegerProperty age = personWrapper.field(Person::getAge, Person::setAge);
+		final ListProperty<String> nicknames = personWrapper.field(Person::getNicknames, Person::setNicknames);
+
+		final Deque<Runnable> background = new ArrayDeque<>();
+		final Deque<Runnable> ui = new ArrayDeque<>();
+
+		name.set("hugo");
+		age.set(33);
+		nicknames.add("huggy");
+
+		final CompletableFuture<Person> future = personWrapper.commitAsync(background::add, ui::add);
+
+		// edits while the commit is in progress are not part of the commit
+		age.set(34);
+		nicknames.add("bear");
+
+		assertThat(person.getName()).isEqualTo("horst");
+		background.poll().run();
+		assertThat(person.getName()).isEqualTo("hugo");
+		assertThat(person.getAge()).isEqualTo(33);
+		assertThat(person.getNicknames()).containsExactly("huggy");
+
+		// the flags are only updated on the ui thread
+		assertThat(personWrapper.isDirty(name)).isTrue();
+		assertThat(future.isDone()).isFalse();
+
+		ui.poll().run();
+		assertThat(future.join()).isSameAs(person);
+
+		assertThat(personWrapper.isDirty(name)).isFalse();
+		assertThat(personWrapper.isDirty(age)).isTrue();
+		assertThat(personWrapper.isDirty(nicknames)).isTrue();
+		assertThat(personWrapper.isDirty()).isTrue();
+		assertThat(personWrapper.isDifferent(name)).isFalse();
+		assertThat(personWrapper.isDifferent(age)).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue();
+
+		// two commits in a row are written in order
+		personWrapper.commitAsync(background::add, ui::add);
+		name.set("paul");
+		personWrapper.commitAsync(background::add, ui::add);
+
+		while (!background.isEmpty() || !ui.isEmpty()) {
+			if (!background.isEmpty()) {
+				background.poll().run();
+			} else {
+				ui.poll().run();
+			}
+		}
+
+		assertThat(person.getName()).isEqualTo("paul");
+		assertThat(person.getAge()).isEqualTo(34);
+		assertThat(person.getNicknames()).containsExactly("huggy", "bear");
+		assertThat(personWrapper.isDirty()).isFalse();
+		assertThat(personWrapper.isDifferent()).isFalse();
+	}
+
+	@Test
+	public void testCommitAsyncWithImmutables() {
+		PersonImmutable person1 = PersonImmutable.create()
+				.withName("horst")
+				.withAge(32);
+
+		ModelWrapper<PersonImmutable> personWrapper = new ModelWrapper<>(person1);
+		final StringProperty name = personWrapper.immutableField(PersonImmutable::getName, PersonImmutable::withName);
+		final IntegerProperty age = personWrapper.immutableField(PersonImmutable::getAge, PersonImmutable::withAge);
+
+		final Executor direct = Runnable::run;
+
+		name.set("hugo");
+		PersonImmutable person2 = personWrapper.commitAsync(direct, direct).join();
+		assertThat(person2).isNotSameAs(person1);
+		assertThat(person2.getName()).isEqualTo("hugo");
+		assertThat(personWrapper.get()).isSameAs(person2);
+		assertThat(personWrapper.isDirty()).isFalse();
+		assertThat(personWrapper.isDifferent()).isFalse();
+
+		// the second commit is based on the instance created by the first one
+		final Deque<Runnable> ui = new ArrayDeque<>();
+		age.set(33);
+		personWrapper.commitAsync(direct, ui::add);
+		name.set("paul");
+		personWrapper.commitAsync(direct, ui::add);
+		ui.poll().run();
+		ui.poll().run();
+
+		assertThat(personWrapper.get().getName()).isEqualTo("paul");
+		assertThat(personWrapper.get().getAge()).isEqualTo(33);
+		assertThat(personWrapper.isDirty()).isFalse();
+		assertThat(personWrapper.isDifferent()).isFalse();
+	}
+
+	@Test
+	public void testCommitAsyncWithReplacedModel() {
+		Person person1 = new Person();
+		Person person2 = new Person();
+		person2.setName("paul");
+
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person1);
+		final StringProperty name = personWrapper.field(Person::getName, Person::setName);
+
+		final Deque<Runnable> ui = new ArrayDeque<>();
+		name.set("hugo");
+		personWrapper.commitAsync(Runnable::run, ui::add);
+
+		personWrapper.set(person2);
+		name.set("horst");
+		ui.poll().run();
+
+		// the values are written to the old model but the flags belong to the new one
+		assertThat(person1.getName()).isEqualTo("hugo");
+		assertThat(person2.getName()).isEqualTo("paul");
+		assertThat(personWrapper.isDirty()).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue();
+	}
+
+	@Test
+	public void testCommitAsyncWithFailingSetter() {
+		Person person = new Person();
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+		final StringProperty name = personWrapper.field(Person::getName, (Person p, String value) -> {
+			throw new IllegalStateException("failed");
+		});
+
+		name.set("hugo");
+		final CompletableFuture<Person> future = personWrapper.commitAsync(Runnable::run, Runnable::run);
+
+		try {
+			future.join();
+			fail("Expected a CompletionException");
+		} catch (CompletionException e) {
+			assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+		}
+		assertThat(personWrapper.isDirty()).isTrue();
+	}
+
+	@Test
+	public void testCommitWithFailingSetter() {
+		Person person = new Person();
+		person.setAge(32);
+		ModelWrapper<Person> personWrapper = new ModelWrapper<>(person);
+		final IntegerProperty age = personWrapper.field(Person::getAge, Person::setAge);
+		final StringProperty name = personWrapper.field(Person::getName, (Person p, String value) -> {
+			throw new IllegalStateException("failed");
+		});
+
+		age.set(33);
+		name.set("hugo");
+
+		try {
+			personWrapper.commit();
+			fail("Expected an IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertThat(e.getMessage()).isEqualTo("failed");
+		}
+
+		// the model wasn't fully written, so the wrapper is still dirty
+		assertThat(person.getAge()).isEqualTo(33);
+		assertThat(personWrapper.isDirty()).isTrue();
+		assertThat(personWrapper.isDifferent()).isTrue();
+	}
+
+
 	private <K, V> ObservableMap<K,V> observableMap(K key, V value) {
 		Map<K, V> map = new HashMap<>();
 		map.put(key, value);
@@ -69,4 +69,38 @@ public class PersonImmutable {
 	public PersonImmutable withPhoneNumbers(Map<String, String> phoneNumbers) {
 		return new PersonImmutable(this.name, this.age, this.nicknames, this.emailAddresses, phoneNumbers);
 	}
+
+	public Builder toBuilder() {
+		return new Builder(this);
+	}
+
+	public static class Builder {
+		private String name;
+		private int age;
+		private List<String> nicknames;
+		private Set<String> emailAddresses;
+		private Map<String, String> phoneNumbers;
+
+		private Builder(PersonImmutable person) {
+			this.name = person.name;
+			this.age = person.age;
+			this.nicknames = person.nicknames;
+			this.emailAddresses = person.emailAddresses;
+			this.phoneNumbers = person.phoneNumbers;
+		}
+
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		public Builder age(int age) {
+			this.age = age;
+			return this;
+		}
+
+		public PersonImmutable build() {
+			return new PersonImmutable(name, age, nicknames, emailAddresses, phoneNumbers);
+		}
+	}
 }
@@ -0,0 +1,233 @@
+package de.saxsys.mvvmfx.utils.recording;
+
+import de.saxsys.mvvmfx.utils.commands.Command;
+import de.saxsys.mvvmfx.utils.commands.CommandBase;
+import de.saxsys.mvvmfx.utils.notifications.DefaultNotificationCenter;
+import de.saxsys.mvvmfx.utils.notifications.NotificationCenter;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class TrafficRecorderTest {
+
+	private Path file;
+
+	@BeforeEach
+	public void setup() throws IOException {
+		file = Files.createTempFile("mvvmfx-traffic", ".log");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void notificationsAndCommandsAreRecordedInOrder() throws Exception {
+		final NotificationCenter notificationCenter = new DefaultNotificationCenter();
+		final CountingCommand saveCommand = new CountingCommand();
+
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			final NotificationCenter recordingCenter = recorder.record(notificationCenter);
+			final Command recordingCommand = recorder.record("save", saveCommand);
+
+			recordingCenter.publish("selection", "item", 42);
+			recordingCommand.execute();
+			recordingCenter.publish("refresh");
+		}
+
+		assertThat(saveCommand.count.get()).isEqualTo(1);
+
+		final List<RecordedEvent> events = new TrafficReplayer(file).getEvents();
+		assertThat(events).hasSize(3);
+
+		assertThat(events.get(0).getType()).isEqualTo(RecordedEvent.Type.NOTIFICATION);
+		assertThat(events.get(0).getName()).isEqualTo("selection");
+		assertThat(events.get(0).getPayload()).containsExactly("item", 42);
+
+		assertThat(events.get(1).getType()).isEqualTo(RecordedEvent.Type.COMMAND);
+		assertThat(events.get(1).getName()).isEqualTo("save");
+
+		assertThat(events.get(2).getName()).isEqualTo("refresh");
+		assertThat(events.get(2).getPayload()).isEmpty();
+
+		assertThat(events.get(0).getTimestamp()).isLessThanOrEqualTo(events.get(1).getTimestamp());
+		assertThat(events.get(1).getTimestamp()).isLessThanOrEqualTo(events.get(2).getTimestamp());
+	}
+
+	@Test
+	public void eventsWithTooLongNamesAreNotRecorded() throws Exception {
+		final String longName = String.join("", Collections.nCopies(40_000, "x"));
+		final String tooLongName = String.join("", Collections.nCopies(TrafficRecorder.MAX_NAME_LENGTH + 1, "x"));
+
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			recorder.recordNotification(longName, "first");
+			recorder.recordNotification(tooLongName, "ignored");
+			recorder.recordCommand(tooLongName);
+			recorder.recordNotification("selection", "last");
+		}
+
+		final List<RecordedEvent> events = new TrafficReplayer(file).getEvents();
+		assertThat(events).hasSize(2);
+		assertThat(events.get(0).getName()).isEqualTo(longName);
+		assertThat(events.get(0).getPayload()).containsExactly("first");
+		assertThat(events.get(1).getName()).isEqualTo("selection");
+		assertThat(events.get(1).getPayload()).containsExactly("last");
+	}
+
+	@Test
+	public void notSerializablePayloadIsRecordedWithoutPayload() throws Exception {
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			recorder.recordNotification("selection", new Object());
+		}
+
+		final List<RecordedEvent> events = new TrafficReplayer(file).getEvents();
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getPayload()).isEmpty();
+	}
+
+	@Test
+	public void logsBiggerThanOneRegionAreRecorded() throws Exception {
+		final String payload = String.join("", Collections.nCopies(100_000, "x"));
+
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			for (int i = 0; i < 100; i++) {
+				recorder.recordNotification("big", payload);
+			}
+		}
+
+		final List<RecordedEvent> events = new TrafficReplayer(file).getEvents();
+		assertThat(events).hasSize(100);
+		assertThat(events.get(99).getPayload()).containsExactly(payload);
+	}
+
+	@Test
+	public void replayPublishesNotificationsAndExecutesCommands() throws Exception {
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			recorder.recordNotification("selection", "a");
+			recorder.recordCommand("save");
+			recorder.recordCommand("unknown");
+			recorder.recordNotification("selection", "b");
+		}
+
+		final NotificationCenter notificationCenter = new DefaultNotificationCenter();
+		final List<Object> received = new ArrayList<>();
+		notificationCenter.subscribe("selection", (key, payload) -> received.add(payload[0]));
+
+		final CountingCommand saveCommand = new CountingCommand();
+
+		new TrafficReplayer(file).replay(notificationCenter, Collections.singletonMap("save", saveCommand),
+				TrafficReplayer.MAX_SPEED, Runnable::run);
+
+		assertThat(received).containsExactly("a", "b");
+		assertThat(saveCommand.count.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void replayInRealTimeKeepsTheRecordedTiming() throws Exception {
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			recorder.recordCommand("save");
+			Thread.sleep(100);
+			recorder.recordCommand("save");
+		}
+
+		final CountingCommand saveCommand = new CountingCommand();
+
+		final long start = System.nanoTime();
+		new TrafficReplayer(file).replay(new DefaultNotificationCenter(), Collections.singletonMap("save",
+				saveCommand), TrafficReplayer.REAL_TIME, Runnable::run);
+		final long duration = System.nanoTime() - start;
+
+		assertThat(saveCommand.count.get()).isEqualTo(2);
+		assertThat(duration).isGreaterThanOrEqualTo(90_000_000L);
+	}
+
+	@Test
+	public void payloadsAreSerializedOffThePublishingThread() throws Exception {
+		final ThreadRecordingPayload payload = new ThreadRecordingPayload();
+
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			recorder.recordNotification("selection", payload);
+		}
+
+		assertThat(payload.serializedBy).isNotNull().isNotSameAs(Thread.currentThread());
+
+		final List<RecordedEvent> events = new TrafficReplayer(file, ThreadRecordingPayload.class).getEvents();
+		assertThat(events.get(0).getPayload()[0]).isInstanceOf(ThreadRecordingPayload.class);
+	}
+
+	@Test
+	public void payloadsOfTypesThatAreNotAllowedAreRejected() throws Exception {
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			recorder.recordNotification("selection", new ThreadRecordingPayload());
+		}
+
+		try {
+			new TrafficReplayer(file);
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void eventsOfUnknownTypesAreRejected() throws Exception {
+		try (TrafficRecorder recorder = new TrafficRecorder(file)) {
+			recorder.recordCommand("save");
+		}
+
+		final byte[] bytes = Files.readAllBytes(file);
+		bytes[TrafficRecorder.HEADER_SIZE] = 42;
+		Files.write(file, bytes);
+
+		try {
+			new TrafficReplayer(file);
+			fail("Expected an IOException");
+		} catch (IOException e) {
+			assertThat(e.getMessage()).contains("unknown type [42]");
+		}
+	}
+
+	public static class ThreadRecordingPayload implements Serializable {
+		private transient volatile Thread serializedBy;
+
+		private void writeObject(ObjectOutputStream out) throws IOException {
+			serializedBy = Thread.currentThread();
+			out.defaultWriteObject();
+		}
+	}
+
+	private static class CountingCommand extends CommandBase {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public void execute() {
+			count.incrementAndGet();
+		}
+
+		@Override
+		public double getProgress() {
+			return 0;
+		}
+
+		@Override
+		public ReadOnlyDoubleProperty progressProperty() {
+			return new ReadOnlyDoubleWrapper().getReadOnlyProperty();
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package de.saxsys.mvvmfx.utils.viewlist;
+
+import de.saxsys.mvvmfx.JavaView;
+import de.saxsys.mvvmfx.ViewModel;
+import de.saxsys.mvvmfx.ViewTuple;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedViewModelCellFactoryTest {
+
+	public static class ItemViewModel implements ViewModel {
+		private final int id;
+
+		ItemViewModel(int id) {
+			this.id = id;
+		}
+	}
+
+	public static class ItemView implements JavaView<ItemViewModel> {
+	}
+
+	private static CachedViewModelCellFactory<ItemView, ItemViewModel> createFactory() {
+		return CachedViewModelCellFactory.create(vm -> new ViewTuple<>(new ItemView(), null, vm));
+	}
+
+	@Test
+	public void testCache() {
+		CachedViewModelCellFactory<ItemView, ItemViewModel> factory = createFactory();
+		ItemViewModel a = new ItemViewModel(1);
+
+		ViewTuple<ItemView, ItemViewModel> viewTuple = factory.map(a);
+		assertThat(factory.map(a)).isSameAs(viewTuple);
+		assertThat(factory.map(new ItemViewModel(2))).isNotSameAs(viewTuple);
+
+		assertThat(factory.getHitCount()).isEqualTo(1);
+		assertThat(factory.getMissCount()).isEqualTo(2);
+		assertThat(factory.getHitRate()).isEqualTo(1.0 / 3);
+		assertThat(factory.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void testMaxSize() {
+		CachedViewModelCellFactory<ItemView, ItemViewModel> factory = createFactory();
+		factory.setMaxSize(2);
+
+		ItemViewModel a = new ItemViewModel(1);
+		ItemViewModel b = new ItemViewModel(2);
+		ItemViewModel c = new ItemViewModel(3);
+
+		ViewTuple<ItemView, ItemViewModel> viewTupleA = factory.map(a);
+		ViewTuple<ItemView, ItemViewModel> viewTupleB = factory.map(b);
+		factory.map(a);
+		factory.map(c);
+
+		// b was the least recently used
+		assertThat(factory.getEvictionCount()).isEqualTo(1);
+		assertThat(factory.map(a)).isSameAs(viewTupleA);
+		assertThat(factory.map(b)).isNotSameAs(viewTupleB);
+
+		factory.setMaxSize(1);
+		assertThat(factory.size()).isEqualTo(1);
+		assertThat(factory.getEvictionCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void testSoftValues() {
+		CachedViewModelCellFactory<ItemView, ItemViewModel> factory = createFactory();
+		factory.map(new ItemViewModel(0));
+		factory.setSoftValues(true);
+		assertThat(factory.isSoftValues()).isTrue();
+		// changing the policy clears the cache
+		assertThat(factory.size()).isEqualTo(0);
+
+		ItemViewModel a = new ItemViewModel(1);
+		ViewTuple<ItemView, ItemViewModel> viewTuple = factory.map(a);
+		assertThat(factory.map(a)).isSameAs(viewTuple);
+		assertThat(factory.getHitCount()).isEqualTo(1);
+		assertThat(factory.map(a).getViewModel().id).isEqualTo(1);
+		assertThat(factory.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void testExpireAfterRemoval() {
+		ItemViewModel a = new ItemViewModel(1);
+		ItemViewModel b = new ItemViewModel(2);
+		ObservableList<ItemViewModel> items = FXCollections.observableArrayList(a, b);
+
+		CachedViewModelCellFactory<ItemView, ItemViewModel> factory = createFactory();
+		factory.expireAfterRemoval(items);
+
+		ViewTuple<ItemView, ItemViewModel> viewTupleA = factory.map(a);
+		ViewTuple<ItemView, ItemViewModel> viewTupleB = factory.map(b);
+
+		// moved elements keep their views
+		FXCollections.sort(items, Comparator.comparingInt((ItemViewModel item) -> item.id).reversed());
+		items.setAll(a, b);
+		assertThat(factory.map(a)).isSameAs(viewTupleA);
+		assertThat(factory.getEvictionCount()).isEqualTo(0);
+
+		items.remove(b);
+		assertThat(factory.getEvictionCount()).isEqualTo(1);
+		assertThat(factory.size()).isEqualTo(1);
+		assertThat(factory.map(b)).isNotSameAs(viewTupleB);
+	}
+}
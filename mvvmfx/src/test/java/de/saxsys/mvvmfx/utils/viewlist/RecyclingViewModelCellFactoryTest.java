@@ -0,0 +1,91 @@
+package de.saxsys.mvvmfx.utils.viewlist;
+
+import de.saxsys.mvvmfx.InjectViewModel;
+import de.saxsys.mvvmfx.JavaView;
+import de.saxsys.mvvmfx.ViewModel;
+import de.saxsys.mvvmfx.ViewTuple;
+import de.saxsys.mvvmfx.internal.viewloader.ViewLoaderReflectionUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecyclingViewModelCellFactoryTest {
+
+	public static class ItemViewModel implements ViewModel {
+	}
+
+	public static class ItemView implements JavaView<ItemViewModel>, Rebindable<ItemViewModel> {
+
+		@InjectViewModel
+		private ItemViewModel viewModel;
+
+		private final List<ItemViewModel> rebound = new ArrayList<>();
+
+		@Override
+		public void rebind(ItemViewModel oldViewModel, ItemViewModel newViewModel) {
+			assertThat(viewModel).isSameAs(newViewModel);
+			rebound.add(oldViewModel);
+		}
+	}
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private RecyclingViewModelCellFactory.CellBinding<ItemView, ItemViewModel> createBinding() {
+		return new RecyclingViewModelCellFactory.CellBinding<>(vm -> {
+			loads.incrementAndGet();
+			final ItemView view = new ItemView();
+			ViewLoaderReflectionUtils.injectViewModel(view, vm);
+			return new ViewTuple<>(view, null, vm);
+		});
+	}
+
+	@Test
+	public void testViewIsReusedForAnotherViewModel() {
+		RecyclingViewModelCellFactory.CellBinding<ItemView, ItemViewModel> binding = createBinding();
+
+		ItemViewModel a = new ItemViewModel();
+		ItemViewModel b = new ItemViewModel();
+
+		ViewTuple<ItemView, ItemViewModel> viewTuple = binding.update(a);
+		assertThat(viewTuple.getCodeBehind().viewModel).isSameAs(a);
+
+		assertThat(binding.update(b)).isSameAs(viewTuple);
+		assertThat(viewTuple.getCodeBehind().viewModel).isSameAs(b);
+		assertThat(viewTuple.getCodeBehind().rebound).containsExactly(a);
+
+		// the same ViewModel again doesn't rebind the view
+		assertThat(binding.update(b)).isSameAs(viewTuple);
+		assertThat(viewTuple.getCodeBehind().rebound).containsExactly(a);
+
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testEmptyCellReleasesViewModel() {
+		RecyclingViewModelCellFactory.CellBinding<ItemView, ItemViewModel> binding = createBinding();
+
+		// an empty cell doesn't load a view
+		assertThat(binding.update(null)).isNull();
+		assertThat(loads.get()).isEqualTo(0);
+
+		ItemViewModel a = new ItemViewModel();
+		ViewTuple<ItemView, ItemViewModel> viewTuple = binding.update(a);
+
+		assertThat(binding.update(null)).isNull();
+		assertThat(binding.getBoundViewModel()).isNull();
+		assertThat(viewTuple.getCodeBehind().viewModel).isNull();
+		assertThat(viewTuple.getCodeBehind().rebound).containsExactly(a);
+
+		// the same ViewModel is shown again after the cell was empty, so the view has to be bound again
+		assertThat(binding.update(a)).isSameAs(viewTuple);
+		assertThat(binding.getBoundViewModel()).isSameAs(a);
+		assertThat(viewTuple.getCodeBehind().viewModel).isSameAs(a);
+		assertThat(viewTuple.getCodeBehind().rebound).containsExactly(a, null);
+
+		assertThat(loads.get()).isEqualTo(1);
+	}
+}